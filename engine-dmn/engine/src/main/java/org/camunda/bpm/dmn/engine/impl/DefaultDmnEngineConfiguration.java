@@ -85,6 +85,8 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
 
   protected boolean returnBlankTableOutputAsNull = false;
 
+  protected boolean enableDecisionTableRuleIndex = true;
+
   @Override
   public DmnEngine buildEngine() {
     init();
@@ -625,4 +627,35 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     return this;
   }
 
+  /**
+   * @return whether the input entries of decision tables are matched by an index
+   */
+  public boolean isEnableDecisionTableRuleIndex() {
+    return enableDecisionTableRuleIndex;
+  }
+
+  /**
+   * Controls whether simple FEEL input entries of decision tables are matched
+   * by an index instead of being evaluated one after another. The index is only
+   * used with the default FEEL engine.
+   *
+   * @param enableDecisionTableRuleIndex toggles the index
+   */
+  public void setEnableDecisionTableRuleIndex(boolean enableDecisionTableRuleIndex) {
+    this.enableDecisionTableRuleIndex = enableDecisionTableRuleIndex;
+  }
+
+  /**
+   * Controls whether simple FEEL input entries of decision tables are matched
+   * by an index instead of being evaluated one after another. The index is only
+   * used with the default FEEL engine.
+   *
+   * @param enableDecisionTableRuleIndex toggles the index
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration enableDecisionTableRuleIndex(boolean enableDecisionTableRuleIndex) {
+    setEnableDecisionTableRuleIndex(enableDecisionTableRuleIndex);
+    return this;
+  }
+
 }
@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine.impl.evaluation;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,7 @@ import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedDecisionRuleImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedInputImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedOutputImpl;
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
+import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngineFactory;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 import org.camunda.bpm.engine.variable.impl.context.CompositeVariableContext;
@@ -60,6 +62,7 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   protected final String outputEntryExpressionLanguage;
 
   protected final boolean returnBlankTableOutputAsNull;
+  protected final boolean isRuleIndexEnabled;
 
   public DecisionTableEvaluationHandler(DefaultDmnEngineConfiguration configuration) {
     expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
@@ -71,6 +74,9 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     inputEntryExpressionLanguage = configuration.getDefaultInputEntryExpressionLanguage();
     outputEntryExpressionLanguage = configuration.getDefaultOutputEntryExpressionLanguage();
     returnBlankTableOutputAsNull = configuration.isReturnBlankTableOutputAsNull();
+    // the index reproduces the semantics of the default FEEL engine only
+    isRuleIndexEnabled = configuration.isEnableDecisionTableRuleIndex()
+      && configuration.getFeelEngineFactory() instanceof ScalaFeelEngineFactory;
   }
 
   @Override
@@ -99,6 +105,12 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    DecisionTableRuleIndex ruleIndex = getRuleIndex(decisionTable);
+    if (ruleIndex != null) {
+      evaluateDecisionTable(decisionTable, ruleIndex, variableContext, evaluationResult);
+      return;
+    }
+
     int inputSize = decisionTable.getInputs().size();
     List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
     for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
@@ -117,6 +129,52 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
   }
 
+  protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, DecisionTableRuleIndex ruleIndex, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+
+    BitSet matchingRules = new BitSet(rules.size());
+    matchingRules.set(0, rules.size());
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      // evaluate input
+      DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
+      DmnEvaluatedInput evaluatedInput = evaluateInput(input, variableContext);
+      evaluationResult.getInputs().add(evaluatedInput);
+
+      // compose local variable context out of global variable context enhanced with the value of the current input.
+      VariableContext localVariableContext = getLocalVariableContext(input, evaluatedInput, variableContext);
+
+      // filter rules applicable with this input
+      matchingRules = evaluateInputForAvailableRules(inputIdx, input, ruleIndex.getInputIndex(inputIdx),
+          evaluatedInput.getValue().getValue(), rules, matchingRules, localVariableContext);
+    }
+
+    List<DmnDecisionTableRuleImpl> matchingRuleList = new ArrayList<DmnDecisionTableRuleImpl>(matchingRules.cardinality());
+    for (int ruleIdx = matchingRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = matchingRules.nextSetBit(ruleIdx + 1)) {
+      matchingRuleList.add(rules.get(ruleIdx));
+    }
+
+    setEvaluationOutput(decisionTable, matchingRuleList, variableContext, evaluationResult);
+  }
+
+  protected DecisionTableRuleIndex getRuleIndex(DmnDecisionTableImpl decisionTable) {
+    DecisionTableRuleIndex ruleIndex = decisionTable.getRuleIndex();
+    if (!isRuleIndexEnabled || ruleIndex == null) {
+      return null;
+    }
+
+    for (String expressionLanguage : ruleIndex.getExpressionLanguages()) {
+      if (expressionLanguage == null) {
+        expressionLanguage = inputEntryExpressionLanguage;
+      }
+      if (!expressionEvaluationHandler.isFeelExpressionLanguage(expressionLanguage)) {
+        return null;
+      }
+    }
+
+    return ruleIndex;
+  }
+
   protected DmnEvaluatedInput evaluateInput(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
 
@@ -144,6 +202,23 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     return matchingRules;
   }
 
+  protected BitSet evaluateInputForAvailableRules(int conditionIdx, DmnDecisionTableInputImpl input, DecisionTableInputIndex inputIndex, Object inputValue, List<DmnDecisionTableRuleImpl> rules, BitSet availableRules, VariableContext variableContext) {
+    // rules whose input entries match without evaluation
+    BitSet matchingRules = inputIndex.getMatchingRules(inputValue);
+    matchingRules.and(availableRules);
+
+    // evaluate the input entries of the remaining rules
+    BitSet rulesToEvaluate = (BitSet) availableRules.clone();
+    rulesToEvaluate.and(inputIndex.getRulesToEvaluate(inputValue));
+    for (int ruleIdx = rulesToEvaluate.nextSetBit(0); ruleIdx >= 0; ruleIdx = rulesToEvaluate.nextSetBit(ruleIdx + 1)) {
+      DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(conditionIdx);
+      if (isConditionApplicable(input, condition, variableContext)) {
+        matchingRules.set(ruleIdx);
+      }
+    }
+    return matchingRules;
+  }
+
   protected boolean isConditionApplicable(DmnDecisionTableInputImpl input, DmnExpressionImpl condition, VariableContext variableContext) {
     Object result = evaluateInputEntry(input, condition, variableContext);
     return result != null && result.equals(true);
@@ -0,0 +1,343 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the input entries of one input column of a decision table.
+ *
+ * <p>Input entries which are simple FEEL unary tests on string or number
+ * literals (e.g. <code>"gold","silver"</code>, <code>42</code>,
+ * <code>&gt;= 100</code> or <code>[1..10[</code>) are indexed. Rules with such
+ * entries can be matched by a hash lookup of a string input value or by an
+ * interval lookup of a number input value without evaluating the entries.
+ * Empty entries match every value. All other entries, and all entries if the
+ * input value is neither a string nor a number, still have to be evaluated.</p>
+ */
+public class DecisionTableInputIndex {
+
+  protected static final String NUMBER = "(-?\\d+(?:\\.\\d+)?)";
+
+  protected static final Pattern STRING_PATTERN = Pattern.compile("\"([^\"\\\\]*)\"");
+  protected static final Pattern NUMBER_PATTERN = Pattern.compile(NUMBER);
+  protected static final Pattern COMPARISON_PATTERN = Pattern.compile("(<=|>=|<|>)\\s*" + NUMBER);
+  protected static final Pattern RANGE_PATTERN = Pattern.compile("([\\[\\](])\\s*" + NUMBER + "\\s*\\.\\.\\s*" + NUMBER + "\\s*([\\[\\])])");
+
+  protected final BitSet wildcardRules = new BitSet();
+  protected final BitSet stringRules = new BitSet();
+  protected final BitSet numberRules = new BitSet();
+  protected final BitSet unindexedRules = new BitSet();
+
+  protected final Map<String, BitSet> rulesByString = new HashMap<>();
+  protected final List<NumberInterval> intervalList = new ArrayList<>();
+
+  /** the intervals of the number rules, sorted by their lower bound */
+  protected NumberInterval[] intervals;
+  /** the greatest upper bound of the intervals up to an index, or null if one of them is unbounded */
+  protected BigDecimal[] maxUpperBounds;
+
+  protected BitSet rulesToEvaluateForString;
+  protected BitSet rulesToEvaluateForNumber;
+  protected BitSet rulesToEvaluateForOther;
+
+  public void addWildcardRule(int ruleIdx) {
+    wildcardRules.set(ruleIdx);
+  }
+
+  public void addUnindexedRule(int ruleIdx) {
+    unindexedRules.set(ruleIdx);
+  }
+
+  /**
+   * Adds the input entry of a rule to the index if it consists of simple
+   * unary tests on literals of the same type.
+   *
+   * @return true if the input entry was indexed, false otherwise
+   */
+  public boolean addSimpleUnaryTests(int ruleIdx, String expression) {
+    List<String> tests = splitUnaryTests(expression);
+    if (tests == null) {
+      return false;
+    }
+
+    List<String> strings = new ArrayList<>();
+    List<NumberInterval> numberIntervals = new ArrayList<>();
+    for (String test : tests) {
+      Matcher matcher = STRING_PATTERN.matcher(test);
+      if (matcher.matches()) {
+        strings.add(matcher.group(1));
+        continue;
+      }
+
+      NumberInterval interval = parseNumberInterval(test, ruleIdx);
+      if (interval == null) {
+        return false;
+      }
+      numberIntervals.add(interval);
+    }
+
+    if (!strings.isEmpty() && !numberIntervals.isEmpty()) {
+      // the result of mixed tests depends on the type conversion of the FEEL engine
+      return false;
+    }
+
+    if (!strings.isEmpty()) {
+      for (String string : strings) {
+        rulesByString.computeIfAbsent(string, key -> new BitSet()).set(ruleIdx);
+      }
+      stringRules.set(ruleIdx);
+    }
+    else {
+      intervalList.addAll(numberIntervals);
+      numberRules.set(ruleIdx);
+    }
+
+    return true;
+  }
+
+  /**
+   * Splits a comma separated list of unary tests, or returns null if the
+   * expression contains string literals with escape sequences.
+   */
+  protected List<String> splitUnaryTests(String expression) {
+    List<String> tests = new ArrayList<>();
+
+    boolean inString = false;
+    int start = 0;
+    for (int i = 0; i < expression.length(); i++) {
+      char c = expression.charAt(i);
+      if (c == '\\') {
+        return null;
+      }
+      else if (c == '"') {
+        inString = !inString;
+      }
+      else if (c == ',' && !inString) {
+        tests.add(expression.substring(start, i).trim());
+        start = i + 1;
+      }
+    }
+    tests.add(expression.substring(start).trim());
+
+    return inString ? null : tests;
+  }
+
+  protected NumberInterval parseNumberInterval(String test, int ruleIdx) {
+    Matcher matcher = NUMBER_PATTERN.matcher(test);
+    if (matcher.matches()) {
+      BigDecimal number = new BigDecimal(matcher.group(1));
+      return new NumberInterval(ruleIdx, number, true, number, true);
+    }
+
+    matcher = COMPARISON_PATTERN.matcher(test);
+    if (matcher.matches()) {
+      String operator = matcher.group(1);
+      BigDecimal number = new BigDecimal(matcher.group(2));
+      if (operator.startsWith("<")) {
+        return new NumberInterval(ruleIdx, null, false, number, operator.equals("<="));
+      }
+      else {
+        return new NumberInterval(ruleIdx, number, operator.equals(">="), null, false);
+      }
+    }
+
+    matcher = RANGE_PATTERN.matcher(test);
+    if (matcher.matches()) {
+      return new NumberInterval(ruleIdx,
+          new BigDecimal(matcher.group(2)), matcher.group(1).equals("["),
+          new BigDecimal(matcher.group(3)), matcher.group(4).equals("]"));
+    }
+
+    return null;
+  }
+
+  /**
+   * Completes the index after all rules were added.
+   */
+  public void build() {
+    intervals = intervalList.toArray(new NumberInterval[0]);
+    Arrays.sort(intervals, Comparator.comparing(NumberInterval::getLowerBound,
+        Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    maxUpperBounds = new BigDecimal[intervals.length];
+    BigDecimal maxUpperBound = null;
+    for (int i = 0; i < intervals.length; i++) {
+      BigDecimal upperBound = intervals[i].getUpperBound();
+      if (i == 0 || (maxUpperBound != null && (upperBound == null || upperBound.compareTo(maxUpperBound) > 0))) {
+        maxUpperBound = upperBound;
+      }
+      maxUpperBounds[i] = maxUpperBound;
+    }
+
+    rulesToEvaluateForString = (BitSet) unindexedRules.clone();
+    rulesToEvaluateForString.or(numberRules);
+
+    rulesToEvaluateForNumber = (BitSet) unindexedRules.clone();
+    rulesToEvaluateForNumber.or(stringRules);
+
+    rulesToEvaluateForOther = (BitSet) rulesToEvaluateForString.clone();
+    rulesToEvaluateForOther.or(stringRules);
+  }
+
+  public boolean isIndexed() {
+    return !stringRules.isEmpty() || !numberRules.isEmpty();
+  }
+
+  /**
+   * @return the rules whose input entries match the given value without
+   * evaluation. The returned set can be modified by the caller.
+   */
+  public BitSet getMatchingRules(Object value) {
+    BitSet matchingRules = (BitSet) wildcardRules.clone();
+
+    if (value instanceof String) {
+      BitSet rules = rulesByString.get(value);
+      if (rules != null) {
+        matchingRules.or(rules);
+      }
+    }
+    else {
+      BigDecimal number = toNumber(value);
+      if (number != null) {
+        addMatchingIntervals(number, matchingRules);
+      }
+    }
+
+    return matchingRules;
+  }
+
+  /**
+   * @return the rules whose input entries have to be evaluated for the given
+   * value. The returned set must not be modified.
+   */
+  public BitSet getRulesToEvaluate(Object value) {
+    if (value instanceof String) {
+      return rulesToEvaluateForString;
+    }
+    else if (toNumber(value) != null) {
+      return rulesToEvaluateForNumber;
+    }
+    else {
+      return rulesToEvaluateForOther;
+    }
+  }
+
+  protected void addMatchingIntervals(BigDecimal number, BitSet matchingRules) {
+    // find the intervals whose lower bound is not greater than the number
+    int low = 0;
+    int high = intervals.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      BigDecimal lowerBound = intervals[mid].getLowerBound();
+      if (lowerBound == null || lowerBound.compareTo(number) <= 0) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+
+    for (int i = low - 1; i >= 0; i--) {
+      if (maxUpperBounds[i] != null && maxUpperBounds[i].compareTo(number) < 0) {
+        // no interval up to this index reaches the number
+        break;
+      }
+      if (intervals[i].contains(number)) {
+        matchingRules.set(intervals[i].getRuleIdx());
+      }
+    }
+  }
+
+  /**
+   * Converts the value to a number in the same way as the FEEL engine does,
+   * or returns null if the value is not indexable as number.
+   */
+  protected BigDecimal toNumber(Object value) {
+    if (value instanceof Integer || value instanceof Long) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    }
+    else if (value instanceof Double) {
+      double doubleValue = (Double) value;
+      return Double.isNaN(doubleValue) || Double.isInfinite(doubleValue) ? null : BigDecimal.valueOf(doubleValue);
+    }
+    else if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    else {
+      return null;
+    }
+  }
+
+  public static class NumberInterval {
+
+    protected final int ruleIdx;
+    /** the lower bound or null if the interval has no lower bound */
+    protected final BigDecimal lowerBound;
+    protected final boolean lowerBoundIncluded;
+    /** the upper bound or null if the interval has no upper bound */
+    protected final BigDecimal upperBound;
+    protected final boolean upperBoundIncluded;
+
+    public NumberInterval(int ruleIdx, BigDecimal lowerBound, boolean lowerBoundIncluded, BigDecimal upperBound, boolean upperBoundIncluded) {
+      this.ruleIdx = ruleIdx;
+      this.lowerBound = lowerBound;
+      this.lowerBoundIncluded = lowerBoundIncluded;
+      this.upperBound = upperBound;
+      this.upperBoundIncluded = upperBoundIncluded;
+    }
+
+    public boolean contains(BigDecimal number) {
+      if (lowerBound != null) {
+        int comparison = lowerBound.compareTo(number);
+        if (comparison > 0 || (comparison == 0 && !lowerBoundIncluded)) {
+          return false;
+        }
+      }
+      if (upperBound != null) {
+        int comparison = upperBound.compareTo(number);
+        if (comparison < 0 || (comparison == 0 && !upperBoundIncluded)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    public int getRuleIdx() {
+      return ruleIdx;
+    }
+
+    public BigDecimal getLowerBound() {
+      return lowerBound;
+    }
+
+    public BigDecimal getUpperBound() {
+      return upperBound;
+    }
+
+  }
+
+}
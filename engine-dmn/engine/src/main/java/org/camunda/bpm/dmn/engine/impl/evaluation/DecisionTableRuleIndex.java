@@ -0,0 +1,94 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+
+/**
+ * Index of the input entries of a decision table, which allows to find the
+ * matching rules of large decision tables without evaluating every input
+ * entry. It is created when the decision table is transformed and is only
+ * used if all indexed input entries are evaluated by the FEEL engine.
+ *
+ * @see DecisionTableInputIndex
+ */
+public class DecisionTableRuleIndex {
+
+  protected final List<DecisionTableInputIndex> inputIndexes;
+  /** the expression languages of the indexed input entries, null for the default language */
+  protected final Set<String> expressionLanguages;
+
+  public DecisionTableRuleIndex(List<DecisionTableInputIndex> inputIndexes, Set<String> expressionLanguages) {
+    this.inputIndexes = inputIndexes;
+    this.expressionLanguages = expressionLanguages;
+  }
+
+  /**
+   * Creates the index of the given decision table.
+   *
+   * @return the index or null if no input entry of the decision table can be indexed
+   */
+  public static DecisionTableRuleIndex create(DmnDecisionTableImpl decisionTable) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+
+    List<DecisionTableInputIndex> inputIndexes = new ArrayList<>(inputSize);
+    Set<String> expressionLanguages = new HashSet<>();
+    boolean isIndexed = false;
+
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      DecisionTableInputIndex inputIndex = new DecisionTableInputIndex();
+
+      for (int ruleIdx = 0; ruleIdx < rules.size(); ruleIdx++) {
+        DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+        String expression = condition != null ? condition.getExpression() : null;
+
+        if (expression == null || expression.trim().isEmpty()) {
+          inputIndex.addWildcardRule(ruleIdx);
+        }
+        else if (inputIndex.addSimpleUnaryTests(ruleIdx, expression.trim())) {
+          expressionLanguages.add(condition.getExpressionLanguage());
+        }
+        else {
+          inputIndex.addUnindexedRule(ruleIdx);
+        }
+      }
+
+      inputIndex.build();
+      isIndexed |= inputIndex.isIndexed();
+      inputIndexes.add(inputIndex);
+    }
+
+    return isIndexed ? new DecisionTableRuleIndex(inputIndexes, expressionLanguages) : null;
+  }
+
+  public DecisionTableInputIndex getInputIndex(int inputIdx) {
+    return inputIndexes.get(inputIdx);
+  }
+
+  public Set<String> getExpressionLanguages() {
+    return expressionLanguages;
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DecisionTableRuleIndexTest extends DmnEngineTest {
+
+  public static final String DMN_FILE = "org/camunda/bpm/dmn/engine/evaluate/DecisionTableRuleIndexTest.dmn";
+
+  protected static final List<String> DECISIONS = Arrays.asList("ruleOrder", "first", "collect", "collectSum");
+
+  protected static final List<String> CATEGORIES = Arrays.asList("gold", "silver", "bronze", "", "other", null);
+
+  protected static final List<Object> AMOUNTS = Arrays.asList(
+      -20, -10, -5, 0, 50, 51, 100, 101, 149, 150, 1000,
+      100L, 50.5, 100.0, new BigDecimal("100.00"));
+
+  protected DmnEngine unindexedDmnEngine;
+
+  @Before
+  public void buildUnindexedDmnEngine() {
+    unindexedDmnEngine = new DefaultDmnEngineConfiguration()
+      .enableDecisionTableRuleIndex(false)
+      .buildEngine();
+  }
+
+  @Test
+  public void shouldCreateRuleIndex() {
+    // when
+    DmnDecision decision = parseDecisionFromFile("ruleOrder", DMN_FILE);
+
+    // then
+    assertThat(((DmnDecisionTableImpl) decision.getDecisionLogic()).getRuleIndex()).isNotNull();
+  }
+
+  @Test
+  public void shouldMatchRulesByIndex() {
+    // given
+    DmnDecision decision = parseDecisionFromFile("ruleOrder", DMN_FILE);
+
+    // when
+    DmnDecisionResult result = dmnEngine.evaluateDecision(decision, Variables.createVariables()
+        .putValue("category", "gold")
+        .putValue("amount", 100));
+
+    // then
+    assertThat(result.collectEntries("result")).containsExactly("r1", "r8");
+  }
+
+  @Test
+  public void shouldEvaluateSameResultAsWithoutIndex() {
+    for (String decisionKey : DECISIONS) {
+      DmnDecision decision = parseDecisionFromFile(decisionKey, DMN_FILE);
+
+      for (String category : CATEGORIES) {
+        for (Object amount : AMOUNTS) {
+          VariableMap variables = Variables.createVariables()
+              .putValue("category", category)
+              .putValue("amount", amount);
+
+          DmnDecisionResult indexedResult = dmnEngine.evaluateDecision(decision, variables);
+          DmnDecisionResult unindexedResult = unindexedDmnEngine.evaluateDecision(decision, variables);
+
+          assertThat(indexedResult.getResultList())
+            .describedAs("decision '%s' with category '%s' and amount '%s'", decisionKey, category, amount)
+            .isEqualTo(unindexedResult.getResultList());
+        }
+      }
+    }
+  }
+
+}
@@ -58,4 +58,9 @@ public class JsonValueSerializer extends SpinValueSerializer {
     return jsonValue;
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
@@ -123,4 +123,9 @@ public class SpinObjectValueSerializer extends AbstractObjectValueSerializer {
     return validator;
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
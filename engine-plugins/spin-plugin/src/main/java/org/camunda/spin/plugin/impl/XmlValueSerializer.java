@@ -58,4 +58,9 @@ public class XmlValueSerializer extends SpinValueSerializer {
     return xmlValue;
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
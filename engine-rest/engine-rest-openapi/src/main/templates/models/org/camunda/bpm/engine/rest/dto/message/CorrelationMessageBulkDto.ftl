@@ -0,0 +1,14 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+    <@lib.property
+        name = "messages"
+        type = "array"
+        dto = "CorrelationMessageDto"
+        last = true
+        desc = "The messages to correlate, in the order of correlation. The properties `all` and
+                `variablesInResultEnabled` are not supported; `resultEnabled` is ignored." />
+
+</@lib.dto>
+
+</#macro>
@@ -0,0 +1,26 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+    <@lib.property
+        name = "correlated"
+        type = "boolean"
+        desc = "`true` if the message was correlated, `false` otherwise."/>
+
+    <@lib.property
+        name = "result"
+        type = "ref"
+        dto = "MessageCorrelationResultWithVariableDto"
+        desc = "The result of the correlation, if the message was correlated. The `variables`
+                property is never set."/>
+
+    <@lib.property
+        name = "error"
+        type = "ref"
+        dto = "ExceptionDto"
+        last = true
+        desc = "The reason why the message was not correlated, e.g. a `MismatchingMessageCorrelationException`
+                if none or more than one execution or process definition matches the message."/>
+
+</@lib.dto>
+
+</#macro>
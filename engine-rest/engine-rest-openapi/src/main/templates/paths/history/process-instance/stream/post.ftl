@@ -0,0 +1,57 @@
+<#macro endpoint_macro docsUrl="">
+{
+  <@lib.endpointInfo
+      id = "streamHistoricProcessInstances"
+      tag = "Historic Process Instance"
+      summary = "Stream List (POST)"
+      desc = "Streams the historic process instances that fulfill the given parameters as newline delimited JSON,
+              one historic process instance per line.
+              This method takes the same message body as the [Get Process Instances (POST)](${docsUrl}/reference/rest/history/process-instance/get-process-instance-query/) method.
+              The instances are selected in batches while the response is written, so large result sets can be
+              exported without paging. Instances which are created or deleted meanwhile may or may not be contained." />
+
+  "parameters" : [
+
+    <@lib.parameter
+        name = "batchSize"
+        location = "query"
+        type = "integer"
+        last = true
+        desc = "The number of historic process instances selected at once. Defaults to `1000`.
+                Must not exceed the maximum results limit (`queryMaxResultsLimit`) of the process engine." />
+
+  ],
+  <#assign requestMethod="POST"/>
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "HistoricProcessInstanceQueryDto"
+      examples = [
+                  '"example-1": {
+                     "summary": "POST `/history/process-instance/stream?batchSize=500`",
+                     "value": {
+                                "finishedAfter": "2013-01-01T00:00:00.000+0200",
+                                "finishedBefore": "2013-04-01T23:59:59.000+0200"
+                              }
+                   }'
+                ] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        mediaType = "application/x-ndjson"
+        binary = true
+        desc = "Request successful. Every line of the response is a `HistoricProcessInstanceDto`." />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Bad Request
+                Returned if some of the query parameters are invalid, for example if the batch size is not greater than 0
+                or exceeds the maximum results limit.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling) for the error response format."/>
+
+  }
+}
+</#macro>
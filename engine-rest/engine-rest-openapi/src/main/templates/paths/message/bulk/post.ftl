@@ -0,0 +1,82 @@
+<#macro endpoint_macro docsUrl="">
+{
+
+  <@lib.endpointInfo
+      id = "deliverMessages"
+      tag = "Message"
+      summary = "Correlate Bulk"
+      desc = "Correlates a list of messages. Each message is correlated like a message sent to
+              [Correlate](${docsUrl}/reference/rest/message/post-message/) with `resultEnabled` set to `true`.
+              Internally this maps to the engine's `RuntimeService#correlateMessages(List)` method, which
+              correlates messages with a business key in shared transactions.
+
+              A message that cannot be correlated does not affect the other messages; the response contains
+              one result per message in the order of the request." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "CorrelationMessageBulkDto"
+      examples = ['"example-1": {
+                      "summary": "POST /message/bulk",
+                      "value": {
+                        "messages": [
+                          {
+                            "messageName" : "aMessage",
+                            "businessKey" : "aBusinessKey"
+                          },
+                          {
+                            "messageName" : "aMessage",
+                            "businessKey" : "anotherBusinessKey",
+                            "processVariables" : {
+                              "aVariable" : {"value" : "aValue", "type": "String"}
+                            }
+                          }
+                        ]
+                      }
+                     }']
+                     />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "MessageCorrelationBulkResultDto"
+        array = true
+        desc = "Request successful. Contains one result per message."
+        examples = ['"example-1": {
+                       "summary": "Status 200 Response.",
+                       "value": [{
+                         "correlated": true,
+                         "result": {
+                           "resultType": "Execution",
+                           "execution": {
+                             "id": "anExecutionId",
+                             "processInstanceId": "aProcInstId",
+                             "ended": false,
+                             "tenantId": null
+                           },
+                           "processInstance": null
+                         },
+                         "error": null
+                       },
+                       {
+                         "correlated": false,
+                         "result": null,
+                         "error": {
+                           "type": "MismatchingMessageCorrelationException",
+                           "message": "Cannot correlate message \'aMessage\': No process definition or execution matches the parameters"
+                         }
+                       }]
+                     }']/>
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if no messages are supplied.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling) for the error response format."/>
+
+  }
+}
+
+</#macro>
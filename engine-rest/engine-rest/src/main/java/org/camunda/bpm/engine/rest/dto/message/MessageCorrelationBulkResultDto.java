@@ -0,0 +1,71 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.message;
+
+import org.camunda.bpm.engine.rest.dto.ExceptionDto;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+
+public class MessageCorrelationBulkResultDto {
+
+  private boolean correlated;
+
+  private MessageCorrelationResultDto result;
+
+  private ExceptionDto error;
+
+  public static MessageCorrelationBulkResultDto fromMessageCorrelationBulkResult(MessageCorrelationBulkResult bulkResult) {
+    if (!bulkResult.isCorrelated()) {
+      return failed(bulkResult.getException());
+    }
+    MessageCorrelationBulkResultDto dto = new MessageCorrelationBulkResultDto();
+    dto.correlated = true;
+    dto.result = MessageCorrelationResultDto.fromMessageCorrelationResult(bulkResult.getCorrelationResult());
+    return dto;
+  }
+
+  public static MessageCorrelationBulkResultDto failed(Throwable exception) {
+    MessageCorrelationBulkResultDto dto = new MessageCorrelationBulkResultDto();
+    dto.correlated = false;
+    dto.error = ExceptionDto.fromException(exception);
+    return dto;
+  }
+
+  public boolean isCorrelated() {
+    return correlated;
+  }
+
+  public void setCorrelated(boolean correlated) {
+    this.correlated = correlated;
+  }
+
+  public MessageCorrelationResultDto getResult() {
+    return result;
+  }
+
+  public void setResult(MessageCorrelationResultDto result) {
+    this.result = result;
+  }
+
+  public ExceptionDto getError() {
+    return error;
+  }
+
+  public void setError(ExceptionDto error) {
+    this.error = error;
+  }
+
+}
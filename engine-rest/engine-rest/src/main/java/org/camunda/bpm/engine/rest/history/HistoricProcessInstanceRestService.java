@@ -47,6 +47,8 @@ public interface HistoricProcessInstanceRestService {
 
   public static final String PATH = "/process-instance";
 
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
   @Path("/{id}")
   HistoricProcessInstanceResource getHistoricProcessInstance(@PathParam("id") String processInstanceId);
 
@@ -76,6 +78,16 @@ public interface HistoricProcessInstanceRestService {
   List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Streams the historic process instances matching the query as newline delimited JSON.
+   * The instances are selected in batches of the given size while the response is written.
+   */
+  @POST
+  @Path("/stream")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(APPLICATION_NDJSON)
+  Response streamHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("batchSize") Integer batchSize);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
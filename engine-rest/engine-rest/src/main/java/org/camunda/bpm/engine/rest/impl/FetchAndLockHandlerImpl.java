@@ -17,10 +17,20 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.servlet.ServletContext;
@@ -32,9 +42,12 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
+import org.camunda.bpm.engine.rest.dto.SortingDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -51,6 +64,9 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
   private static final Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
   protected static final String UNIQUE_WORKER_REQUEST_PARAM_NAME = "fetch-and-lock-unique-worker-request";
+  protected static final String QUEUE_CAPACITY_PARAM_NAME = "fetch-and-lock-queue-capacity";
+
+  protected static final int DEFAULT_QUEUE_CAPACITY = 200;
 
   protected static final long PENDING_REQUEST_FETCH_INTERVAL = 30L * 1000;
   protected static final long MAX_BACK_OFF_TIME = Long.MAX_VALUE;
@@ -58,10 +74,18 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected SingleConsumerCondition condition;
 
-  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(200);
+  // notified by the engine about the topics of external tasks which became available
+  protected Consumer<String> topicConsumer = this::notifyTopic;
+  protected volatile Set<String> subscribedTopics = Collections.emptySet();
+  protected Set<String> notifiedTopics = ConcurrentHashMap.newKeySet();
+  protected AtomicBoolean allTopicsNotified = new AtomicBoolean();
+
+  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
   protected List<FetchAndLockRequest> pendingRequests = new ArrayList<>();
   protected List<FetchAndLockRequest> newRequests = new ArrayList<>();
 
+  protected long lastFetchOfAllRequests = 0;
+
   protected Thread handlerThread = new Thread(this, this.getClass().getSimpleName());
 
   protected volatile boolean isRunning = false;
@@ -91,6 +115,8 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     queue.drainTo(newRequests);
 
+    List<FetchAndLockRequest> dueRequests = new ArrayList<>(newRequests);
+
     if (!newRequests.isEmpty()) {
       if (isUniqueWorkerRequest) {
         removeDuplicates();
@@ -98,20 +124,44 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       pendingRequests.addAll(newRequests);
       newRequests.clear();
+
+      // subscribe before fetching, so that no task of a new request's topics is missed
+      updateSubscribedTopics();
     }
 
     LOG.log(Level.FINEST, "Number of pending requests {0}", pendingRequests.size());
 
+    dueRequests = selectDueRequests(dueRequests);
+
+    LOG.log(Level.FINEST, "Number of due requests {0}", dueRequests.size());
+
+    Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+    for (List<FetchAndLockRequest> compatibleRequests : groupCompatibleRequests(dueRequests)) {
+      if (compatibleRequests.size() == 1) {
+        FetchAndLockRequest request = compatibleRequests.get(0);
+        LOG.log(Level.FINEST, "Fetching tasks for request {0}", request);
+        results.put(request, tryFetchAndLock(request));
+      }
+      else {
+        LOG.log(Level.FINEST, "Fetching tasks for requests {0}", compatibleRequests);
+        results.putAll(tryFetchAndLock(compatibleRequests));
+      }
+    }
+
     long backoffTime = MAX_BACK_OFF_TIME; //timestamp
 
     Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
     while (iterator.hasNext()) {
 
       FetchAndLockRequest pendingRequest = iterator.next();
+      FetchAndLockResult result = results.get(pendingRequest);
 
-      LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
-
-      FetchAndLockResult result = tryFetchAndLock(pendingRequest);
+      if (result == null) {
+        // not due in this cycle
+        final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - ClockUtil.getCurrentTime().getTime();
+        backoffTime = Math.min(backoffTime, msUntilTimeout);
+        continue;
+      }
 
       LOG.log(Level.FINEST, "Fetch and lock result: {0}", result);
 
@@ -143,6 +193,8 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       }
     }
 
+    updateSubscribedTopics();
+
     final long waitTime = Math.max(0, backoffTime);
 
     if (pendingRequests.isEmpty()) {
@@ -155,6 +207,156 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  /**
+   * Selects the pending requests to fetch tasks for: the new requests, the requests subscribed
+   * to a topic with available tasks and the expired requests. All pending requests are due if
+   * the topics of the available tasks are unknown, if the acquisition woke up for a different
+   * reason (e.g. periodically) and at least every {@link #PENDING_REQUEST_FETCH_INTERVAL}.
+   */
+  protected List<FetchAndLockRequest> selectDueRequests(List<FetchAndLockRequest> newRequests) {
+    Set<String> topics = new HashSet<>();
+    Iterator<String> notifiedTopicsIterator = notifiedTopics.iterator();
+    while (notifiedTopicsIterator.hasNext()) {
+      topics.add(notifiedTopicsIterator.next());
+      notifiedTopicsIterator.remove();
+    }
+
+    boolean allTopics = allTopicsNotified.getAndSet(false);
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+
+    if (allTopics
+        || (newRequests.isEmpty() && topics.isEmpty())
+        || currentTime - lastFetchOfAllRequests >= PENDING_REQUEST_FETCH_INTERVAL) {
+      lastFetchOfAllRequests = currentTime;
+      return new ArrayList<>(pendingRequests);
+    }
+
+    Set<FetchAndLockRequest> requests = new HashSet<>(newRequests);
+    List<FetchAndLockRequest> dueRequests = new ArrayList<>();
+    for (FetchAndLockRequest pendingRequest : pendingRequests) {
+      if (requests.contains(pendingRequest)
+          || isSubscribedToAny(pendingRequest, topics)
+          || isExpired(pendingRequest)) {
+        dueRequests.add(pendingRequest);
+      }
+    }
+
+    return dueRequests;
+  }
+
+  protected boolean isSubscribedToAny(FetchAndLockRequest request, Set<String> topics) {
+    List<FetchExternalTaskTopicDto> requestedTopics = request.getDto().getTopics();
+    if (requestedTopics != null) {
+      for (FetchExternalTaskTopicDto topic : requestedTopics) {
+        if (topics.contains(topic.getTopicName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  protected void updateSubscribedTopics() {
+    Set<String> topics = new HashSet<>();
+    for (FetchAndLockRequest pendingRequest : pendingRequests) {
+      List<FetchExternalTaskTopicDto> requestedTopics = pendingRequest.getDto().getTopics();
+      if (requestedTopics != null) {
+        for (FetchExternalTaskTopicDto topic : requestedTopics) {
+          topics.add(topic.getTopicName());
+        }
+      }
+    }
+    subscribedTopics = topics;
+  }
+
+  /**
+   * Invoked by the engine when an external task became available for fetching.
+   */
+  protected void notifyTopic(String topicName) {
+    if (topicName == null) {
+      allTopicsNotified.set(true);
+      condition.signal();
+    }
+    else if (subscribedTopics.contains(topicName)) {
+      notifiedTopics.add(topicName);
+      condition.signal();
+    }
+  }
+
+  /**
+   * Groups requests which only differ by their worker id, maximum number of tasks and
+   * timeout, so that the tasks of each group can be fetched and locked at once.
+   */
+  protected Iterable<List<FetchAndLockRequest>> groupCompatibleRequests(List<FetchAndLockRequest> requests) {
+    Map<Object, List<FetchAndLockRequest>> groups = new LinkedHashMap<>();
+    for (FetchAndLockRequest request : requests) {
+      groups.computeIfAbsent(getCompatibilityKey(request), key -> new ArrayList<>()).add(request);
+    }
+    return groups.values();
+  }
+
+  /**
+   * @return a key which is equal for requests which select the same tasks and only
+   *   differ by their worker id, maximum number of tasks and timeout
+   */
+  protected Object getCompatibilityKey(FetchAndLockRequest request) {
+    FetchExternalTasksExtendedDto dto = request.getDto();
+    if (dto.getWorkerId() == null || dto.getTopics() == null) {
+      // fails on fetching, must not fail other requests
+      return request;
+    }
+
+    List<Object> topics = new ArrayList<>();
+    for (FetchExternalTaskTopicDto topic : dto.getTopics()) {
+      topics.add(getCompatibilityKey(topic));
+    }
+
+    List<Object> sorting = new ArrayList<>();
+    if (dto.getSorting() != null) {
+      for (SortingDto sortingDto : dto.getSorting()) {
+        sorting.add(Arrays.asList(sortingDto.getSortBy(), sortingDto.getSortOrder(), sortingDto.getParameters()));
+      }
+    }
+
+    // the tasks are fetched with the authentication of the first request of a group
+    Authentication authentication = request.getAuthentication();
+    Object authenticationKey = null;
+    if (authentication != null) {
+      authenticationKey = Arrays.asList(authentication.getUserId(),
+          toSet(authentication.getGroupIds()), toSet(authentication.getTenantIds()));
+    }
+
+    return Arrays.asList(request.getProcessEngineName(), topics, dto.isUsePriority(), sorting,
+        dto.isIncludeExtensionProperties(), authenticationKey);
+  }
+
+  protected Object getCompatibilityKey(FetchExternalTaskTopicDto topic) {
+    return Arrays.asList(
+        topic.getTopicName(),
+        topic.getBusinessKey(),
+        topic.getProcessDefinitionId(),
+        toList(topic.getProcessDefinitionIdIn()),
+        topic.getProcessDefinitionKey(),
+        toList(topic.getProcessDefinitionKeyIn()),
+        topic.getProcessDefinitionVersionTag(),
+        topic.getLockDuration(),
+        topic.getVariables(),
+        topic.getProcessVariables(),
+        topic.isDeserializeValues(),
+        topic.isLocalVariables(),
+        topic.isIncludeExtensionProperties(),
+        topic.isWithoutTenantId(),
+        toList(topic.getTenantIdIn()));
+  }
+
+  protected List<String> toList(String[] values) {
+    return values == null ? null : Arrays.asList(values);
+  }
+
+  protected Set<String> toSet(List<String> values) {
+    return values == null ? null : new HashSet<>(values);
+  }
+
   protected void removeDuplicates() {
     for (FetchAndLockRequest newRequest : newRequests) {
       // remove any request from pendingRequests with the same worker id
@@ -181,13 +383,13 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     isRunning = true;
     handlerThread.start();
 
-    ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_TOPIC_CONDITIONS.addConsumer(topicConsumer);
   }
 
   @Override
   public void shutdown() {
     try {
-      ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      ProcessEngineImpl.EXT_TASK_TOPIC_CONDITIONS.removeConsumer(topicConsumer);
     }
     finally {
       isRunning = false;
@@ -261,6 +463,76 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     return result;
   }
 
+  /**
+   * Fetches and locks the tasks of compatible requests at once and distributes them to the
+   * requests. The tasks are handed out to the workers in turns and each worker's tasks to
+   * its requests in the order of the requests.
+   */
+  protected Map<FetchAndLockRequest, FetchAndLockResult> tryFetchAndLock(List<FetchAndLockRequest> requests) {
+
+    FetchAndLockRequest firstRequest = requests.get(0);
+    IdentityService identityService = null;
+    Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+
+    try {
+      ProcessEngine processEngine = getProcessEngine(firstRequest);
+
+      ExternalTaskQueryTopicBuilder fetchBuilder = firstRequest.getDto().buildQuery(processEngine);
+      if (!(fetchBuilder instanceof ExternalTaskQueryTopicBuilderImpl)) {
+        // only the query builder of the engine can fetch for several workers at once
+        for (FetchAndLockRequest request : requests) {
+          results.put(request, tryFetchAndLock(request));
+        }
+        return results;
+      }
+
+      identityService = processEngine.getIdentityService();
+      identityService.setAuthentication(firstRequest.getAuthentication());
+
+      Map<String, Integer> maxTasksByWorkerId = new LinkedHashMap<>();
+      for (FetchAndLockRequest request : requests) {
+        FetchExternalTasksExtendedDto dto = request.getDto();
+        maxTasksByWorkerId.merge(dto.getWorkerId(), dto.getMaxTasks(), Integer::sum);
+      }
+
+      Map<String, List<LockedExternalTaskDto>> lockedTasksByWorkerId =
+          executeFetchAndLock((ExternalTaskQueryTopicBuilderImpl) fetchBuilder, maxTasksByWorkerId);
+
+      Map<String, Integer> handedOutTasksByWorkerId = new HashMap<>();
+      for (FetchAndLockRequest request : requests) {
+        FetchExternalTasksExtendedDto dto = request.getDto();
+        List<LockedExternalTaskDto> workerTasks = lockedTasksByWorkerId.getOrDefault(dto.getWorkerId(), Collections.emptyList());
+
+        int from = Math.min(handedOutTasksByWorkerId.getOrDefault(dto.getWorkerId(), 0), workerTasks.size());
+        int to = Math.min(from + dto.getMaxTasks(), workerTasks.size());
+        handedOutTasksByWorkerId.put(dto.getWorkerId(), to);
+
+        results.put(request, FetchAndLockResult.successful(new ArrayList<>(workerTasks.subList(from, to))));
+      }
+    }
+    catch (Exception e) {
+      for (FetchAndLockRequest request : requests) {
+        results.put(request, FetchAndLockResult.failed(e));
+      }
+    }
+    finally {
+      if (identityService != null) {
+        identityService.clearAuthentication();
+      }
+    }
+
+    return results;
+  }
+
+  protected Map<String, List<LockedExternalTaskDto>> executeFetchAndLock(ExternalTaskQueryTopicBuilderImpl fetchBuilder,
+                                                                         Map<String, Integer> maxTasksByWorkerId) {
+    Map<String, List<LockedExternalTask>> externalTasks = fetchBuilder.executeForWorkers(maxTasksByWorkerId);
+
+    Map<String, List<LockedExternalTaskDto>> result = new HashMap<>();
+    externalTasks.forEach((workerId, tasks) -> result.put(workerId, LockedExternalTaskDto.fromLockedExternalTasks(tasks)));
+    return result;
+  }
+
   protected List<LockedExternalTaskDto> executeFetchAndLock(FetchExternalTasksExtendedDto fetchingDto, ProcessEngine processEngine) {
     ExternalTaskQueryTopicBuilder fetchBuilder = fetchingDto.buildQuery(processEngine);
     List<LockedExternalTask> externalTasks = fetchBuilder.execute();
@@ -344,6 +616,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       if (servletContext != null) {
         parseUniqueWorkerRequestParam(servletContext.getInitParameter(UNIQUE_WORKER_REQUEST_PARAM_NAME));
+        parseQueueCapacityParam(servletContext.getInitParameter(QUEUE_CAPACITY_PARAM_NAME));
       }
     }
   }
@@ -356,6 +629,27 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  protected void parseQueueCapacityParam(String queueCapacityParam) {
+    int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    if (queueCapacityParam != null) {
+      try {
+        queueCapacity = Integer.parseInt(queueCapacityParam.trim());
+      }
+      catch (NumberFormatException e) {
+        LOG.log(Level.WARNING, "Invalid value ''{0}'' of {1}, using the default capacity",
+            new Object[] { queueCapacityParam, QUEUE_CAPACITY_PARAM_NAME });
+      }
+    }
+
+    if (queueCapacity <= 0) {
+      LOG.log(Level.WARNING, "The value of {0} must be positive, using the default capacity", QUEUE_CAPACITY_PARAM_NAME);
+      queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    }
+
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
   public List<FetchAndLockRequest> getPendingRequests() {
     return pendingRequests;
   }
@@ -26,13 +26,17 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.rest.MessageRestService;
 import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageBulkDto;
 import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageDto;
+import org.camunda.bpm.engine.rest.dto.message.MessageCorrelationBulkResultDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -49,12 +53,7 @@ public class MessageRestServiceImpl extends AbstractRestProcessEngineAware imple
 
   @Override
   public Response deliverMessage(CorrelationMessageDto messageDto) {
-    if (messageDto.getMessageName() == null) {
-      throw new InvalidRequestException(Status.BAD_REQUEST, "No message name supplied");
-    }
-    if (messageDto.getTenantId() != null && messageDto.isWithoutTenantId()) {
-      throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'tenantId' cannot be used together with parameter 'withoutTenantId'.");
-    }
+    validateMessage(messageDto);
     boolean variablesInResultEnabled = messageDto.isVariablesInResultEnabled();
     if (!messageDto.isResultEnabled() && variablesInResultEnabled) {
       throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'variablesInResultEnabled' cannot be used without 'resultEnabled' set to true.");
@@ -78,6 +77,55 @@ public class MessageRestServiceImpl extends AbstractRestProcessEngineAware imple
     return createResponse(resultDtos, messageDto);
   }
 
+  @Override
+  public List<MessageCorrelationBulkResultDto> deliverMessages(CorrelationMessageBulkDto bulkDto) {
+    List<CorrelationMessageDto> messageDtos = bulkDto.getMessages();
+    if (messageDtos == null || messageDtos.isEmpty()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No messages supplied");
+    }
+
+    MessageCorrelationBulkResultDto[] resultDtos = new MessageCorrelationBulkResultDto[messageDtos.size()];
+    List<MessageCorrelationBuilder> correlations = new ArrayList<>();
+    List<Integer> correlationIndexes = new ArrayList<>();
+
+    for (int i = 0; i < messageDtos.size(); i++) {
+      CorrelationMessageDto messageDto = messageDtos.get(i);
+      try {
+        validateMessage(messageDto);
+        if (messageDto.isAll()) {
+          throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'all' cannot be used for bulk correlation.");
+        }
+        if (messageDto.isVariablesInResultEnabled()) {
+          throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'variablesInResultEnabled' cannot be used for bulk correlation.");
+        }
+        correlations.add(createMessageCorrelationBuilder(messageDto));
+        correlationIndexes.add(i);
+
+      } catch (RestException e) {
+        // an invalid message must not prevent the correlation of the others
+        resultDtos[i] = MessageCorrelationBulkResultDto.failed(e);
+      }
+    }
+
+    if (!correlations.isEmpty()) {
+      List<MessageCorrelationBulkResult> results = getProcessEngine().getRuntimeService().correlateMessages(correlations);
+      for (int i = 0; i < results.size(); i++) {
+        resultDtos[correlationIndexes.get(i)] = MessageCorrelationBulkResultDto.fromMessageCorrelationBulkResult(results.get(i));
+      }
+    }
+
+    return Arrays.asList(resultDtos);
+  }
+
+  protected void validateMessage(CorrelationMessageDto messageDto) {
+    if (messageDto.getMessageName() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No message name supplied");
+    }
+    if (messageDto.getTenantId() != null && messageDto.isWithoutTenantId()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'tenantId' cannot be used together with parameter 'withoutTenantId'.");
+    }
+  }
+
   protected List<MessageCorrelationResultDto> correlate(CorrelationMessageDto messageDto, MessageCorrelationBuilder correlation) {
     List<MessageCorrelationResultDto> resultDtos = new ArrayList<>();
     if (!messageDto.isAll()) {
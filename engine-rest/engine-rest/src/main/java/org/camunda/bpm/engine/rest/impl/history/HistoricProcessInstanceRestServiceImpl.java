@@ -19,12 +19,15 @@ package org.camunda.bpm.engine.rest.impl.history;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.core.Variant;
 import org.camunda.bpm.engine.BadUserRequestException;
@@ -56,6 +59,7 @@ import org.camunda.bpm.engine.rest.util.URLEncodingUtil;
 
   public static final MediaType APPLICATION_CSV_TYPE = new MediaType("application", "csv");
   public static final MediaType TEXT_CSV_TYPE = new MediaType("text", "csv");
+  public static final MediaType APPLICATION_NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
   public static final List<Variant> VARIANTS = Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE, APPLICATION_CSV_TYPE, TEXT_CSV_TYPE).add().build();
 
   protected ObjectMapper objectMapper;
@@ -92,6 +96,29 @@ import org.camunda.bpm.engine.rest.util.URLEncodingUtil;
     return historicProcessInstanceDtoResults;
   }
 
+  @Override
+  public Response streamHistoricProcessInstances(HistoricProcessInstanceQueryDto queryDto, Integer batchSize) {
+    queryDto.setObjectMapper(objectMapper);
+    HistoricProcessInstanceQuery query = queryDto.toQuery(processEngine);
+
+    Stream<HistoricProcessInstance> historicProcessInstances = batchSize != null ? query.stream(batchSize) : query.stream();
+
+    // select the first batch right away, so that an invalid query fails before the response is committed
+    Iterator<HistoricProcessInstance> results = historicProcessInstances.iterator();
+    results.hasNext();
+
+    StreamingOutput output = outputStream -> {
+      while (results.hasNext()) {
+        HistoricProcessInstanceDto dto = HistoricProcessInstanceDto.fromHistoricProcessInstance(results.next());
+        outputStream.write(objectMapper.writeValueAsBytes(dto));
+        outputStream.write('\n');
+      }
+      outputStream.flush();
+    };
+
+    return Response.ok(output, APPLICATION_NDJSON_TYPE).build();
+  }
+
   @Override
   public CountResultDto getHistoricProcessInstancesCount(UriInfo uriInfo) {
     HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -43,9 +44,11 @@ import org.camunda.bpm.engine.rest.helper.VariableTypeHelper;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import io.restassured.http.ContentType;
@@ -1357,4 +1360,83 @@ public class MessageRestServiceTest extends AbstractRestServiceTest {
         from(content).getMap("[" + idx + "].variables." + MockProvider.EXAMPLE_DESERIALIZED_VARIABLE_INSTANCE_NAME + ".valueInfo").get("objectTypeName"));
   }
 
+  @Test
+  public void testBulkMessageCorrelation() {
+    MessageCorrelationBulkResult correlated = mock(MessageCorrelationBulkResult.class);
+    when(correlated.isCorrelated()).thenReturn(true);
+    when(correlated.getCorrelationResult()).thenReturn(executionResult);
+
+    MessageCorrelationBulkResult failed = mock(MessageCorrelationBulkResult.class);
+    when(failed.isCorrelated()).thenReturn(false);
+    when(failed.getException()).thenReturn(new MismatchingMessageCorrelationException("aMessageName", "aBusinessKey"));
+
+    when(runtimeServiceMock.correlateMessages(any())).thenReturn(Arrays.asList(correlated, failed));
+
+    Map<String, Object> firstMessage = new HashMap<>();
+    firstMessage.put("messageName", "aMessageName");
+    firstMessage.put("businessKey", "aBusinessKey");
+    Map<String, Object> secondMessage = new HashMap<>();
+    secondMessage.put("messageName", "aMessageName");
+    secondMessage.put("businessKey", "anotherBusinessKey");
+
+    Map<String, Object> bulkParameters = new HashMap<>();
+    bulkParameters.put("messages", Arrays.asList(firstMessage, secondMessage));
+
+    given().contentType(POST_JSON_CONTENT_TYPE).body(bulkParameters)
+      .then().expect().statusCode(Status.OK.getStatusCode()).contentType(ContentType.JSON)
+      .body("size()", equalTo(2))
+      .body("[0].correlated", equalTo(true))
+      .body("[0].result.resultType", equalTo(MessageCorrelationResultType.Execution.name()))
+      .body("[0].error", equalTo(null))
+      .body("[1].correlated", equalTo(false))
+      .body("[1].result", equalTo(null))
+      .body("[1].error.type", equalTo(MismatchingMessageCorrelationException.class.getSimpleName()))
+      .when().post(MESSAGE_URL + "/bulk");
+
+    verify(runtimeServiceMock).createMessageCorrelation("aMessageName");
+    verify(messageCorrelationBuilderMock).processInstanceBusinessKey("aBusinessKey");
+    verify(messageCorrelationBuilderMock).processInstanceBusinessKey("anotherBusinessKey");
+    ArgumentCaptor<List<MessageCorrelationBuilder>> correlations = ArgumentCaptor.forClass(List.class);
+    verify(runtimeServiceMock).correlateMessages(correlations.capture());
+    assertEquals(2, correlations.getValue().size());
+  }
+
+  @Test
+  public void testBulkMessageCorrelationWithInvalidMessage() {
+    MessageCorrelationBulkResult correlated = mock(MessageCorrelationBulkResult.class);
+    when(correlated.isCorrelated()).thenReturn(true);
+    when(correlated.getCorrelationResult()).thenReturn(procInstanceResult);
+    when(runtimeServiceMock.correlateMessages(any())).thenReturn(Arrays.asList(correlated));
+
+    Map<String, Object> invalidMessage = new HashMap<>();
+    invalidMessage.put("businessKey", "aBusinessKey");
+    Map<String, Object> validMessage = new HashMap<>();
+    validMessage.put("messageName", "aMessageName");
+
+    Map<String, Object> bulkParameters = new HashMap<>();
+    bulkParameters.put("messages", Arrays.asList(invalidMessage, validMessage));
+
+    given().contentType(POST_JSON_CONTENT_TYPE).body(bulkParameters)
+      .then().expect().statusCode(Status.OK.getStatusCode()).contentType(ContentType.JSON)
+      .body("[0].correlated", equalTo(false))
+      .body("[0].error.type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("[0].error.message", equalTo("No message name supplied"))
+      .body("[1].correlated", equalTo(true))
+      .body("[1].result.resultType", equalTo(MessageCorrelationResultType.ProcessDefinition.name()))
+      .when().post(MESSAGE_URL + "/bulk");
+
+    ArgumentCaptor<List<MessageCorrelationBuilder>> correlations = ArgumentCaptor.forClass(List.class);
+    verify(runtimeServiceMock).correlateMessages(correlations.capture());
+    assertEquals(1, correlations.getValue().size());
+  }
+
+  @Test
+  public void testBulkMessageCorrelationWithoutMessages() {
+    given().contentType(POST_JSON_CONTENT_TYPE).body(EMPTY_JSON_OBJECT)
+      .then().expect().statusCode(Status.BAD_REQUEST.getStatusCode()).contentType(ContentType.JSON)
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("No messages supplied"))
+      .when().post(MESSAGE_URL + "/bulk");
+  }
+
 }
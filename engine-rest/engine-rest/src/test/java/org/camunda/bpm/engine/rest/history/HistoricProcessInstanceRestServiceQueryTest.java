@@ -79,6 +79,7 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
 
   protected static final String HISTORIC_PROCESS_INSTANCE_RESOURCE_URL = TEST_RESOURCE_ROOT_PATH + "/history/process-instance";
   protected static final String HISTORIC_PROCESS_INSTANCE_COUNT_RESOURCE_URL = HISTORIC_PROCESS_INSTANCE_RESOURCE_URL + "/count";
+  protected static final String HISTORIC_PROCESS_INSTANCE_STREAM_RESOURCE_URL = HISTORIC_PROCESS_INSTANCE_RESOURCE_URL + "/stream";
 
   protected HistoricProcessInstanceQuery mockedQuery;
 
@@ -135,6 +136,66 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
     verifyNoMoreInteractions(mockedQuery);
   }
 
+  @Test
+  public void testStreamQuery() {
+    when(mockedQuery.stream()).thenReturn(MockProvider.createMockHistoricProcessInstances().stream());
+
+    Response response = given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(EMPTY_JSON_OBJECT)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .contentType("application/x-ndjson")
+      .when()
+        .post(HISTORIC_PROCESS_INSTANCE_STREAM_RESOURCE_URL);
+
+    verify(mockedQuery).stream();
+
+    String[] lines = response.asString().split("\n");
+    assertThat(lines).hasSize(1);
+    assertThat(from(lines[0]).getString("id")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+    assertThat(from(lines[0]).getString("businessKey")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_BUSINESS_KEY);
+  }
+
+  @Test
+  public void testStreamQueryWithBatchSize() {
+    when(mockedQuery.stream(5)).thenReturn(MockProvider.createMockHistoricProcessInstances().stream());
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(Collections.singletonMap("processInstanceBusinessKey", MockProvider.EXAMPLE_PROCESS_INSTANCE_BUSINESS_KEY))
+      .queryParam("batchSize", 5)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when()
+        .post(HISTORIC_PROCESS_INSTANCE_STREAM_RESOURCE_URL);
+
+    InOrder inOrder = inOrder(mockedQuery);
+    inOrder.verify(mockedQuery).processInstanceBusinessKey(MockProvider.EXAMPLE_PROCESS_INSTANCE_BUSINESS_KEY);
+    inOrder.verify(mockedQuery).stream(5);
+  }
+
+  @Test
+  public void testStreamQueryWithInvalidBatchSize() {
+    String message = "batchSize is not greater than 0";
+    when(mockedQuery.stream(0)).thenThrow(new BadUserRequestException(message));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(EMPTY_JSON_OBJECT)
+      .queryParam("batchSize", 0)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(BadUserRequestException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .post(HISTORIC_PROCESS_INSTANCE_STREAM_RESOURCE_URL);
+  }
+
   @Test
   public void testInvalidVariableRequests() {
     // invalid comparator
@@ -20,6 +20,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
@@ -34,18 +35,21 @@ import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response.Status;
 import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
-import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.FetchAndLockBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
+import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -77,7 +81,7 @@ public class FetchAndLockHandlerTest {
   protected ExternalTaskService externalTaskService;
 
   @Mock
-  protected ExternalTaskQueryTopicBuilder externalTaskQueryTopicBuilder;
+  protected ExternalTaskQueryTopicBuilderImpl externalTaskQueryTopicBuilder;
 
   @Mock
   protected FetchAndLockBuilder fetchAndLockBuilder;
@@ -377,6 +381,118 @@ public class FetchAndLockHandlerTest {
     assertThat(handler.getPendingRequests().size(), is(2));
   }
 
+  @Test
+  public void shouldFetchAndLockCompatibleRequestsAtOnce() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+    doReturn(Map.of("aWorkerId", Collections.singletonList(lockedExternalTaskMock), "anotherWorkerId", Collections.emptyList()))
+      .when(externalTaskQueryTopicBuilder).executeForWorkers(anyMap());
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    AsyncResponse anotherAsyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "aWorkerId"), asyncResponse, processEngine);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId"), anotherAsyncResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder).executeForWorkers(Map.of("aWorkerId", 5, "anotherWorkerId", 5));
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    verify(anotherAsyncResponse, never()).resume(any());
+    assertThat(handler.getPendingRequests().size(), is(1));
+  }
+
+  @Test
+  public void shouldDistributeTasksOfWorkerToItsRequests() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+    doReturn(Map.of("aWorkerId", Collections.nCopies(7, lockedExternalTaskMock)))
+      .when(externalTaskQueryTopicBuilder).executeForWorkers(anyMap());
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    AsyncResponse anotherAsyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L), asyncResponse, processEngine);
+    handler.addPendingRequest(createDto(5000L), anotherAsyncResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder).executeForWorkers(Map.of("aWorkerId", 10));
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(5)));
+    verify(anotherAsyncResponse).resume(argThat(IsCollectionWithSize.hasSize(2)));
+    assertThat(handler.getPendingRequests().size(), is(0));
+  }
+
+  @Test
+  public void shouldNotFetchAndLockRequestsOfDifferentAuthenticationAtOnce() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+    when(identityService.getCurrentAuthentication())
+      .thenReturn(new Authentication("aUserId", Collections.singletonList("aGroupId")))
+      .thenReturn(new Authentication("anotherUserId", Collections.singletonList("aGroupId")));
+
+    handler.addPendingRequest(createDto(5000L, "aWorkerId"), mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId"), mock(AsyncResponse.class), processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder, never()).executeForWorkers(anyMap());
+    verify(externalTaskQueryTopicBuilder, times(4)).execute();
+
+    ArgumentCaptor<Authentication> authenticationCaptor = ArgumentCaptor.forClass(Authentication.class);
+    verify(identityService, times(4)).setAuthentication(authenticationCaptor.capture());
+    assertThat(authenticationCaptor.getAllValues().get(2).getUserId(), is("aUserId"));
+    assertThat(authenticationCaptor.getAllValues().get(3).getUserId(), is("anotherUserId"));
+  }
+
+  @Test
+  public void shouldFetchAndLockRequestsOfSameAuthenticationAtOnce() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+    when(identityService.getCurrentAuthentication())
+      .thenReturn(new Authentication("aUserId", Arrays.asList("aGroupId", "anotherGroupId")))
+      .thenReturn(new Authentication("aUserId", Arrays.asList("anotherGroupId", "aGroupId")));
+
+    handler.addPendingRequest(createDto(5000L, "aWorkerId"), mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId"), mock(AsyncResponse.class), processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder).executeForWorkers(Map.of("aWorkerId", 5, "anotherWorkerId", 5));
+  }
+
+  @Test
+  public void shouldOnlyFetchForRequestsOfNotifiedTopic() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+
+    FetchExternalTasksExtendedDto anotherTopicDto = createDto(5000L);
+    anotherTopicDto.getTopics().get(0).setTopicName("anotherTopicName");
+
+    handler.addPendingRequest(createDto(5000L), mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(anotherTopicDto, mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    // assume
+    verify(externalTaskQueryTopicBuilder, times(4)).execute();
+
+    // when
+    handler.notifyTopic("aTopicName");
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder, times(5)).execute();
+    verify(externalTaskQueryTopicBuilder, times(3)).topic("aTopicName", 12354L);
+    verify(externalTaskQueryTopicBuilder, times(2)).topic("anotherTopicName", 12354L);
+    assertThat(handler.getPendingRequests().size(), is(2));
+  }
+
   @Test
   public void shouldResumeAsyncResponseDueToTooManyRequests() {
     // given
@@ -45,6 +45,7 @@ import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
 import org.camunda.bpm.engine.runtime.MessageCorrelationAsyncBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
@@ -2234,6 +2235,31 @@ public interface RuntimeService {
    */
   MessageCorrelationAsyncBuilder createMessageCorrelationAsync(String messageName);
 
+  /**
+   * Correlates a list of messages, defined via {@link #createMessageCorrelation(String)},
+   * in as few transactions as possible. Each message behaves as if
+   * {@link MessageCorrelationBuilder#correlateWithResult()} was invoked on it; messages with
+   * the same business key are correlated in the order of the list.
+   *
+   * <p>Messages that are correlated by message name and business key are grouped into
+   * transactions of at most <code>messageCorrelationBulkSize</code> messages and their
+   * message event subscriptions are fetched with a single query per transaction. Two messages
+   * with the same business key are never correlated in the same transaction. All other messages
+   * are correlated in a transaction of their own.</p>
+   *
+   * <p>The failure of one message does not affect the others: if a message cannot be correlated,
+   * its {@link MessageCorrelationBulkResult} contains the exception. If a transaction fails for
+   * another reason, its messages are correlated again one by one.</p>
+   *
+   * @param messageCorrelations the correlations to execute, created by
+   *          {@link #createMessageCorrelation(String)} of this engine
+   *
+   * @return one result per message, in the order of the given correlations
+   *
+   * @throws ProcessEngineException if the list is null
+   */
+  List<MessageCorrelationBulkResult> correlateMessages(List<MessageCorrelationBuilder> messageCorrelations);
+
   /**
    * Define a modification of a process instance in terms of activity cancellations
    * and instantiations via a fluent builder. Instructions are executed in the order they are specified.
@@ -137,6 +137,8 @@ public interface UserOperationLogEntry {
 
   String OPERATION_TYPE_CORRELATE_MESSAGE = "CorrelateMessage";
 
+  String OPERATION_TYPE_SEND_SIGNAL = "SendSignal";
+
   String CATEGORY_ADMIN = "Admin";
   String CATEGORY_OPERATOR = "Operator";
   String CATEGORY_TASK_WORKER = "TaskWorker";
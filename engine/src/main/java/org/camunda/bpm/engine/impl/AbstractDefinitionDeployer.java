@@ -22,7 +22,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
 
+import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -35,12 +41,16 @@ import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 
 /**
  * {@link Deployer} responsible to parse resource files and create the proper entities.
  * This class is extended by specific resource deployers.
  *
  * Note: Implementations must be thread-safe. In particular they should not keep deployment-specific state.
+ * If a {@link ProcessEngineConfigurationImpl#getDeploymentParsingPool() deployment parsing pool} is configured,
+ * the resources of a deployment are transformed concurrently, so {@link #transformDefinitions} must
+ * synchronize changes to the shared {@link Properties}.
  */
 public abstract class AbstractDefinitionDeployer<DefinitionEntity extends ResourceDefinitionEntity> implements Deployer {
 
@@ -67,16 +77,113 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   }
 
   protected List<DefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
-    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    List<ResourceEntity> resources = new ArrayList<ResourceEntity>();
     for (ResourceEntity resource : deployment.getResources().values()) {
       LOG.debugProcessingResource(resource.getName());
       if (isResourceHandled(resource)) {
+        resources.add(resource);
+      }
+    }
+
+    ForkJoinPool parsingPool = getProcessEngineConfiguration().getDeploymentParsingPool();
+    // tasks already running in the pool (e.g. the deployment cache warm up) parse sequentially
+    if (parsingPool == null || resources.size() < 2 || !isParallelTransformationSupported()
+        || ForkJoinTask.getPool() == parsingPool) {
+      List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+      for (ResourceEntity resource : resources) {
         definitions.addAll(transformResource(deployment, resource, properties));
       }
+      return definitions;
+
+    } else {
+      return parseDefinitionResourcesInParallel(parsingPool, deployment, resources, properties);
+    }
+  }
+
+  /**
+   * @return true if the resources of a deployment can be transformed concurrently
+   */
+  protected boolean isParallelTransformationSupported() {
+    return true;
+  }
+
+  /**
+   * Transforms the resources in the given pool. The definitions are returned in the
+   * order of the resources. If a resource cannot be transformed, the exception of the
+   * first failed resource is rethrown after all resources were processed.
+   */
+  protected List<DefinitionEntity> parseDefinitionResourcesInParallel(ForkJoinPool parsingPool, final DeploymentEntity deployment,
+      List<ResourceEntity> resources, final Properties properties) {
+
+    final ProcessEngineConfigurationImpl processEngineConfiguration = getProcessEngineConfiguration();
+    final ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+    final ClassLoader classLoader = ClassLoaderUtil.getContextClassloader();
+
+    List<Future<Collection<DefinitionEntity>>> results = new ArrayList<Future<Collection<DefinitionEntity>>>();
+    for (final ResourceEntity resource : resources) {
+      results.add(parsingPool.submit(new Callable<Collection<DefinitionEntity>>() {
+        public Collection<DefinitionEntity> call() {
+          return transformResource(processEngineConfiguration, processApplication, classLoader, deployment, resource, properties);
+        }
+      }));
     }
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    Throwable failure = null;
+    for (Future<Collection<DefinitionEntity>> result : results) {
+      try {
+        definitions.addAll(result.get());
+
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProcessEngineException("Interrupted while parsing the resources of deployment '" + deployment.getName() + "'", e);
+      }
+    }
+
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new ProcessEngineException(failure);
+    }
+
     return definitions;
   }
 
+  /**
+   * Transforms a resource on a thread of the parsing pool. Parsing requires the process
+   * engine configuration, the process application and the class loader of the deploying
+   * thread but no command context.
+   */
+  protected Collection<DefinitionEntity> transformResource(ProcessEngineConfigurationImpl processEngineConfiguration,
+      ProcessApplicationReference processApplication, ClassLoader classLoader, DeploymentEntity deployment,
+      ResourceEntity resource, Properties properties) {
+
+    ClassLoader previousClassLoader = ClassLoaderUtil.getContextClassloader();
+    Context.setProcessEngineConfiguration(processEngineConfiguration);
+    if (processApplication != null) {
+      Context.setCurrentProcessApplication(processApplication);
+    }
+    ClassLoaderUtil.setContextClassloader(classLoader);
+
+    try {
+      return transformResource(deployment, resource, properties);
+
+    } finally {
+      ClassLoaderUtil.setContextClassloader(previousClassLoader);
+      if (processApplication != null) {
+        Context.removeCurrentProcessApplication();
+      }
+      Context.removeProcessEngineConfiguration();
+    }
+  }
+
   protected boolean isResourceHandled(ResourceEntity resource) {
     String resourceName = resource.getName();
 
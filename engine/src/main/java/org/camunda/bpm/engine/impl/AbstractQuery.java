@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
@@ -25,9 +26,14 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotValidException;
@@ -56,6 +62,8 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public static final String SORTORDER_ASC = "asc";
   public static final String SORTORDER_DESC = "desc";
 
+  public static final int DEFAULT_STREAM_BATCH_SIZE = 1000;
+
   protected enum ResultType {
     LIST, LIST_PAGE, LIST_IDS, LIST_DEPLOYMENT_ID_MAPPINGS, SINGLE_RESULT, COUNT
   }
@@ -69,6 +77,9 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   protected boolean maxResultsLimitEnabled;
 
+  /** if set, only results with a greater id are selected; used for keyset pagination */
+  protected String idAfter;
+
   protected AbstractQuery() {
   }
 
@@ -150,6 +161,58 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return (List<U>) executeResult(resultType);
   }
 
+  public Stream<U> stream() {
+    return stream(DEFAULT_STREAM_BATCH_SIZE);
+  }
+
+  public Stream<U> stream(int batchSize) {
+    ensurePositive(NotValidException.class, "batchSize", (long) batchSize);
+
+    Iterator<U> results = new QueryResultIterator<>(this, batchSize);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * @return the property by which results can be selected with keyset pagination, i.e. the
+   * property holding the id of the results; <code>null</code> if the query does not support it
+   */
+  protected QueryProperty getKeysetPaginationProperty() {
+    return null;
+  }
+
+  /**
+   * Keyset pagination requires the results to be ordered by their id. This is the case if
+   * no ordering is specified, since the id is the default ordering, or if the results are
+   * only ordered ascending by the {@link #getKeysetPaginationProperty() keyset property}.
+   */
+  protected boolean isKeysetPaginationApplicable() {
+    QueryProperty keysetProperty = getKeysetPaginationProperty();
+    if (keysetProperty == null) {
+      return false;
+    }
+
+    if (orderingProperties.isEmpty()) {
+      return true;
+    }
+
+    if (orderingProperties.size() == 1) {
+      QueryOrderingProperty orderingProperty = orderingProperties.get(0);
+      return !orderingProperty.isContainedProperty()
+          && keysetProperty.equals(orderingProperty.getQueryProperty())
+          && Direction.ASCENDING.equals(orderingProperty.getDirection());
+    }
+
+    return false;
+  }
+
+  public String getIdAfter() {
+    return idAfter;
+  }
+
+  public void setIdAfter(String idAfter) {
+    this.idAfter = idAfter;
+  }
+
   public Object executeResult(ResultType resultType) {
 
     if (commandExecutor != null) {
@@ -247,25 +247,13 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
 
   @Override
   public MessageCorrelationResult correlateWithResult() {
-    if (startMessagesOnly) {
-      ensureCorrelationVariablesNotSet();
-      ensureProcessDefinitionAndTenantIdNotSet();
-    } else {
-      ensureProcessDefinitionIdNotSet();
-      ensureProcessInstanceAndTenantIdNotSet();
-    }
+    ensureSingleCorrelationValid();
     return execute(new CorrelateMessageCmd(this, false, false, startMessagesOnly));
   }
 
   @Override
   public MessageCorrelationResultWithVariables correlateWithResultAndVariables(boolean deserializeValues) {
-    if (startMessagesOnly) {
-      ensureCorrelationVariablesNotSet();
-      ensureProcessDefinitionAndTenantIdNotSet();
-    } else {
-      ensureProcessDefinitionIdNotSet();
-      ensureProcessInstanceAndTenantIdNotSet();
-    }
+    ensureSingleCorrelationValid();
     return execute(new CorrelateMessageCmd(this, true, deserializeValues, startMessagesOnly));
   }
 
@@ -317,6 +305,16 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     return result.getProcessInstance();
   }
 
+  protected void ensureSingleCorrelationValid() {
+    if (startMessagesOnly) {
+      ensureCorrelationVariablesNotSet();
+      ensureProcessDefinitionAndTenantIdNotSet();
+    } else {
+      ensureProcessDefinitionIdNotSet();
+      ensureProcessInstanceAndTenantIdNotSet();
+    }
+  }
+
   protected void ensureProcessDefinitionIdNotSet() {
     if(processDefinitionId != null) {
       throw LOG.exceptionCorrelateMessageWithProcessDefinitionId();
@@ -411,4 +409,8 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     return executionsOnly;
   }
 
+  public boolean isStartMessagesOnly() {
+    return startMessagesOnly;
+  }
+
 }
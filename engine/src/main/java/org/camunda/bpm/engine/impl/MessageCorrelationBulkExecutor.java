@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureInstanceOf;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.cmd.BulkCorrelateMessageCmd;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBulkResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+
+/**
+ * Correlates a list of messages in as few transactions as possible.
+ *
+ * <p>Messages with a business key are correlated in transactions of at most
+ * <code>bulkSize</code> messages, see {@link BulkCorrelateMessageCmd}. A business key
+ * occurs at most once per transaction, so that messages to the same process instance are
+ * correlated one after another like in individual transactions. If such a transaction fails,
+ * its messages are correlated again one by one, so that the failing message does not affect
+ * the others. Messages without a business key are correlated in a transaction of their own.</p>
+ */
+public class MessageCorrelationBulkExecutor {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected final CommandExecutor commandExecutor;
+  protected final int bulkSize;
+
+  public MessageCorrelationBulkExecutor(CommandExecutor commandExecutor, int bulkSize) {
+    this.commandExecutor = commandExecutor;
+    this.bulkSize = bulkSize;
+  }
+
+  public List<MessageCorrelationBulkResult> correlate(List<MessageCorrelationBuilder> messageCorrelations) {
+    ensureNotNull("messageCorrelations", messageCorrelations);
+
+    MessageCorrelationBulkResult[] results = new MessageCorrelationBulkResult[messageCorrelations.size()];
+    LinkedList<Integer> pending = new LinkedList<>();
+
+    for (int i = 0; i < messageCorrelations.size(); i++) {
+      MessageCorrelationBuilder messageCorrelation = messageCorrelations.get(i);
+      ensureInstanceOf("messageCorrelations", messageCorrelation, MessageCorrelationBuilderImpl.class);
+      MessageCorrelationBuilderImpl correlation = (MessageCorrelationBuilderImpl) messageCorrelation;
+
+      try {
+        correlation.ensureSingleCorrelationValid();
+      } catch (RuntimeException e) {
+        results[i] = MessageCorrelationBulkResultImpl.failed(e);
+        continue;
+      }
+
+      if (bulkSize > 1 && correlation.getBusinessKey() != null) {
+        pending.add(i);
+      } else {
+        results[i] = correlateIndividually(correlation);
+      }
+    }
+
+    while (!pending.isEmpty()) {
+      List<Integer> bulk = nextBulk(messageCorrelations, pending);
+      correlateBulk(messageCorrelations, bulk, results);
+    }
+
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Removes the next messages with distinct business keys from the pending messages,
+   * keeping the order of messages with the same business key.
+   */
+  protected List<Integer> nextBulk(List<MessageCorrelationBuilder> messageCorrelations, LinkedList<Integer> pending) {
+    List<Integer> bulk = new ArrayList<>();
+    Set<String> businessKeys = new HashSet<>();
+    LinkedList<Integer> deferred = new LinkedList<>();
+
+    while (!pending.isEmpty() && bulk.size() < bulkSize) {
+      Integer index = pending.removeFirst();
+      String businessKey = ((MessageCorrelationBuilderImpl) messageCorrelations.get(index)).getBusinessKey();
+      if (businessKeys.add(businessKey)) {
+        bulk.add(index);
+      } else {
+        deferred.add(index);
+      }
+    }
+
+    pending.addAll(0, deferred);
+    return bulk;
+  }
+
+  protected void correlateBulk(List<MessageCorrelationBuilder> messageCorrelations, List<Integer> bulk, MessageCorrelationBulkResult[] results) {
+    List<MessageCorrelationBuilderImpl> correlations = new ArrayList<>(bulk.size());
+    for (Integer index : bulk) {
+      correlations.add((MessageCorrelationBuilderImpl) messageCorrelations.get(index));
+    }
+
+    List<MessageCorrelationBulkResult> bulkResults;
+    try {
+      bulkResults = commandExecutor.execute(new BulkCorrelateMessageCmd(correlations));
+
+    } catch (RuntimeException e) {
+      LOG.debugRetryingBulkCorrelationIndividually(correlations.size(), e);
+      for (int i = 0; i < bulk.size(); i++) {
+        results[bulk.get(i)] = correlateIndividually(correlations.get(i));
+      }
+      return;
+    }
+
+    for (int i = 0; i < bulk.size(); i++) {
+      results[bulk.get(i)] = bulkResults.get(i);
+    }
+  }
+
+  protected MessageCorrelationBulkResult correlateIndividually(MessageCorrelationBuilderImpl correlation) {
+    try {
+      return MessageCorrelationBulkResultImpl.correlated(correlation.correlateWithResult());
+    } catch (RuntimeException e) {
+      return MessageCorrelationBulkResultImpl.failed(e);
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * <p>Iterates over the results of an {@link AbstractQuery} by selecting them in batches.
+ * The next batch is selected once the current one has been consumed, so only one batch
+ * is referenced at a time.</p>
+ *
+ * <p>If the query {@link AbstractQuery#isKeysetPaginationApplicable() allows it}, a batch
+ * is selected by the id of the last result of the previous batch. Otherwise, the batches
+ * are selected by their offset.</p>
+ *
+ * @param <U> the type of the results
+ */
+public class QueryResultIterator<U> implements Iterator<U> {
+
+  protected final AbstractQuery<?, U> query;
+  protected final int batchSize;
+  protected final boolean keysetPagination;
+
+  protected Iterator<U> currentBatch;
+  protected boolean lastBatch;
+
+  protected int offset;
+  protected String lastId;
+
+  public QueryResultIterator(AbstractQuery<?, U> query, int batchSize) {
+    this.query = query;
+    this.batchSize = batchSize;
+    this.keysetPagination = query.isKeysetPaginationApplicable();
+  }
+
+  @Override
+  public boolean hasNext() {
+    while ((currentBatch == null || !currentBatch.hasNext()) && !lastBatch) {
+      List<U> batch = fetchNextBatch();
+      lastBatch = batch.size() < batchSize;
+      currentBatch = batch.iterator();
+    }
+
+    return currentBatch.hasNext();
+  }
+
+  @Override
+  public U next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    U result = currentBatch.next();
+    if (keysetPagination) {
+      lastId = ((DbEntity) result).getId();
+    }
+    return result;
+  }
+
+  protected List<U> fetchNextBatch() {
+    if (keysetPagination) {
+      query.setIdAfter(lastId);
+      try {
+        return query.listPage(0, batchSize);
+      } finally {
+        query.setIdAfter(null);
+      }
+
+    } else {
+      List<U> batch = query.listPage(offset, batchSize);
+      offset += batch.size();
+      return batch;
+    }
+  }
+
+}
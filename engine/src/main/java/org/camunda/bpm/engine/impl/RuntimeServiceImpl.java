@@ -62,6 +62,7 @@ import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
 import org.camunda.bpm.engine.runtime.MessageCorrelationAsyncBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
@@ -756,6 +757,12 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
       .correlate();
   }
 
+  @Override
+  public List<MessageCorrelationBulkResult> correlateMessages(List<MessageCorrelationBuilder> messageCorrelations) {
+    int bulkSize = commandExecutor.execute(commandContext -> commandContext.getProcessEngineConfiguration().getMessageCorrelationBulkSize());
+    return new MessageCorrelationBulkExecutor(commandExecutor, bulkSize).correlate(messageCorrelations);
+  }
+
   @Override
   public MessageCorrelationAsyncBuilder createMessageCorrelationAsync(String messageName) {
     return new MessageCorrelationAsyncBuilderImpl(commandExecutor, messageName);
@@ -0,0 +1,125 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+
+/**
+ * Configuration of a batch which delivers a signal. The seed job does not
+ * hold the ids of the event subscriptions up front but reads them page by page,
+ * continuing after the last id it has already handed out to a batch job.
+ */
+public class SignalEventReceivedBatchConfiguration extends BatchConfiguration {
+
+  protected String signalName;
+  protected String tenantId;
+  protected boolean isTenantIdSet;
+
+  /**
+   * the tenants of the user who created the batch if the tenant check was enabled,
+   * <code>null</code> otherwise
+   */
+  protected List<String> authTenantIds;
+
+  /**
+   * the user who created the batch if the authorization check was enabled,
+   * <code>null</code> otherwise
+   */
+  protected String authUserId;
+
+  /** the groups of the user who created the batch */
+  protected List<String> authGroupIds;
+
+  /** only subscriptions created until this time receive the signal */
+  protected Date createdBefore;
+
+  /** the id of the last subscription for which a batch job was created */
+  protected String lastId;
+
+  public SignalEventReceivedBatchConfiguration(List<String> ids, String signalName, String batchId) {
+    super(ids, null, batchId);
+    this.signalName = signalName;
+  }
+
+  public String getSignalName() {
+    return signalName;
+  }
+
+  public void setSignalName(String signalName) {
+    this.signalName = signalName;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public void setTenantId(String tenantId) {
+    this.tenantId = tenantId;
+  }
+
+  public boolean isTenantIdSet() {
+    return isTenantIdSet;
+  }
+
+  public void setTenantIdSet(boolean isTenantIdSet) {
+    this.isTenantIdSet = isTenantIdSet;
+  }
+
+  public List<String> getAuthTenantIds() {
+    return authTenantIds;
+  }
+
+  public void setAuthTenantIds(List<String> authTenantIds) {
+    this.authTenantIds = authTenantIds;
+  }
+
+  public String getAuthUserId() {
+    return authUserId;
+  }
+
+  public void setAuthUserId(String authUserId) {
+    this.authUserId = authUserId;
+  }
+
+  public List<String> getAuthGroupIds() {
+    return authGroupIds;
+  }
+
+  public void setAuthGroupIds(List<String> authGroupIds) {
+    this.authGroupIds = authGroupIds;
+  }
+
+  public Date getCreatedBefore() {
+    return createdBefore;
+  }
+
+  public void setCreatedBefore(Date createdBefore) {
+    this.createdBefore = createdBefore;
+  }
+
+  public String getLastId() {
+    return lastId;
+  }
+
+  public void setLastId(String lastId) {
+    this.lastId = lastId;
+  }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchJobContext;
+import org.camunda.bpm.engine.impl.batch.BatchJobDeclaration;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.VariableUtil;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.json.SignalEventReceivedBatchConfigurationJsonConverter;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessInstance;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
+
+/**
+ * Job handler for signal delivery jobs. Instead of collecting all event
+ * subscriptions when the batch is created, the seed job reads the subscriptions
+ * to the signal page by page. Each batch job notifies the executions of its
+ * subscriptions or starts the process definitions with a signal start event.
+ */
+public class SignalEventReceivedBatchJobHandler extends AbstractBatchJobHandler<SignalEventReceivedBatchConfiguration> {
+
+  public static final BatchJobDeclaration JOB_DECLARATION = new BatchJobDeclaration(Batch.TYPE_SEND_SIGNAL);
+
+  public String getType() {
+    return Batch.TYPE_SEND_SIGNAL;
+  }
+
+  public JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration() {
+    return JOB_DECLARATION;
+  }
+
+  protected SignalEventReceivedBatchConfigurationJsonConverter getJsonConverterInstance() {
+    return SignalEventReceivedBatchConfigurationJsonConverter.INSTANCE;
+  }
+
+  @Override
+  public boolean createJobs(BatchEntity batch) {
+    SignalEventReceivedBatchConfiguration configuration = readConfiguration(batch.getConfigurationBytes());
+
+    int invocationsPerBatchJob = batch.getInvocationsPerBatchJob();
+    int pageSize = invocationsPerBatchJob * batch.getBatchJobsPerSeed();
+
+    EventSubscriptionManager eventSubscriptionManager = Context.getCommandContext().getEventSubscriptionManager();
+    List<String> ids = eventSubscriptionManager.findSignalEventSubscriptionIdsPage(
+        configuration.getSignalName(),
+        configuration.isTenantIdSet(),
+        configuration.getTenantId(),
+        configuration.getAuthTenantIds(),
+        configuration.getCreatedBefore(),
+        configuration.getLastId(),
+        pageSize);
+
+    if (!ids.isEmpty()) {
+      checkAuthorization(configuration, ids, Context.getCommandContext());
+
+      configuration.setLastId(ids.get(ids.size() - 1));
+
+      // the job entities are created from a copy since the ids are removed while the jobs are created
+      createJobEntities(batch, configuration, null, new ArrayList<>(ids), invocationsPerBatchJob);
+    }
+
+    // update batch configuration
+    batch.setConfigurationBytes(writeConfiguration(configuration));
+
+    return ids.size() < pageSize;
+  }
+
+  /**
+   * Performs the authorization checks of a synchronous signal delivery for the
+   * subscriptions of a page. The seed job runs without authentication, so the
+   * permissions of the user who created the batch are checked.
+   */
+  protected void checkAuthorization(SignalEventReceivedBatchConfiguration configuration,
+                                    List<String> eventSubscriptionIds,
+                                    CommandContext commandContext) {
+    if (configuration.getAuthUserId() == null) {
+      return;
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    IdentityService identityService = processEngineConfiguration.getIdentityService();
+    Authentication currentAuthentication = identityService.getCurrentAuthentication();
+
+    identityService.setAuthentication(configuration.getAuthUserId(), configuration.getAuthGroupIds(),
+        configuration.getAuthTenantIds());
+    try {
+      EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+      DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+
+      for (String id : eventSubscriptionIds) {
+        EventSubscriptionEntity eventSubscription = eventSubscriptionManager.findEventSubscriptionById(id);
+        if (eventSubscription == null) {
+          continue;
+        }
+
+        if (eventSubscription.getExecutionId() != null) {
+          for (CommandChecker checker : processEngineConfiguration.getCommandCheckers()) {
+            checker.checkUpdateProcessInstanceById(eventSubscription.getProcessInstanceId());
+          }
+        } else {
+          ProcessDefinitionEntity processDefinition = deploymentCache.findDeployedProcessDefinitionById(eventSubscription.getConfiguration());
+          if (processDefinition != null) {
+            for (CommandChecker checker : processEngineConfiguration.getCommandCheckers()) {
+              checker.checkCreateProcessInstance(processDefinition);
+            }
+          }
+        }
+      }
+
+    } finally {
+      if (currentAuthentication != null) {
+        identityService.setAuthentication(currentAuthentication);
+      } else {
+        identityService.clearAuthentication();
+      }
+    }
+  }
+
+  @Override
+  protected SignalEventReceivedBatchConfiguration createJobConfiguration(SignalEventReceivedBatchConfiguration configuration,
+                                                                        List<String> eventSubscriptionIdsForJob) {
+    return new SignalEventReceivedBatchConfiguration(
+        new ArrayList<>(eventSubscriptionIdsForJob),
+        configuration.getSignalName(),
+        configuration.getBatchId());
+  }
+
+  @Override
+  public void executeHandler(SignalEventReceivedBatchConfiguration batchConfiguration,
+                             ExecutionEntity execution,
+                             CommandContext commandContext,
+                             String tenantId) {
+    String signalName = batchConfiguration.getSignalName();
+    VariableMap variables = getVariables(batchConfiguration.getBatchId(), commandContext);
+
+    EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+    for (String id : batchConfiguration.getIds()) {
+      EventSubscriptionEntity eventSubscription = eventSubscriptionManager.findEventSubscriptionById(id);
+
+      // the subscription may have been removed since the job was created
+      if (eventSubscription != null
+          && eventSubscription.isSubscriptionForEventType(EventType.SIGNAL)
+          && signalName.equals(eventSubscription.getEventName())) {
+
+        if (eventSubscription.getExecutionId() != null) {
+          notifyExecution(eventSubscription, variables);
+        } else {
+          startProcessInstance(eventSubscription, variables);
+        }
+      }
+    }
+  }
+
+  protected void notifyExecution(EventSubscriptionEntity eventSubscription, VariableMap variables) {
+    ExecutionEntity execution = eventSubscription.getExecution();
+    if (!execution.isEnded() && !execution.isCanceled() && !execution.isSuspended()) {
+      eventSubscription.eventReceived(variables, false);
+    }
+  }
+
+  protected void startProcessInstance(EventSubscriptionEntity eventSubscription, VariableMap variables) {
+    DeploymentCache deploymentCache = Context.getProcessEngineConfiguration().getDeploymentCache();
+
+    String processDefinitionId = eventSubscription.getConfiguration();
+    ProcessDefinitionEntity processDefinition = deploymentCache.findDeployedProcessDefinitionById(processDefinitionId);
+    if (processDefinition != null && !processDefinition.isSuspended()) {
+      ActivityImpl signalStartEvent = processDefinition.findActivity(eventSubscription.getActivityId());
+      PvmProcessInstance processInstance = processDefinition.createProcessInstanceForInitial(signalStartEvent);
+      processInstance.start(variables);
+    }
+  }
+
+  protected VariableMap getVariables(String batchId, CommandContext commandContext) {
+    if (batchId != null) {
+      Map<String, ?> variables = VariableUtil.findBatchVariablesSerialized(batchId, commandContext);
+      if (variables != null && !variables.isEmpty()) {
+        return new VariableMapImpl(new HashMap<>(variables));
+      }
+    }
+    return null;
+  }
+
+}
@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
 import org.camunda.bpm.engine.impl.cmd.DeleteJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.StoreBpmnParseSnapshotCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.Properties;
 import org.camunda.bpm.engine.impl.core.model.PropertyMapKey;
@@ -42,6 +43,8 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
@@ -54,6 +57,9 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.util.ProductPropertiesUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.impl.util.xml.ElementSerializer;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.task.IdentityLinkType;
@@ -76,6 +82,14 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   protected static final PropertyMapKey<String, List<JobDeclaration<?, ?>>> JOB_DECLARATIONS_PROPERTY =
       new PropertyMapKey<>("JOB_DECLARATIONS_PROPERTY");
 
+  /** the restored element trees by resource name */
+  protected static final PropertyMapKey<String, Element> PARSE_SNAPSHOTS_PROPERTY =
+      new PropertyMapKey<>("PARSE_SNAPSHOTS_PROPERTY");
+
+  /** the element trees of the resources which were parsed from XML by resource name */
+  protected static final PropertyMapKey<String, Element> PARSED_DOCUMENTS_PROPERTY =
+      new PropertyMapKey<>("PARSED_DOCUMENTS_PROPERTY");
+
   protected ExpressionManager expressionManager;
   protected BpmnParser bpmnParser;
 
@@ -86,31 +100,145 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return BPMN_RESOURCE_SUFFIXES;
   }
 
+  /**
+   * If {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isBpmnParseSnapshotsEnabled() parse snapshots}
+   * are enabled, restores the element trees of the resources before they are transformed and
+   * stores a snapshot of every resource which had to be parsed from XML afterwards. Snapshots are
+   * loaded and stored here since the resources may be transformed without a command context.
+   */
   @Override
-  protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
-    byte[] bytes = resource.getBytes();
-    ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
+  protected List<ProcessDefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
+    if (!getProcessEngineConfiguration().isBpmnParseSnapshotsEnabled()) {
+      return super.parseDefinitionResources(deployment, properties);
+    }
 
+    String fingerprint = getParseSnapshotFingerprint(deployment);
+    if (!deployment.isNew()) {
+      properties.set(PARSE_SNAPSHOTS_PROPERTY, loadParseSnapshots(deployment, fingerprint));
+    }
+
+    List<ProcessDefinitionEntity> definitions = super.parseDefinitionResources(deployment, properties);
+
+    storeParseSnapshots(deployment, properties.get(PARSED_DOCUMENTS_PROPERTY), fingerprint);
+
+    return definitions;
+  }
+
+  @Override
+  protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     BpmnParse bpmnParse = bpmnParser
         .createParse()
-        .sourceInputStream(inputStream)
         .deployment(deployment)
         .name(resource.getName());
 
+    Element parseSnapshot;
+    // resources may be transformed concurrently
+    synchronized (properties) {
+      parseSnapshot = properties.get(PARSE_SNAPSHOTS_PROPERTY).get(resource.getName());
+    }
+
+    if (parseSnapshot != null) {
+      bpmnParse.sourceElement(parseSnapshot);
+    }
+    else {
+      bpmnParse.sourceInputStream(new ByteArrayInputStream(resource.getBytes()));
+    }
+
     if (!deployment.isValidatingSchema()) {
       bpmnParse.setSchemaResource(null);
     }
 
     bpmnParse.execute();
 
-    if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
-      properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+    // resources may be transformed concurrently
+    synchronized (properties) {
+      if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
+        properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+      }
+      properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
+
+      if (parseSnapshot == null && getProcessEngineConfiguration().isBpmnParseSnapshotsEnabled()) {
+        properties.putMapEntry(PARSED_DOCUMENTS_PROPERTY, resource.getName(), bpmnParse.getRootElement());
+      }
     }
-    properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
 
     return bpmnParse.getProcessDefinitions();
   }
 
+  /**
+   * A snapshot contains the element tree as the XML parser produced it, including the attribute
+   * defaults of the schema. It is only restored by an engine of the same version which parses
+   * with the same settings. The snapshot does not contain the process definitions built from the
+   * tree, so parse listeners are not part of the fingerprint: they are invoked for restored
+   * element trees as well.
+   */
+  protected String getParseSnapshotFingerprint(DeploymentEntity deployment) {
+    return ProductPropertiesUtil.getProductVersion()
+        + "|validatingSchema=" + deployment.isValidatingSchema()
+        + "|xxeProcessing=" + getProcessEngineConfiguration().isEnableXxeProcessing();
+  }
+
+  protected Map<String, Element> loadParseSnapshots(DeploymentEntity deployment, String fingerprint) {
+    ByteArrayManager byteArrayManager = getCommandContext().getByteArrayManager();
+
+    Map<String, Element> parseSnapshots = new HashMap<>();
+    for (ResourceEntity resource : deployment.getResources().values()) {
+      if (!isResourceHandled(resource) || resource.getId() == null) {
+        continue;
+      }
+
+      ByteArrayEntity snapshot = byteArrayManager.findBpmnParseSnapshot(resource.getId());
+      if (snapshot == null) {
+        continue;
+      }
+
+      try {
+        Element rootElement = ElementSerializer.deserialize(snapshot.getBytes(), fingerprint);
+        if (rootElement != null) {
+          parseSnapshots.put(resource.getName(), rootElement);
+        }
+        else {
+          LOG.parseSnapshotNotUsed(resource.getName(), deployment.getId(), null);
+        }
+      }
+      catch (Exception e) {
+        LOG.parseSnapshotNotUsed(resource.getName(), deployment.getId(), e);
+      }
+    }
+
+    return parseSnapshots;
+  }
+
+  /**
+   * The snapshots of a new deployment are inserted with the deployment. Snapshots of deployed
+   * resources which are missing or outdated, e.g. after an engine update, are stored in a separate
+   * transaction. If several engines store a snapshot concurrently, all but one fail without
+   * affecting the command which loads the process definition.
+   */
+  protected void storeParseSnapshots(DeploymentEntity deployment, Map<String, Element> parsedDocuments, String fingerprint) {
+    for (Map.Entry<String, Element> parsedDocument : parsedDocuments.entrySet()) {
+      ResourceEntity resource = deployment.getResource(parsedDocument.getKey());
+      if (resource == null || resource.getId() == null) {
+        continue;
+      }
+
+      byte[] bytes = ElementSerializer.serialize(parsedDocument.getValue(), fingerprint);
+      StoreBpmnParseSnapshotCmd command = new StoreBpmnParseSnapshotCmd(deployment.getId(), resource.getId(), bytes);
+
+      if (deployment.isNew()) {
+        command.execute(getCommandContext());
+      }
+      else {
+        try {
+          getProcessEngineConfiguration().getCommandExecutorTxRequiresNew().execute(command);
+        }
+        catch (Exception e) {
+          LOG.parseSnapshotNotStored(resource.getName(), deployment.getId(), e);
+        }
+      }
+    }
+  }
+
   @Override
   protected ProcessDefinitionEntity findDefinitionByDeploymentAndKey(String deploymentId, String definitionKey) {
     return getProcessDefinitionManager().findProcessDefinitionByDeploymentAndKey(deploymentId, definitionKey);
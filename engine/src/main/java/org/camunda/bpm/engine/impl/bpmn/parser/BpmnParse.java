@@ -4711,6 +4711,12 @@ public class BpmnParse extends Parse {
     return this;
   }
 
+  @Override
+  public BpmnParse sourceElement(Element rootElement) {
+    super.sourceElement(rootElement);
+    return this;
+  }
+
   public Boolean parseBooleanAttribute(String booleanText, boolean defaultValue) {
     if (booleanText == null) {
       return defaultValue;
@@ -49,6 +49,16 @@ public class BpmnParseLogger extends ProcessEngineLogger {
         "element with id '{}'.", definitionKey, elementId);
   }
 
+  public void parseSnapshotNotUsed(String resourceName, String deploymentId, Throwable cause) {
+    logDebug("012", "Parsing resource '{}' of deployment '{}' since its parse snapshot is outdated or unreadable: {}",
+        resourceName, deploymentId, cause != null ? cause.getMessage() : "written by another engine version or with other parser settings");
+  }
+
+  public void parseSnapshotNotStored(String resourceName, String deploymentId, Throwable cause) {
+    logDebug("013", "Cannot store the parse snapshot of resource '{}' of deployment '{}', it is parsed again next time: {}",
+        resourceName, deploymentId, cause.getMessage());
+  }
+
   // EXCEPTIONS
 
   public ProcessEngineException parsingProcessException(Exception cause) {
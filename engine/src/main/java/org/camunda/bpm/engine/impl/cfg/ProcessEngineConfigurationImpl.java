@@ -42,6 +42,7 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ForkJoinPool;
 import javax.naming.InitialContext;
 import javax.script.ScriptEngineManager;
 import javax.sql.DataSource;
@@ -110,6 +111,7 @@ import org.camunda.bpm.engine.impl.batch.message.MessageCorrelationBatchJobHandl
 import org.camunda.bpm.engine.impl.batch.removaltime.BatchSetRemovalTimeJobHandler;
 import org.camunda.bpm.engine.impl.batch.removaltime.DecisionSetRemovalTimeJobHandler;
 import org.camunda.bpm.engine.impl.batch.removaltime.ProcessSetRemovalTimeJobHandler;
+import org.camunda.bpm.engine.impl.batch.signal.SignalEventReceivedBatchJobHandler;
 import org.camunda.bpm.engine.impl.batch.update.UpdateProcessInstancesSuspendStateJobHandler;
 import org.camunda.bpm.engine.impl.batch.variables.BatchSetVariablesHandler;
 import org.camunda.bpm.engine.impl.bpmn.behavior.ExternalTaskActivityBehavior;
@@ -122,6 +124,7 @@ import org.camunda.bpm.engine.impl.calendar.CycleBusinessCalendar;
 import org.camunda.bpm.engine.impl.calendar.DueDateBusinessCalendar;
 import org.camunda.bpm.engine.impl.calendar.DurationBusinessCalendar;
 import org.camunda.bpm.engine.impl.calendar.MapBusinessCalendarManager;
+import org.camunda.bpm.engine.impl.cfg.auth.AuthorizationCache;
 import org.camunda.bpm.engine.impl.cfg.auth.AuthorizationCommandChecker;
 import org.camunda.bpm.engine.impl.cfg.auth.DefaultAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cfg.auth.DefaultPermissionProvider;
@@ -142,8 +145,10 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -338,11 +343,13 @@ import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultConditionHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultDeserializationTypeValidator;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.BeansResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.DefaultScriptEngineResolver;
 import org.camunda.bpm.engine.impl.scripting.engine.ResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptBindingsFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.scripting.engine.VariableScopeResolverFactory;
@@ -387,6 +394,10 @@ import org.camunda.bpm.engine.runtime.WhitelistingDeserializationTypeValidator;
 import org.camunda.bpm.engine.task.TaskQuery;
 import org.camunda.bpm.engine.test.mock.MocksResolverFactory;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.impl.juel.ConcurrentCache;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.TreeCache;
+import org.camunda.bpm.impl.juel.jakarta.el.ExpressionFactory;
 import org.camunda.connect.Connectors;
 import org.camunda.connect.spi.Connector;
 import org.camunda.connect.spi.ConnectorRequest;
@@ -502,9 +513,36 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // CACHE ////////////////////////////////////////////////////////////////////
 
   protected CacheFactory cacheFactory;
+
+  /**
+   * Cache factories for individual deployment caches. If not set, the
+   * {@link #cacheFactory} is used. This allows, for example, to use a
+   * {@link org.camunda.bpm.engine.impl.persistence.deploy.cache.TinyLfuCacheFactory}
+   * only for the process definition cache.
+   */
+  protected CacheFactory processDefinitionCacheFactory;
+  protected CacheFactory caseDefinitionCacheFactory;
+  protected CacheFactory decisionDefinitionCacheFactory;
+  protected CacheFactory modelInstanceCacheFactory;
+
   protected int cacheCapacity = 1000;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * Number of threads that parse the resources of a deployment concurrently. With the
+   * default of 1, the resources are parsed one after another by the deploying thread.
+   * Resources parsed concurrently have no command context, so custom BPMN parse listeners
+   * and CMMN transform listeners must only use the process engine configuration.
+   */
+  protected int deploymentParsingDegreeOfParallelism = 1;
+  protected ForkJoinPool deploymentParsingPool;
+
+  /**
+   * If true, the latest version of every process, case and decision definition is parsed
+   * into the deployment cache when the engine starts, before the job executor is started.
+   */
+  protected boolean deploymentCacheWarmUpEnabled = false;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -530,6 +568,35 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, the default id generator fetches the next id block in the background
+   * before the current one is exhausted and hands out ids without locking.
+   * See {@link PrefetchingDbIdGenerator}.
+   */
+  protected boolean idGeneratorPrefetchEnabled = false;
+
+  // JDBC BATCHING ////////////////////////////////////////////////////////////
+
+  /**
+   * If true and {@link #jdbcBatchProcessing} is enabled, consecutive inserts of
+   * history events, historic variable instances and byte arrays are combined into
+   * multi-row INSERT statements on databases which support them.
+   */
+  protected boolean jdbcBatchMultiRowInserts = false;
+
+  /**
+   * The maximum number of rows inserted with a single multi-row INSERT statement.
+   * Statements are further limited to bind at most {@link DbSqlSessionFactory#MAXIMUM_NUMBER_PARAMS} parameters.
+   */
+  protected int jdbcBatchMultiRowInsertSize = 50;
+
+  /**
+   * If true, the UPDATE of an execution, task or job sets only the columns of the
+   * persistent state fields which changed since the entity was loaded. Updates with
+   * different columns are separate statements in a JDBC batch.
+   */
+  protected boolean dbEntityPartialUpdatesEnabled = false;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -589,6 +656,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected Charset defaultCharset = null;
 
   protected ExpressionManager expressionManager;
+
+  /**
+   * If true, the {@link JuelExpressionManager} evaluates value expressions using compiled
+   * parse trees which cache the bean getters and methods they call.
+   */
+  protected boolean expressionCompilationEnabled = false;
+
   protected ElProvider dmnElProvider;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
@@ -605,6 +679,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean enableScriptEngineNashornCompatibility = false;
   protected boolean configureScriptEngineHostAccess = true;
 
+  /**
+   * The maximum number of idle script engines which are kept per language for engines
+   * which do not declare to be threadsafe. If 0, such engines are created for every script execution.
+   */
+  protected int scriptEnginePoolSize = 0;
+
+  /**
+   * If true, scripts with identical source share their compilation result across
+   * process definitions through a {@link CompiledScriptCache}.
+   */
+  protected boolean enableCompiledScriptSharing = false;
+  protected int compiledScriptCacheCapacity = CompiledScriptCache.DEFAULT_CAPACITY;
+  protected CompiledScriptCache compiledScriptCache;
+
+  /** If true, the number and the execution time of scripts are collected as metrics. */
+  protected boolean enableScriptExecutionMetrics = false;
+
   /**
    * When set to false, the following behavior changes:
    * <ul>
@@ -717,6 +808,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected CorrelationHandler correlationHandler;
 
+  /**
+   * The maximum number of messages that {@link RuntimeService#correlateMessages(List)}
+   * correlates in one transaction. A value of 1 correlates every message in a
+   * transaction of its own.
+   */
+  protected int messageCorrelationBulkSize = 100;
+
   protected ConditionHandler conditionHandler;
 
   /**
@@ -766,8 +864,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PermissionProvider permissionProvider;
 
+  /**
+   * If true, authorization decisions and the authorization lookups needed for
+   * authorized queries are cached across commands. See {@link AuthorizationCache}.
+   */
+  protected boolean authorizationCacheEnabled = false;
+  protected int authorizationCacheCapacity = AuthorizationCache.DEFAULT_CAPACITY;
+  /** time to live of authorization cache entries in milliseconds */
+  protected long authorizationCacheTimeToLive = AuthorizationCache.DEFAULT_TIME_TO_LIVE;
+  protected AuthorizationCache authorizationCache;
+
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If true and execution tree prefetching is enabled, the variable instances and
+   * event subscriptions of the process instance are fetched together with the
+   * execution tree, each with a single query by process instance id.
+   */
+  protected boolean isExecutionTreeFullPrefetchEnabled = false;
+
   /**
    * If true, the incident handlers init as {@link CompositeIncidentHandler} and
    * multiple incident handlers can be added for the same Incident type.
@@ -801,6 +916,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /**
+   * If true, entities which never change after deployment (deployment resources and
+   * Camunda Form definitions) are cached across commands in a {@link SharedDbEntityCache}.
+   */
+  protected boolean sharedDbEntityCacheEnabled = false;
+  protected int sharedDbEntityCacheCapacity = SharedDbEntityCache.DEFAULT_CAPACITY;
+  protected SharedDbEntityCache sharedDbEntityCache;
+
   protected boolean isInvokeCustomVariableListeners = true;
 
   /**
@@ -846,6 +969,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableXxeProcessing = false;
 
+  /**
+   * If true, the parsed and schema validated XML of a BPMN resource is stored as a binary
+   * snapshot next to the resource. When process definitions which were evicted from the
+   * deployment cache or are loaded after a restart are built again, the element tree is
+   * restored from the snapshot instead of parsing and validating the XML. This is a cache
+   * for XML parsing and schema validation only: the BPMN parse and all parse listeners
+   * still run on the restored element tree.
+   */
+  protected boolean bpmnParseSnapshotsEnabled = false;
+
   /**
    * If true, user operation log entries are only written if there is an
    * authenticated user present in the context. If false, user operation log
@@ -1172,6 +1305,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initIdGenerator();
     initFailedJobCommandFactory();
     initDeployers();
+    initDeploymentParsingPool();
     initJobProvider();
     initExternalTaskPriorityProvider();
     initBatchHandlers();
@@ -1194,6 +1328,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeploymentHandlerFactory();
     initResourceAuthorizationProvider();
     initPermissionProvider();
+    initAuthorizationCache();
+    initSharedDbEntityCache();
     initHostName();
     initMetrics();
     initTelemetry();
@@ -1538,6 +1674,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       MessageCorrelationBatchJobHandler messageCorrelationJobHandler = new MessageCorrelationBatchJobHandler();
       batchHandlers.put(messageCorrelationJobHandler.getType(), messageCorrelationJobHandler);
+
+      SignalEventReceivedBatchJobHandler signalEventReceivedJobHandler = new SignalEventReceivedBatchJobHandler();
+      batchHandlers.put(signalEventReceivedJobHandler.getType(), signalEventReceivedJobHandler);
     }
 
     if (customBatchJobHandlers != null) {
@@ -2063,6 +2202,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
+    dbSqlSessionFactory.setJdbcBatchMultiRowInserts(jdbcBatchMultiRowInserts);
+    dbSqlSessionFactory.setJdbcBatchMultiRowInsertSize(jdbcBatchMultiRowInsertSize);
 
     //hack for the case when schema is defined via databaseTablePrefix parameter and not via databaseSchema parameter
     if (databaseTablePrefix != null && databaseSchema == null && databaseTablePrefix.contains(".")) {
@@ -2189,7 +2330,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
       initCacheFactory();
-      deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
+      deploymentCache = new DeploymentCache(cacheFactory,
+          cacheFactoryOrDefault(processDefinitionCacheFactory),
+          cacheFactoryOrDefault(caseDefinitionCacheFactory),
+          cacheFactoryOrDefault(decisionDefinitionCacheFactory),
+          cacheFactoryOrDefault(modelInstanceCacheFactory),
+          cacheCapacity);
       deploymentCache.setDeployers(deployers);
     }
   }
@@ -2484,7 +2630,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator = idGeneratorPrefetchEnabled ? new PrefetchingDbIdGenerator() : new DbIdGenerator();
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2561,6 +2707,55 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_INSTANCES);
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    if (authorizationCacheEnabled) {
+      metricsRegistry.createDbMeter(Metrics.AUTHORIZATION_CACHE_HIT);
+      metricsRegistry.createDbMeter(Metrics.AUTHORIZATION_CACHE_MISS);
+    }
+
+    ConcurrentCache expressionCache = getConcurrentExpressionCache();
+    if (expressionCache != null) {
+      metricsRegistry.createDbMeter(Metrics.EXPRESSION_CACHE_HIT, expressionCache::getHitCount);
+      metricsRegistry.createDbMeter(Metrics.EXPRESSION_CACHE_MISS, expressionCache::getMissCount);
+      metricsRegistry.createDbMeter(Metrics.EXPRESSION_CACHE_EVICTION, expressionCache::getEvictionCount);
+    }
+
+    if (sharedDbEntityCacheEnabled) {
+      metricsRegistry.createDbMeter(Metrics.SHARED_ENTITY_CACHE_HIT);
+      metricsRegistry.createDbMeter(Metrics.SHARED_ENTITY_CACHE_MISS);
+    }
+
+    if (deploymentCacheWarmUpEnabled) {
+      metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_WARMUP_RESOURCES);
+      metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_WARMUP_TIME);
+    }
+
+    if (enableScriptExecutionMetrics) {
+      metricsRegistry.createDbMeter(Metrics.SCRIPT_EXECUTIONS);
+      metricsRegistry.createDbMeter(Metrics.SCRIPT_EXECUTION_TIME);
+    }
+
+    if (enableCompiledScriptSharing) {
+      metricsRegistry.createDbMeter(Metrics.SCRIPT_COMPILATION_CACHE_HIT);
+      metricsRegistry.createDbMeter(Metrics.SCRIPT_COMPILATION_CACHE_MISS);
+    }
+  }
+
+  /**
+   * @return the tree cache of the default expression manager if it is a {@link ConcurrentCache},
+   *   which counts its hits, misses and evictions
+   */
+  protected ConcurrentCache getConcurrentExpressionCache() {
+    if (expressionManager instanceof JuelExpressionManager) {
+      ExpressionFactory expressionFactory = ((JuelExpressionManager) expressionManager).getExpressionFactory();
+      if (expressionFactory instanceof ExpressionFactoryImpl) {
+        TreeCache treeCache = ((ExpressionFactoryImpl) expressionFactory).getStore().getCache();
+        if (treeCache instanceof ConcurrentCache) {
+          return (ConcurrentCache) treeCache;
+        }
+      }
+    }
+    return null;
   }
 
   protected void initSerialization() {
@@ -2654,7 +2849,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       resolverFactories.add(new BeansResolverFactory());
     }
     if (scriptEngineResolver == null) {
-      scriptEngineResolver = new DefaultScriptEngineResolver(new ScriptEngineManager());
+      DefaultScriptEngineResolver defaultScriptEngineResolver = new DefaultScriptEngineResolver(new ScriptEngineManager());
+      if (scriptEnginePoolSize > 0) {
+        defaultScriptEngineResolver.setScriptEnginePool(new ScriptEnginePool(scriptEnginePoolSize));
+      }
+      scriptEngineResolver = defaultScriptEngineResolver;
     }
     if (scriptingEngines == null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(resolverFactories), scriptEngineResolver);
@@ -2669,6 +2868,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEnvironment == null) {
       scriptingEnvironment = new ScriptingEnvironment(scriptFactory, scriptEnvResolvers, scriptingEngines);
     }
+    if (enableCompiledScriptSharing && compiledScriptCache == null) {
+      compiledScriptCache = new CompiledScriptCache(compiledScriptCacheCapacity);
+    }
   }
 
   protected void initDmnEngine() {
@@ -2705,6 +2907,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new JuelExpressionManager(beans);
     }
 
+    if (expressionCompilationEnabled && expressionManager instanceof JuelExpressionManager) {
+      ((JuelExpressionManager) expressionManager).setExpressionCompilationEnabled(true);
+    }
 
     expressionManager.addFunction(CommandContextFunctions.CURRENT_USER,
         ReflectUtil.getMethod(CommandContextFunctions.class, CommandContextFunctions.CURRENT_USER));
@@ -2877,12 +3082,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   // cache factory //////////////////////////////////////////////////////////
 
+  protected void initDeploymentParsingPool() {
+    if (deploymentParsingDegreeOfParallelism > 1 && deploymentParsingPool == null) {
+      deploymentParsingPool = new ForkJoinPool(deploymentParsingDegreeOfParallelism);
+    }
+  }
+
   protected void initCacheFactory() {
     if (cacheFactory == null) {
       cacheFactory = new DefaultCacheFactory();
     }
   }
 
+  protected CacheFactory cacheFactoryOrDefault(CacheFactory factory) {
+    return factory != null ? factory : cacheFactory;
+  }
+
   // resource authorization provider //////////////////////////////////////////
 
   protected void initResourceAuthorizationProvider() {
@@ -2897,6 +3112,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initSharedDbEntityCache() {
+    if (sharedDbEntityCacheEnabled && sharedDbEntityCache == null) {
+      sharedDbEntityCache = new SharedDbEntityCache(sharedDbEntityCacheCapacity);
+    }
+  }
+
+  protected void initAuthorizationCache() {
+    if (authorizationCacheEnabled && authorizationCache == null) {
+      authorizationCache = new AuthorizationCache(authorizationCacheCapacity, authorizationCacheTimeToLive);
+    }
+  }
+
   protected void initDefaultUserPermissionForTask() {
     if (defaultUserPermissionForTask == null) {
       if (Permissions.UPDATE.getName().equals(defaultUserPermissionNameForTask)) {
@@ -3329,6 +3556,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isExpressionCompilationEnabled() {
+    return expressionCompilationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+    this.expressionCompilationEnabled = expressionCompilationEnabled;
+    return this;
+  }
+
   public ElProvider getDmnElProvider() {
     return dmnElProvider;
   }
@@ -3400,10 +3636,68 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheFactory = cacheFactory;
   }
 
+  public CacheFactory getProcessDefinitionCacheFactory() {
+    return processDefinitionCacheFactory;
+  }
+
+  public void setProcessDefinitionCacheFactory(CacheFactory processDefinitionCacheFactory) {
+    this.processDefinitionCacheFactory = processDefinitionCacheFactory;
+  }
+
+  public CacheFactory getCaseDefinitionCacheFactory() {
+    return caseDefinitionCacheFactory;
+  }
+
+  public void setCaseDefinitionCacheFactory(CacheFactory caseDefinitionCacheFactory) {
+    this.caseDefinitionCacheFactory = caseDefinitionCacheFactory;
+  }
+
+  public CacheFactory getDecisionDefinitionCacheFactory() {
+    return decisionDefinitionCacheFactory;
+  }
+
+  public void setDecisionDefinitionCacheFactory(CacheFactory decisionDefinitionCacheFactory) {
+    this.decisionDefinitionCacheFactory = decisionDefinitionCacheFactory;
+  }
+
+  public CacheFactory getModelInstanceCacheFactory() {
+    return modelInstanceCacheFactory;
+  }
+
+  public void setModelInstanceCacheFactory(CacheFactory modelInstanceCacheFactory) {
+    this.modelInstanceCacheFactory = modelInstanceCacheFactory;
+  }
+
   public void setCacheCapacity(int cacheCapacity) {
     this.cacheCapacity = cacheCapacity;
   }
 
+  public int getDeploymentParsingDegreeOfParallelism() {
+    return deploymentParsingDegreeOfParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParsingDegreeOfParallelism(int deploymentParsingDegreeOfParallelism) {
+    this.deploymentParsingDegreeOfParallelism = deploymentParsingDegreeOfParallelism;
+    return this;
+  }
+
+  /**
+   * @return the pool that parses deployment resources concurrently or null if resources
+   * are parsed sequentially
+   */
+  public ForkJoinPool getDeploymentParsingPool() {
+    return deploymentParsingPool;
+  }
+
+  public boolean isDeploymentCacheWarmUpEnabled() {
+    return deploymentCacheWarmUpEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpEnabled(boolean deploymentCacheWarmUpEnabled) {
+    this.deploymentCacheWarmUpEnabled = deploymentCacheWarmUpEnabled;
+    return this;
+  }
+
   public void setEnableFetchProcessDefinitionDescription(boolean enableFetchProcessDefinitionDescription){
     this.enableFetchProcessDefinitionDescription = enableFetchProcessDefinitionDescription;
   }
@@ -3894,6 +4188,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdGeneratorPrefetchEnabled() {
+    return idGeneratorPrefetchEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorPrefetchEnabled(boolean idGeneratorPrefetchEnabled) {
+    this.idGeneratorPrefetchEnabled = idGeneratorPrefetchEnabled;
+    return this;
+  }
+
+  public boolean isJdbcBatchMultiRowInserts() {
+    return jdbcBatchMultiRowInserts;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchMultiRowInserts(boolean jdbcBatchMultiRowInserts) {
+    this.jdbcBatchMultiRowInserts = jdbcBatchMultiRowInserts;
+    return this;
+  }
+
+  public int getJdbcBatchMultiRowInsertSize() {
+    return jdbcBatchMultiRowInsertSize;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchMultiRowInsertSize(int jdbcBatchMultiRowInsertSize) {
+    this.jdbcBatchMultiRowInsertSize = jdbcBatchMultiRowInsertSize;
+    return this;
+  }
+
+  public boolean isDbEntityPartialUpdatesEnabled() {
+    return dbEntityPartialUpdatesEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntityPartialUpdatesEnabled(boolean dbEntityPartialUpdatesEnabled) {
+    this.dbEntityPartialUpdatesEnabled = dbEntityPartialUpdatesEnabled;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3918,6 +4248,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.correlationHandler = correlationHandler;
   }
 
+  public int getMessageCorrelationBulkSize() {
+    return messageCorrelationBulkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMessageCorrelationBulkSize(int messageCorrelationBulkSize) {
+    this.messageCorrelationBulkSize = messageCorrelationBulkSize;
+    return this;
+  }
+
   public ConditionHandler getConditionHandler() {
     return conditionHandler;
   }
@@ -4120,6 +4459,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.permissionProvider = permissionProvider;
   }
 
+  public boolean isAuthorizationCacheEnabled() {
+    return authorizationCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCacheEnabled(boolean authorizationCacheEnabled) {
+    this.authorizationCacheEnabled = authorizationCacheEnabled;
+    return this;
+  }
+
+  public int getAuthorizationCacheCapacity() {
+    return authorizationCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCacheCapacity(int authorizationCacheCapacity) {
+    this.authorizationCacheCapacity = authorizationCacheCapacity;
+    return this;
+  }
+
+  public long getAuthorizationCacheTimeToLive() {
+    return authorizationCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCacheTimeToLive(long authorizationCacheTimeToLive) {
+    this.authorizationCacheTimeToLive = authorizationCacheTimeToLive;
+    return this;
+  }
+
+  public AuthorizationCache getAuthorizationCache() {
+    return authorizationCache;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCache(AuthorizationCache authorizationCache) {
+    this.authorizationCache = authorizationCache;
+    return this;
+  }
+
   public List<ProcessEnginePlugin> getProcessEnginePlugins() {
     return processEnginePlugins;
   }
@@ -4188,6 +4563,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public boolean isExecutionTreeFullPrefetchEnabled() {
+    return isExecutionTreeFullPrefetchEnabled;
+  }
+
+  public void setExecutionTreeFullPrefetchEnabled(boolean isExecutionTreeFullPrefetchEnabled) {
+    this.isExecutionTreeFullPrefetchEnabled = isExecutionTreeFullPrefetchEnabled;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -4400,6 +4783,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isSharedDbEntityCacheEnabled() {
+    return sharedDbEntityCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSharedDbEntityCacheEnabled(boolean sharedDbEntityCacheEnabled) {
+    this.sharedDbEntityCacheEnabled = sharedDbEntityCacheEnabled;
+    return this;
+  }
+
+  public int getSharedDbEntityCacheCapacity() {
+    return sharedDbEntityCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setSharedDbEntityCacheCapacity(int sharedDbEntityCacheCapacity) {
+    this.sharedDbEntityCacheCapacity = sharedDbEntityCacheCapacity;
+    return this;
+  }
+
+  public SharedDbEntityCache getSharedDbEntityCache() {
+    return sharedDbEntityCache;
+  }
+
+  public ProcessEngineConfigurationImpl setSharedDbEntityCache(SharedDbEntityCache sharedDbEntityCache) {
+    this.sharedDbEntityCache = sharedDbEntityCache;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -4438,6 +4848,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       // ACT-233: connection pool of Ibatis is not properely initialized if this is not called!
       ((PooledDataSource) dataSource).forceCloseAll();
     }
+
+    if (idGenerator instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) idGenerator).close();
+    }
+
+    if (deploymentParsingPool != null) {
+      deploymentParsingPool.shutdown();
+      deploymentParsingPool = null;
+    }
   }
 
   public MetricsRegistry getMetricsRegistry() {
@@ -4565,6 +4984,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  public ProcessEngineConfigurationImpl setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+    return this;
+  }
+
+  public boolean isEnableCompiledScriptSharing() {
+    return enableCompiledScriptSharing;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableCompiledScriptSharing(boolean enableCompiledScriptSharing) {
+    this.enableCompiledScriptSharing = enableCompiledScriptSharing;
+    return this;
+  }
+
+  public int getCompiledScriptCacheCapacity() {
+    return compiledScriptCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheCapacity(int compiledScriptCacheCapacity) {
+    this.compiledScriptCacheCapacity = compiledScriptCacheCapacity;
+    return this;
+  }
+
+  public CompiledScriptCache getCompiledScriptCache() {
+    return compiledScriptCache;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+    return this;
+  }
+
+  public boolean isEnableScriptExecutionMetrics() {
+    return enableScriptExecutionMetrics;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableScriptExecutionMetrics(boolean enableScriptExecutionMetrics) {
+    this.enableScriptExecutionMetrics = enableScriptExecutionMetrics;
+    return this;
+  }
+
   public boolean isEnableExpressionsInAdhocQueries() {
     return enableExpressionsInAdhocQueries;
   }
@@ -4589,6 +5053,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableXxeProcessing = enableXxeProcessing;
   }
 
+  public boolean isBpmnParseSnapshotsEnabled() {
+    return bpmnParseSnapshotsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBpmnParseSnapshotsEnabled(boolean bpmnParseSnapshotsEnabled) {
+    this.bpmnParseSnapshotsEnabled = bpmnParseSnapshotsEnabled;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setBpmnStacktraceVerbose(boolean isBpmnStacktraceVerbose) {
     this.isBpmnStacktraceVerbose = isBpmnStacktraceVerbose;
     return this;
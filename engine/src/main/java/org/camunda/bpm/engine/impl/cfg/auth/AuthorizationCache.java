@@ -0,0 +1,156 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cfg.auth;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
+import org.camunda.bpm.engine.impl.db.PermissionCheck;
+import org.camunda.bpm.engine.impl.util.cache.GenerationalCache;
+
+/**
+ * <p>Engine-wide cache for the results of authorization lookups against
+ * ACT_RU_AUTHORIZATION: authorization decisions, the group ids for which
+ * authorizations exist and whether revoke authorizations apply to a user.</p>
+ *
+ * <p>The cache is bounded by a maximum number of entries (least recently used
+ * entries are evicted first) and every entry expires after a time to live.</p>
+ *
+ * <p>Every change of authorizations {@link #invalidate() invalidates} the cache.
+ * This is done when the change is issued and again after the transaction has
+ * committed. Entries carry the generation that was current before their value was
+ * looked up, so a value read concurrently with a change is never returned
+ * afterwards. Changes made by other engines sharing the database are only
+ * seen once the entries have expired.</p>
+ *
+ * <p>Group memberships are part of the keys (the groups of the current
+ * authentication), so membership changes need no invalidation.</p>
+ */
+public class AuthorizationCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+  public static final long DEFAULT_TIME_TO_LIVE = 10000L;
+
+  protected static final Object AUTHORIZED_GROUP_IDS_KEY = new Object();
+
+  protected final GenerationalCache<Object, Object> entries;
+
+  public AuthorizationCache() {
+    this(DEFAULT_CAPACITY, DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * @param capacity the maximum number of cached entries
+   * @param timeToLive the time in milliseconds after which an entry expires
+   */
+  public AuthorizationCache(int capacity, long timeToLive) {
+    this.entries = new GenerationalCache<>(capacity, timeToLive, null);
+  }
+
+  /**
+   * @return the current generation; must be obtained before looking up a value
+   * that is then {@link #put(Object, Object, long) put} into the cache
+   */
+  public long getGeneration() {
+    return entries.getGeneration();
+  }
+
+  /**
+   * @return the cached value or <code>null</code> if there is no valid entry for the key
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key) {
+    return (T) entries.get(key);
+  }
+
+  /**
+   * Caches a value that was looked up in the given generation. The value is
+   * discarded if the cache has been invalidated in the meantime.
+   */
+  public void put(Object key, Object value, long generation) {
+    entries.put(key, value, generation);
+  }
+
+  public void invalidate() {
+    entries.invalidateAll();
+  }
+
+  /**
+   * Invalidates the cache now and once more after the transaction of the current
+   * command has committed.
+   */
+  public void invalidateNowAndAfterCommit() {
+    entries.invalidateAllNowAndAfterCommit();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  // keys ///////////////////////////////////////////////
+
+  public static Object authorizedGroupIdsKey() {
+    return AUTHORIZED_GROUP_IDS_KEY;
+  }
+
+  public static Object revokeAuthorizationKey(String userId, Collection<String> groupIds) {
+    return Arrays.asList("revoke", userId, new HashSet<>(groupIds));
+  }
+
+  /**
+   * @return the key for the decision of the given permission check or <code>null</code>
+   * if the decision cannot be cached because the check refers to a query parameter
+   * instead of a resource id
+   */
+  public static Object authorizationDecisionKey(String userId, Collection<String> groupIds,
+      boolean revokeAuthorizationCheckEnabled, CompositePermissionCheck permissionCheck) {
+
+    Object checkKey = toKey(permissionCheck);
+    if (checkKey == null) {
+      return null;
+    }
+
+    return Arrays.asList("decision", userId, new HashSet<>(groupIds), revokeAuthorizationCheckEnabled, checkKey);
+  }
+
+  protected static Object toKey(CompositePermissionCheck compositeCheck) {
+    List<Object> atomicChecks = new ArrayList<>();
+    for (PermissionCheck atomicCheck : compositeCheck.getAtomicChecks()) {
+      if (atomicCheck.getResourceIdQueryParam() != null) {
+        return null;
+      }
+      atomicChecks.add(Arrays.asList(atomicCheck.getResourceType(), atomicCheck.getResourceId(),
+          atomicCheck.getPerms(), atomicCheck.getAuthorizationNotFoundReturnValue()));
+    }
+
+    List<Object> compositeChecks = new ArrayList<>();
+    for (CompositePermissionCheck subCheck : compositeCheck.getCompositeChecks()) {
+      Object subCheckKey = toKey(subCheck);
+      if (subCheckKey == null) {
+        return null;
+      }
+      compositeChecks.add(subCheckKey);
+    }
+
+    return Arrays.asList(compositeCheck.isDisjunctive(), atomicChecks, compositeChecks);
+  }
+
+}
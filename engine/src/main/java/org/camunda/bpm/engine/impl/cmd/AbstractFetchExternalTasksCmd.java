@@ -0,0 +1,178 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.Direction.DESCENDING;
+import static org.camunda.bpm.engine.impl.ExternalTaskQueryProperty.PRIORITY;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingResult;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.externaltask.LockedExternalTaskImpl;
+import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
+
+/**
+ * Selects the external tasks of the given topics and locks them, for one or
+ * several workers.
+ */
+public abstract class AbstractFetchExternalTasksCmd<T> implements Command<T> {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected Map<String, TopicFetchInstruction> fetchInstructions;
+  protected List<QueryOrderingProperty> orderingProperties;
+
+  protected AbstractFetchExternalTasksCmd(Map<String, TopicFetchInstruction> instructions,
+                                          boolean usePriority,
+                                          List<QueryOrderingProperty> orderingProperties) {
+    this.fetchInstructions = instructions;
+    this.orderingProperties = orderingPropertiesWithPriority(usePriority, orderingProperties);
+  }
+
+  protected List<ExternalTaskEntity> selectExternalTasks(CommandContext commandContext, int maxResults) {
+    for (TopicFetchInstruction instruction : fetchInstructions.values()) {
+      instruction.ensureVariablesInitialized();
+    }
+
+    return commandContext
+      .getExternalTaskManager()
+      .selectExternalTasksForTopics(new ArrayList<>(fetchInstructions.values()), maxResults, orderingProperties);
+  }
+
+  /**
+   * @return <code>false</code> if the task has been completed or deleted concurrently
+   *   and must not be locked
+   */
+  protected boolean hasExecution(ExternalTaskEntity entity) {
+    // retrieve the execution first to detect concurrent modifications @https://jira.camunda.com/browse/CAM-10750
+    ExecutionEntity execution = entity.getExecution(false);
+
+    if (execution == null) {
+      LOG.logTaskWithoutExecution(entity.getId());
+      return false;
+    }
+    return true;
+  }
+
+  protected LockedExternalTask lock(ExternalTaskEntity entity, String workerId) {
+    TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
+    entity.lock(workerId, fetchInstruction.getLockDuration());
+
+    return LockedExternalTaskImpl.fromEntity(
+        entity,
+        fetchInstruction.getVariablesToFetch(),
+        fetchInstruction.isLocalVariables(),
+        fetchInstruction.isDeserializeVariables(),
+        fetchInstruction.isIncludeExtensionProperties()
+    );
+  }
+
+  /**
+   * When CockroachDB is used, this command may be retried multiple times until
+   * it is successful, or the retries are exhausted. CockroachDB uses a stricter,
+   * SERIALIZABLE transaction isolation which ensures a serialized manner
+   * of transaction execution. A concurrent transaction that attempts to modify
+   * the same data as another transaction is required to abort, rollback and retry.
+   * This also makes our use-case of pessimistic locks redundant since we only use
+   * them as synchronization barriers, and not to lock actual data which would
+   * protect it from concurrent modifications.
+   *
+   * The FetchExternalTasks command only executes internal code, so we are certain
+   * that a retry of a failed external task locking will not impact user data, and
+   * may be performed multiple times.
+   */
+  @Override
+  public boolean isRetryable() {
+    return true;
+  }
+
+  /**
+   * Removes a task from the given results if locking it fails with an optimistic
+   * locking exception.
+   */
+  protected void filterOnOptimisticLockingFailure(CommandContext commandContext,
+                                                  final Collection<List<LockedExternalTask>> results) {
+    commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
+
+      @Override
+      public Class<? extends DbEntity> getEntityType() {
+        return ExternalTaskEntity.class;
+      }
+
+      @Override
+      public OptimisticLockingResult failedOperation(DbOperation operation) {
+
+        if (operation instanceof DbEntityOperation) {
+          DbEntity dbEntity = ((DbEntityOperation) operation).getEntity();
+
+          for (List<LockedExternalTask> tasks : results) {
+            // If the entity that failed with an OLE has been removed
+            // from the result, we suppress the OLE.
+            if (tasks.removeIf(task -> task.getId().equals(dbEntity.getId()))) {
+              return OptimisticLockingResult.IGNORE;
+            }
+          }
+
+          // If the entity that failed with an OLE is not in the result,
+          // we rethrow the OLE to the caller.
+          return OptimisticLockingResult.THROW;
+        }
+
+        // If none of the conditions are satisfied, this might indicate a bug,
+        // so we throw the OLE.
+        return OptimisticLockingResult.THROW;
+      }
+    });
+  }
+
+  protected void validateFetchInstructions() {
+    for (TopicFetchInstruction instruction : fetchInstructions.values()) {
+      EnsureUtil.ensureNotNull("topicName", instruction.getTopicName());
+      EnsureUtil.ensurePositive("lockTime", instruction.getLockDuration());
+    }
+  }
+
+  protected List<QueryOrderingProperty> orderingPropertiesWithPriority(boolean usePriority,
+                                                                       List<QueryOrderingProperty> queryOrderingProperties) {
+    List<QueryOrderingProperty> results = new ArrayList<>();
+
+    // Priority needs to be the first item in the list because it takes precedence over other sorting options
+    // Multi level ordering works by going through the list of ordering properties from first to last item
+    if (usePriority) {
+      results.add(new QueryOrderingProperty(PRIORITY, DESCENDING));
+    }
+
+    results.addAll(queryOrderingProperties);
+
+    return results;
+  }
+}
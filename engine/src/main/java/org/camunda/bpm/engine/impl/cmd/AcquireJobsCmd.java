@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.cmd;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.List;
@@ -43,7 +44,7 @@ import org.camunda.bpm.engine.impl.util.ClockUtil;
  */
 public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingListener {
 
-  private final JobExecutor jobExecutor;
+  protected final JobExecutor jobExecutor;
 
   protected AcquiredJobs acquiredJobs;
   protected int numJobsToAcquire;
@@ -84,9 +85,7 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
       }
     }
 
-    for (List<String> jobIds : exclusiveJobsByProcessInstance.values()) {
-      acquiredJobs.addJobIdBatch(jobIds);
-    }
+    addExclusiveJobBatches(commandContext, exclusiveJobsByProcessInstance);
 
     // register an OptimisticLockingListener which is notified about jobs which cannot be acquired.
     // the listener removes them from the list of acquired jobs.
@@ -98,6 +97,46 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return acquiredJobs;
   }
 
+  /**
+   * Adds the exclusive jobs as one batch per process instance. If the job executor
+   * has {@link JobExecutor#isProcessInstanceAffinity() process instance affinity},
+   * the jobs are batched per root process instance instead and the batches are
+   * keyed by the root process instance id, so that they are executed one after
+   * another with batches acquired in later cycles.
+   */
+  protected void addExclusiveJobBatches(CommandContext commandContext, Map<String, List<String>> exclusiveJobsByProcessInstance) {
+    if (!jobExecutor.isProcessInstanceAffinity()) {
+      for (List<String> jobIds : exclusiveJobsByProcessInstance.values()) {
+        acquiredJobs.addJobIdBatch(jobIds);
+      }
+      return;
+    }
+
+    Map<String, String> rootProcessInstanceIds = commandContext
+      .getJobManager()
+      .findRootProcessInstanceIds(exclusiveJobsByProcessInstance.keySet());
+
+    Map<String, List<String>> exclusiveJobsByRootProcessInstance = new HashMap<String, List<String>>();
+    for (Map.Entry<String, List<String>> exclusiveJobs : exclusiveJobsByProcessInstance.entrySet()) {
+      String processInstanceId = exclusiveJobs.getKey();
+      String rootProcessInstanceId = rootProcessInstanceIds.get(processInstanceId);
+      if (rootProcessInstanceId == null) {
+        rootProcessInstanceId = processInstanceId;
+      }
+
+      List<String> jobIds = exclusiveJobsByRootProcessInstance.get(rootProcessInstanceId);
+      if (jobIds == null) {
+        jobIds = new ArrayList<String>();
+        exclusiveJobsByRootProcessInstance.put(rootProcessInstanceId, jobIds);
+      }
+      jobIds.addAll(exclusiveJobs.getValue());
+    }
+
+    for (Map.Entry<String, List<String>> exclusiveJobs : exclusiveJobsByRootProcessInstance.entrySet()) {
+      acquiredJobs.addJobIdBatch(exclusiveJobs.getValue(), exclusiveJobs.getKey());
+    }
+  }
+
   /**
    * When CockroachDB is used, this command may be retried multiple times until
    * it is successful, or the retries are exhausted. CockroachDB uses a stricter,
@@ -120,13 +159,16 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
   protected void lockJob(AcquirableJobEntity job) {
     String lockOwner = jobExecutor.getLockOwner();
     job.setLockOwner(lockOwner);
+    job.setLockExpirationTime(calculateLockExpirationTime());
+  }
 
+  protected Date calculateLockExpirationTime() {
     int lockTimeInMillis = jobExecutor.getLockTimeInMillis();
 
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
     gregorianCalendar.setTime(ClockUtil.getCurrentTime());
     gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-    job.setLockExpirationTime(gregorianCalendar.getTime());
+    return gregorianCalendar.getTime();
   }
 
   @Override
@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+
+/**
+ * Acquires jobs with <code>SELECT ... FOR UPDATE SKIP LOCKED</code> and locks them with
+ * one bulk update. Jobs selected by a concurrent acquisition are skipped instead of failing
+ * the optimistic locking check on flush, so that job executors of several nodes do not
+ * compete for the same jobs.
+ *
+ * On databases which do not support <code>SKIP LOCKED</code>, the jobs are acquired like
+ * by {@link AcquireJobsCmd}.
+ */
+public class AcquireJobsSkipLockedCmd extends AcquireJobsCmd {
+
+  /** MySQL 8 and later; PostgreSQL 9.5 and later; Oracle */
+  public static final List<String> SUPPORTED_DATABASES = Arrays.asList(
+      DbSqlSessionFactory.POSTGRES,
+      DbSqlSessionFactory.MYSQL,
+      DbSqlSessionFactory.ORACLE);
+
+  public AcquireJobsSkipLockedCmd(JobExecutor jobExecutor) {
+    super(jobExecutor);
+  }
+
+  public AcquireJobsSkipLockedCmd(JobExecutor jobExecutor, int numJobsToAcquire) {
+    super(jobExecutor, numJobsToAcquire);
+  }
+
+  @Override
+  public AcquiredJobs execute(CommandContext commandContext) {
+    String databaseType = commandContext.getProcessEngineConfiguration().getDatabaseType();
+    if (!SUPPORTED_DATABASES.contains(databaseType)) {
+      return super.execute(commandContext);
+    }
+
+    acquiredJobs = new AcquiredJobs(numJobsToAcquire);
+
+    List<AcquirableJobEntity> jobs = commandContext
+      .getJobManager()
+      .findNextJobsToExecuteSkipLocked(new Page(0, numJobsToAcquire));
+
+    if (jobs.isEmpty()) {
+      return acquiredJobs;
+    }
+
+    List<String> jobIds = new ArrayList<>();
+    Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<>();
+
+    for (AcquirableJobEntity job : jobs) {
+      jobIds.add(job.getId());
+
+      if (job.isExclusive()) {
+        exclusiveJobsByProcessInstance
+          .computeIfAbsent(job.getProcessInstanceId(), processInstanceId -> new ArrayList<>())
+          .add(job.getId());
+      }
+      else {
+        acquiredJobs.addJobIdBatch(job.getId());
+      }
+    }
+
+    addExclusiveJobBatches(commandContext, exclusiveJobsByProcessInstance);
+
+    // the selected rows are locked until the end of the transaction,
+    // so the update does not need to check the revisions of the jobs
+    commandContext
+      .getJobManager()
+      .updateJobLocks(jobIds, jobExecutor.getLockOwner(), calculateLockExpirationTime());
+
+    return acquiredJobs;
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.runtime.BulkCorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandlerResult;
+import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBulkResultImpl;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+
+/**
+ * Correlates several messages in one transaction. A message that does not match
+ * or that the user is not authorized to correlate does not fail the transaction:
+ * both are detected before the message changes any state, so the exception becomes
+ * part of the message's result instead. Any other exception fails the transaction.
+ */
+public class BulkCorrelateMessageCmd implements Command<List<MessageCorrelationBulkResult>> {
+
+  protected final List<MessageCorrelationBuilderImpl> correlations;
+
+  public BulkCorrelateMessageCmd(List<MessageCorrelationBuilderImpl> correlations) {
+    this.correlations = correlations;
+  }
+
+  @Override
+  public List<MessageCorrelationBulkResult> execute(CommandContext commandContext) {
+    CorrelationHandler correlationHandler = commandContext.getProcessEngineConfiguration().getCorrelationHandler();
+
+    // a custom correlation handler may correlate differently, so only the default one is replaced
+    if (correlationHandler.getClass() == DefaultCorrelationHandler.class) {
+      BulkCorrelationHandler bulkCorrelationHandler = new BulkCorrelationHandler();
+      bulkCorrelationHandler.prefetchExecutions(commandContext, correlations);
+      correlationHandler = bulkCorrelationHandler;
+    }
+
+    List<MessageCorrelationBulkResult> results = new ArrayList<>(correlations.size());
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      BulkCorrelationStep command = new BulkCorrelationStep(correlation, correlationHandler);
+      try {
+        results.add(MessageCorrelationBulkResultImpl.correlated(command.execute(commandContext)));
+
+      } catch (MismatchingMessageCorrelationException | AuthorizationException e) {
+        if (command.isTriggered()) {
+          // thrown while the message was processed, e.g. by a nested correlation
+          throw e;
+        }
+        results.add(MessageCorrelationBulkResultImpl.failed(e));
+      }
+    }
+    return results;
+  }
+
+  protected static class BulkCorrelationStep extends CorrelateMessageCmd {
+
+    protected boolean triggered = false;
+
+    public BulkCorrelationStep(MessageCorrelationBuilderImpl correlation, CorrelationHandler correlationHandler) {
+      super(correlation, false, false, correlation.isStartMessagesOnly(), correlationHandler);
+    }
+
+    @Override
+    protected MessageCorrelationResultImpl createMessageCorrelationResult(CommandContext commandContext, CorrelationHandlerResult handlerResult) {
+      triggered = true;
+      return super.createMessageCorrelationResult(commandContext, handlerResult);
+    }
+
+    public boolean isTriggered() {
+      return triggered;
+    }
+  }
+
+}
@@ -362,4 +362,14 @@ public class CommandLogger extends ProcessEngineLogger {
         "The number of job retries must be a non-negative Integer, but '{}' has been provided.", retries));
   }
 
+  public void debugRetryingBulkCorrelationIndividually(int messageCount, Throwable cause) {
+    logDebug("055",
+        "Correlating {} messages in one transaction failed, correlating them one by one: {}", messageCount, cause.getMessage());
+  }
+
+  public BadUserRequestException exceptionDeliverSignalAsyncToSingleExecution() {
+    return new BadUserRequestException(exceptionMessage(
+        "056", "Cannot deliver a signal asynchronously to a single execution."));
+  }
+
 }
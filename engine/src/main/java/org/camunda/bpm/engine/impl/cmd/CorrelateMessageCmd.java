@@ -43,6 +43,7 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
   private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
 
   protected boolean startMessageOnly;
+  protected CorrelationHandler correlationHandler;
 
   /**
    * Initialize the command with a builder
@@ -54,12 +55,22 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
     this.startMessageOnly = startMessageOnly;
   }
 
+  /**
+   * Initialize the command with a builder and the correlation handler to use
+   * instead of the configured one
+   */
+  public CorrelateMessageCmd(MessageCorrelationBuilderImpl messageCorrelationBuilderImpl, boolean collectVariables, boolean deserializeVariableValues,
+      boolean startMessageOnly, CorrelationHandler correlationHandler) {
+    this(messageCorrelationBuilderImpl, collectVariables, deserializeVariableValues, startMessageOnly);
+    this.correlationHandler = correlationHandler;
+  }
+
   public MessageCorrelationResultImpl execute(final CommandContext commandContext) {
     ensureAtLeastOneNotNull(
         "At least one of the following correlation criteria has to be present: " + "messageName, businessKey, correlationKeys, processInstanceId", messageName,
         builder.getBusinessKey(), builder.getCorrelationProcessInstanceVariables(), builder.getProcessInstanceId());
 
-    final CorrelationHandler correlationHandler = Context.getProcessEngineConfiguration().getCorrelationHandler();
+    final CorrelationHandler correlationHandler = getCorrelationHandler();
     final CorrelationSet correlationSet = new CorrelationSet(builder);
 
     CorrelationHandlerResult correlationResult = null;
@@ -93,4 +104,11 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
 
     return createMessageCorrelationResult(commandContext, correlationResult);
   }
+
+  protected CorrelationHandler getCorrelationHandler() {
+    if (correlationHandler != null) {
+      return correlationHandler;
+    }
+    return Context.getProcessEngineConfiguration().getCorrelationHandler();
+  }
 }
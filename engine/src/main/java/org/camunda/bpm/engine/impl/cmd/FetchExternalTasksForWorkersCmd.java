@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
+
+/**
+ * Fetches and locks external tasks for several workers which share the same
+ * topic subscriptions, like {@link FetchExternalTasksCmd} does for one worker.
+ * The candidate tasks are selected with one query for the sum of the workers'
+ * maximum numbers of tasks. They are handed out to the workers in turns, in the
+ * iteration order of the given map, and each task is locked for the worker it is
+ * handed out to.
+ */
+public class FetchExternalTasksForWorkersCmd extends AbstractFetchExternalTasksCmd<Map<String, List<LockedExternalTask>>> {
+
+  protected Map<String, Integer> maxResultsByWorkerId;
+
+  public FetchExternalTasksForWorkersCmd(Map<String, Integer> maxResultsByWorkerId,
+                                         Map<String, TopicFetchInstruction> instructions,
+                                         boolean usePriority,
+                                         List<QueryOrderingProperty> orderingProperties) {
+    super(instructions, usePriority, orderingProperties);
+    this.maxResultsByWorkerId = maxResultsByWorkerId;
+  }
+
+  @Override
+  public Map<String, List<LockedExternalTask>> execute(CommandContext commandContext) {
+    validateInput();
+
+    Map<String, List<LockedExternalTask>> result = new LinkedHashMap<>();
+    int maxResults = 0;
+    for (Map.Entry<String, Integer> worker : maxResultsByWorkerId.entrySet()) {
+      result.put(worker.getKey(), new ArrayList<>());
+      maxResults += worker.getValue();
+    }
+
+    List<ExternalTaskEntity> externalTasks = selectExternalTasks(commandContext, maxResults);
+
+    List<String> workerIds = new ArrayList<>(result.keySet());
+    int nextTurn = 0;
+
+    for (ExternalTaskEntity entity : externalTasks) {
+      if (!hasExecution(entity)) {
+        // the task is skipped, it does not use up a turn
+        continue;
+      }
+
+      int workerIndex = nextWorkerIndex(workerIds, nextTurn, result);
+      String workerId = workerIds.get(workerIndex);
+      result.get(workerId).add(lock(entity, workerId));
+
+      nextTurn = workerIndex + 1;
+    }
+
+    filterOnOptimisticLockingFailure(commandContext, result.values());
+
+    return result;
+  }
+
+  /**
+   * @return the index of the first worker, starting at the given turn, which has
+   *   not reached its maximum number of tasks yet
+   */
+  protected int nextWorkerIndex(List<String> workerIds, int turn, Map<String, List<LockedExternalTask>> result) {
+    for (int i = 0; i < workerIds.size(); i++) {
+      int workerIndex = (turn + i) % workerIds.size();
+      String workerId = workerIds.get(workerIndex);
+      if (result.get(workerId).size() < maxResultsByWorkerId.get(workerId)) {
+        return workerIndex;
+      }
+    }
+    // cannot happen, the query does not return more tasks than all workers take
+    throw new IllegalStateException("All workers reached their maximum number of tasks");
+  }
+
+  protected void validateInput() {
+    EnsureUtil.ensureNotEmpty("maxResultsByWorkerId", maxResultsByWorkerId);
+
+    for (Map.Entry<String, Integer> worker : maxResultsByWorkerId.entrySet()) {
+      EnsureUtil.ensureNotNull("workerId", worker.getKey());
+      EnsureUtil.ensureNotNull("maxResults", worker.getValue());
+      EnsureUtil.ensureGreaterThanOrEqual("maxResults", worker.getValue(), 0);
+    }
+
+    validateFetchInstructions();
+  }
+
+}
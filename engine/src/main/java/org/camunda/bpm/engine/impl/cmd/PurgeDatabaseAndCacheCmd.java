@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.cmd;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.interceptor.Command;
@@ -67,6 +68,11 @@ public class PurgeDatabaseAndCacheCmd implements Command<PurgeReport>, Serializa
     CachePurgeReport cachePurgeReport = deploymentCache.purgeCache();
     purgeReport.setCachePurgeReport(cachePurgeReport);
 
+    SharedDbEntityCache sharedDbEntityCache = commandContext.getProcessEngineConfiguration().getSharedDbEntityCache();
+    if (sharedDbEntityCache != null) {
+      sharedDbEntityCache.clear();
+    }
+
     return purgeReport;
   }
 
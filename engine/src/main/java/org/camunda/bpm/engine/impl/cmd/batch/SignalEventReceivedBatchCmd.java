@@ -0,0 +1,143 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd.batch;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.BatchPermissions;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.SignalEventReceivedBuilderImpl;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.builder.BatchBuilder;
+import org.camunda.bpm.engine.impl.batch.signal.SignalEventReceivedBatchConfiguration;
+import org.camunda.bpm.engine.impl.core.variable.VariableUtil;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+/**
+ * Creates a batch which delivers a signal to all subscriptions that exist when
+ * the batch is created. The subscriptions are only counted here, the seed job
+ * of the batch reads them page by page.
+ */
+public class SignalEventReceivedBatchCmd implements Command<Batch> {
+
+  protected String signalName;
+  protected String tenantId;
+  protected boolean isTenantIdSet;
+  protected VariableMap variables;
+
+  public SignalEventReceivedBatchCmd(SignalEventReceivedBuilderImpl builder) {
+    this.signalName = builder.getSignalName();
+    this.tenantId = builder.getTenantId();
+    this.isTenantIdSet = builder.isTenantIdSet();
+    this.variables = builder.getVariables();
+  }
+
+  @Override
+  public Batch execute(CommandContext commandContext) {
+    ensureNotNull("signalName", signalName);
+
+    SignalEventReceivedBatchConfiguration configuration = getConfiguration(commandContext);
+
+    long subscriptionCount = commandContext.getEventSubscriptionManager()
+        .findSignalEventSubscriptionCountForPaging(
+            signalName,
+            isTenantIdSet,
+            tenantId,
+            configuration.getAuthTenantIds(),
+            configuration.getCreatedBefore());
+
+    Batch batch = new BatchBuilder(commandContext)
+        .type(Batch.TYPE_SEND_SIGNAL)
+        .config(configuration)
+        .permission(BatchPermissions.CREATE_BATCH_SEND_SIGNAL)
+        .totalJobs(calculateTotalJobs(commandContext, configuration, subscriptionCount))
+        .operationLogHandler(this::writeUserOperationLog)
+        .build();
+
+    if (variables != null) {
+      VariableUtil.setVariablesByBatchId(variables, batch.getId());
+    }
+
+    return batch;
+  }
+
+  protected SignalEventReceivedBatchConfiguration getConfiguration(CommandContext commandContext) {
+    SignalEventReceivedBatchConfiguration configuration =
+        new SignalEventReceivedBatchConfiguration(Collections.emptyList(), signalName, null);
+
+    configuration.setTenantId(tenantId);
+    configuration.setTenantIdSet(isTenantIdSet);
+    configuration.setCreatedBefore(ClockUtil.getCurrentTime());
+
+    Authentication authentication = commandContext.getAuthentication();
+
+    // the batch jobs run without authentication, so the tenants of the current user are kept
+    if (commandContext.getTenantManager().isTenantCheckEnabled()) {
+      List<String> authTenantIds = authentication.getTenantIds();
+      configuration.setAuthTenantIds(authTenantIds != null ? new ArrayList<>(authTenantIds) : new ArrayList<>());
+    }
+
+    // the seed job checks the permissions to deliver the signal on behalf of the current user
+    if (commandContext.getProcessEngineConfiguration().isAuthorizationEnabled()
+        && commandContext.isAuthorizationCheckEnabled()
+        && authentication != null
+        && authentication.getUserId() != null) {
+      configuration.setAuthUserId(authentication.getUserId());
+      List<String> authGroupIds = authentication.getGroupIds();
+      configuration.setAuthGroupIds(authGroupIds != null ? new ArrayList<>(authGroupIds) : new ArrayList<>());
+    }
+
+    return configuration;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected int calculateTotalJobs(CommandContext commandContext, SignalEventReceivedBatchConfiguration configuration,
+                                   long subscriptionCount) {
+    BatchJobHandler<SignalEventReceivedBatchConfiguration> jobHandler = (BatchJobHandler<SignalEventReceivedBatchConfiguration>)
+        commandContext.getProcessEngineConfiguration().getBatchHandlers().get(Batch.TYPE_SEND_SIGNAL);
+
+    int invocationsPerBatchJob = jobHandler.calculateInvocationsPerBatchJob(Batch.TYPE_SEND_SIGNAL, configuration);
+    if (subscriptionCount == 0 || invocationsPerBatchJob == 0) {
+      return 0;
+    }
+
+    return (int) ((subscriptionCount + invocationsPerBatchJob - 1) / invocationsPerBatchJob);
+  }
+
+  protected void writeUserOperationLog(CommandContext commandContext) {
+    List<PropertyChange> propChanges = new ArrayList<>();
+
+    propChanges.add(new PropertyChange("signalName", null, signalName));
+    propChanges.add(new PropertyChange("nrOfVariables", null, variables == null ? 0 : variables.size()));
+    propChanges.add(new PropertyChange("async", null, true));
+
+    commandContext.getOperationLogManager()
+        .logProcessInstanceOperation(UserOperationLogEntry.OPERATION_TYPE_SEND_SIGNAL, propChanges);
+  }
+
+}
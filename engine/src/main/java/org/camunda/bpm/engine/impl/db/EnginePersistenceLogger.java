@@ -870,6 +870,53 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
     );
   }
 
+  public void idBlockPrefetchFailed(Throwable cause) {
+    logDebug(
+      "111",
+      "Prefetching the next id block failed, the block is fetched synchronously instead: {}",
+      cause.getMessage(),
+      cause
+    );
+  }
+
+  public void deploymentCacheWarmUpStarted(int definitions, int resources) {
+    logInfo(
+      "112",
+      "Warming up the deployment cache with {} latest definitions from {} resources",
+      definitions,
+      resources
+    );
+  }
+
+  public void deploymentCacheWarmUpProgress(int parsedResources, int resources) {
+    logInfo(
+      "113",
+      "Warmed up the deployment cache with {} of {} resources",
+      parsedResources,
+      resources
+    );
+  }
+
+  public void deploymentCacheWarmUpFailed(String resourceName, String deploymentId, Throwable cause) {
+    logWarn(
+      "114",
+      "Could not warm up the deployment cache with resource '{}' of deployment '{}', it is parsed on first access instead: {}",
+      resourceName,
+      deploymentId,
+      cause.getMessage(),
+      cause
+    );
+  }
+
+  public void deploymentCacheWarmUpFinished(int resources, long duration) {
+    logInfo(
+      "115",
+      "Warmed up the deployment cache with {} resources in {} ms",
+      resources,
+      duration
+    );
+  }
+
   // exception code 110 is already taken. See requiredCamundaAdminOrPermissionException() for details.
 
   public static List<SQLException> findRelatedSqlExceptions(Throwable exception) {
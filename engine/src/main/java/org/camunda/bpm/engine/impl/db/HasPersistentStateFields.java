@@ -0,0 +1,34 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * Entities which can enumerate the fields of their persistent state without building
+ * the map returned by {@link DbEntity#getPersistentState()}. The entity cache uses this to
+ * check cached entities for changes without allocating on every flush.
+ *
+ * <p>Implementations must always visit the same fields in the same order, each with the key
+ * and value which {@link DbEntity#getPersistentState()} puts into its map. A field which the map
+ * contains only if it is not <code>null</code> is visited as <code>null</code> otherwise. Subclasses
+ * which override {@link DbEntity#getPersistentState()} must override
+ * {@link #visitPersistentState(PersistentStateVisitor)} as well.
+ */
+public interface HasPersistentStateFields {
+
+  void visitPersistentState(PersistentStateVisitor visitor);
+
+}
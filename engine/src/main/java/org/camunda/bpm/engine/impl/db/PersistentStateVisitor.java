@@ -0,0 +1,34 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * Receives the fields of the persistent state of a {@link HasPersistentStateFields} entity.
+ * Primitive fields are passed without boxing them. The name of a field is the key
+ * of the field in the map returned by {@link DbEntity#getPersistentState()}.
+ */
+public interface PersistentStateVisitor {
+
+  void field(String name, Object value);
+
+  void field(String name, int value);
+
+  void field(String name, long value);
+
+  void field(String name, boolean value);
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which hands out ids without holding a monitor.</p>
+ *
+ * <p>Ids are taken from the current block with an atomic increment. Once a
+ * configurable share of the block is used up, the next block is fetched on a
+ * background thread, so that threads running out of ids usually find a
+ * block that is already available instead of waiting for the database.
+ * A prefetched block is always used as the next block, even if it was
+ * fetched for an earlier range; no further block is prefetched while it
+ * is pending.</p>
+ *
+ * <p>The size of the fetched blocks adapts to the observed consumption rate:
+ * it grows while blocks are used up faster than the configured
+ * {@link #setTargetBlockDuration(long) target duration} and shrinks back
+ * towards the configured {@link #setIdBlockSize(int) id block size} when
+ * ids are consumed slowly.</p>
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final IdRange EXHAUSTED_RANGE = new IdRange(0, -1, 0, 0);
+
+  public static final int DEFAULT_PREFETCH_THRESHOLD = 80;
+  public static final int DEFAULT_MAX_ID_BLOCK_SIZE = 10000;
+  public static final long DEFAULT_TARGET_BLOCK_DURATION = 5000L;
+
+  /** percentage of a block which must be used up before the next block is prefetched */
+  protected int prefetchThreshold = DEFAULT_PREFETCH_THRESHOLD;
+  protected int maxIdBlockSize = DEFAULT_MAX_ID_BLOCK_SIZE;
+  /** duration in milliseconds a single block should ideally last */
+  protected long targetBlockDuration = DEFAULT_TARGET_BLOCK_DURATION;
+
+  protected final Object rangeLock = new Object();
+  protected volatile IdRange currentRange;
+  /** the block fetched in the background which becomes the next range; assigned by {@link #reset()} */
+  protected AtomicReference<Future<IdBlock>> prefetchedBlock;
+  protected volatile int currentBlockSize;
+
+  protected ExecutorService prefetchExecutor;
+
+  public String getNextId() {
+    while (true) {
+      IdRange range = currentRange;
+      long id = range.next.getAndIncrement();
+
+      if (id <= range.last) {
+        if (id == range.prefetchId) {
+          // exactly one thread observes this id, so each block triggers one prefetch at most
+          prefetchNextBlock(range);
+        }
+        return Long.toString(id);
+      }
+
+      switchRange(range);
+    }
+  }
+
+  protected void switchRange(IdRange exhaustedRange) {
+    synchronized (rangeLock) {
+      if (currentRange != exhaustedRange) {
+        // another thread has already switched to a new block
+        return;
+      }
+
+      IdBlock idBlock = takePrefetchedBlock();
+      if (idBlock == null) {
+        idBlock = fetchBlock(getCurrentBlockSize());
+      }
+
+      currentRange = createRange(idBlock);
+    }
+  }
+
+  protected void prefetchNextBlock(IdRange range) {
+    if (prefetchedBlock.get() != null) {
+      // the block prefetched for an earlier range has not been taken yet and becomes the next range
+      return;
+    }
+
+    final int blockSize = calculateNextBlockSize(range);
+    currentBlockSize = blockSize;
+
+    FutureTask<IdBlock> prefetch = new FutureTask<>(() -> fetchBlock(blockSize));
+    if (!prefetchedBlock.compareAndSet(null, prefetch)) {
+      return;
+    }
+
+    try {
+      getPrefetchExecutor().execute(prefetch);
+    }
+    catch (RuntimeException e) {
+      // the next block is fetched synchronously once the current block is exhausted
+      prefetchedBlock.compareAndSet(prefetch, null);
+      LOG.idBlockPrefetchFailed(e);
+    }
+  }
+
+  /**
+   * Waits for the prefetched block. A block which is still being fetched when
+   * the waiting thread is interrupted remains pending for the next switch.
+   *
+   * @return the prefetched block or <code>null</code> if there is none or prefetching failed
+   */
+  protected IdBlock takePrefetchedBlock() {
+    Future<IdBlock> future = prefetchedBlock.get();
+    if (future == null) {
+      return null;
+    }
+
+    IdBlock idBlock = null;
+    try {
+      idBlock = future.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.idBlockPrefetchFailed(e);
+      return null;
+    }
+    catch (ExecutionException e) {
+      LOG.idBlockPrefetchFailed(e.getCause());
+    }
+    catch (CancellationException e) {
+      LOG.idBlockPrefetchFailed(e);
+    }
+
+    prefetchedBlock.compareAndSet(future, null);
+    return idBlock;
+  }
+
+  protected IdBlock fetchBlock(int blockSize) {
+    return commandExecutor.execute(new GetNextIdBlockCmd(blockSize));
+  }
+
+  protected IdRange createRange(IdBlock idBlock) {
+    long first = idBlock.getNextId();
+    long last = idBlock.getLastId();
+    long size = last - first + 1;
+    long prefetchId = first + Math.min(size - 1, size * prefetchThreshold / 100);
+
+    return new IdRange(first, last, prefetchId, System.nanoTime());
+  }
+
+  /**
+   * Extrapolates the time it takes to use up the given range from the ids
+   * consumed so far and scales the block size accordingly.
+   */
+  protected int calculateNextBlockSize(IdRange range) {
+    int blockSize = getCurrentBlockSize();
+
+    long consumedIds = range.prefetchId - range.first + 1;
+    long rangeSize = range.last - range.first + 1;
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - range.createdAt);
+    long projectedMillis = elapsedMillis * rangeSize / consumedIds;
+
+    if (projectedMillis < targetBlockDuration / 2) {
+      blockSize = (int) Math.min((long) blockSize * 2, Math.max(maxIdBlockSize, idBlockSize));
+    }
+    else if (projectedMillis > targetBlockDuration * 2) {
+      blockSize = Math.max(blockSize / 2, idBlockSize);
+    }
+
+    return blockSize;
+  }
+
+  protected ExecutorService getPrefetchExecutor() {
+    synchronized (rangeLock) {
+      if (prefetchExecutor == null) {
+        prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+          Thread thread = new Thread(runnable, "camunda-id-block-prefetch");
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+      return prefetchExecutor;
+    }
+  }
+
+  public int getCurrentBlockSize() {
+    int blockSize = currentBlockSize;
+    return blockSize > 0 ? blockSize : idBlockSize;
+  }
+
+  /**
+   * Reset inner state so that the generator fetches a new block of IDs from the database
+   * when the next ID generation request is received. A block that is currently
+   * being prefetched is discarded.
+   */
+  @Override
+  public void reset() {
+    // invoked from the super constructor as well, so no field initializers may be relied on here
+    if (prefetchedBlock == null) {
+      prefetchedBlock = new AtomicReference<>();
+    }
+    else {
+      prefetchedBlock.set(null);
+    }
+    currentBlockSize = 0;
+    currentRange = EXHAUSTED_RANGE;
+  }
+
+  /**
+   * Stops the background thread used for prefetching blocks.
+   */
+  public void close() {
+    synchronized (rangeLock) {
+      if (prefetchExecutor != null) {
+        prefetchExecutor.shutdownNow();
+        prefetchExecutor = null;
+      }
+
+      // a prefetch which never ran would block the next switch
+      Future<IdBlock> future = prefetchedBlock.getAndSet(null);
+      if (future != null) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  public int getPrefetchThreshold() {
+    return prefetchThreshold;
+  }
+
+  public void setPrefetchThreshold(int prefetchThreshold) {
+    this.prefetchThreshold = prefetchThreshold;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public long getTargetBlockDuration() {
+    return targetBlockDuration;
+  }
+
+  public void setTargetBlockDuration(long targetBlockDuration) {
+    this.targetBlockDuration = targetBlockDuration;
+  }
+
+  protected static class IdRange {
+
+    protected final AtomicLong next;
+    protected final long first;
+    protected final long last;
+    protected final long prefetchId;
+    protected final long createdAt;
+
+    public IdRange(long first, long last, long prefetchId, long createdAt) {
+      this.next = new AtomicLong(first);
+      this.first = first;
+      this.last = last;
+      this.prefetchId = prefetchId;
+      this.createdAt = createdAt;
+    }
+  }
+
+}
@@ -51,6 +51,7 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -64,6 +65,7 @@ import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -72,11 +74,13 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.ResourceTypes;
 
 /**
@@ -101,6 +105,8 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected PersistenceSession persistenceSession;
   protected boolean isIgnoreForeignKeysForNextFlush;
+  protected boolean isPartialUpdatesEnabled;
+  protected SharedDbEntityCache sharedDbEntityCache;
 
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
@@ -110,12 +116,27 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
     initializeEntityCache();
     initializeOperationManager();
+    initializePartialUpdates();
+    initializeSharedEntityCache();
   }
 
   protected void initializeOperationManager() {
     dbOperationManager = new DbOperationManager();
   }
 
+  protected void initializePartialUpdates() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    isPartialUpdatesEnabled = processEngineConfiguration != null
+        && processEngineConfiguration.isDbEntityPartialUpdatesEnabled();
+  }
+
+  protected void initializeSharedEntityCache() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      sharedDbEntityCache = processEngineConfiguration.getSharedDbEntityCache();
+    }
+  }
+
   protected void initializeEntityCache() {
 
     final JobExecutorContext jobExecutorContext = Context.getJobExecutorContext();
@@ -182,6 +203,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
   public Object selectOne(String statement, Object parameter) {
+    if (sharedDbEntityCache != null && sharedDbEntityCache.isCacheable(statement, parameter)) {
+      return selectOneShared(statement, parameter);
+    }
+
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
       DbEntity loadedObject = (DbEntity) result;
@@ -190,6 +215,45 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return result;
   }
 
+  /**
+   * Selects an entity through the {@link SharedDbEntityCache}. Entities selected
+   * from the database are added to the shared cache once the transaction has
+   * committed, so that no uncommitted entity is ever shared.
+   */
+  protected Object selectOneShared(final String statement, final Object parameter) {
+    final SharedDbEntityCache sharedCache = sharedDbEntityCache;
+
+    DbEntity sharedEntity = sharedCache.get(statement, parameter);
+    if (sharedEntity != null) {
+      markSharedEntityCacheOccurrence(Metrics.SHARED_ENTITY_CACHE_HIT);
+      return cacheFilter(sharedEntity);
+    }
+
+    markSharedEntityCacheOccurrence(Metrics.SHARED_ENTITY_CACHE_MISS);
+    final long generation = sharedCache.getGeneration();
+    Object result = persistenceSession.selectOne(statement, parameter);
+    if (result instanceof DbEntity) {
+      final DbEntity loadedObject = cacheFilter((DbEntity) result);
+
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null) {
+        commandContext.getTransactionContext()
+          .addTransactionListener(TransactionState.COMMITTED,
+              context -> sharedCache.put(statement, parameter, loadedObject, generation));
+      }
+
+      return loadedObject;
+    }
+    return result;
+  }
+
+  protected void markSharedEntityCacheOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public boolean selectBoolean(String statement, Object parameter) {
     List<String> result = (List<String>) persistenceSession.selectList(statement, parameter);
@@ -501,7 +565,11 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     } else if(cachedDbEntity.getEntityState() == PERSISTENT && cachedDbEntity.isDirty()) {
       // object is dirty -> perform UPDATE
-      performEntityOperation(cachedDbEntity, UPDATE);
+      DbEntityOperation dbOperation = performEntityOperation(cachedDbEntity, UPDATE);
+      if (isPartialUpdatesEnabled) {
+        // only the changed columns need to be updated
+        dbOperation.setChangedPersistentFields(cachedDbEntity.getChangedPersistentFields());
+      }
 
     } else if(cachedDbEntity.getEntityState() == MERGED) {
       // perform UPDATE
@@ -633,12 +701,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return bulkOperation;
   }
 
-  protected void performEntityOperation(CachedDbEntity cachedDbEntity, DbOperationType type) {
+  protected DbEntityOperation performEntityOperation(CachedDbEntity cachedDbEntity, DbOperationType type) {
     DbEntityOperation dbOperation = new DbEntityOperation();
     dbOperation.setEntity(cachedDbEntity.getEntity());
     dbOperation.setFlushRelevantEntityReferences(cachedDbEntity.getFlushRelevantEntityReferences());
     dbOperation.setOperationType(type);
     dbOperationManager.addOperation(dbOperation);
+    return dbOperation;
   }
 
   @Override
@@ -21,6 +21,7 @@ import java.util.Set;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
+import org.camunda.bpm.engine.impl.db.HasPersistentStateFields;
 import org.camunda.bpm.engine.impl.db.entitymanager.Recyclable;
 
 /**
@@ -54,16 +55,40 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
+    if (copy instanceof PersistentStateSnapshot) {
+      return !((PersistentStateSnapshot) copy).matches((HasPersistentStateFields) dbEntity);
+    }
     return !dbEntity.getPersistentState().equals(copy);
   }
 
+  /**
+   * @return the names of the persistent state fields which changed since the entity was put into
+   * the cache, or <code>null</code> if they are not known for this entity
+   */
+  public Set<String> getChangedPersistentFields() {
+    if (copy instanceof PersistentStateSnapshot) {
+      return ((PersistentStateSnapshot) copy).getChangedFields((HasPersistentStateFields) dbEntity);
+    }
+    return null;
+  }
+
   public void forceSetDirty() {
     // set the value of the copy to some value which will always be different from the new entity state.
     this.copy = -1;
   }
 
   public void makeCopy() {
-    copy = dbEntity.getPersistentState();
+    if (dbEntity instanceof HasPersistentStateFields) {
+      // reuse the snapshot of a previous flush
+      PersistentStateSnapshot snapshot = copy instanceof PersistentStateSnapshot
+          ? (PersistentStateSnapshot) copy
+          : new PersistentStateSnapshot();
+      snapshot.record((HasPersistentStateFields) dbEntity);
+      copy = snapshot;
+    }
+    else {
+      copy = dbEntity.getPersistentState();
+    }
   }
 
   public String toString() {
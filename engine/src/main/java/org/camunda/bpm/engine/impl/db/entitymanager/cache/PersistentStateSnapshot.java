@@ -0,0 +1,164 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.db.HasPersistentStateFields;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
+
+/**
+ * The persistent state of a {@link HasPersistentStateFields} entity as an array of its field values.
+ * In contrast to the map returned by {@link org.camunda.bpm.engine.impl.db.DbEntity#getPersistentState()},
+ * comparing the snapshot with the current state of the entity does not allocate.
+ *
+ * <p>A snapshot is not thread-safe; it is owned by one {@link CachedDbEntity}.
+ */
+public class PersistentStateSnapshot implements PersistentStateVisitor {
+
+  protected static final int INITIAL_CAPACITY = 16;
+
+  protected Object[] values = new Object[INITIAL_CAPACITY];
+  protected int size;
+
+  /** index of the next field to compare, -1 while recording */
+  protected int position = -1;
+  protected boolean matches;
+  /** collects the names of changed fields if not null */
+  protected Set<String> changedFields;
+
+  /**
+   * Replaces the snapshot with the current state of the entity.
+   */
+  public void record(HasPersistentStateFields entity) {
+    Arrays.fill(values, 0, size, null);
+    size = 0;
+    position = -1;
+    entity.visitPersistentState(this);
+  }
+
+  /**
+   * @return true if the current state of the entity equals the recorded one
+   */
+  public boolean matches(HasPersistentStateFields entity) {
+    compare(entity, null);
+    return matches;
+  }
+
+  /**
+   * @return the names of the fields whose current value differs from the recorded one
+   */
+  public Set<String> getChangedFields(HasPersistentStateFields entity) {
+    Set<String> changedFields = new HashSet<>();
+    compare(entity, changedFields);
+    return changedFields;
+  }
+
+  protected void compare(HasPersistentStateFields entity, Set<String> changedFields) {
+    position = 0;
+    matches = true;
+    this.changedFields = changedFields;
+    try {
+      entity.visitPersistentState(this);
+      matches &= position == size;
+    }
+    finally {
+      position = -1;
+      this.changedFields = null;
+    }
+  }
+
+  public void field(String name, Object value) {
+    if (position < 0) {
+      add(value);
+    }
+    else {
+      if (isComparing()) {
+        compared(name, Objects.equals(recordedValue(), value));
+      }
+      position++;
+    }
+  }
+
+  public void field(String name, int value) {
+    if (position < 0) {
+      add(value);
+    }
+    else {
+      if (isComparing()) {
+        Object recorded = recordedValue();
+        compared(name, recorded instanceof Integer && (Integer) recorded == value);
+      }
+      position++;
+    }
+  }
+
+  public void field(String name, long value) {
+    if (position < 0) {
+      add(value);
+    }
+    else {
+      if (isComparing()) {
+        Object recorded = recordedValue();
+        compared(name, recorded instanceof Long && (Long) recorded == value);
+      }
+      position++;
+    }
+  }
+
+  public void field(String name, boolean value) {
+    if (position < 0) {
+      add(value);
+    }
+    else {
+      if (isComparing()) {
+        Object recorded = recordedValue();
+        compared(name, recorded instanceof Boolean && (Boolean) recorded == value);
+      }
+      position++;
+    }
+  }
+
+  protected boolean isComparing() {
+    // once a change is found, the remaining fields only matter if changes are collected
+    return matches || changedFields != null;
+  }
+
+  protected Object recordedValue() {
+    return position < size ? values[position] : null;
+  }
+
+  protected void compared(String name, boolean equal) {
+    if (!equal) {
+      matches = false;
+      if (changedFields != null) {
+        changedFields.add(name);
+      }
+    }
+  }
+
+  protected void add(Object value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+    }
+    values[size++] = value;
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.util.cache.GenerationalCache;
+
+/**
+ * <p>A process engine wide second level cache for {@link DbEntity Entities} which
+ * never change once they have been deployed, such as deployment resources and
+ * Camunda Form definitions. In contrast to the {@link DbEntityCache}, it is shared
+ * by all commands.</p>
+ *
+ * <p>The cache holds the results of a fixed set of select statements. Each of them
+ * selects a single entity of a deployment; the id of the deployment is passed as
+ * <code>deploymentId</code> in the parameter map of the statement. Statements
+ * selecting the latest version of something are not cacheable, since their result
+ * changes with every new deployment.</p>
+ *
+ * <p>The entries of a deployment are {@link #invalidateDeployment(String) invalidated}
+ * when the deployment is deleted, the entries of other deployments are kept. Entries
+ * carry the generation which was current before the entity was selected, so an entity
+ * selected concurrently with the deletion is never returned afterwards. Like the
+ * {@link org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache DeploymentCache},
+ * this cache is local to the process engine. Deployment ids are never reused and the
+ * cached entities cannot be modified, so the only data that may be stale in a cluster
+ * are entities of deployments which have been deleted by another process engine.</p>
+ *
+ * <p>Cached entities are shared between threads and must not be modified.</p>
+ */
+public class SharedDbEntityCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  public static final String DEPLOYMENT_ID_PARAMETER = "deploymentId";
+
+  protected static final Set<String> DEFAULT_CACHEABLE_STATEMENTS = new HashSet<>();
+
+  static {
+    DEFAULT_CACHEABLE_STATEMENTS.add("selectResourceByDeploymentIdAndResourceName");
+    DEFAULT_CACHEABLE_STATEMENTS.add("selectResourceByDeploymentIdAndResourceId");
+    DEFAULT_CACHEABLE_STATEMENTS.add("selectCamundaFormDefinitionByDeploymentAndKey");
+  }
+
+  protected final Set<String> cacheableStatements;
+  protected final GenerationalCache<CacheKey, DbEntity> entries;
+
+  public SharedDbEntityCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public SharedDbEntityCache(int capacity) {
+    this(capacity, DEFAULT_CACHEABLE_STATEMENTS);
+  }
+
+  /**
+   * @param capacity the maximum number of cached entities
+   * @param cacheableStatements the select statements whose results are cached
+   */
+  public SharedDbEntityCache(int capacity, Set<String> cacheableStatements) {
+    this.entries = new GenerationalCache<>(capacity, 0, key -> key.deploymentId);
+    this.cacheableStatements = new HashSet<>(cacheableStatements);
+  }
+
+  public boolean isCacheable(String statement, Object parameter) {
+    return cacheableStatements.contains(statement)
+        && parameter instanceof Map
+        && ((Map<?, ?>) parameter).get(DEPLOYMENT_ID_PARAMETER) != null;
+  }
+
+  /**
+   * @return the current generation; must be obtained before selecting an entity
+   * that is then {@link #put(String, Object, DbEntity, long) put} into the cache
+   */
+  public long getGeneration() {
+    return entries.getGeneration();
+  }
+
+  /**
+   * @return the cached result of the statement or <code>null</code> if it is not cached
+   */
+  public DbEntity get(String statement, Object parameter) {
+    return entries.get(new CacheKey(statement, (Map<?, ?>) parameter));
+  }
+
+  /**
+   * Caches the result of the statement. The result is discarded if the deployment
+   * of the entity has been invalidated since the given generation.
+   */
+  public void put(String statement, Object parameter, DbEntity entity, long generation) {
+    entries.put(new CacheKey(statement, (Map<?, ?>) parameter), entity, generation);
+  }
+
+  public void invalidateDeployment(String deploymentId) {
+    entries.invalidate(deploymentId);
+  }
+
+  /**
+   * Invalidates the entries of the deployment now and once more after the transaction
+   * of the current command has committed.
+   */
+  public void invalidateDeploymentNowAndAfterCommit(String deploymentId) {
+    entries.invalidateNowAndAfterCommit(deploymentId);
+  }
+
+  public void clear() {
+    entries.invalidateAll();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  protected static class CacheKey {
+
+    protected final String statement;
+    protected final Map<?, ?> parameter;
+    protected final Object deploymentId;
+    protected final int hashCode;
+
+    public CacheKey(String statement, Map<?, ?> parameter) {
+      this.statement = statement;
+      this.parameter = new HashMap<>(parameter);
+      this.deploymentId = parameter.get(DEPLOYMENT_ID_PARAMETER);
+      this.hashCode = Objects.hash(statement, this.parameter);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      CacheKey other = (CacheKey) obj;
+      return statement.equals(other.statement) && parameter.equals(other.parameter);
+    }
+  }
+
+}
@@ -35,11 +35,18 @@ public class DbEntityOperation extends DbOperation {
   protected DbEntity entity;
 
   protected Set<String> flushRelevantEntityReferences;
+
+  /**
+   * The names of the persistent state fields changed by an UPDATE or
+   * <code>null</code> if all columns are updated.
+   */
+  protected Set<String> changedPersistentFields;
   
   protected DbOperation dependentOperation;
 
   public void recycle() {
     entity = null;
+    changedPersistentFields = null;
     super.recycle();
   }
 
@@ -60,6 +67,14 @@ public class DbEntityOperation extends DbOperation {
     return flushRelevantEntityReferences;
   }
 
+  public Set<String> getChangedPersistentFields() {
+    return changedPersistentFields;
+  }
+
+  public void setChangedPersistentFields(Set<String> changedPersistentFields) {
+    this.changedPersistentFields = changedPersistentFields;
+  }
+
   public String toString() {
     return operationType + " " + ClassNameUtil.getClassNameWithoutPackage(entity)+"["+entity.getId()+"]";
   }
@@ -20,15 +20,15 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.INSERT;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.SortedSet;
-import java.util.TreeMap;
 import java.util.TreeSet;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -54,23 +54,32 @@ public class DbOperationManager {
   public static Comparator<DbEntityOperation> MODIFICATION_OPERATION_COMPARATOR  = new DbEntityOperationComparator();
   public static Comparator<DbBulkOperation> BULK_OPERATION_COMPARATOR = new DbBulkOperationComparator();
 
-  // pre-sorted operation maps //////////////
+  // operation lists //////////////
+
+  /*
+   * Entity operations are appended to a list per entity type. They are sorted once,
+   * when the flush is calculated, instead of keeping them sorted while they are added.
+   */
 
   /** INSERTs */
-  public SortedMap<Class<?>, SortedSet<DbEntityOperation>> inserts = new TreeMap<Class<?>, SortedSet<DbEntityOperation>>(INSERT_TYPE_COMPARATOR);
+  public Map<Class<?>, List<DbEntityOperation>> inserts = new HashMap<>();
 
   /** UPDATEs of a single entity */
-  public SortedMap<Class<?>, SortedSet<DbEntityOperation>> updates = new TreeMap<Class<?>, SortedSet<DbEntityOperation>>(MODIFICATION_TYPE_COMPARATOR);
+  public Map<Class<?>, List<DbEntityOperation>> updates = new HashMap<>();
 
   /** DELETEs of a single entity */
-  public SortedMap<Class<?>, SortedSet<DbEntityOperation>> deletes = new TreeMap<Class<?>, SortedSet<DbEntityOperation>>(MODIFICATION_TYPE_COMPARATOR);
+  public Map<Class<?>, List<DbEntityOperation>> deletes = new HashMap<>();
 
   /** bulk modifications (DELETE, UPDATE) on an entity collection */
-  public SortedMap<Class<?>, SortedSet<DbBulkOperation>> bulkOperations = new TreeMap<Class<?>, SortedSet<DbBulkOperation>>(MODIFICATION_TYPE_COMPARATOR);
+  public Map<Class<?>, SortedSet<DbBulkOperation>> bulkOperations = new HashMap<>();
 
   /** bulk modifications (DELETE, UPDATE) for which order of execution is important */
   public LinkedHashSet<DbBulkOperation> bulkOperationsInsertionOrder = new LinkedHashSet<DbBulkOperation>();
 
+  /**
+   * @return true; operations on an entity which already has an operation of the same
+   * type are discarded when the flush is calculated
+   */
   public boolean addOperation(DbEntityOperation newOperation) {
     if(newOperation.getOperationType() == INSERT) {
       return getInsertsForType(newOperation.getEntityType(), true)
@@ -87,31 +96,27 @@ public class DbOperationManager {
     }
   }
 
-  protected SortedSet<DbEntityOperation> getDeletesByType(Class<? extends DbEntity> type, boolean create) {
-    SortedSet<DbEntityOperation> deletesByType = deletes.get(type);
-    if(deletesByType == null && create) {
-      deletesByType = new TreeSet<DbEntityOperation>(MODIFICATION_OPERATION_COMPARATOR);
-      deletes.put(type, deletesByType);
-    }
-    return deletesByType;
+  protected List<DbEntityOperation> getDeletesByType(Class<? extends DbEntity> type, boolean create) {
+    return getOperationsForType(deletes, type, create);
   }
 
-  protected SortedSet<DbEntityOperation> getUpdatesByType(Class<? extends DbEntity> type, boolean create) {
-    SortedSet<DbEntityOperation> updatesByType = updates.get(type);
-    if(updatesByType == null && create) {
-      updatesByType = new TreeSet<DbEntityOperation>(MODIFICATION_OPERATION_COMPARATOR);
-      updates.put(type, updatesByType);
-    }
-    return updatesByType;
+  protected List<DbEntityOperation> getUpdatesByType(Class<? extends DbEntity> type, boolean create) {
+    return getOperationsForType(updates, type, create);
   }
 
-  protected SortedSet<DbEntityOperation> getInsertsForType(Class<? extends DbEntity> type, boolean create) {
-    SortedSet<DbEntityOperation> insertsByType = inserts.get(type);
-    if(insertsByType == null && create) {
-      insertsByType = new TreeSet<DbEntityOperation>(INSERT_OPERATION_COMPARATOR);
-      inserts.put(type, insertsByType);
+  protected List<DbEntityOperation> getInsertsForType(Class<? extends DbEntity> type, boolean create) {
+    return getOperationsForType(inserts, type, create);
+  }
+
+  protected List<DbEntityOperation> getOperationsForType(Map<Class<?>, List<DbEntityOperation>> operations,
+                                                         Class<? extends DbEntity> type,
+                                                         boolean create) {
+    List<DbEntityOperation> operationsForType = operations.get(type);
+    if(operationsForType == null && create) {
+      operationsForType = new ArrayList<>();
+      operations.put(type, operationsForType);
     }
-    return insertsByType;
+    return operationsForType;
   }
 
   public boolean addOperation(DbBulkOperation newOperation) {
@@ -134,7 +139,7 @@ public class DbOperationManager {
     addSortedInserts(flush);
     // then UPDATEs + DELETEs
     addSortedModifications(flush);
-    
+
     determineDependencies(flush);
     return flush;
   }
@@ -142,15 +147,8 @@ public class DbOperationManager {
   /** Adds the insert operations to the flush (in correct order).
    * @param operationsForFlush */
   protected void addSortedInserts(List<DbOperation> flush) {
-    for (Entry<Class<?>, SortedSet<DbEntityOperation>> operationsForType : inserts.entrySet()) {
-
-      // add inserts to flush
-      if(HasDbReferences.class.isAssignableFrom(operationsForType.getKey())) {
-        // if this type has self references, we need to resolve the reference order
-        flush.addAll(sortByReferences(operationsForType.getValue()));
-      } else {
-        flush.addAll(operationsForType.getValue());
-      }
+    for (Class<?> type : sortTypes(inserts.keySet(), INSERT_TYPE_COMPARATOR)) {
+      addSortedOperationsForType(type, inserts.get(type), INSERT_OPERATION_COMPARATOR, flush);
     }
   }
 
@@ -158,17 +156,16 @@ public class DbOperationManager {
    * @param flush */
   protected void addSortedModifications(List<DbOperation> flush) {
 
-    // calculate sorted set of all modified entity types
-    SortedSet<Class<?>> modifiedEntityTypes = new TreeSet<Class<?>>(MODIFICATION_TYPE_COMPARATOR);
-    modifiedEntityTypes.addAll(updates.keySet());
+    // calculate sorted list of all modified entity types
+    Set<Class<?>> modifiedEntityTypes = new HashSet<Class<?>>(updates.keySet());
     modifiedEntityTypes.addAll(deletes.keySet());
     modifiedEntityTypes.addAll(bulkOperations.keySet());
 
-    for (Class<?> type : modifiedEntityTypes) {
+    for (Class<?> type : sortTypes(modifiedEntityTypes, MODIFICATION_TYPE_COMPARATOR)) {
       // first perform entity UPDATES
-      addSortedModificationsForType(type, updates.get(type), flush);
+      addSortedOperationsForType(type, updates.get(type), MODIFICATION_OPERATION_COMPARATOR, flush);
       // next perform entity DELETES
-      addSortedModificationsForType(type, deletes.get(type), flush);
+      addSortedOperationsForType(type, deletes.get(type), MODIFICATION_OPERATION_COMPARATOR, flush);
       // last perform bulk operations
       SortedSet<DbBulkOperation> bulkOperationsForType = bulkOperations.get(type);
       if(bulkOperationsForType != null) {
@@ -182,73 +179,150 @@ public class DbOperationManager {
     }
   }
 
-  protected void addSortedModificationsForType(Class<?> type, SortedSet<DbEntityOperation> preSortedOperations, List<DbOperation> flush) {
-    if(preSortedOperations != null) {
+  /**
+   * Sorts the entity types of the flush, of which there are only a few compared to the operations.
+   */
+  protected List<Class<?>> sortTypes(Collection<Class<?>> types, Comparator<Class<?>> typeComparator) {
+    List<Class<?>> sortedTypes = new ArrayList<Class<?>>(types);
+    sortedTypes.sort(typeComparator);
+    return sortedTypes;
+  }
+
+  protected void addSortedOperationsForType(Class<?> type,
+                                            List<DbEntityOperation> operations,
+                                            Comparator<DbEntityOperation> operationComparator,
+                                            List<DbOperation> flush) {
+    if(operations != null) {
+      List<DbEntityOperation> sortedOperations = sortById(operations, operationComparator);
       if(HasDbReferences.class.isAssignableFrom(type)) {
         // if this type has self references, we need to resolve the reference order
-        flush.addAll(sortByReferences(preSortedOperations));
+        flush.addAll(sortByReferences(sortedOperations));
       } else {
-        flush.addAll(preSortedOperations);
+        flush.addAll(sortedOperations);
       }
     }
   }
 
+  /**
+   * Sorts the operations on entities of one type by entity id, so that rows are always
+   * modified in the same order, and discards all but the first operation on an entity id.
+   */
+  protected List<DbEntityOperation> sortById(List<DbEntityOperation> operations,
+                                             Comparator<DbEntityOperation> operationComparator) {
+    List<DbEntityOperation> sortedOperations = new ArrayList<DbEntityOperation>(operations);
+    // the sort is stable, so the first operation on an id remains the first one
+    sortedOperations.sort(operationComparator);
+
+    int distinct = 0;
+    for (int i = 0; i < sortedOperations.size(); i++) {
+      DbEntityOperation operation = sortedOperations.get(i);
+      if (distinct == 0 || operationComparator.compare(sortedOperations.get(distinct - 1), operation) != 0) {
+        sortedOperations.set(distinct++, operation);
+      }
+    }
+    return distinct == sortedOperations.size() ? sortedOperations : sortedOperations.subList(0, distinct);
+  }
 
   /**
+   * Orders the operations topologically by their references, with a depth-first search
+   * which visits each operation and reference once. Operations which do not depend on
+   * each other keep their pre-sorted order.
+   *
    * Assumptions:
-   * a) all operations in the set work on entities such that the entities implement {@link HasDbReferences}.
-   * b) all operations in the set work on the same type (ie. all operations are INSERTs or DELETEs).
+   * a) all operations in the list work on entities such that the entities implement {@link HasDbReferences}.
+   * b) all operations in the list work on the same type (ie. all operations are INSERTs or DELETEs).
    *
    */
-  protected List<DbEntityOperation> sortByReferences(SortedSet<DbEntityOperation> preSorted) {
-    // copy the pre-sorted set and apply final sorting to list
-    List<DbEntityOperation> opList = new ArrayList<DbEntityOperation>(preSorted);
-
-    for (int i = 0; i < opList.size(); i++) {
+  protected List<DbEntityOperation> sortByReferences(List<DbEntityOperation> preSorted) {
+    int size = preSorted.size();
 
-      DbEntityOperation currentOperation = opList.get(i);
-      DbEntity currentEntity = currentOperation.getEntity();
-      Set<String> currentReferences = currentOperation.getFlushRelevantEntityReferences();
+    Map<String, Integer> indexById = new HashMap<String, Integer>();
+    for (int i = 0; i < size; i++) {
+      indexById.put(preSorted.get(i).getEntity().getId(), i);
+    }
 
-      // check whether this operation must be placed after another operation
-      int moveTo = i;
-      for(int k = i+1; k < opList.size(); k++) {
-        DbEntityOperation otherOperation = opList.get(k);
-        DbEntity otherEntity = otherOperation.getEntity();
-        Set<String> otherReferences = otherOperation.getFlushRelevantEntityReferences();
+    // the indices of the operations which must be flushed before an operation
+    List<List<Integer>> predecessors = new ArrayList<List<Integer>>(size);
+    for (int i = 0; i < size; i++) {
+      predecessors.add(null);
+    }
 
-        if(currentOperation.getOperationType() == INSERT) {
+    for (int i = 0; i < size; i++) {
+      DbEntityOperation operation = preSorted.get(i);
+      Set<String> references = operation.getFlushRelevantEntityReferences();
+      if (references == null) {
+        continue;
+      }
 
+      for (String referencedId : references) {
+        Integer referencedIndex = indexById.get(referencedId);
+        if (referencedIndex == null || referencedIndex == i) {
+          continue;
+        }
 
+        if (operation.getOperationType() == INSERT) {
           // if we reference the other entity, we need to be inserted after that entity
-          if(currentReferences != null && currentReferences.contains(otherEntity.getId())) {
-            moveTo = k;
-            break; // we can only reference a single entity
-          }
-
+          addPredecessor(predecessors, i, referencedIndex);
         } else { // UPDATE or DELETE
+          // if we reference the other entity, the other entity must be placed after us
+          addPredecessor(predecessors, referencedIndex, i);
+        }
+      }
+    }
 
-          // if the other entity has a reference to us, we must be placed after the other entity
-          if(otherReferences != null && otherReferences.contains(currentEntity.getId())) {
-            moveTo = k;
-            // cannot break, there may be another entity further to the right which also references us
-          }
+    List<DbEntityOperation> sorted = new ArrayList<DbEntityOperation>(size);
+    boolean[] visited = new boolean[size];
+    // the operations on the current path and the number of their visited predecessors
+    int[] path = new int[size];
+    int[] visitedPredecessors = new int[size];
 
-        }
+    for (int start = 0; start < size; start++) {
+      if (visited[start]) {
+        continue;
       }
 
-      if(moveTo > i) {
-        opList.remove(i);
-        opList.add(moveTo, currentOperation);
-        i--;
+      int depth = 0;
+      path[0] = start;
+      visitedPredecessors[0] = 0;
+      visited[start] = true;
+
+      while (depth >= 0) {
+        int current = path[depth];
+        List<Integer> predecessorsOfCurrent = predecessors.get(current);
+
+        if (predecessorsOfCurrent != null && visitedPredecessors[depth] < predecessorsOfCurrent.size()) {
+          int predecessor = predecessorsOfCurrent.get(visitedPredecessors[depth]++);
+          // an already visited predecessor is either sorted or, for cyclic references, on the path
+          if (!visited[predecessor]) {
+            visited[predecessor] = true;
+            depth++;
+            path[depth] = predecessor;
+            visitedPredecessors[depth] = 0;
+          }
+
+        } else {
+          sorted.add(preSorted.get(current));
+          depth--;
+        }
       }
     }
 
-    return opList;
+    return sorted;
+  }
+
+  protected void addPredecessor(List<List<Integer>> predecessors, int index, int predecessorIndex) {
+    List<Integer> predecessorsOfIndex = predecessors.get(index);
+    if (predecessorsOfIndex == null) {
+      predecessorsOfIndex = new ArrayList<Integer>(1);
+      predecessors.set(index, predecessorsOfIndex);
+    }
+    predecessorsOfIndex.add(predecessorIndex);
   }
 
   protected void determineDependencies(List<DbOperation> flush) {
-    TreeSet<DbEntityOperation> defaultValue = new TreeSet<DbEntityOperation>();
+    // DELETEs by entity type and id, indexed on first use
+    Map<Class<?>, Map<String, DbEntityOperation>> deletesById = new HashMap<Class<?>, Map<String, DbEntityOperation>>();
+
     for (DbOperation operation : flush) {
       if (operation instanceof DbEntityOperation) {
         DbEntity entity = ((DbEntityOperation) operation).getEntity();
@@ -257,12 +331,12 @@ public class DbOperationManager {
 
           if (dependentEntities != null) {
             dependentEntities.forEach((id, type) -> {
-
-              deletes.getOrDefault(type, defaultValue).forEach(o -> {
-                if (id.equals(o.getEntity().getId())) {
-                  o.setDependency(operation);
-                }
-              });
+              DbEntityOperation dependentOperation = deletesById
+                  .computeIfAbsent(type, this::indexDeletesById)
+                  .get(id);
+              if (dependentOperation != null) {
+                dependentOperation.setDependency(operation);
+              }
             });
           }
 
@@ -270,4 +344,15 @@ public class DbOperationManager {
       }
     }
   }
+
+  protected Map<String, DbEntityOperation> indexDeletesById(Class<?> type) {
+    Map<String, DbEntityOperation> deletesForTypeById = new HashMap<String, DbEntityOperation>();
+    List<DbEntityOperation> deletesForType = deletes.get(type);
+    if (deletesForType != null) {
+      for (DbEntityOperation delete : deletesForType) {
+        deletesForTypeById.putIfAbsent(delete.getEntity().getId(), delete);
+      }
+    }
+    return deletesForTypeById;
+  }
 }
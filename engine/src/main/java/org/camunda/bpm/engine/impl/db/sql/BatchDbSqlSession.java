@@ -22,6 +22,7 @@ import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -35,7 +36,6 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
-import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 
@@ -54,17 +54,31 @@ public class BatchDbSqlSession extends DbSqlSession {
 
   @Override
   public FlushResult executeDbOperations(List<DbOperation> operations) {
-    for (DbOperation operation : operations) {
+    // the operations covered by each statement of the JDBC batch
+    List<List<DbOperation>> statementOperations = new ArrayList<>();
+
+    int index = 0;
+    while (index < operations.size()) {
+      List<DbOperation> multiRowInsert = collectMultiRowInsert(operations, index);
 
       try {
         // stage operation
-        executeDbOperation(operation);
+        if (multiRowInsert.size() > 1) {
+          insertEntities(multiRowInsert);
+          statementOperations.add(multiRowInsert);
+        } else {
+          DbOperation operation = operations.get(index);
+          executeDbOperation(operation);
+          statementOperations.add(Collections.singletonList(operation));
+        }
 
       } catch (Exception ex) {
         // exception is wrapped later
         throw ex;
 
       }
+
+      index += Math.max(1, multiRowInsert.size());
     }
 
     List<BatchResult> batchResults;
@@ -72,30 +86,80 @@ public class BatchDbSqlSession extends DbSqlSession {
       // applies all operations
       batchResults = flushBatchOperations();
     } catch (PersistenceException e) {
-      return postProcessBatchFailure(operations, e);
+      return postProcessBatchFailure(operations, statementOperations, e);
     }
 
-    return postProcessBatchSuccess(operations, batchResults);
+    return postProcessBatchSuccess(operations, statementOperations, batchResults);
   }
 
-  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<BatchResult> batchResults) {
-    Iterator<DbOperation> operationsIt = operations.iterator();
+  /**
+   * Collects the inserts starting at the given index which can be combined
+   * into a single multi-row insert statement. Inserts are sorted by entity type
+   * when they are flushed, so all inserts of one type follow each other.
+   *
+   * @return the operations to combine or an empty list if the operation at the
+   * given index cannot be combined with others
+   */
+  protected List<DbOperation> collectMultiRowInsert(List<DbOperation> operations, int index) {
+    DbOperation operation = operations.get(index);
+    if (operation.getOperationType() != DbOperationType.INSERT) {
+      return Collections.emptyList();
+    }
+
+    Class<? extends DbEntity> entityType = operation.getEntityType();
+    if (dbSqlSessionFactory.getMultiRowInsertStatement(entityType) == null) {
+      return Collections.emptyList();
+    }
+
+    int maxRows = dbSqlSessionFactory.getMultiRowInsertSize(entityType);
+    List<DbOperation> multiRowInsert = new ArrayList<>();
+
+    for (int i = index; i < operations.size() && multiRowInsert.size() < maxRows; i++) {
+      DbOperation candidate = operations.get(i);
+      if (candidate.getOperationType() != DbOperationType.INSERT
+          || !entityType.equals(candidate.getEntityType())) {
+        break;
+      }
+      multiRowInsert.add(candidate);
+    }
+
+    return multiRowInsert;
+  }
+
+  protected void insertEntities(List<DbOperation> operations) {
+    Class<? extends DbEntity> entityType = operations.get(0).getEntityType();
+    String insertStatement = dbSqlSessionFactory.getMultiRowInsertStatement(entityType);
+
+    List<DbEntity> entities = new ArrayList<>();
+    for (DbOperation operation : operations) {
+      entities.add(((DbEntityOperation) operation).getEntity());
+    }
+
+    executeInsertEntity(insertStatement, entities);
+  }
+
+  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations,
+                                                List<List<DbOperation>> statementOperations,
+                                                List<BatchResult> batchResults) {
+    Iterator<List<DbOperation>> statementsIt = statementOperations.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
     for (BatchResult successfulBatch : batchResults) {
       // even if all batches are successful, there can be concurrent modification failures
       // (e.g. 0 rows updated)
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     // there should be no more operations remaining
-    if (operationsIt.hasNext()) {
+    if (statementsIt.hasNext()) {
       throw LOG.wrongBatchResultsSizeException(operations);
     }
 
     return FlushResult.withFailures(failedOperations);
   }
 
-  protected FlushResult postProcessBatchFailure(List<DbOperation> operations, PersistenceException exception) {
+  protected FlushResult postProcessBatchFailure(List<DbOperation> operations,
+                                                List<List<DbOperation>> statementOperations,
+                                                PersistenceException exception) {
     BatchExecutorException batchExecutorException =
         ExceptionUtil.findBatchExecutorException(exception);
 
@@ -107,17 +171,20 @@ public class BatchDbSqlSession extends DbSqlSession {
     List<BatchResult> successfulBatches = batchExecutorException.getSuccessfulBatchResults();
     BatchUpdateException cause = batchExecutorException.getBatchUpdateException();
 
-    Iterator<DbOperation> operationsIt = operations.iterator();
+    Iterator<List<DbOperation>> statementsIt = statementOperations.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
 
     for (BatchResult successfulBatch : successfulBatches) {
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     int[] failedBatchUpdateCounts = cause.getUpdateCounts();
-    postProcessJdbcBatchResult(operationsIt, failedBatchUpdateCounts, exception, failedOperations);
+    postProcessJdbcBatchResult(statementsIt, failedBatchUpdateCounts, exception, failedOperations);
 
-    List<DbOperation> remainingOperations = CollectionUtil.collectInList(operationsIt);
+    List<DbOperation> remainingOperations = new ArrayList<>();
+    while (statementsIt.hasNext()) {
+      remainingOperations.addAll(statementsIt.next());
+    }
     return FlushResult.withFailuresAndRemaining(failedOperations, remainingOperations);
   }
 
@@ -141,7 +208,7 @@ public class BatchDbSqlSession extends DbSqlSession {
    * @return all failed operations
    */
   protected void postProcessJdbcBatchResult(
-      Iterator<DbOperation> operationsIt,
+      Iterator<List<DbOperation>> statementsIt,
       int[] statementResults,
       PersistenceException failure,
       List<DbOperation> failedOperations) {
@@ -149,54 +216,57 @@ public class BatchDbSqlSession extends DbSqlSession {
 
     for (int statementResult : statementResults) {
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
-
-      DbOperation operation = operationsIt.next();
-
-      if (statementResult == Statement.SUCCESS_NO_INFO) {
-
-        if (requiresAffectedRows(operation.getOperationType())) {
-          throw LOG.batchingNotSupported(operation);
-        } else {
-          postProcessOperationPerformed(operation, 1, null);
+          statementsIt.hasNext());
+
+      // a multi-row insert covers several operations with a single statement result
+      for (DbOperation operation : statementsIt.next()) {
+
+        if (statementResult == Statement.SUCCESS_NO_INFO) {
+
+          if (requiresAffectedRows(operation.getOperationType())) {
+            throw LOG.batchingNotSupported(operation);
+          } else {
+            postProcessOperationPerformed(operation, 1, null);
+          }
+
+        } else if (statementResult == Statement.EXECUTE_FAILED) {
+
+          /*
+           * All operations are marked with the root failure exception; this is not quite
+           * correct and leads to the situation that we treat all failed operations in the
+           * same way, whereas they might fail for different reasons.
+           *
+           * More precise would be to use BatchUpdateException#getNextException.
+           * E.g. if we have three failed statements in a batch, #getNextException can be used to
+           * access each operation's individual failure. However, this behavior is not
+           * guaranteed by the java.sql javadocs (it doesn't specify that the number
+           * and order of next exceptions matches the number of failures, unlike for row counts),
+           * so we decided to not rely on it.
+           */
+          postProcessOperationPerformed(operation, 0, failure);
+          failureHandled = true;
+        } else { // it is the number of affected rows
+          postProcessOperationPerformed(operation, statementResult, null);
         }
 
-      } else if (statementResult == Statement.EXECUTE_FAILED) {
-
-        /*
-         * All operations are marked with the root failure exception; this is not quite
-         * correct and leads to the situation that we treat all failed operations in the
-         * same way, whereas they might fail for different reasons.
-         *
-         * More precise would be to use BatchUpdateException#getNextException.
-         * E.g. if we have three failed statements in a batch, #getNextException can be used to
-         * access each operation's individual failure. However, this behavior is not
-         * guaranteed by the java.sql javadocs (it doesn't specify that the number
-         * and order of next exceptions matches the number of failures, unlike for row counts),
-         * so we decided to not rely on it.
-         */
-        postProcessOperationPerformed(operation, 0, failure);
-        failureHandled = true;
-      } else { // it is the number of affected rows
-        postProcessOperationPerformed(operation, statementResult, null);
-      }
-
-      if (operation.isFailed()) {
-        failedOperations.add(operation); // the operation is added to the list only if it's marked as failed
+        if (operation.isFailed()) {
+          failedOperations.add(operation); // the operation is added to the list only if it's marked as failed
+        }
       }
     }
 
     /*
-     * case 2: The next operation is the one that failed
+     * case 2: The next statement is the one that failed
      */
     if (failure != null && !failureHandled) {
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
+          statementsIt.hasNext());
 
-      DbOperation failedOperation = operationsIt.next();
-      postProcessOperationPerformed(failedOperation, 0, failure);
-      if (failedOperation.isFailed()) {
-        failedOperations.add(failedOperation); // the operation is added to the list only if it's marked as failed
+      for (DbOperation failedOperation : statementsIt.next()) {
+        postProcessOperationPerformed(failedOperation, 0, failure);
+        if (failedOperation.isFailed()) {
+          failedOperations.add(failedOperation); // the operation is added to the list only if it's marked as failed
+        }
       }
     }
   }
@@ -248,11 +318,8 @@ public class BatchDbSqlSession extends DbSqlSession {
 
     final DbEntity dbEntity = operation.getEntity();
 
-    String updateStatement = dbSqlSessionFactory.getUpdateStatement(dbEntity);
-    ensureNotNull("no update statement for " + dbEntity.getClass() + " in the ibatis mapping files", "updateStatement", updateStatement);
-
     LOG.executeDatabaseOperation("UPDATE", dbEntity);
-    executeUpdate(updateStatement, dbEntity);
+    executeUpdateEntity(operation);
   }
 
   @Override
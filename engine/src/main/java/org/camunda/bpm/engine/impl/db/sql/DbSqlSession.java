@@ -398,6 +398,27 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
   // update ////////////////////////////////////////
 
+  /**
+   * Updates the columns of the changed persistent state fields if the operation knows them and
+   * an UPDATE statement of single columns is mapped for the entity type. Otherwise, all columns
+   * are updated.
+   */
+  protected int executeUpdateEntity(DbEntityOperation operation) {
+    DbEntity dbEntity = operation.getEntity();
+
+    if (operation.getChangedPersistentFields() != null) {
+      String partialUpdateStatement = dbSqlSessionFactory.getPartialUpdateStatement(dbEntity.getClass());
+      if (partialUpdateStatement != null) {
+        return executeUpdate(partialUpdateStatement, operation);
+      }
+    }
+
+    String updateStatement = dbSqlSessionFactory.getUpdateStatement(dbEntity);
+    ensureNotNull("no update statement for " + dbEntity.getClass() + " in the ibatis mapping files", "updateStatement", updateStatement);
+
+    return executeUpdate(updateStatement, dbEntity);
+  }
+
   public int executeUpdate(String updateStatement, Object parameter) {
     String mappedUpdateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
     try {
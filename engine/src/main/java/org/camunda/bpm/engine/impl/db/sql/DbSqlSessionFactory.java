@@ -19,13 +19,22 @@ package org.camunda.bpm.engine.impl.db.sql;
 import java.sql.Connection;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EverLivingJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 
 
@@ -46,6 +55,31 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   protected static final Map<String, Map<String, String>> databaseSpecificStatements = new HashMap<>();
 
+  /**
+   * Databases which support inserting several rows with a single
+   * <code>INSERT ... VALUES (...), (...)</code> statement.
+   */
+  public static final List<String> MULTI_ROW_INSERT_DATABASES = Arrays.asList(MSSQL, DB2, H2, MYSQL, POSTGRES, MARIADB, CRDB);
+
+  /**
+   * Entity types for which a multi-row insert statement is mapped. The statements
+   * take the list of entities to insert as parameter.
+   */
+  protected static final Map<Class<?>, String> multiRowInsertStatements = new HashMap<>();
+
+  /**
+   * The number of parameters which the multi-row insert statement of an entity type
+   * binds per row. Limits the rows per statement to {@link #MAXIMUM_NUMBER_PARAMS}.
+   */
+  protected static final Map<Class<?>, Integer> multiRowInsertParameters = new HashMap<>();
+
+  /**
+   * Entity types for which an UPDATE statement of the changed columns is mapped. The
+   * statements take the {@link org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation}
+   * as parameter.
+   */
+  protected static final Map<Class<?>, String> partialUpdateStatements = new HashMap<>();
+
   public static final Map<String, String> databaseSpecificLimitBeforeStatements = new HashMap<>();
   public static final Map<String, String> databaseSpecificLimitAfterStatements = new HashMap<>();
   //limit statements that can be used to select first N rows without OFFSET
@@ -115,6 +149,20 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   static {
 
+    multiRowInsertStatements.put(ByteArrayEntity.class, "insertByteArrays");
+    multiRowInsertStatements.put(HistoricActivityInstanceEventEntity.class, "insertHistoricActivityInstanceEvents");
+    multiRowInsertStatements.put(HistoricVariableInstanceEntity.class, "insertHistoricVariableInstances");
+
+    multiRowInsertParameters.put(ByteArrayEntity.class, 9);
+    multiRowInsertParameters.put(HistoricActivityInstanceEventEntity.class, 21);
+    multiRowInsertParameters.put(HistoricVariableInstanceEntity.class, 24);
+
+    partialUpdateStatements.put(ExecutionEntity.class, "updateExecutionColumns");
+    partialUpdateStatements.put(TaskEntity.class, "updateTaskColumns");
+    partialUpdateStatements.put(MessageEntity.class, "updateJobColumns");
+    partialUpdateStatements.put(EverLivingJobEntity.class, "updateJobColumns");
+    partialUpdateStatements.put(TimerEntity.class, "updateTimerColumns");
+
     String defaultOrderBy = "order by ${internalOrderBy}";
 
     String defaultEscapeChar = "'\\'";
@@ -391,6 +439,7 @@ public class DbSqlSessionFactory implements SessionFactory {
       databaseSpecificExtractTimeUnitFromDate.put(postgresLikeDatabase, defaultExtractTimeUnitFromDate);
 
       addDatabaseSpecificStatement(postgresLikeDatabase, "insertByteArray", "insertByteArray_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "insertByteArrays", "insertByteArrays_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "updateByteArray", "updateByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArray", "selectByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArrays", "selectByteArrays_postgres");
@@ -548,6 +597,7 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     databaseSpecificExtractTimeUnitFromDate.put(ORACLE, defaultExtractTimeUnitFromDate);
 
+    addDatabaseSpecificStatement(ORACLE, "selectNextJobsToExecuteSkipLocked", "selectNextJobsToExecuteSkipLocked_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceDurationReport", "selectHistoricProcessInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceDurationReport", "selectHistoricTaskInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceCountByTaskNameReport", "selectHistoricTaskInstanceCountByTaskNameReport_oracle");
@@ -852,6 +902,8 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean dmnEnabled = true;
 
   protected boolean jdbcBatchProcessing;
+  protected boolean jdbcBatchMultiRowInserts;
+  protected int jdbcBatchMultiRowInsertSize;
 
   public DbSqlSessionFactory(boolean jdbcBatchProcessing) {
     this.jdbcBatchProcessing = jdbcBatchProcessing;
@@ -879,10 +931,47 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(object.getClass(), insertStatements, "insert");
   }
 
+  /**
+   * @return the statement which inserts several entities of the given type at once or
+   * <code>null</code> if multi-row inserts are disabled or not supported for the type
+   * or the database
+   */
+  public String getMultiRowInsertStatement(Class<?> entityType) {
+    if (!jdbcBatchMultiRowInserts || jdbcBatchMultiRowInsertSize < 2
+        || !MULTI_ROW_INSERT_DATABASES.contains(databaseType)) {
+      return null;
+    }
+
+    String statement = multiRowInsertStatements.get(entityType);
+    return statement != null ? mapStatement(statement) : null;
+  }
+
+  /**
+   * @return the maximum number of rows to insert with one multi-row insert statement
+   * of the given type, so that the statement binds at most {@link #MAXIMUM_NUMBER_PARAMS}
+   * parameters
+   */
+  public int getMultiRowInsertSize(Class<?> entityType) {
+    Integer parameters = multiRowInsertParameters.get(entityType);
+    if (parameters == null) {
+      return jdbcBatchMultiRowInsertSize;
+    }
+    return Math.min(jdbcBatchMultiRowInsertSize, MAXIMUM_NUMBER_PARAMS / parameters);
+  }
+
   public String getUpdateStatement(DbEntity object) {
     return getStatement(object.getClass(), updateStatements, "update");
   }
 
+  /**
+   * @return the statement which updates only the changed columns of an entity of the
+   * given type or <code>null</code> if there is none for the type
+   */
+  public String getPartialUpdateStatement(Class<?> entityType) {
+    String statement = partialUpdateStatements.get(entityType);
+    return statement != null ? mapStatement(statement) : null;
+  }
+
   public String getDeleteStatement(Class<?> persistentObjectClass) {
     return getStatement(persistentObjectClass, deleteStatements, "delete");
   }
@@ -1049,5 +1138,20 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  public boolean isJdbcBatchMultiRowInserts() {
+    return jdbcBatchMultiRowInserts;
+  }
+
+  public void setJdbcBatchMultiRowInserts(boolean jdbcBatchMultiRowInserts) {
+    this.jdbcBatchMultiRowInserts = jdbcBatchMultiRowInserts;
+  }
+
+  public int getJdbcBatchMultiRowInsertSize() {
+    return jdbcBatchMultiRowInsertSize;
+  }
+
+  public void setJdbcBatchMultiRowInsertSize(int jdbcBatchMultiRowInsertSize) {
+    this.jdbcBatchMultiRowInsertSize = jdbcBatchMultiRowInsertSize;
+  }
 
 }
@@ -132,13 +132,10 @@ public class SimpleDbSqlSession extends DbSqlSession {
 
     final DbEntity dbEntity = operation.getEntity();
 
-    String updateStatement = dbSqlSessionFactory.getUpdateStatement(dbEntity);
-    ensureNotNull("no update statement for " + dbEntity.getClass() + " in the ibatis mapping files", "updateStatement", updateStatement);
-
     LOG.executeDatabaseOperation("UPDATE", dbEntity);
 
     try {
-      int rowsAffected = executeUpdate(updateStatement, dbEntity);
+      int rowsAffected = executeUpdateEntity(operation);
       entityUpdatePerformed(operation, rowsAffected, null);
     } catch (PersistenceException e) {
       entityUpdatePerformed(operation, 0, e);
@@ -53,6 +53,12 @@ public class DecisionDefinitionDeployer extends AbstractDefinitionDeployer<Decis
     return DMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  protected boolean isParallelTransformationSupported() {
+    // the decisions are taken from the deployed DRDs and the deployment artifacts are modified
+    return false;
+  }
+
   @Override
   protected List<DecisionDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     List<DecisionDefinitionEntity> decisions = new ArrayList<DecisionDefinitionEntity>();
@@ -54,6 +54,12 @@ public class DecisionRequirementsDefinitionDeployer extends AbstractDefinitionDe
     return DecisionDefinitionDeployer.DMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  protected boolean isParallelTransformationSupported() {
+    // the TTL enforcement flag of the shared decision definition handler is switched per resource
+    return false;
+  }
+
   @Override
   protected List<DecisionRequirementsDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     byte[] bytes = resource.getBytes();
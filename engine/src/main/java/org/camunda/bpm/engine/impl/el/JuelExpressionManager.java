@@ -62,7 +62,8 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
 
   public JuelExpressionManager(Map<Object, Object> beans) {
     // Use the ExpressionFactoryImpl built-in version of juel, with parametrised
-    // method expressions enabled
+    // method expressions enabled. Further factory properties, e.g. jakarta.el.compiled
+    // or jakarta.el.cacheType, are read from an el.properties file on the classpath.
     expressionFactory = new ExpressionFactoryImpl();
     this.beans = beans;
   }
@@ -86,10 +87,32 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
     return expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
   }
 
+  public ExpressionFactory getExpressionFactory() {
+    return expressionFactory;
+  }
+
   public void setExpressionFactory(ExpressionFactory expressionFactory) {
     this.expressionFactory = expressionFactory;
   }
 
+  /**
+   * Switches the default expression factory to evaluate value expressions using compiled
+   * parse trees, see {@link org.camunda.bpm.impl.juel.TreeCompiler}. The tree store and
+   * type converter of the factory are kept. Custom expression factories are not changed.
+   */
+  public void setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+    if (expressionFactory != null && expressionFactory.getClass() == ExpressionFactoryImpl.class) {
+      ExpressionFactoryImpl factory = (ExpressionFactoryImpl) expressionFactory;
+      if (factory.isCompiled() != expressionCompilationEnabled) {
+        expressionFactory = new ExpressionFactoryImpl(factory, expressionCompilationEnabled);
+      }
+    }
+  }
+
+  public boolean isExpressionCompilationEnabled() {
+    return expressionFactory instanceof ExpressionFactoryImpl && ((ExpressionFactoryImpl) expressionFactory).isCompiled();
+  }
+
   public ELContext getElContext(VariableScope variableScope) {
     ensureInitialized();
     ELContext elContext = null;
@@ -140,7 +163,7 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
   }
 
   protected ELResolver createElResolver() {
-    CompositeELResolver elResolver = new CompositeELResolver();
+    CompositeELResolver elResolver = new ProcessEngineElResolver();
     elResolver.add(new VariableScopeElResolver());
     elResolver.add(new VariableContextElResolver());
     elResolver.add(new MockElResolver());
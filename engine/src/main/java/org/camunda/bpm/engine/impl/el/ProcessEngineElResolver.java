@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.test.mock.MockElResolver;
+import org.camunda.bpm.engine.test.mock.Mocks;
+import org.camunda.bpm.impl.juel.BeanAccessResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ArrayELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.BeanELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.CompositeELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ELContext;
+import org.camunda.bpm.impl.juel.jakarta.el.ELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ListELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.MapELResolver;
+
+/**
+ * The resolver chain of the {@link JuelExpressionManager}. It tells compiled expressions
+ * when a property or method of a base object ends up in the bean resolver, so that they can
+ * cache the bean accessor (see {@link BeanAccessResolver}).
+ *
+ * This is only the case if all resolvers in front of the bean resolver are known not to
+ * resolve the base object: arrays, lists and maps have their own resolvers, mock beans are
+ * resolved by property name regardless of the base and a process application brings its own
+ * resolvers.
+ */
+public class ProcessEngineElResolver extends CompositeELResolver implements BeanAccessResolver {
+
+  /**
+   * Resolvers which only resolve identifiers, arrays, lists, maps, mock beans or delegate to
+   * the resolvers of the current process application.
+   */
+  protected static final Set<Class<?>> NON_BEAN_RESOLVERS = new HashSet<>(Arrays.<Class<?>>asList(
+      VariableScopeElResolver.class,
+      VariableContextElResolver.class,
+      MockElResolver.class,
+      ReadOnlyMapELResolver.class,
+      ProcessApplicationElResolverDelegate.class,
+      ArrayELResolver.class,
+      ListELResolver.class,
+      MapELResolver.class));
+
+  protected boolean beanResolverAdded = false;
+  protected boolean unknownResolverAdded = false;
+  protected boolean mockResolverAdded = false;
+
+  @Override
+  public void add(ELResolver elResolver) {
+    super.add(elResolver);
+
+    if (!beanResolverAdded) {
+      Class<?> resolverClass = elResolver.getClass();
+      if (resolverClass == ProcessApplicationBeanElResolverDelegate.class || resolverClass == BeanELResolver.class) {
+        beanResolverAdded = true;
+      } else if (!NON_BEAN_RESOLVERS.contains(resolverClass)) {
+        unknownResolverAdded = true;
+      }
+      mockResolverAdded |= resolverClass == MockElResolver.class;
+    }
+  }
+
+  @Override
+  public boolean isBeanProperty(ELContext context, Object base, Object property) {
+    return isBeanResolved()
+        && !base.getClass().isArray()
+        && !(base instanceof List)
+        && !(base instanceof Map)
+        && !(mockResolverAdded && Mocks.get(property) != null);
+  }
+
+  @Override
+  public boolean isBeanMethod(ELContext context, Object base, Object method) {
+    // only the bean resolver invokes methods
+    return isBeanResolved();
+  }
+
+  protected boolean isBeanResolved() {
+    return beanResolverAdded
+        && !unknownResolverAdded
+        && Context.getCurrentProcessApplication() == null;
+  }
+
+}
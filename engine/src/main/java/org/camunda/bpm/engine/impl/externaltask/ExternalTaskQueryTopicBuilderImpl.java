@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksCmd;
+import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksForWorkersCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
 /**
@@ -110,6 +111,23 @@ public class ExternalTaskQueryTopicBuilderImpl implements ExternalTaskQueryTopic
         new FetchExternalTasksCmd(workerId, maxTasks, instructions, usePriority, orderingProperties));
   }
 
+  /**
+   * Performs the fetching for several workers at once. Candidate tasks of the
+   * given topics are selected once and handed out to the workers in turns, in
+   * the iteration order of the given map. Each task is locked for the worker
+   * it is handed out to. The worker id and the maximum number of tasks given
+   * when creating this builder are ignored.
+   *
+   * @param maxTasksByWorkerId the maximum number of tasks to fetch per worker id
+   * @return for each worker id, the fetched external tasks that match the topics
+   *   and that can be successfully locked
+   */
+  public Map<String, List<LockedExternalTask>> executeForWorkers(Map<String, Integer> maxTasksByWorkerId) {
+    submitCurrentInstruction();
+    return commandExecutor.execute(
+        new FetchExternalTasksForWorkersCmd(maxTasksByWorkerId, instructions, usePriority, orderingProperties));
+  }
+
   public ExternalTaskQueryTopicBuilder topic(String topicName, long lockDuration) {
     submitCurrentInstruction();
     currentInstruction = new TopicFetchInstruction(topicName, lockDuration);
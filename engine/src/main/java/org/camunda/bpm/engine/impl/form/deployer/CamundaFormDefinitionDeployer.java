@@ -55,7 +55,8 @@ public class CamundaFormDefinitionDeployer extends AbstractDefinitionDeployer<Ca
       return Collections.singletonList(definition);
     } catch (Exception e) {
       // form could not be parsed, throw exception if strict parsing is not disabled
-      if (!getCommandContext().getProcessEngineConfiguration().isDisableStrictCamundaFormParsing()) {
+      // the resource may be transformed in the parsing pool without a command context
+      if (!getProcessEngineConfiguration().isDisableStrictCamundaFormParsing()) {
         throw LOG.exceptionDuringFormParsing(e.getMessage(), resource.getName());
       }
       return Collections.emptyList();
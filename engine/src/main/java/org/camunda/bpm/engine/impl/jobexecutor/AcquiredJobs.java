@@ -17,9 +17,11 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -34,6 +36,9 @@ public class AcquiredJobs {
   protected List<List<String>> acquiredJobBatches = new ArrayList<List<String>>();
   protected Set<String> acquiredJobs = new HashSet<String>();
 
+  /** the affinity keys of exclusive jobs, see {@link JobExecutor#isProcessInstanceAffinity()} */
+  protected Map<String, String> affinityKeys = new HashMap<String, String>();
+
   protected int numberOfJobsFailedToLock = 0;
 
   public AcquiredJobs(int numberOfJobsAttemptedToAcquire) {
@@ -51,6 +56,33 @@ public class AcquiredJobs {
     }
   }
 
+  /**
+   * Adds a batch of exclusive jobs which must not be executed concurrently
+   * with other batches of the same affinity key.
+   */
+  public void addJobIdBatch(List<String> jobIds, String affinityKey) {
+    addJobIdBatch(jobIds);
+    if (affinityKey != null) {
+      for (String jobId : jobIds) {
+        affinityKeys.put(jobId, affinityKey);
+      }
+    }
+  }
+
+  /**
+   * @return the affinity key of the batch or null if its jobs can be executed
+   *   independently of other batches
+   */
+  public String getAffinityKey(List<String> jobIds) {
+    for (String jobId : jobIds) {
+      String affinityKey = affinityKeys.get(jobId);
+      if (affinityKey != null) {
+        return affinityKey;
+      }
+    }
+    return null;
+  }
+
   public void addJobIdBatch(String jobId) {
     ArrayList<String> list = new ArrayList<String>();
     list.add(jobId);
@@ -70,6 +102,7 @@ public class AcquiredJobs {
     numberOfJobsFailedToLock++;
 
     acquiredJobs.remove(id);
+    affinityKeys.remove(id);
 
     Iterator<List<String>> batchIterator = acquiredJobBatches.iterator();
     while (batchIterator.hasNext()) {
@@ -85,7 +85,7 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
   protected Map<String, Integer> jobsToAcquire = new HashMap<String, Integer>();
 
   /*
-   * Backing off when the execution resources (queue) are saturated
+   * Backing off when the execution resources (queue or execution permits) are saturated
    * in order to not busy wait for free resources
    */
   protected boolean executionSaturated = false;
@@ -164,7 +164,14 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
     reconfigureIdleLevel(context);
     reconfigureBackoffLevel(context);
     reconfigureNumberOfJobsToAcquire(context);
-    executionSaturated = allSubmittedJobsRejected(context);
+    executionSaturated = allSubmittedJobsRejected(context) || isExecutionCapacityExhausted(context);
+  }
+
+  /**
+   * @return true, if the job executor reports that it cannot start executing any further jobs
+   */
+  protected boolean isExecutionCapacityExhausted(JobAcquisitionContext context) {
+    return context.getAvailableExecutionCapacity() == 0;
   }
 
   /**
@@ -244,6 +251,12 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
       if (rejectedJobBatchesForEngine != null) {
         numJobsToAcquire -= rejectedJobBatchesForEngine.size();
       }
+
+      // do not acquire more jobs than the job executor is able to execute right away
+      int availableExecutionCapacity = context.getAvailableExecutionCapacity();
+      if (availableExecutionCapacity >= 0) {
+        numJobsToAcquire = Math.min(numJobsToAcquire, availableExecutionCapacity);
+      }
       numJobsToAcquire = Math.max(0, numJobsToAcquire);
 
       jobsToAcquire.put(engineName, numJobsToAcquire);
@@ -0,0 +1,113 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Keeps track of the lanes in which batches of exclusive jobs with the same
+ * affinity key are executed one after another.</p>
+ *
+ * <p>The first batch of an affinity key opens a lane and becomes its leading batch.
+ * Batches of the same key which are acquired while the lane is open are queued
+ * in the lane instead of being executed concurrently. The runnable executing the
+ * leading batch polls the queued batches once it is done and closes the lane when
+ * no batch is left.</p>
+ *
+ * @see JobExecutor#isProcessInstanceAffinity()
+ */
+public class ExclusiveJobLanes {
+
+  protected Map<String, Lane> openLanes = new HashMap<String, Lane>();
+  protected Map<List<String>, Lane> lanesByLeadingBatch = new IdentityHashMap<List<String>, Lane>();
+
+  /**
+   * @return true if the batch opened a new lane and has to be executed by the caller,
+   *   false if it was queued in the already open lane of the affinity key
+   */
+  public synchronized boolean enter(String affinityKey, List<String> jobIds) {
+    Lane lane = openLanes.get(affinityKey);
+    if (lane != null) {
+      lane.queuedBatches.add(jobIds);
+      return false;
+    }
+
+    lane = new Lane(affinityKey);
+    openLanes.put(affinityKey, lane);
+    lanesByLeadingBatch.put(jobIds, lane);
+    return true;
+  }
+
+  /**
+   * @return the next queued batch of the lane led by the given batch or null
+   *   if there is none; in this case the lane is closed
+   */
+  public synchronized List<String> poll(List<String> leadingJobIds) {
+    Lane lane = lanesByLeadingBatch.get(leadingJobIds);
+    if (lane == null) {
+      return null;
+    }
+
+    List<String> nextJobIds = lane.queuedBatches.poll();
+    if (nextJobIds == null) {
+      close(leadingJobIds, lane);
+    }
+    return nextJobIds;
+  }
+
+  /**
+   * Closes the lane led by the given batch, if it is still open.
+   *
+   * @return the batches which were still queued in the lane
+   */
+  public synchronized List<List<String>> release(List<String> leadingJobIds) {
+    Lane lane = lanesByLeadingBatch.get(leadingJobIds);
+    if (lane == null) {
+      return Collections.emptyList();
+    }
+
+    close(leadingJobIds, lane);
+    return new ArrayList<List<String>>(lane.queuedBatches);
+  }
+
+  public synchronized int getNumberOfOpenLanes() {
+    return openLanes.size();
+  }
+
+  protected void close(List<String> leadingJobIds, Lane lane) {
+    lanesByLeadingBatch.remove(leadingJobIds);
+    openLanes.remove(lane.affinityKey);
+  }
+
+  protected static class Lane {
+
+    protected final String affinityKey;
+    protected final Deque<List<String>> queuedBatches = new ArrayDeque<List<String>>();
+
+    public Lane(String affinityKey) {
+      this.affinityKey = affinityKey;
+    }
+  }
+
+}
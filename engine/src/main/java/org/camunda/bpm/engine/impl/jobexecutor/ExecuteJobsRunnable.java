@@ -89,6 +89,15 @@ public class ExecuteJobsRunnable implements Runnable {
               LOG.exceptionWhileUnlockingJob(nextJobId, t);
             }
         }
+
+        if (currentProcessorJobQueue.isEmpty()) {
+          // continue with the exclusive jobs of the same process instance hierarchy
+          // which were acquired while these jobs were executed
+          List<String> queuedJobIds = jobExecutor.pollExclusiveJobLane(jobIds);
+          if (queuedJobIds != null) {
+            currentProcessorJobQueue.addAll(queuedJobIds);
+          }
+        }
       }
 
       // if there were only exclusive jobs then the job executor
@@ -97,6 +106,7 @@ public class ExecuteJobsRunnable implements Runnable {
       jobExecutor.jobWasAdded();
 
     } finally {
+      jobExecutor.releaseExclusiveJobLane(jobIds, processEngine);
       Context.removeJobExecutorContext();
       ClassLoaderUtil.setContextClassloader(classLoaderBeforeExecution);
     }
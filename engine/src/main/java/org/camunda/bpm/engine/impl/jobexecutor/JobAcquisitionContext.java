@@ -34,6 +34,7 @@ public class JobAcquisitionContext {
   protected Exception acquisitionException;
   protected long acquisitionTime;
   protected boolean isJobAdded;
+  protected int availableExecutionCapacity = -1;
 
   public JobAcquisitionContext() {
     this.rejectedJobBatchesByEngine = new HashMap<String, List<List<String>>>();
@@ -65,6 +66,7 @@ public class JobAcquisitionContext {
     acquisitionException = null;
     acquisitionTime = 0;
     isJobAdded = false;
+    availableExecutionCapacity = -1;
   }
 
   /**
@@ -146,4 +148,17 @@ public class JobAcquisitionContext {
   public boolean isJobAdded() {
     return isJobAdded;
   }
+
+  /**
+   * The number of further job batches the job executor could start executing
+   * at the end of the acquisition cycle, or <code>-1</code> if the job executor
+   * cannot tell.
+   */
+  public int getAvailableExecutionCapacity() {
+    return availableExecutionCapacity;
+  }
+
+  public void setAvailableExecutionCapacity(int availableExecutionCapacity) {
+    this.availableExecutionCapacity = availableExecutionCapacity;
+  }
 }
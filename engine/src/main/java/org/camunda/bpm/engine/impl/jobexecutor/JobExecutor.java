@@ -74,6 +74,13 @@ public abstract class JobExecutor {
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
+  /**
+   * If true, the exclusive jobs of a process instance hierarchy are
+   * executed one after another, also across acquisition cycles.
+   */
+  protected boolean processInstanceAffinity = false;
+  protected ExclusiveJobLanes exclusiveJobLanes = new ExclusiveJobLanes();
+
   public void start() {
     if (isActive) {
       return;
@@ -135,6 +142,39 @@ public abstract class JobExecutor {
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
 
+  /**
+   * Executes a batch of jobs. If the batch has an affinity key and a batch with
+   * the same key is currently executed, the jobs are queued and executed by the
+   * same runnable afterwards.
+   *
+   * @param affinityKey the key of the batch, see {@link AcquiredJobs#getAffinityKey(List)}
+   */
+  public void executeJobs(List<String> jobIds, String affinityKey, ProcessEngineImpl processEngine) {
+    if (affinityKey != null && !exclusiveJobLanes.enter(processEngine.getName() + ":" + affinityKey, jobIds)) {
+      LOG.queueingJobsInExclusiveJobLane(affinityKey, jobIds);
+      return;
+    }
+    executeJobs(jobIds, processEngine);
+  }
+
+  /**
+   * @return the next batch to be executed after the given batch, which was
+   *   queued in the lane led by the given batch, or null if there is none
+   */
+  public List<String> pollExclusiveJobLane(List<String> leadingJobIds) {
+    return exclusiveJobLanes.poll(leadingJobIds);
+  }
+
+  /**
+   * Closes the lane led by the given batch when its execution ended prematurely
+   * and submits the batches which were still queued in it.
+   */
+  public void releaseExclusiveJobLane(List<String> leadingJobIds, ProcessEngineImpl processEngine) {
+    for (List<String> jobIds : exclusiveJobLanes.release(leadingJobIds)) {
+      executeJobs(jobIds, processEngine);
+    }
+  }
+
   /**
    * Deprecated: use {@link #executeJobs(List, ProcessEngineImpl)} instead
    * @param jobIds
@@ -170,6 +210,14 @@ public abstract class JobExecutor {
     }
   }
 
+  /**
+   * @return the number of further job batches the job executor can start executing
+   *   right away, or <code>-1</code> if the job executor cannot tell.
+   */
+  public int getAvailableExecutionCapacity() {
+    return -1;
+  }
+
   public void logRejectedExecution(ProcessEngineImpl engine, int numJobs) {
     if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
@@ -304,6 +352,18 @@ public abstract class JobExecutor {
     this.backoffDecreaseThreshold = backoffDecreaseThreshold;
   }
 
+  public boolean isProcessInstanceAffinity() {
+    return processInstanceAffinity;
+  }
+
+  public void setProcessInstanceAffinity(boolean processInstanceAffinity) {
+    this.processInstanceAffinity = processInstanceAffinity;
+  }
+
+  public ExclusiveJobLanes getExclusiveJobLanes() {
+    return exclusiveJobLanes;
+  }
+
   public String getName() {
     return name;
   }
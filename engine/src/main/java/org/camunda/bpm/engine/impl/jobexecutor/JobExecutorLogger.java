@@ -217,4 +217,14 @@ public class JobExecutorLogger extends ProcessEngineLogger {
     return new ProcessEngineException(exceptionMessage("031", "Invalid configuration for job executor priority range. Reason: {}", reason));
   }
 
+  public ProcessEngineException virtualThreadsNotSupported(Exception cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "032", "Cannot create virtual threads for job execution. Virtual threads require Java 21 or later."), cause);
+  }
+
+  public void queueingJobsInExclusiveJobLane(String affinityKey, Collection<String> jobIds) {
+    logDebug(
+        "033", "Queueing jobs {} behind the running exclusive jobs of process instance '{}'", jobIds, affinityKey);
+  }
+
 }
@@ -89,6 +89,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       }
 
       acquisitionContext.setJobAdded(isJobAdded);
+      acquisitionContext.setAvailableExecutionCapacity(jobExecutor.getAvailableExecutionCapacity());
       configureNextAcquisitionCycle(acquisitionContext, acquisitionStrategy);
       //The clear had to be done after the configuration, since a hint can be
       //appear in the suspend and the flag shouldn't be cleaned in this case.
@@ -144,7 +145,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     for (List<String> jobIds : acquiredJobs.getJobIdBatches()) {
       LOG.executeJobs(currentProcessEngine.getName(), jobIds);
 
-      jobExecutor.executeJobs(jobIds, currentProcessEngine);
+      jobExecutor.executeJobs(jobIds, acquiredJobs.getAffinityKey(jobIds), currentProcessEngine);
     }
   }
 
@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>A {@link JobExecutor} which executes each batch of acquired jobs on its own
+ * virtual thread. Requires Java 21 or later.</p>
+ *
+ * <p>Jobs mostly wait for the database or remote services, so there is no need to
+ * keep a large pool of platform threads. Instead, the number of job batches that are
+ * executed at the same time is bounded by {@link #setMaxConcurrentJobs(int) maxConcurrentJobs}.
+ * A job batch holds at most one database connection at a time, so this limit should
+ * not exceed the size of the connection pool of the process engine's data source.</p>
+ *
+ * <p>Job batches which exceed the limit are handed to the {@link RejectedJobsHandler}.
+ * The free capacity is reported to the job acquisition, which does not acquire more
+ * jobs than can be executed and waits while the capacity is exhausted.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final int DEFAULT_MAX_CONCURRENT_JOBS = 10;
+
+  protected int maxConcurrentJobs = DEFAULT_MAX_CONCURRENT_JOBS;
+
+  protected ThreadFactory threadFactory;
+  protected Semaphore executionPermits;
+
+  protected void startExecutingJobs() {
+    if (threadFactory == null) {
+      threadFactory = createVirtualThreadFactory();
+    }
+    executionPermits = new Semaphore(maxConcurrentJobs);
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if (executionPermits.tryAcquire(maxConcurrentJobs, 60L, TimeUnit.SECONDS)) {
+        executionPermits.release(maxConcurrentJobs);
+      } else {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (!executionPermits.tryAcquire()) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
+    Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+    try {
+      threadFactory.newThread(() -> {
+        try {
+          executeJobsRunnable.run();
+        } finally {
+          executionPermits.release();
+        }
+      }).start();
+
+    } catch (RuntimeException | Error e) {
+      executionPermits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public int getAvailableExecutionCapacity() {
+    if (executionPermits == null) {
+      return -1;
+    }
+    return executionPermits.availablePermits();
+  }
+
+  /**
+   * Creates the factory for the virtual threads through reflection
+   * as the engine is also built for and run on Java versions without virtual threads.
+   */
+  protected ThreadFactory createVirtualThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Method name = builderClass.getMethod("name", String.class, long.class);
+      builder = name.invoke(builder, getName() + "-", 0L);
+
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+    } catch (Exception e) {
+      throw LOG.virtualThreadsNotSupported(e);
+    }
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public ThreadFactory getThreadFactory() {
+    return threadFactory;
+  }
+
+  public void setThreadFactory(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory;
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.json;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.batch.AbstractBatchConfigurationObjectConverter;
+import org.camunda.bpm.engine.impl.batch.signal.SignalEventReceivedBatchConfiguration;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import com.google.gson.JsonObject;
+
+public class SignalEventReceivedBatchConfigurationJsonConverter
+    extends AbstractBatchConfigurationObjectConverter<SignalEventReceivedBatchConfiguration> {
+
+  public static final SignalEventReceivedBatchConfigurationJsonConverter INSTANCE = new SignalEventReceivedBatchConfigurationJsonConverter();
+
+  public static final String SIGNAL_NAME = "signalName";
+  public static final String TENANT_ID = "tenantId";
+  public static final String IS_TENANT_ID_SET = "isTenantIdSet";
+  public static final String AUTH_TENANT_IDS = "authTenantIds";
+  public static final String AUTH_USER_ID = "authUserId";
+  public static final String AUTH_GROUP_IDS = "authGroupIds";
+  public static final String CREATED_BEFORE = "createdBefore";
+  public static final String LAST_ID = "lastId";
+  public static final String EVENT_SUBSCRIPTION_IDS = "eventSubscriptionIds";
+  public static final String BATCH_ID = "batchId";
+
+  @Override
+  public JsonObject writeConfiguration(SignalEventReceivedBatchConfiguration configuration) {
+    JsonObject json = JsonUtil.createObject();
+
+    JsonUtil.addField(json, SIGNAL_NAME, configuration.getSignalName());
+    JsonUtil.addField(json, TENANT_ID, configuration.getTenantId());
+    JsonUtil.addField(json, IS_TENANT_ID_SET, configuration.isTenantIdSet());
+    JsonUtil.addListField(json, AUTH_TENANT_IDS, configuration.getAuthTenantIds());
+    JsonUtil.addField(json, AUTH_USER_ID, configuration.getAuthUserId());
+    JsonUtil.addListField(json, AUTH_GROUP_IDS, configuration.getAuthGroupIds());
+    JsonUtil.addDateField(json, CREATED_BEFORE, configuration.getCreatedBefore());
+    JsonUtil.addField(json, LAST_ID, configuration.getLastId());
+    JsonUtil.addListField(json, EVENT_SUBSCRIPTION_IDS, configuration.getIds());
+    JsonUtil.addField(json, BATCH_ID, configuration.getBatchId());
+
+    return json;
+  }
+
+  @Override
+  public SignalEventReceivedBatchConfiguration readConfiguration(JsonObject json) {
+    SignalEventReceivedBatchConfiguration configuration = new SignalEventReceivedBatchConfiguration(
+        readEventSubscriptionIds(json),
+        JsonUtil.getString(json, SIGNAL_NAME, null),
+        JsonUtil.getString(json, BATCH_ID, null));
+
+    configuration.setTenantId(JsonUtil.getString(json, TENANT_ID, null));
+    configuration.setTenantIdSet(JsonUtil.getBoolean(json, IS_TENANT_ID_SET));
+    if (json.has(AUTH_TENANT_IDS)) {
+      configuration.setAuthTenantIds(JsonUtil.asStringList(JsonUtil.getArray(json, AUTH_TENANT_IDS)));
+    }
+    configuration.setAuthUserId(JsonUtil.getString(json, AUTH_USER_ID, null));
+    if (json.has(AUTH_GROUP_IDS)) {
+      configuration.setAuthGroupIds(JsonUtil.asStringList(JsonUtil.getArray(json, AUTH_GROUP_IDS)));
+    }
+    if (json.has(CREATED_BEFORE)) {
+      configuration.setCreatedBefore(new Date(JsonUtil.getLong(json, CREATED_BEFORE)));
+    }
+    configuration.setLastId(JsonUtil.getString(json, LAST_ID, null));
+
+    return configuration;
+  }
+
+  protected List<String> readEventSubscriptionIds(JsonObject json) {
+    return JsonUtil.asStringList(JsonUtil.getArray(json, EVENT_SUBSCRIPTION_IDS));
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link Meter} which also reports the increase of a cumulative counter that
+ * is maintained elsewhere, e.g. by a cache which counts its hits.
+ */
+public class CounterMeter extends Meter {
+
+  protected LongSupplier counter;
+  protected AtomicLong reportedCount;
+
+  public CounterMeter(String name, LongSupplier counter) {
+    super(name);
+    this.counter = counter;
+    this.reportedCount = new AtomicLong(counter.getAsLong());
+  }
+
+  @Override
+  public long getAndClear() {
+    long count = counter.getAsLong();
+    return super.getAndClear() + count - reportedCount.getAndSet(count);
+  }
+
+  @Override
+  public long get() {
+    return super.get() + counter.getAsLong() - reportedCount.get();
+  }
+
+}
@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.metrics;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.LongSupplier;
 
 /**
  * @author Daniel Meyer
@@ -83,4 +84,14 @@ public class MetricsRegistry {
     Meter dbMeter = new Meter(name);
     dbMeters.put(name, dbMeter);
   }
+
+  /**
+   * Creates a meter only for database collection which reports the increase of
+   * the given cumulative counter in addition to the marked occurrences.
+   */
+  public void createDbMeter(String name, LongSupplier counter) {
+    Meter dbMeter = new CounterMeter(name, counter);
+    dbMeters.put(name, dbMeter);
+  }
+
 }
@@ -56,15 +56,33 @@ public class DeploymentCache {
   protected CacheDeployer cacheDeployer = new CacheDeployer();
 
   public DeploymentCache(CacheFactory factory, int cacheCapacity) {
-    processDefinitionEntityCache = new ProcessDefinitionCache(factory, cacheCapacity, cacheDeployer);
-    caseDefinitionCache = new CaseDefinitionCache(factory, cacheCapacity, cacheDeployer);
-    decisionDefinitionCache = new DecisionDefinitionCache(factory, cacheCapacity, cacheDeployer);
-    decisionRequirementsDefinitionCache = new DecisionRequirementsDefinitionCache(factory, cacheCapacity, cacheDeployer);
-    camundaFormDefinitionCache = new CamundaFormDefinitionCache(factory, cacheCapacity, cacheDeployer);
-
-    bpmnModelInstanceCache = new BpmnModelInstanceCache(factory, cacheCapacity, processDefinitionEntityCache);
-    cmmnModelInstanceCache = new CmmnModelInstanceCache(factory, cacheCapacity, caseDefinitionCache);
-    dmnModelInstanceCache = new DmnModelInstanceCache(factory, cacheCapacity, decisionDefinitionCache);
+    this(factory, factory, factory, factory, factory, cacheCapacity);
+  }
+
+  /**
+   * Creates the deployment caches with a separate cache factory per definition type.
+   *
+   * @param defaultFactory used for the caches that have no dedicated factory (e.g. form definitions)
+   * @param processDefinitionFactory used for the process definition cache
+   * @param caseDefinitionFactory used for the case definition cache
+   * @param decisionDefinitionFactory used for the decision definition and decision requirements definition caches
+   * @param modelInstanceFactory used for the BPMN, CMMN and DMN model instance caches
+   */
+  public DeploymentCache(CacheFactory defaultFactory,
+                         CacheFactory processDefinitionFactory,
+                         CacheFactory caseDefinitionFactory,
+                         CacheFactory decisionDefinitionFactory,
+                         CacheFactory modelInstanceFactory,
+                         int cacheCapacity) {
+    processDefinitionEntityCache = new ProcessDefinitionCache(processDefinitionFactory, cacheCapacity, cacheDeployer);
+    caseDefinitionCache = new CaseDefinitionCache(caseDefinitionFactory, cacheCapacity, cacheDeployer);
+    decisionDefinitionCache = new DecisionDefinitionCache(decisionDefinitionFactory, cacheCapacity, cacheDeployer);
+    decisionRequirementsDefinitionCache = new DecisionRequirementsDefinitionCache(decisionDefinitionFactory, cacheCapacity, cacheDeployer);
+    camundaFormDefinitionCache = new CamundaFormDefinitionCache(defaultFactory, cacheCapacity, cacheDeployer);
+
+    bpmnModelInstanceCache = new BpmnModelInstanceCache(modelInstanceFactory, cacheCapacity, processDefinitionEntityCache);
+    cmmnModelInstanceCache = new CmmnModelInstanceCache(modelInstanceFactory, cacheCapacity, caseDefinitionCache);
+    dmnModelInstanceCache = new DmnModelInstanceCache(modelInstanceFactory, cacheCapacity, decisionDefinitionCache);
   }
 
   public void deploy(final DeploymentEntity deployment) {
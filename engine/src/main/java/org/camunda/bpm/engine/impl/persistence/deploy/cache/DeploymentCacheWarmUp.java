@@ -0,0 +1,206 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.CaseDefinition;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.repository.ResourceDefinition;
+
+/**
+ * <p>Parses the resources of the latest version of every process, case and decision
+ * definition into the {@link DeploymentCache}, so that the first commands after an
+ * engine start do not have to parse them.</p>
+ *
+ * <p>Each resource is parsed by its own command. If the process engine configuration
+ * provides a {@link ProcessEngineConfigurationImpl#getDeploymentParsingPool() deployment parsing pool},
+ * the resources are parsed concurrently in the pool. A resource that cannot be parsed is
+ * logged and left to be parsed on first access.</p>
+ */
+public class DeploymentCacheWarmUp {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final int PROGRESS_STEPS = 10;
+
+  protected final ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public DeploymentCacheWarmUp(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  public void warmUp() {
+    long start = System.currentTimeMillis();
+
+    List<ResourceDefinition> definitions = findLatestDefinitions();
+    Map<String, List<ResourceDefinition>> definitionsByResource = groupByResource(definitions);
+
+    int resources = definitionsByResource.size();
+    LOG.deploymentCacheWarmUpStarted(definitions.size(), resources);
+
+    ProgressLogger progress = new ProgressLogger(resources);
+    ForkJoinPool parsingPool = processEngineConfiguration.getDeploymentParsingPool();
+
+    if (parsingPool == null) {
+      for (List<ResourceDefinition> resourceDefinitions : definitionsByResource.values()) {
+        warmUp(resourceDefinitions, progress);
+      }
+
+    } else {
+      ClassLoader classLoader = ClassLoaderUtil.getContextClassloader();
+      List<Future<?>> results = new ArrayList<>();
+      for (final List<ResourceDefinition> resourceDefinitions : definitionsByResource.values()) {
+        results.add(parsingPool.submit(() -> warmUp(resourceDefinitions, progress, classLoader)));
+      }
+      awaitResults(results);
+    }
+
+    long duration = System.currentTimeMillis() - start;
+    LOG.deploymentCacheWarmUpFinished(resources, duration);
+
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    if (processEngineConfiguration.isMetricsEnabled() && metricsRegistry != null) {
+      metricsRegistry.markOccurrence(Metrics.DEPLOYMENT_CACHE_WARMUP_RESOURCES, resources);
+      metricsRegistry.markOccurrence(Metrics.DEPLOYMENT_CACHE_WARMUP_TIME, duration);
+    }
+  }
+
+  protected List<ResourceDefinition> findLatestDefinitions() {
+    RepositoryService repositoryService = processEngineConfiguration.getRepositoryService();
+    List<ResourceDefinition> definitions = new ArrayList<>();
+
+    definitions.addAll(repositoryService.createProcessDefinitionQuery().latestVersion().list());
+
+    if (processEngineConfiguration.isCmmnEnabled()) {
+      definitions.addAll(repositoryService.createCaseDefinitionQuery().latestVersion().list());
+    }
+
+    if (processEngineConfiguration.isDmnEnabled()) {
+      definitions.addAll(repositoryService.createDecisionDefinitionQuery().latestVersion().list());
+    }
+
+    return definitions;
+  }
+
+  /**
+   * Definitions of the same resource are resolved by one command, so that the resource
+   * is parsed once and the remaining definitions are found in the cache.
+   */
+  protected Map<String, List<ResourceDefinition>> groupByResource(List<ResourceDefinition> definitions) {
+    Map<String, List<ResourceDefinition>> definitionsByResource = new LinkedHashMap<>();
+    for (ResourceDefinition definition : definitions) {
+      String resourceKey = definition.getDeploymentId() + "/" + definition.getResourceName();
+      definitionsByResource.computeIfAbsent(resourceKey, key -> new ArrayList<>()).add(definition);
+    }
+    return definitionsByResource;
+  }
+
+  protected void warmUp(List<ResourceDefinition> definitions, ProgressLogger progress) {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    try {
+      commandExecutor.execute(commandContext -> {
+        DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+        for (ResourceDefinition definition : definitions) {
+          resolveDefinition(deploymentCache, definition);
+        }
+        return null;
+      });
+
+    } catch (RuntimeException e) {
+      ResourceDefinition definition = definitions.get(0);
+      LOG.deploymentCacheWarmUpFailed(definition.getResourceName(), definition.getDeploymentId(), e);
+
+    } finally {
+      progress.resourceParsed();
+    }
+  }
+
+  protected void resolveDefinition(DeploymentCache deploymentCache, ResourceDefinition definition) {
+    if (definition instanceof ProcessDefinition) {
+      deploymentCache.findDeployedProcessDefinitionById(definition.getId());
+
+    } else if (definition instanceof CaseDefinition) {
+      deploymentCache.findDeployedCaseDefinitionById(definition.getId());
+
+    } else if (definition instanceof DecisionDefinition) {
+      deploymentCache.findDeployedDecisionDefinitionById(definition.getId());
+    }
+  }
+
+  protected void warmUp(List<ResourceDefinition> definitions, ProgressLogger progress, ClassLoader classLoader) {
+    ClassLoader previousClassLoader = ClassLoaderUtil.getContextClassloader();
+    ClassLoaderUtil.setContextClassloader(classLoader);
+    try {
+      warmUp(definitions, progress);
+    } finally {
+      ClassLoaderUtil.setContextClassloader(previousClassLoader);
+    }
+  }
+
+  protected void awaitResults(List<Future<?>> results) {
+    for (Future<?> result : results) {
+      try {
+        result.get();
+
+      } catch (InterruptedException e) {
+        // the remaining resources are parsed on first access
+        Thread.currentThread().interrupt();
+        return;
+
+      } catch (ExecutionException e) {
+        // failures are logged by the task itself
+      }
+    }
+  }
+
+  protected static class ProgressLogger {
+
+    protected final int resources;
+    protected final int step;
+    protected final AtomicInteger parsedResources = new AtomicInteger();
+
+    public ProgressLogger(int resources) {
+      this.resources = resources;
+      this.step = Math.max(1, resources / PROGRESS_STEPS);
+    }
+
+    public void resourceParsed() {
+      int parsed = parsedResources.incrementAndGet();
+      if (parsed % step == 0 && parsed < resources) {
+        LOG.deploymentCacheWarmUpProgress(parsed, resources);
+      }
+    }
+  }
+
+}
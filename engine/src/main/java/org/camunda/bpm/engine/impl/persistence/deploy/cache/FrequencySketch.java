@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * <p>Estimates how often keys have been accessed recently. This is a count-min
+ * sketch with four hash functions and counters saturating at 15. Once the number
+ * of recorded accesses reaches ten times the maximum size of the cache, all counters
+ * are halved, so that the estimates follow changes of the access pattern.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public class FrequencySketch {
+
+  protected static final int MAX_COUNT = 15;
+  protected static final int[] SEEDS = { 0x97cb3127, 0xb6b1a3e5, 0x6a09e667, 0x3c6ef372 };
+
+  protected final int[] table;
+  protected final int tableMask;
+  protected final int sampleSize;
+  protected int additions;
+
+  public FrequencySketch(int maximumSize) {
+    int width = Integer.highestOneBit(Math.max(maximumSize, 8) - 1) << 1;
+    this.table = new int[width];
+    this.tableMask = width - 1;
+    this.sampleSize = 10 * Math.max(maximumSize, 1);
+  }
+
+  public int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < SEEDS.length; i++) {
+      frequency = Math.min(frequency, table[indexOf(hash, i)]);
+    }
+    return frequency;
+  }
+
+  public void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int index = indexOf(hash, i);
+      if (table[index] < MAX_COUNT) {
+        table[index]++;
+        added = true;
+      }
+    }
+
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  protected void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] >>>= 1;
+    }
+    additions /= 2;
+  }
+
+  protected int indexOf(int hash, int i) {
+    int h = (hash ^ SEEDS[i]) * 0x9e3779b9;
+    h ^= h >>> 16;
+    return h & tableMask;
+  }
+
+  protected static int spread(int hash) {
+    int h = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    return (h >>> 16) ^ h;
+  }
+
+}
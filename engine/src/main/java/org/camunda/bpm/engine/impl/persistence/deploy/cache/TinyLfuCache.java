@@ -0,0 +1,337 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>A bounded cache with a W-TinyLFU eviction policy.</p>
+ *
+ * <p>New entries are placed in a small admission window (1% of the capacity) that is
+ * ordered by recency. An entry leaving the window is only admitted to the main area if
+ * it has been accessed more frequently than the entry the main area would evict for it.
+ * Access frequencies are estimated by a {@link FrequencySketch}, which also counts
+ * accesses to keys that are not cached. Entries accessed in the main area are protected
+ * from eviction until they become the least recently used of the protected entries.</p>
+ *
+ * <p>Compared to a least recently used cache, a scan over many rarely used entries (such
+ * as old process definition versions) does not evict the entries that are used all the
+ * time.</p>
+ *
+ * <p>Reads do not block: if another thread currently updates the eviction policy, the
+ * access is not recorded.</p>
+ */
+public class TinyLfuCache<K, V> implements Cache<K, V> {
+
+  protected static final int REMOVED = -1;
+  protected static final int WINDOW = 0;
+  protected static final int PROBATION = 1;
+  protected static final int PROTECTED = 2;
+
+  protected final int capacity;
+  protected final int maxWindowSize;
+  protected final int maxMainSize;
+  protected final int maxProtectedSize;
+
+  protected final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  protected final ReentrantLock policyLock = new ReentrantLock();
+  protected final FrequencySketch sketch;
+
+  protected final AccessOrderQueue<K, V> window = new AccessOrderQueue<>(WINDOW);
+  protected final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>(PROBATION);
+  protected final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<>(PROTECTED);
+
+  protected final LongAdder hitCount = new LongAdder();
+  protected final LongAdder missCount = new LongAdder();
+  protected final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * @param capacity the maximum number of entries in the cache
+   */
+  public TinyLfuCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Cache capacity must be greater than 0");
+    }
+    this.capacity = capacity;
+    this.maxWindowSize = Math.max(1, capacity / 100);
+    this.maxMainSize = capacity - maxWindowSize;
+    this.maxProtectedSize = (int) (maxMainSize * 0.8);
+    this.sketch = new FrequencySketch(capacity);
+  }
+
+  @Override
+  public V get(K key) {
+    Node<K, V> node = data.get(key);
+
+    if (node == null) {
+      missCount.increment();
+    } else {
+      hitCount.increment();
+    }
+
+    if (policyLock.tryLock()) {
+      try {
+        sketch.increment(key);
+        if (node != null) {
+          onAccess(node);
+        }
+      } finally {
+        policyLock.unlock();
+      }
+    }
+
+    return node == null ? null : node.value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+
+    policyLock.lock();
+    try {
+      sketch.increment(key);
+
+      Node<K, V> node = data.get(key);
+      if (node != null) {
+        node.value = value;
+        onAccess(node);
+      } else {
+        node = new Node<>(key, value);
+        data.put(key, node);
+        window.addLast(node);
+        evict();
+      }
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(K key) {
+    policyLock.lock();
+    try {
+      Node<K, V> node = data.remove(key);
+      if (node != null) {
+        queueOf(node).remove(node);
+      }
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    policyLock.lock();
+    try {
+      data.clear();
+      window.clear();
+      probation.clear();
+      protectedQueue.clear();
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return data.isEmpty();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return new HashSet<>(data.keySet());
+  }
+
+  @Override
+  public int size() {
+    return data.size();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  // eviction policy (guarded by the policy lock) ////////////////////
+
+  protected void onAccess(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW:
+        window.moveToEnd(node);
+        break;
+
+      case PROBATION:
+        probation.remove(node);
+        protectedQueue.addLast(node);
+        if (protectedQueue.size > maxProtectedSize) {
+          probation.addLast(protectedQueue.pollFirst());
+        }
+        break;
+
+      case PROTECTED:
+        protectedQueue.moveToEnd(node);
+        break;
+
+      default:
+        // removed concurrently
+    }
+  }
+
+  protected void evict() {
+    while (window.size > maxWindowSize) {
+      admit(window.pollFirst());
+    }
+  }
+
+  /**
+   * Moves a candidate leaving the window to the main area if there is space or if
+   * it is used more frequently than the least recently used entry of the main area.
+   */
+  protected void admit(Node<K, V> candidate) {
+    if (probation.size + protectedQueue.size < maxMainSize) {
+      probation.addLast(candidate);
+      return;
+    }
+
+    Node<K, V> victim = probation.size > 0 ? probation.peekFirst() : protectedQueue.peekFirst();
+    if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+      queueOf(victim).remove(victim);
+      evictNode(victim);
+      probation.addLast(candidate);
+    } else {
+      evictNode(candidate);
+    }
+  }
+
+  protected void evictNode(Node<K, V> node) {
+    data.remove(node.key, node);
+    evictionCount.increment();
+  }
+
+  protected AccessOrderQueue<K, V> queueOf(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW:
+        return window;
+      case PROBATION:
+        return probation;
+      default:
+        return protectedQueue;
+    }
+  }
+
+  protected static class Node<K, V> {
+
+    protected final K key;
+    protected volatile V value;
+    protected int queue = REMOVED;
+    protected Node<K, V> previous;
+    protected Node<K, V> next;
+
+    public Node(K key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  /**
+   * Doubly linked list of nodes, ordered from least to most recently used.
+   */
+  protected static class AccessOrderQueue<K, V> {
+
+    protected final int type;
+    protected final Node<K, V> head = new Node<>(null, null);
+    protected int size;
+
+    public AccessOrderQueue(int type) {
+      this.type = type;
+      head.previous = head;
+      head.next = head;
+    }
+
+    public void addLast(Node<K, V> node) {
+      node.previous = head.previous;
+      node.next = head;
+      head.previous.next = node;
+      head.previous = node;
+      node.queue = type;
+      size++;
+    }
+
+    public void remove(Node<K, V> node) {
+      if (node.queue != type) {
+        return;
+      }
+      node.previous.next = node.next;
+      node.next.previous = node.previous;
+      node.previous = null;
+      node.next = null;
+      node.queue = REMOVED;
+      size--;
+    }
+
+    public void moveToEnd(Node<K, V> node) {
+      remove(node);
+      addLast(node);
+    }
+
+    public Node<K, V> peekFirst() {
+      return size == 0 ? null : head.next;
+    }
+
+    public Node<K, V> pollFirst() {
+      Node<K, V> first = peekFirst();
+      if (first != null) {
+        remove(first);
+      }
+      return first;
+    }
+
+    public void clear() {
+      Node<K, V> node = head.next;
+      while (node != head) {
+        Node<K, V> next = node.next;
+        node.previous = null;
+        node.next = null;
+        node.queue = REMOVED;
+        node = next;
+      }
+      head.previous = head;
+      head.next = head;
+      size = 0;
+    }
+  }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Provides {@link TinyLfuCache W-TinyLFU caches} for the deployment caches see {@link DeploymentCache}.</p>
+ *
+ * <p>Prefer this factory over the {@link DefaultCacheFactory} if the number of deployed definitions
+ * exceeds the cache capacity and a small set of definitions is used much more often than the others.</p>
+ */
+public class TinyLfuCacheFactory implements CacheFactory {
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+    return new TinyLfuCache<String, T>(maxNumberOfElementsInCache);
+  }
+}
@@ -22,8 +22,10 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.HasPersistentStateFields;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
 
-public class AcquirableJobEntity implements DbEntity, HasDbRevision {
+public class AcquirableJobEntity implements DbEntity, HasDbRevision, HasPersistentStateFields {
 
   public static final boolean DEFAULT_EXCLUSIVE = true;
 
@@ -48,6 +50,13 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
     return persistentState;
   }
 
+  @Override
+  public void visitPersistentState(PersistentStateVisitor visitor) {
+    visitor.field("lockOwner", lockOwner);
+    visitor.field("lockExpirationTime", lockExpirationTime);
+    visitor.field("duedate", duedate);
+  }
+
   @Override
   public int getRevisionNext() {
     return revision + 1;
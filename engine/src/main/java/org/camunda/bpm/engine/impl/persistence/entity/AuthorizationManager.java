@@ -47,6 +47,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.authorization.Authorization;
@@ -88,6 +89,8 @@ import org.camunda.bpm.engine.impl.batch.BatchQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.auth.AuthorizationCache;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
 import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
@@ -105,6 +108,7 @@ import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.persistence.entity.util.AuthManagerUtil;
 import org.camunda.bpm.engine.impl.persistence.entity.util.AuthManagerUtil.VariablePermissions;
 import org.camunda.bpm.engine.impl.util.ResourceTypeUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Daniel Meyer
@@ -130,6 +134,12 @@ public class AuthorizationManager extends AbstractManager {
 
   protected Boolean isRevokeAuthCheckUsed = null;
 
+  /**
+   * Set once this command has changed authorizations. The {@link AuthorizationCache}
+   * is bypassed afterwards, since it does not reflect the changes until they are committed.
+   */
+  protected boolean authorizationsChanged = false;
+
   public PermissionCheckBuilder newPermissionCheckBuilder() {
     return new PermissionCheckBuilder();
   }
@@ -142,6 +152,7 @@ public class AuthorizationManager extends AbstractManager {
   @Override
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
+    invalidateAuthorizationCache();
     getDbEntityManager().insert(authorization);
   }
 
@@ -180,12 +191,14 @@ public class AuthorizationManager extends AbstractManager {
 
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
+    invalidateAuthorizationCache();
     getDbEntityManager().merge(authorization);
   }
 
   @Override
   public void delete(DbEntity authorization) {
     checkAuthorization(DELETE, AUTHORIZATION, authorization.getId());
+    invalidateAuthorizationCache();
     deleteAuthorizationsByResourceId(AUTHORIZATION, authorization.getId());
     super.delete(authorization);
   }
@@ -276,8 +289,7 @@ public class AuthorizationManager extends AbstractManager {
 
     boolean isRevokeAuthorizationCheckEnabled = isRevokeAuthCheckEnabled(userId, groupIds);
     CompositePermissionCheck compositePermissionCheck = createCompositePermissionCheck(permissionCheck);
-    AuthorizationCheck authCheck = new AuthorizationCheck(userId, filteredGroupIds, compositePermissionCheck, isRevokeAuthorizationCheckEnabled);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    return isUserAuthorizedForResource(userId, filteredGroupIds, compositePermissionCheck, isRevokeAuthorizationCheckEnabled);
   }
 
   protected boolean isRevokeAuthCheckEnabled(String userId, List<String> groupIds) {
@@ -295,10 +307,19 @@ public class AuthorizationManager extends AbstractManager {
         isRevokeAuthCheckEnabled = false;
       }
       else {
+        List<String> filteredGroupIds = filterAuthenticatedGroupIds(groupIds);
         final Map<String, Object> params = new HashMap<>();
         params.put("userId", userId);
-        params.put("authGroupIds", filterAuthenticatedGroupIds(groupIds));
-        isRevokeAuthCheckEnabled = getDbEntityManager().selectBoolean("selectRevokeAuthorization", params);
+        params.put("authGroupIds", filteredGroupIds);
+        Supplier<Boolean> select = () -> getDbEntityManager().selectBoolean("selectRevokeAuthorization", params);
+
+        AuthorizationCache authorizationCache = getAuthorizationCache();
+        if (authorizationCache != null) {
+          Object cacheKey = AuthorizationCache.revokeAuthorizationKey(userId, filteredGroupIds);
+          isRevokeAuthCheckEnabled = getCachedOrSelect(authorizationCache, cacheKey, select);
+        } else {
+          isRevokeAuthCheckEnabled = select.get();
+        }
       }
       this.isRevokeAuthCheckUsed = isRevokeAuthCheckEnabled;
     }
@@ -321,8 +342,24 @@ public class AuthorizationManager extends AbstractManager {
     List<String> filteredGroupIds = filterAuthenticatedGroupIds(groupIds);
 
     boolean isRevokeAuthorizationCheckEnabled = isRevokeAuthCheckEnabled(userId, groupIds);
+    return isUserAuthorizedForResource(userId, filteredGroupIds, compositePermissionCheck, isRevokeAuthorizationCheckEnabled);
+  }
+
+  protected boolean isUserAuthorizedForResource(String userId, List<String> filteredGroupIds,
+      CompositePermissionCheck compositePermissionCheck, boolean isRevokeAuthorizationCheckEnabled) {
     AuthorizationCheck authCheck = new AuthorizationCheck(userId, filteredGroupIds, compositePermissionCheck, isRevokeAuthorizationCheckEnabled);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    Supplier<Boolean> select = () -> getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+
+    AuthorizationCache authorizationCache = getAuthorizationCache();
+    if (authorizationCache != null) {
+      Object cacheKey = AuthorizationCache.authorizationDecisionKey(userId, filteredGroupIds,
+          isRevokeAuthorizationCheckEnabled, compositePermissionCheck);
+      if (cacheKey != null) {
+        return getCachedOrSelect(authorizationCache, cacheKey, select);
+      }
+    }
+
+    return select.get();
   }
 
   public boolean isAuthorized(CompositePermissionCheck compositePermissionCheck) {
@@ -455,6 +492,7 @@ public class AuthorizationManager extends AbstractManager {
       Map<String, Object> deleteParams = new HashMap<>();
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
+      invalidateAuthorizationCache();
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
     }
 
@@ -471,6 +509,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("userId", userId);
+      invalidateAuthorizationCache();
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceIdAndUserId", deleteParams);
     }
 
@@ -487,6 +526,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("groupId", groupId);
+      invalidateAuthorizationCache();
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceIdAndGroupId", deleteParams);
     }
 
@@ -1135,17 +1175,82 @@ public class AuthorizationManager extends AbstractManager {
 
   protected Set<String> getAllGroups() {
     if(availableAuthorizedGroupIds == null) {
-      availableAuthorizedGroupIds = new HashSet<String>();
-      List<String> groupsFromDatabase = getDbEntityManager().selectList("selectAuthorizedGroupIds");
-
-      groupsFromDatabase.stream()
-        .filter(Objects::nonNull)
-        .forEach(availableAuthorizedGroupIds::add);
+      AuthorizationCache authorizationCache = getAuthorizationCache();
+      if (authorizationCache != null) {
+        availableAuthorizedGroupIds = getCachedOrSelect(authorizationCache,
+            AuthorizationCache.authorizedGroupIdsKey(), this::selectAuthorizedGroupIds);
+      } else {
+        availableAuthorizedGroupIds = selectAuthorizedGroupIds();
+      }
     }
 
     return availableAuthorizedGroupIds;
   }
 
+  protected Set<String> selectAuthorizedGroupIds() {
+    Set<String> authorizedGroupIds = new HashSet<String>();
+    List<String> groupsFromDatabase = getDbEntityManager().selectList("selectAuthorizedGroupIds");
+
+    groupsFromDatabase.stream()
+      .filter(Objects::nonNull)
+      .forEach(authorizedGroupIds::add);
+
+    return authorizedGroupIds;
+  }
+
+  // authorization cache ///////////////////////////////////////////
+
+  /**
+   * @return the authorization cache or <code>null</code> if it is disabled or must
+   * not be used by this command
+   */
+  protected AuthorizationCache getAuthorizationCache() {
+    if (authorizationsChanged) {
+      return null;
+    }
+    return Context.getProcessEngineConfiguration().getAuthorizationCache();
+  }
+
+  protected <T> T getCachedOrSelect(AuthorizationCache authorizationCache, Object cacheKey, Supplier<T> select) {
+    T value = authorizationCache.get(cacheKey);
+    if (value != null) {
+      markAuthorizationCacheOccurrence(Metrics.AUTHORIZATION_CACHE_HIT);
+      return value;
+    }
+
+    markAuthorizationCacheOccurrence(Metrics.AUTHORIZATION_CACHE_MISS);
+    long generation = authorizationCache.getGeneration();
+    value = select.get();
+    authorizationCache.put(cacheKey, value, generation);
+    return value;
+  }
+
+  protected void markAuthorizationCacheOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
+  /**
+   * Invalidates the authorization cache now and once more after the transaction
+   * has committed, so that no decision based on the previous authorizations
+   * survives the change.
+   */
+  protected void invalidateAuthorizationCache() {
+    AuthorizationCache authorizationCache = Context.getProcessEngineConfiguration().getAuthorizationCache();
+    if (authorizationCache != null) {
+      if (authorizationsChanged) {
+        authorizationCache.invalidate();
+      }
+      else {
+        authorizationCache.invalidateNowAndAfterCommit();
+      }
+    }
+
+    authorizationsChanged = true;
+  }
+
   protected boolean isAuthCheckExecuted() {
 
     Authentication currentAuthentication = getCurrentAuthentication();
@@ -1200,6 +1305,7 @@ public class AuthorizationManager extends AbstractManager {
     }
     parameters.put("batchSize", batchSize);
 
+    invalidateAuthorizationCache();
     return getDbEntityManager()
         .deletePreserveOrder(AuthorizationEntity.class, "deleteAuthorizationsByRemovalTime",
             new ListQueryParameterObject(parameters, 0, batchSize));
@@ -25,12 +25,19 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.repository.ResourceTypes;
 
 /**
  * @author Joram Barrez
  */
 public class ByteArrayManager extends AbstractManager {
 
+  /**
+   * Prefix of the ids of parse snapshots, followed by the id of the parsed resource.
+   * The name of a snapshot is the id of the deployment of the resource.
+   */
+  public static final String BPMN_PARSE_SNAPSHOT_ID_PREFIX = "bpmn-snapshot-";
+
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database.
    * Important: this operation will NOT do any optimistic locking, to avoid loading the
@@ -46,6 +53,23 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().insert(arr);
   }
 
+  /**
+   * @return the snapshot of the parsed BPMN resource with the given id or <code>null</code> if there is none
+   */
+  public ByteArrayEntity findBpmnParseSnapshot(String resourceId) {
+    return getDbEntityManager().selectById(ByteArrayEntity.class, BPMN_PARSE_SNAPSHOT_ID_PREFIX + resourceId);
+  }
+
+  public void insertBpmnParseSnapshot(String deploymentId, String resourceId, byte[] bytes) {
+    ByteArrayEntity snapshot = new ByteArrayEntity(deploymentId, bytes, ResourceTypes.REPOSITORY);
+    snapshot.setId(BPMN_PARSE_SNAPSHOT_ID_PREFIX + resourceId);
+    insertByteArray(snapshot);
+  }
+
+  public void deleteBpmnParseSnapshotsByDeploymentId(String deploymentId) {
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteBpmnParseSnapshotsByDeploymentId", deploymentId);
+  }
+
   public DbOperation addRemovalTimeToByteArraysByRootProcessInstanceId(String rootProcessInstanceId, Date removalTime, Integer batchSize) {
     Map<String, Object> parameters = new HashMap<>();
     parameters.put("rootProcessInstanceId", rootProcessInstanceId);
@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cmd.DeleteProcessDefinitionsByIdsCmd;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionManager;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionManager;
 import org.camunda.bpm.engine.impl.form.entity.CamundaFormDefinitionManager;
@@ -123,11 +124,26 @@ public class DeploymentManager extends AbstractManager {
 
     deleteCamundaFormDefinitionDeployment(deploymentId);
 
+    if (Context.getProcessEngineConfiguration().isBpmnParseSnapshotsEnabled()) {
+      getByteArrayManager().deleteBpmnParseSnapshotsByDeploymentId(deploymentId);
+    }
     getResourceManager().deleteResourcesByDeploymentId(deploymentId);
 
     deleteAuthorizations(Resources.DEPLOYMENT, deploymentId);
     getDbEntityManager().delete(DeploymentEntity.class, "deleteDeployment", deploymentId);
 
+    invalidateSharedEntityCache(deploymentId);
+  }
+
+  /**
+   * Removes the entities of the deployment from the {@link SharedDbEntityCache}, now and
+   * once more after the deletion has been committed.
+   */
+  protected void invalidateSharedEntityCache(String deploymentId) {
+    SharedDbEntityCache sharedDbEntityCache = Context.getProcessEngineConfiguration().getSharedDbEntityCache();
+    if (sharedDbEntityCache != null) {
+      sharedDbEntityCache.invalidateDeploymentNowAndAfterCommit(deploymentId);
+    }
   }
 
   protected void deleteCaseDeployment(String deploymentId, boolean cascade) {
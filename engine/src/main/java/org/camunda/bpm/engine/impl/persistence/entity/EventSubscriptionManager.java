@@ -17,17 +17,22 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.camunda.bpm.engine.impl.Direction;
 import org.camunda.bpm.engine.impl.EventSubscriptionQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.QueryPropertyImpl;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.TenantCheck;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
@@ -154,6 +159,58 @@ public class EventSubscriptionManager extends AbstractManager {
     }
   }
 
+  /**
+   * Find the ids of the next page of signal event subscriptions with the given event name,
+   * ordered by id and starting after the given id. Only subscriptions created until
+   * the given time are considered.
+   *
+   * @param authTenantIds the tenants to restrict the subscriptions to or <code>null</code>
+   *                      if no tenant check should be performed
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findSignalEventSubscriptionIdsPage(String eventName, boolean isTenantIdSet, String tenantId,
+      List<String> authTenantIds, Date createdBefore, String afterId, int maxResults) {
+
+    Map<String, Object> parameters = createSignalEventSubscriptionPageParameters(eventName, isTenantIdSet, tenantId, createdBefore);
+    parameters.put("afterId", afterId);
+
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject(parameters, 0, maxResults);
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("ID_"), Direction.ASCENDING));
+    configureTenantCheck(parameterObject, authTenantIds);
+
+    return getDbEntityManager().selectList("selectSignalEventSubscriptionIdsPage", parameterObject);
+  }
+
+  /**
+   * Count the signal event subscriptions which are considered by
+   * {@link #findSignalEventSubscriptionIdsPage(String, boolean, String, List, Date, String, int)}.
+   */
+  public long findSignalEventSubscriptionCountForPaging(String eventName, boolean isTenantIdSet, String tenantId,
+      List<String> authTenantIds, Date createdBefore) {
+
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject();
+    parameterObject.setParameter(createSignalEventSubscriptionPageParameters(eventName, isTenantIdSet, tenantId, createdBefore));
+    configureTenantCheck(parameterObject, authTenantIds);
+
+    return (Long) getDbEntityManager().selectOne("selectSignalEventSubscriptionCountForPaging", parameterObject);
+  }
+
+  protected Map<String, Object> createSignalEventSubscriptionPageParameters(String eventName, boolean isTenantIdSet,
+      String tenantId, Date createdBefore) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("eventName", eventName);
+    parameters.put("isTenantIdSet", isTenantIdSet);
+    parameters.put("tenantId", tenantId);
+    parameters.put("createdBefore", createdBefore);
+    return parameters;
+  }
+
+  protected void configureTenantCheck(ListQueryParameterObject parameterObject, List<String> authTenantIds) {
+    TenantCheck tenantCheck = parameterObject.getTenantCheck();
+    tenantCheck.setTenantCheckEnabled(authTenantIds != null);
+    tenantCheck.setAuthTenantIds(authTenantIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<EventSubscriptionEntity> findSignalEventSubscriptionsByExecution(String executionId) {
     final String query = "selectSignalEventSubscriptionsByExecution";
@@ -54,6 +54,8 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.HasPersistentStateFields;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
@@ -63,6 +65,7 @@ import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentHandling;
 import org.camunda.bpm.engine.impl.interceptor.AtomicOperationInvocation;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.pvm.PvmActivity;
@@ -96,7 +99,7 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
  * @author Daniel Meyer
  * @author Falko Menge
  */
-public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, VariablesProvider<VariableInstanceEntity> {
+public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, HasPersistentStateFields, VariablesProvider<VariableInstanceEntity> {
 
   private static final long serialVersionUID = 1L;
 
@@ -1288,7 +1291,29 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
     }
 
-    processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+    if (isExecutionTreeFullPrefetchEnabled()) {
+      CommandContext commandContext = Context.getCommandContext();
+
+      List<VariableInstanceEntity> variables = commandContext
+        .getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceId(processInstanceId);
+
+      List<EventSubscriptionEntity> eventSubscriptions = commandContext
+        .getEventSubscriptionManager()
+        .findEventSubscriptionsByProcessInstanceId(processInstanceId);
+
+      processInstance.restoreProcessInstance(executions, eventSubscriptions, variables, null, null, null, null);
+    }
+    else {
+      processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+    }
+  }
+
+  /**
+   * @return true if variables and event subscriptions are fetched together with the execution tree
+   */
+  protected boolean isExecutionTreeFullPrefetchEnabled() {
+    return Context.getProcessEngineConfiguration().isExecutionTreeFullPrefetchEnabled();
   }
 
   /**
@@ -1336,6 +1361,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
     }
 
+    // executions which already hold their event subscriptions are left untouched
+    Set<String> restoredEventSubscriptions = new HashSet<>();
+
     // restore execution tree
     for (ExecutionEntity execution : executions) {
       if (execution.executions == null) {
@@ -1343,6 +1371,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
       if(execution.eventSubscriptions == null && eventSubscriptions != null) {
         execution.eventSubscriptions = new ArrayList<>();
+        restoredEventSubscriptions.add(execution.getId());
       }
       if(variables != null) {
         execution.variableStore.setVariablesProvider(
@@ -1370,7 +1399,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
         ExecutionEntity executionEntity = executionsMap.get(eventSubscription.getExecutionId());
         if (executionEntity != null) {
-          executionEntity.addEventSubscription(eventSubscription);
+          if (restoredEventSubscriptions.contains(executionEntity.getId())) {
+            executionEntity.addEventSubscription(eventSubscription);
+          }
         }
         else {
           throw LOG.executionNotFoundException(eventSubscription.getExecutionId());
@@ -1437,6 +1468,24 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return persistentState;
   }
 
+  public void visitPersistentState(PersistentStateVisitor visitor) {
+    visitor.field("processDefinitionId", processDefinitionId);
+    visitor.field("businessKey", businessKey);
+    visitor.field("activityId", activityId);
+    visitor.field("activityInstanceId", activityInstanceId);
+    visitor.field("isActive", isActive);
+    visitor.field("isConcurrent", isConcurrent);
+    visitor.field("isScope", isScope);
+    visitor.field("isEventScope", isEventScope);
+    visitor.field("parentId", parentId);
+    visitor.field("superExecution", superExecutionId);
+    visitor.field("superCaseExecutionId", superCaseExecutionId);
+    visitor.field("caseInstanceId", caseInstanceId);
+    visitor.field("suspensionState", suspensionState);
+    visitor.field("cachedEntityState", getCachedEntityState());
+    visitor.field("sequenceCounter", getSequenceCounter());
+  }
+
   public void insert() {
     Context.getCommandContext().getExecutionManager().insertExecution(this);
   }
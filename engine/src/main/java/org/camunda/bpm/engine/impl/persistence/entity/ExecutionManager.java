@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -43,6 +45,9 @@ public class ExecutionManager extends AbstractManager {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
+  /** Oracle does not allow more than 1000 expressions in an IN list */
+  protected static final int MAXIMUM_IN_CLAUSE_SIZE = 1000;
+
   public void insertExecution(ExecutionEntity execution) {
     getDbEntityManager().insert(execution);
     createDefaultAuthorizations(execution);
@@ -113,6 +118,39 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * @return the process instances with one of the given business keys
+   */
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findProcessInstancesByBusinessKeys(List<String> businessKeys) {
+    List<ExecutionEntity> processInstances = new ArrayList<>();
+    for (List<String> partition : CollectionUtil.partition(businessKeys, MAXIMUM_IN_CLAUSE_SIZE)) {
+      processInstances.addAll(getDbEntityManager().selectList("selectProcessInstancesByBusinessKeys", partition));
+    }
+    return processInstances;
+  }
+
+  /**
+   * @return the active executions that have a message event subscription with the given name
+   * and belong to a process instance with one of the given business keys
+   */
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByMessageEventSubscriptionAndBusinessKeys(String messageName, List<String> businessKeys,
+      boolean isTenantIdSet, String tenantId) {
+
+    List<ExecutionEntity> executions = new ArrayList<>();
+    for (List<String> partition : CollectionUtil.partition(businessKeys, MAXIMUM_IN_CLAUSE_SIZE)) {
+      Map<String, Object> parameters = new HashMap<>();
+      parameters.put("messageName", messageName);
+      parameters.put("businessKeys", partition);
+      parameters.put("isTenantIdSet", isTenantIdSet);
+      parameters.put("tenantId", tenantId);
+
+      executions.addAll(getDbEntityManager().selectList("selectExecutionsByMessageEventSubscriptionAndBusinessKeys", parameters));
+    }
+    return executions;
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
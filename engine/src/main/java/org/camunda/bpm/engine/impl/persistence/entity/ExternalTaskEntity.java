@@ -38,6 +38,8 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.HasPersistentStateFields;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentHandling;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -54,7 +56,7 @@ import org.camunda.bpm.engine.runtime.Incident;
  *
  */
 public class ExternalTaskEntity implements ExternalTask, DbEntity,
-  HasDbRevision, HasDbReferences {
+  HasDbRevision, HasDbReferences, HasPersistentStateFields {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
   private static final String EXCEPTION_NAME = "externalTask.exceptionByteArray";
@@ -283,6 +285,26 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity,
     return persistentState;
   }
 
+  @Override
+  public void visitPersistentState(PersistentStateVisitor visitor) {
+    visitor.field("topic", topicName);
+    visitor.field("workerId", workerId);
+    visitor.field("lockExpirationTime", lockExpirationTime);
+    visitor.field("retries", retries);
+    visitor.field("errorMessage", errorMessage);
+    visitor.field("executionId", executionId);
+    visitor.field("processInstanceId", processInstanceId);
+    visitor.field("processDefinitionId", processDefinitionId);
+    visitor.field("processDefinitionKey", processDefinitionKey);
+    visitor.field("processDefinitionVersionTag", processDefinitionVersionTag);
+    visitor.field("activityId", activityId);
+    visitor.field("activityInstanceId", activityInstanceId);
+    visitor.field("suspensionState", suspensionState);
+    visitor.field("tenantId", tenantId);
+    visitor.field("priority", priority);
+    visitor.field("errorDetailsByteArrayId", errorDetailsByteArrayId);
+  }
+
   public void insert() {
     Context.getCommandContext()
       .getExternalTaskManager()
@@ -562,7 +584,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity,
 
     Context.getCommandContext()
       .getExternalTaskManager()
-      .fireExternalTaskAvailableEvent();
+      .fireExternalTaskAvailableEvent(topicName);
   }
 
   public static ExternalTaskEntity createAndInsert(ExecutionEntity execution, String topic, long priority) {
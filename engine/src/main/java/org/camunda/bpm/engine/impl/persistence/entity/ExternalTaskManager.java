@@ -53,7 +53,7 @@ public class ExternalTaskManager extends AbstractManager {
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask.getTopicName());
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -182,12 +182,20 @@ public class ExternalTaskManager extends AbstractManager {
   }
 
   public void fireExternalTaskAvailableEvent() {
+    fireExternalTaskAvailableEvent(null);
+  }
+
+  /**
+   * @param topicName the topic of the available external task or <code>null</code> if unknown
+   */
+  public void fireExternalTaskAvailableEvent(String topicName) {
     Context.getCommandContext()
         .getTransactionContext()
         .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
           @Override
           public void execute(CommandContext commandContext) {
             ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
+            ProcessEngineImpl.EXT_TASK_TOPIC_CONDITIONS.signalAll(topicName);
           }
         });
   }
@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentHandling;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -242,6 +243,22 @@ public abstract class JobEntity extends AcquirableJobEntity
     return persistentState;
   }
 
+  @Override
+  public void visitPersistentState(PersistentStateVisitor visitor) {
+    super.visitPersistentState(visitor);
+    visitor.field("executionId", executionId);
+    visitor.field("retries", retries);
+    visitor.field("exceptionMessage", exceptionMessage);
+    visitor.field("suspensionState", suspensionState);
+    visitor.field("processDefinitionId", processDefinitionId);
+    visitor.field("jobDefinitionId", jobDefinitionId);
+    visitor.field("deploymentId", deploymentId);
+    visitor.field("jobHandlerConfiguration", jobHandlerConfiguration);
+    visitor.field("priority", priority);
+    visitor.field("tenantId", tenantId);
+    visitor.field("exceptionByteArrayId", exceptionByteArrayId);
+  }
+
   public void setExecution(ExecutionEntity execution) {
     if (execution != null) {
       this.execution = execution;
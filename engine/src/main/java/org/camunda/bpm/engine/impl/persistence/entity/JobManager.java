@@ -21,6 +21,7 @@ import static org.camunda.bpm.engine.impl.jobexecutor.TimerEventJobHandler.JOB_H
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -200,6 +201,46 @@ public class JobManager extends AbstractManager {
 
   @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    return getDbEntityManager().selectList("selectNextJobsToExecute", createNextJobsToExecuteParameters(), page);
+  }
+
+  /**
+   * Like {@link #findNextJobsToExecute(Page)} but locks the returned jobs in the database until the
+   * end of the transaction and skips jobs which are locked by concurrent transactions. Only
+   * supported on databases which provide <code>SELECT ... FOR UPDATE SKIP LOCKED</code>.
+   */
+  @SuppressWarnings("unchecked")
+  public List<AcquirableJobEntity> findNextJobsToExecuteSkipLocked(Page page) {
+    return getDbEntityManager().selectList("selectNextJobsToExecuteSkipLocked", createNextJobsToExecuteParameters(), page);
+  }
+
+  /**
+   * @return the ids of the root process instances of the given process instances,
+   *   keyed by the process instance ids
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, String> findRootProcessInstanceIds(Collection<String> processInstanceIds) {
+    Map<String, String> rootProcessInstanceIds = new HashMap<>();
+
+    List<String> ids = new ArrayList<>();
+    for (String processInstanceId : processInstanceIds) {
+      if (processInstanceId != null) {
+        ids.add(processInstanceId);
+      }
+    }
+    if (ids.isEmpty()) {
+      return rootProcessInstanceIds;
+    }
+
+    List<ImmutablePair<String, String>> mappings = getDbEntityManager()
+        .selectList("selectRootProcessInstanceIdMappings", ids);
+    for (ImmutablePair<String, String> mapping : mappings) {
+      rootProcessInstanceIds.put(mapping.getLeft(), mapping.getRight());
+    }
+    return rootProcessInstanceIds;
+  }
+
+  protected Map<String, Object> createNextJobsToExecuteParameters() {
     ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
 
     Map<String,Object> params = new HashMap<>();
@@ -237,7 +278,19 @@ public class JobManager extends AbstractManager {
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
 
-    return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+    return params;
+  }
+
+  /**
+   * Locks the given jobs with one statement, without checking their revisions.
+   */
+  public void updateJobLocks(List<String> jobIds, String lockOwner, Date lockExpirationTime) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("jobIds", jobIds);
+    parameters.put("lockOwner", lockOwner);
+    parameters.put("lockExpirationTime", lockExpirationTime);
+
+    getDbEntityManager().update(AcquirableJobEntity.class, "updateJobLocks", parameters);
   }
 
   @SuppressWarnings("unchecked")
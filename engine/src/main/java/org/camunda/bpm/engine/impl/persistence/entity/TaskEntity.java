@@ -64,6 +64,8 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.HasPersistentStateFields;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.form.CamundaFormRefImpl;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
@@ -91,7 +93,7 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
  * @author Falko Menge
  * @author Deivarayan Azhagappan
  */
-public class TaskEntity extends AbstractVariableScope implements Task, DelegateTask, Serializable, DbEntity, HasDbRevision, HasDbReferences, CommandContextListener, VariablesProvider<VariableInstanceEntity> {
+public class TaskEntity extends AbstractVariableScope implements Task, DelegateTask, Serializable, DbEntity, HasDbRevision, HasDbReferences, HasPersistentStateFields, CommandContextListener, VariablesProvider<VariableInstanceEntity> {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
@@ -447,6 +449,28 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     return persistentState;
   }
 
+  @Override
+  public void visitPersistentState(PersistentStateVisitor visitor) {
+    visitor.field("assignee", assignee);
+    visitor.field("owner", owner);
+    visitor.field("name", name);
+    visitor.field("priority", priority);
+    visitor.field("executionId", executionId);
+    visitor.field("processDefinitionId", processDefinitionId);
+    visitor.field("caseExecutionId", caseExecutionId);
+    visitor.field("caseInstanceId", caseInstanceId);
+    visitor.field("caseDefinitionId", caseDefinitionId);
+    visitor.field("createTime", createTime);
+    visitor.field("lastUpdated", lastUpdated);
+    visitor.field("description", description);
+    visitor.field("dueDate", dueDate);
+    visitor.field("followUpDate", followUpDate);
+    visitor.field("parentTaskId", parentTaskId);
+    visitor.field("delegationState", delegationState);
+    visitor.field("tenantId", tenantId);
+    visitor.field("suspensionState", suspensionState);
+  }
+
   @Override
   public int getRevisionNext() {
     return revision+1;
@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.calendar.CycleBusinessCalendar;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.RepeatingFailedJobListener;
@@ -233,6 +234,12 @@ public class TimerEntity extends JobEntity {
     return persistentState;
   }
 
+  @Override
+  public void visitPersistentState(PersistentStateVisitor visitor) {
+    super.visitPersistentState(visitor);
+    visitor.field("repeat", repeat);
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -36,6 +36,8 @@ import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.HasPersistentStateFields;
+import org.camunda.bpm.engine.impl.db.PersistentStateVisitor;
 import org.camunda.bpm.engine.impl.persistence.entity.util.ByteArrayField;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueUpdateListener;
@@ -50,7 +52,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
  * @author Tom Baeyens
  */
 public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, ValueFields, DbEntity, DbEntityLifecycleAware, TypedValueUpdateListener, HasDbRevision,
-  HasDbReferences, Serializable {
+  HasDbReferences, HasPersistentStateFields, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
@@ -199,6 +201,24 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     return persistentState;
   }
 
+  public void visitPersistentState(PersistentStateVisitor visitor) {
+    visitor.field("serializerName", typedValueField.getSerializerName());
+    visitor.field("longValue", longValue);
+    visitor.field("doubleValue", doubleValue);
+    visitor.field("textValue", textValue);
+    visitor.field("textValue2", textValue2);
+    visitor.field("byteArrayValueId", byteArrayField.getByteArrayId());
+    visitor.field("sequenceCounter", getSequenceCounter());
+    visitor.field("concurrentLocal", isConcurrentLocal);
+    visitor.field("executionId", executionId);
+    visitor.field("taskId", taskId);
+    visitor.field("caseExecutionId", caseExecutionId);
+    visitor.field("caseInstanceId", caseInstanceId);
+    visitor.field("tenantId", tenantId);
+    visitor.field("processInstanceId", processInstanceId);
+    visitor.field("processDefinitionId", processDefinitionId);
+  }
+
   public int getRevisionNext() {
     return revision+1;
   }
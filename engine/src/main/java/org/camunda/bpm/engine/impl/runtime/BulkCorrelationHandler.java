@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
+
+/**
+ * Correlation handler used to correlate several messages in one transaction.
+ *
+ * <p>The executions waiting for messages that are correlated by message name and
+ * business key only are selected for all messages with the same name (and tenant) by
+ * {@link #prefetchExecutions(CommandContext, List)} instead of one execution query per
+ * message. Start message subscriptions are looked up once per message name and tenant.
+ * All other correlations are delegated to the {@link DefaultCorrelationHandler}.</p>
+ */
+public class BulkCorrelationHandler extends DefaultCorrelationHandler {
+
+  /** executions by business key per message name and tenant */
+  protected Map<List<Object>, Map<String, List<ExecutionEntity>>> prefetchedExecutions = new HashMap<>();
+
+  protected Map<List<Object>, List<CorrelationHandlerResult>> startMessageCorrelations = new HashMap<>();
+
+  public void prefetchExecutions(CommandContext commandContext, List<MessageCorrelationBuilderImpl> correlations) {
+    Map<List<Object>, Set<String>> businessKeysByGroup = new LinkedHashMap<>();
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      CorrelationSet correlationSet = new CorrelationSet(correlation);
+      if (!correlation.isStartMessagesOnly() && isPrefetchable(correlation.getMessageName(), correlationSet)) {
+        businessKeysByGroup
+          .computeIfAbsent(getGroupKey(correlation.getMessageName(), correlationSet), key -> new LinkedHashSet<>())
+          .add(correlationSet.getBusinessKey());
+      }
+    }
+
+    ExecutionManager executionManager = commandContext.getExecutionManager();
+    TenantManager tenantManager = commandContext.getTenantManager();
+
+    for (Map.Entry<List<Object>, Set<String>> group : businessKeysByGroup.entrySet()) {
+      List<Object> groupKey = group.getKey();
+      List<String> businessKeys = new ArrayList<>(group.getValue());
+
+      // the business key is stored on the process instance; selecting the process instances
+      // first puts them into the entity cache so that they are not fetched one by one below
+      executionManager.findProcessInstancesByBusinessKeys(businessKeys);
+
+      List<ExecutionEntity> executions = executionManager.findExecutionsByMessageEventSubscriptionAndBusinessKeys(
+          (String) groupKey.get(0), businessKeys, (Boolean) groupKey.get(1), (String) groupKey.get(2));
+
+      Map<String, List<ExecutionEntity>> executionsByBusinessKey = new HashMap<>();
+      for (ExecutionEntity execution : executions) {
+        if (tenantManager.isAuthenticatedTenant(execution.getTenantId())) {
+          executionsByBusinessKey
+            .computeIfAbsent(execution.getProcessInstance().getBusinessKey(), key -> new ArrayList<>())
+            .add(execution);
+        }
+      }
+
+      prefetchedExecutions.put(groupKey, executionsByBusinessKey);
+    }
+  }
+
+  @Override
+  protected List<CorrelationHandlerResult> correlateMessageToExecutions(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    Map<String, List<ExecutionEntity>> executionsByBusinessKey = null;
+    if (isPrefetchable(messageName, correlationSet)) {
+      executionsByBusinessKey = prefetchedExecutions.get(getGroupKey(messageName, correlationSet));
+    }
+
+    if (executionsByBusinessKey == null) {
+      return super.correlateMessageToExecutions(commandContext, messageName, correlationSet);
+    }
+
+    List<ExecutionEntity> executions = executionsByBusinessKey.getOrDefault(correlationSet.getBusinessKey(), Collections.emptyList());
+    List<CorrelationHandlerResult> result = new ArrayList<>(executions.size());
+    for (ExecutionEntity execution : executions) {
+      // a previous message of the bulk may have ended or suspended the execution
+      if (!commandContext.getDbEntityManager().isDeleted(execution) && !execution.isSuspended()) {
+        result.add(CorrelationHandlerResult.matchedExecution(execution));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<CorrelationHandlerResult> correlateStartMessages(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    if (messageName == null || correlationSet.getProcessDefinitionId() != null) {
+      return super.correlateStartMessages(commandContext, messageName, correlationSet);
+    }
+
+    List<Object> groupKey = getGroupKey(messageName, correlationSet);
+    List<CorrelationHandlerResult> correlations = startMessageCorrelations.get(groupKey);
+    if (correlations == null) {
+      correlations = super.correlateStartMessages(commandContext, messageName, correlationSet);
+      startMessageCorrelations.put(groupKey, correlations);
+    }
+    return correlations;
+  }
+
+  protected boolean isPrefetchable(String messageName, CorrelationSet correlationSet) {
+    return messageName != null
+        && correlationSet.getBusinessKey() != null
+        && correlationSet.getCorrelationKeys() == null
+        && correlationSet.getLocalCorrelationKeys() == null
+        && correlationSet.getProcessInstanceId() == null
+        && correlationSet.getProcessDefinitionId() == null;
+  }
+
+  protected List<Object> getGroupKey(String messageName, CorrelationSet correlationSet) {
+    return Arrays.asList(messageName, correlationSet.isTenantIdSet(), correlationSet.getTenantId());
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting;
+
+import java.util.Objects;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>A process engine wide cache for {@link CompiledScript compiled scripts} which allows
+ * {@link SourceExecutableScript source scripts} of different process definitions to share
+ * the compilation result of an identical script source.</p>
+ *
+ * <p>A compiled script is bound to the {@link ScriptEngine} which compiled it. The engine
+ * is therefore part of the cache key, so a script is only shared between definitions which
+ * resolve the same engine instance.</p>
+ */
+public class CompiledScriptCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected final Cache<CacheKey, CompiledScript> compiledScripts;
+
+  public CompiledScriptCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity the maximum number of cached compiled scripts
+   */
+  public CompiledScriptCache(int capacity) {
+    this.compiledScripts = new ConcurrentLruCache<>(capacity);
+  }
+
+  /**
+   * @return the compiled script or <code>null</code> if the source has not been compiled by the given engine yet
+   */
+  public CompiledScript get(ScriptEngine scriptEngine, String language, String scriptSource) {
+    return compiledScripts.get(new CacheKey(scriptEngine, language, scriptSource));
+  }
+
+  public void put(ScriptEngine scriptEngine, String language, String scriptSource, CompiledScript compiledScript) {
+    compiledScripts.put(new CacheKey(scriptEngine, language, scriptSource), compiledScript);
+  }
+
+  public int size() {
+    return compiledScripts.size();
+  }
+
+  public void clear() {
+    compiledScripts.clear();
+  }
+
+  protected static class CacheKey {
+
+    protected final ScriptEngine scriptEngine;
+    protected final String language;
+    protected final String scriptSource;
+
+    public CacheKey(ScriptEngine scriptEngine, String language, String scriptSource) {
+      this.scriptEngine = scriptEngine;
+      this.language = language;
+      this.scriptSource = scriptSource;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      CacheKey other = (CacheKey) o;
+      return scriptEngine == other.scriptEngine
+          && Objects.equals(language, other.language)
+          && Objects.equals(scriptSource, other.scriptSource);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(scriptEngine), language, scriptSource);
+    }
+  }
+
+}
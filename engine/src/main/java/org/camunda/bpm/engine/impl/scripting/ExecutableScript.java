@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.scripting;
 
+import java.util.concurrent.TimeUnit;
+
 import javax.script.Bindings;
 import javax.script.ScriptEngine;
 
@@ -23,7 +25,12 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.DelegateCaseExecution;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * <p>Represents an executable script.</p>
@@ -34,6 +41,8 @@ import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
  */
 public abstract class ExecutableScript {
 
+  private final static ScriptLogger LOG = ProcessEngineLogger.SCRIPT_LOGGER;
+
   /** The language of the script. Used to resolve the
    * {@link ScriptEngine}. */
   protected final String language;
@@ -60,7 +69,23 @@ public abstract class ExecutableScript {
    * @return the result of the script evaluation
    */
   public Object execute(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
-    return evaluate(scriptEngine, variableScope, bindings);
+    long startTime = System.nanoTime();
+    try {
+      return evaluate(scriptEngine, variableScope, bindings);
+    } finally {
+      long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+      LOG.debugScriptExecuted(this, variableScope, durationMillis);
+      markExecutionTime(durationMillis);
+    }
+  }
+
+  protected void markExecutionTime(long durationMillis) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+      metricsRegistry.markOccurrence(Metrics.SCRIPT_EXECUTIONS);
+      metricsRegistry.markOccurrence(Metrics.SCRIPT_EXECUTION_TIME, durationMillis);
+    }
   }
 
   protected String getActivityIdExceptionMessage(VariableScope variableScope) {
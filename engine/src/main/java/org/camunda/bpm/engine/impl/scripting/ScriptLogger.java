@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.scripting;
 
+import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 
 /**
@@ -39,4 +40,12 @@ public class ScriptLogger extends ProcessEngineLogger {
         "001", "Evaluating non-compiled script {}", scriptSource);
   }
 
+  public void debugScriptExecuted(ExecutableScript script, VariableScope variableScope, long durationMillis) {
+    if (isDebugEnabled()) {
+      logDebug(
+          "003", "Executed script in language {}{} in {} ms",
+          script.getLanguage(), script.getActivityIdExceptionMessage(variableScope), durationMillis);
+    }
+  }
+
 }
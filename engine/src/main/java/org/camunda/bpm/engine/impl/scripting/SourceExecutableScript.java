@@ -29,6 +29,7 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * A script which is provided as source code.
@@ -81,7 +82,7 @@ public class SourceExecutableScript extends CompiledExecutableScript {
         synchronized (this) {
           if (getCompiledScript() == null && shouldBeCompiled) {
             // try to compile script
-            compiledScript = compile(engine, language, scriptSource);
+            compiledScript = getOrCompile(processEngineConfiguration, engine);
 
             // either the script was successfully compiled or it can't be
             // compiled but we won't try it again
@@ -97,6 +98,36 @@ public class SourceExecutableScript extends CompiledExecutableScript {
     }
   }
 
+  /**
+   * Compiles the script or, if compiled scripts are shared, reuses the compilation result of
+   * another script with identical source which has been compiled by the same engine.
+   */
+  protected CompiledScript getOrCompile(ProcessEngineConfigurationImpl processEngineConfiguration, ScriptEngine engine) {
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    if (compiledScriptCache == null) {
+      return compile(engine, language, scriptSource);
+    }
+
+    CompiledScript script = compiledScriptCache.get(engine, language, scriptSource);
+    if (script != null) {
+      markCompiledScriptCacheOccurrence(processEngineConfiguration, Metrics.SCRIPT_COMPILATION_CACHE_HIT);
+      return script;
+    }
+
+    markCompiledScriptCacheOccurrence(processEngineConfiguration, Metrics.SCRIPT_COMPILATION_CACHE_MISS);
+    script = compile(engine, language, scriptSource);
+    if (script != null) {
+      compiledScriptCache.put(engine, language, scriptSource, script);
+    }
+    return script;
+  }
+
+  protected void markCompiledScriptCacheOccurrence(ProcessEngineConfigurationImpl processEngineConfiguration, String metric) {
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
   public CompiledScript compile(ScriptEngine scriptEngine, String language, String src) {
     if(scriptEngine instanceof Compilable && !scriptEngine.getFactory().getLanguageName().equalsIgnoreCase("ecmascript")) {
       Compilable compilingEngine = (Compilable) scriptEngine;
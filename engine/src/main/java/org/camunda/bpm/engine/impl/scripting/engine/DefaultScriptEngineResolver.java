@@ -33,6 +33,9 @@ public class DefaultScriptEngineResolver implements ScriptEngineResolver {
 
   protected Map<String, ScriptEngine> cachedEngines = new HashMap<>();
 
+  /** pool for engines which are not cachable; <code>null</code> if pooling is disabled */
+  protected ScriptEnginePool scriptEnginePool;
+
   public DefaultScriptEngineResolver(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
   }
@@ -47,6 +50,8 @@ public class DefaultScriptEngineResolver implements ScriptEngineResolver {
 
   /**
    * Returns a cached script engine or creates a new script engine if no such engine is currently cached.
+   * If a {@link ScriptEnginePool} is set, engines which are not cachable are taken from the pool
+   * and must be {@link #releaseScriptEngine(String, ScriptEngine) released} after use.
    *
    * @param language the language (such as 'groovy' for the script engine)
    * @return the cached engine or null if no script engine can be created for the given language
@@ -58,11 +63,20 @@ public class DefaultScriptEngineResolver implements ScriptEngineResolver {
     if (resolveFromCache) {
       scriptEngine = cachedEngines.get(language);
 
+      if (scriptEngine == null && scriptEnginePool != null) {
+        scriptEngine = scriptEnginePool.borrow(language);
+      }
+
       if (scriptEngine == null) {
         scriptEngine = getScriptEngine(language);
 
-        if (scriptEngine != null && isCachable(scriptEngine)) {
-          cachedEngines.put(language, scriptEngine);
+        if (scriptEngine != null) {
+          if (isCachable(scriptEngine)) {
+            cachedEngines.put(language, scriptEngine);
+
+          } else if (scriptEnginePool != null) {
+            scriptEnginePool.register(language, scriptEngine);
+          }
         }
       }
 
@@ -73,6 +87,13 @@ public class DefaultScriptEngineResolver implements ScriptEngineResolver {
     return scriptEngine;
   }
 
+  @Override
+  public void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+    if (scriptEnginePool != null) {
+      scriptEnginePool.release(language, scriptEngine);
+    }
+  }
+
   protected ScriptEngine getScriptEngine(String language) {
     ScriptEngine scriptEngine = null;
     if (ScriptingEngines.JAVASCRIPT_SCRIPTING_LANGUAGE.equalsIgnoreCase(language) ||
@@ -157,4 +178,12 @@ public class DefaultScriptEngineResolver implements ScriptEngineResolver {
     }
   }
 
+  public ScriptEnginePool getScriptEnginePool() {
+    return scriptEnginePool;
+  }
+
+  public void setScriptEnginePool(ScriptEnginePool scriptEnginePool) {
+    this.scriptEnginePool = scriptEnginePool;
+  }
+
 }
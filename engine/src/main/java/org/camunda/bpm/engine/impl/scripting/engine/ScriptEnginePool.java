@@ -0,0 +1,92 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting.engine;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.script.ScriptEngine;
+
+/**
+ * <p>A bounded pool of {@link ScriptEngine script engines} which do not declare
+ * to be threadsafe and can therefore not be cached by the {@link DefaultScriptEngineResolver}.</p>
+ *
+ * <p>An engine is confined to the thread which {@link #borrow(String) borrowed} it until it is
+ * {@link #release(String, ScriptEngine) released} again. At most <code>maxIdleEnginesPerLanguage</code>
+ * engines are kept per language; engines released into a full pool are discarded.</p>
+ *
+ * <p>Only engines that have been {@link #register(String, ScriptEngine) registered} are
+ * accepted on release. They are referenced weakly, so an engine that is never released
+ * does not leak.</p>
+ */
+public class ScriptEnginePool {
+
+  protected final int maxIdleEnginesPerLanguage;
+
+  protected final Map<String, BlockingQueue<ScriptEngine>> idleEngines = new ConcurrentHashMap<>();
+  protected final Map<ScriptEngine, String> pooledEngines = Collections.synchronizedMap(new WeakHashMap<>());
+
+  public ScriptEnginePool(int maxIdleEnginesPerLanguage) {
+    this.maxIdleEnginesPerLanguage = maxIdleEnginesPerLanguage;
+  }
+
+  /**
+   * @return an idle engine for the given language or <code>null</code> if there is none
+   */
+  public ScriptEngine borrow(String language) {
+    BlockingQueue<ScriptEngine> engines = idleEngines.get(language);
+    return engines != null ? engines.poll() : null;
+  }
+
+  /**
+   * Registers a newly created engine, so it is accepted by the pool once it is released.
+   */
+  public void register(String language, ScriptEngine scriptEngine) {
+    pooledEngines.put(scriptEngine, language);
+  }
+
+  /**
+   * Returns a borrowed engine to the pool. Engines which have not been registered
+   * for the given language are ignored.
+   */
+  public void release(String language, ScriptEngine scriptEngine) {
+    if (scriptEngine == null || language == null || !language.equals(pooledEngines.get(scriptEngine))) {
+      return;
+    }
+
+    BlockingQueue<ScriptEngine> engines = idleEngines
+        .computeIfAbsent(language, l -> new ArrayBlockingQueue<>(maxIdleEnginesPerLanguage));
+
+    if (!engines.offer(scriptEngine)) {
+      pooledEngines.remove(scriptEngine);
+    }
+  }
+
+  public int getMaxIdleEnginesPerLanguage() {
+    return maxIdleEnginesPerLanguage;
+  }
+
+  public int getNumberOfIdleEngines(String language) {
+    BlockingQueue<ScriptEngine> engines = idleEngines.get(language);
+    return engines != null ? engines.size() : 0;
+  }
+
+}
@@ -33,4 +33,15 @@ public interface ScriptEngineResolver {
    * @return the cached engine or null if no script engine can be created for the given language
    */
   ScriptEngine getScriptEngine(String language, boolean resolveFromCache);
+
+  /**
+   * Hands a script engine back once the script using it has been executed. Resolvers
+   * pooling script engines which are not threadsafe can reuse the engine afterwards.
+   *
+   * @param language the language the engine has been resolved for
+   * @param scriptEngine the script engine
+   */
+  default void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+    // nothing to do by default
+  }
 }
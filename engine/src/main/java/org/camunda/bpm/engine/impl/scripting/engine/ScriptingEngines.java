@@ -42,6 +42,11 @@ import org.camunda.bpm.engine.impl.context.Context;
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
  * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
  *
+ * <p><strong>Pooling script engines:</strong>
+ * Script engines which are not threadsafe may be pooled by the {@link ScriptEngineResolver}
+ * (see {@link ScriptEnginePool}). An engine resolved by {@link #getScriptEngineForLanguage(String)}
+ * is handed back through {@link #releaseScriptEngine(String, ScriptEngine)} once the script has been executed.</p>
+ *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
  * </p>
@@ -145,6 +150,21 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     return scriptEngine;
   }
 
+  /**
+   * Releases a script engine obtained by {@link #getScriptEngineForLanguage(String)}
+   * after the script has been executed, so that a pooled engine can be reused.
+   *
+   * @param language the name of the script language the engine has been looked up for
+   * @param scriptEngine the script engine
+   */
+  public void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    scriptEngineResolver.releaseScriptEngine(language, scriptEngine);
+  }
+
   /** override to build a spring aware ScriptingEngines
    * @param engineBindin
    * @param scriptEngine */
@@ -260,4 +260,12 @@ public class EngineUtilLogger extends ProcessEngineLogger {
         "Exception while configuring XXE processing: {}", cause.getMessage()), cause);
   }
 
+  public void unableToCompileSchema(String schemaResource, Throwable cause) {
+    logDebug(
+        "048",
+        "Could not compile schema '{}' in advance, it is loaded by every parse instead: {}",
+        schemaResource,
+        cause.getMessage());
+  }
+
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>A bounded, engine-wide cache for values loaded from the database which must not
+ * be returned once the underlying data has changed. Least recently used entries are
+ * evicted first and entries optionally expire after a time to live.</p>
+ *
+ * <p>Keys may belong to a partition, e.g. the deployment of a cached entity. A change
+ * {@link #invalidate(Object) invalidates} the entries of a single partition or
+ * {@link #invalidateAll() all} entries. Every value carries the generation which was
+ * current before it was loaded, so a value loaded concurrently with an invalidation of
+ * its partition is never returned afterwards.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class GenerationalCache<K, V> {
+
+  /**
+   * Upper bound of partitions whose invalidation is remembered. Once it is exceeded,
+   * all values loaded before the latest invalidation are discarded.
+   */
+  public static final int MAX_INVALIDATED_PARTITIONS = 1000;
+
+  protected final Cache<K, CacheEntry<V>> entries;
+  protected final Function<K, Object> partitionOfKey;
+  protected final long timeToLive;
+
+  protected final AtomicLong generation = new AtomicLong();
+  protected final AtomicLong validSinceGeneration = new AtomicLong();
+  protected final Map<Object, Long> partitionsValidSinceGeneration = new ConcurrentHashMap<>();
+
+  /**
+   * @param capacity the maximum number of cached entries
+   * @param timeToLive the time in milliseconds after which an entry expires, entries
+   * never expire if it is not positive
+   * @param partitionOfKey returns the partition of a key or <code>null</code> if the
+   * key belongs to no partition; may be <code>null</code> if there are no partitions
+   */
+  public GenerationalCache(int capacity, long timeToLive, Function<K, Object> partitionOfKey) {
+    this.entries = new ConcurrentLruCache<>(capacity);
+    this.timeToLive = timeToLive;
+    this.partitionOfKey = partitionOfKey;
+  }
+
+  /**
+   * @return the current generation; must be obtained before loading a value
+   * that is then {@link #put(Object, Object, long) put} into the cache
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * @return the cached value or <code>null</code> if there is no valid entry for the key
+   */
+  public V get(K key) {
+    CacheEntry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    if (!isValid(key, entry.generation) || isExpired(entry)) {
+      entries.remove(key);
+      return null;
+    }
+
+    return entry.value;
+  }
+
+  /**
+   * Caches a value that was loaded in the given generation. The value is
+   * discarded if its partition has been invalidated in the meantime.
+   */
+  public void put(K key, V value, long generation) {
+    if (isValid(key, generation)) {
+      long expiresAt = timeToLive > 0 ? ClockUtil.getCurrentTime().getTime() + timeToLive : Long.MAX_VALUE;
+      entries.put(key, new CacheEntry<>(value, generation, expiresAt));
+    }
+  }
+
+  /**
+   * Discards the entries of the partition and all values of the partition
+   * which are currently loaded.
+   */
+  public void invalidate(Object partition) {
+    long invalidationGeneration = generation.incrementAndGet();
+    partitionsValidSinceGeneration.merge(partition, invalidationGeneration, Math::max);
+
+    if (partitionsValidSinceGeneration.size() > MAX_INVALIDATED_PARTITIONS) {
+      forgetInvalidatedPartitions();
+    }
+
+    List<K> keysToRemove = new ArrayList<>();
+    for (K key : entries.keySet()) {
+      if (Objects.equals(partition, getPartition(key))) {
+        keysToRemove.add(key);
+      }
+    }
+
+    for (K key : keysToRemove) {
+      entries.remove(key);
+    }
+  }
+
+  /**
+   * Discards all entries and all values which are currently loaded.
+   */
+  public void invalidateAll() {
+    validSinceGeneration.accumulateAndGet(generation.incrementAndGet(), Math::max);
+    entries.clear();
+  }
+
+  /**
+   * Invalidates the partition now and once more after the transaction of the
+   * current command has committed, so that no value read before the change
+   * survives it.
+   */
+  public void invalidateNowAndAfterCommit(final Object partition) {
+    invalidate(partition);
+
+    Context.getCommandContext()
+      .getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, commandContext -> invalidate(partition));
+  }
+
+  /**
+   * Invalidates all entries now and once more after the transaction of the
+   * current command has committed, so that no value read before the change
+   * survives it.
+   */
+  public void invalidateAllNowAndAfterCommit() {
+    invalidateAll();
+
+    Context.getCommandContext()
+      .getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, commandContext -> invalidateAll());
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  protected Object getPartition(K key) {
+    return partitionOfKey != null ? partitionOfKey.apply(key) : null;
+  }
+
+  protected boolean isValid(K key, long generation) {
+    if (generation < validSinceGeneration.get()) {
+      return false;
+    }
+
+    Object partition = getPartition(key);
+    if (partition == null) {
+      return true;
+    }
+
+    Long partitionValidSinceGeneration = partitionsValidSinceGeneration.get(partition);
+    return partitionValidSinceGeneration == null || generation >= partitionValidSinceGeneration;
+  }
+
+  protected boolean isExpired(CacheEntry<V> entry) {
+    return entry.expiresAt != Long.MAX_VALUE && entry.expiresAt < ClockUtil.getCurrentTime().getTime();
+  }
+
+  /**
+   * Replaces the remembered invalidations of single partitions by an invalidation
+   * of all values loaded before them. Cached entries of other partitions are kept,
+   * they are discarded when they are next read.
+   */
+  protected void forgetInvalidatedPartitions() {
+    long latestGeneration = generation.get();
+    validSinceGeneration.accumulateAndGet(latestGeneration, Math::max);
+    partitionsValidSinceGeneration.values().removeIf(invalidationGeneration -> invalidationGeneration <= latestGeneration);
+  }
+
+  protected static class CacheEntry<V> {
+
+    protected final V value;
+    protected final long generation;
+    protected final long expiresAt;
+
+    public CacheEntry(V value, long generation, long expiresAt) {
+      this.value = value;
+      this.generation = generation;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+}
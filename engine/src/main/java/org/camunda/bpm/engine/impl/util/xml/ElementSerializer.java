@@ -0,0 +1,171 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * Writes a parsed element tree into a compact binary format and restores it, so that
+ * a document does not need to be parsed and validated again.
+ *
+ * The format starts with a format version and a fingerprint which the writer chooses
+ * to describe everything the tree depends on besides the document, e.g. the engine
+ * version and the parser settings. A tree is only restored if both match. Strings are
+ * written once and referenced by their index afterwards.
+ */
+public class ElementSerializer {
+
+  protected static final int MAGIC = 0x43455453;
+  protected static final int FORMAT_VERSION = 1;
+
+  protected static final int NULL_STRING = -1;
+  protected static final int NEW_STRING = -2;
+
+  protected ElementSerializer() {
+  }
+
+  public static byte[] serialize(Element rootElement, String fingerprint) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeUTF(fingerprint);
+      writeElement(out, rootElement, new HashMap<>());
+    }
+    catch (IOException e) {
+      throw new ProcessEngineException("Cannot serialize element tree", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @return the restored root element or <code>null</code> if the bytes were not written
+   *   in the current format or with the given fingerprint
+   * @throws IOException if the bytes are truncated or corrupted
+   */
+  public static Element deserialize(byte[] bytes, String fingerprint) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    if (bytes.length < 8 || in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+      return null;
+    }
+    if (!fingerprint.equals(in.readUTF())) {
+      return null;
+    }
+    return readElement(in, new ArrayList<>());
+  }
+
+  protected static void writeElement(DataOutputStream out, Element element, Map<String, Integer> strings) throws IOException {
+    writeString(out, element.uri, strings);
+    writeString(out, element.tagName, strings);
+    out.writeInt(element.line);
+    out.writeInt(element.column);
+
+    out.writeInt(element.attributeMap.size());
+    for (Attribute attribute : element.attributeMap.values()) {
+      writeString(out, attribute.getUri(), strings);
+      writeString(out, attribute.getName(), strings);
+      writeString(out, attribute.getValue(), strings);
+    }
+
+    writeString(out, element.text.toString(), strings);
+
+    out.writeInt(element.elements.size());
+    for (Element child : element.elements) {
+      writeElement(out, child, strings);
+    }
+  }
+
+  protected static Element readElement(DataInputStream in, List<String> strings) throws IOException {
+    String uri = readString(in, strings);
+    String tagName = readString(in, strings);
+    int line = in.readInt();
+    int column = in.readInt();
+    Element element = new Element(uri, tagName, line, column);
+
+    int attributes = in.readInt();
+    for (int i = 0; i < attributes; i++) {
+      String attributeUri = readString(in, strings);
+      String name = readString(in, strings);
+      String value = readString(in, strings);
+      element.attributeMap.put(element.composeMapKey(attributeUri, name), new Attribute(name, value, attributeUri));
+    }
+
+    element.appendText(readString(in, strings));
+
+    int children = in.readInt();
+    for (int i = 0; i < children; i++) {
+      element.add(readElement(in, strings));
+    }
+
+    return element;
+  }
+
+  protected static void writeString(DataOutputStream out, String string, Map<String, Integer> strings) throws IOException {
+    if (string == null) {
+      out.writeInt(NULL_STRING);
+      return;
+    }
+
+    Integer index = strings.get(string);
+    if (index != null) {
+      out.writeInt(index);
+      return;
+    }
+
+    strings.put(string, strings.size());
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(NEW_STRING);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  protected static String readString(DataInputStream in, List<String> strings) throws IOException {
+    int index = in.readInt();
+    if (index == NULL_STRING) {
+      return null;
+    }
+
+    if (index == NEW_STRING) {
+      int length = in.readInt();
+      if (length < 0 || length > in.available()) {
+        throw new IOException("Invalid string length " + length);
+      }
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      String string = new String(bytes, StandardCharsets.UTF_8);
+      strings.add(string);
+      return string;
+    }
+
+    if (index < 0 || index >= strings.size()) {
+      throw new IOException("Invalid string reference " + index);
+    }
+    return strings.get(index);
+  }
+
+}
@@ -24,6 +24,7 @@ import java.util.List;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
 
 import org.camunda.bpm.engine.BpmnParseException;
 import org.camunda.bpm.engine.Problem;
@@ -116,6 +117,18 @@ public abstract class Parse extends DefaultHandler {
     return this;
   }
 
+  /**
+   * Uses an element tree which was parsed before, e.g. restored by the {@link ElementSerializer},
+   * instead of parsing a document. The tree is neither parsed nor validated again.
+   */
+  public Parse sourceElement(Element rootElement) {
+    if (name==null) {
+      name("element");
+    }
+    this.rootElement = rootElement;
+    return this;
+  }
+
   protected void setStreamSource(StreamSource streamSource) {
     if (this.streamSource!=null) {
       throw LOG.multipleSourcesException(this.streamSource, streamSource);
@@ -131,17 +144,29 @@ public abstract class Parse extends DefaultHandler {
   }
 
   public Parse execute() {
+    if (rootElement != null) {
+      // the element tree has been restored
+      return this;
+    }
+
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      SAXParser saxParser = parser.getSaxParser();
+      String accessExternalSchema = resolveAccessExternalSchemaProperty();
+      Schema schema = null;
+      if (schemaResource != null) {
+        schema = parser.getSchema(schemaResource, accessExternalSchema);
+      }
+
+      SAXParser saxParser = parser.getSaxParser(schema);
       try {
-        saxParser.setProperty(JAXP_ACCESS_EXTERNAL_SCHEMA, resolveAccessExternalSchemaProperty());
+        saxParser.setProperty(JAXP_ACCESS_EXTERNAL_SCHEMA, accessExternalSchema);
       } catch (Exception e) {
         // ignore unavailable option
         LOG.logAccessExternalSchemaNotSupported(e);
       }
-      if (schemaResource != null) {
+      if (schemaResource != null && schema == null) {
+        // the schema could not be compiled in advance, the parser loads it
         saxParser.setProperty(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
         saxParser.setProperty(JAXP_SCHEMA_SOURCE, schemaResource);
       }
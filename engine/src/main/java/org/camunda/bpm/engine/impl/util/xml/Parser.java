@@ -21,9 +21,15 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
 
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 
 
 /**
@@ -41,6 +47,8 @@ public abstract class Parser {
 
   protected static ThreadLocal<SAXParserFactory> SAX_PARSER_FACTORY_INSTANCE = ThreadLocal.withInitial(SAXParserFactory::newInstance);
 
+  protected static final Map<String, Schema> COMPILED_SCHEMAS = new ConcurrentHashMap<>();
+
   public abstract Parse createParse();
 
   protected SAXParser getSaxParser() throws Exception {
@@ -49,6 +57,50 @@ public abstract class Parser {
     return saxParserFactory.newSAXParser();
   }
 
+  /**
+   * @param schema the compiled schema to validate against or null if the document is
+   *        not validated or the schema is set on the parser
+   */
+  protected SAXParser getSaxParser(Schema schema) throws Exception {
+    SAXParserFactory saxParserFactory = getSaxParserFactoryLazily();
+    saxParserFactory.setSchema(schema);
+    if (schema != null) {
+      // validating refers to DTD validation when a schema is set
+      saxParserFactory.setValidating(false);
+    }
+    return getSaxParser();
+  }
+
+  /**
+   * Returns the compiled schema for the given schema resource. Compiling a schema
+   * takes considerably longer than parsing a typical document, so compiled schemas
+   * are shared by all parses. A {@link Schema} is immutable and thread-safe.
+   *
+   * @return the compiled schema or null if it cannot be compiled
+   */
+  protected Schema getSchema(String schemaResource, String accessExternalSchema) {
+    String cacheKey = accessExternalSchema + "|" + schemaResource;
+    Schema schema = COMPILED_SCHEMAS.get(cacheKey);
+
+    if (schema == null) {
+      try {
+        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        try {
+          schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, accessExternalSchema);
+        } catch (Exception e) {
+          LOG.logAccessExternalSchemaNotSupported(e);
+        }
+        schema = schemaFactory.newSchema(new URL(schemaResource));
+        COMPILED_SCHEMAS.put(cacheKey, schema);
+
+      } catch (Exception e) {
+        LOG.unableToCompileSchema(schemaResource, e);
+      }
+    }
+
+    return schema;
+  }
+
   protected SAXParserFactory getSaxParserFactoryLazily() {
     return Parser.SAX_PARSER_FACTORY_INSTANCE.get();
   }
@@ -62,4 +62,9 @@ public class BooleanValueSerializer extends PrimitiveValueSerializer<BooleanValu
     valueFields.setLongValue(longValue);
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
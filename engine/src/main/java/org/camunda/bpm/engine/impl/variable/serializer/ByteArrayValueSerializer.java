@@ -58,4 +58,9 @@ public class ByteArrayValueSerializer extends PrimitiveValueSerializer<BytesValu
     return super.canWriteValue(typedValue) || typedValue.getValue() instanceof InputStream;
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
@@ -58,4 +58,9 @@ public class DateValueSerializer extends PrimitiveValueSerializer<DateValue> {
     }
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
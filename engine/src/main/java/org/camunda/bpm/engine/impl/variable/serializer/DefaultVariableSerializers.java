@@ -18,16 +18,31 @@ package org.camunda.bpm.engine.impl.variable.serializer;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.engine.variable.value.FileValue;
+import org.camunda.bpm.engine.variable.value.SerializableValue;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
 /**
+ * <p>The serializer that is resolved for a value is cached by the value type, the
+ * Java class of the value and its serialization data format. A lookup is only cached
+ * if all serializers it asks declare that {@link TypedValueSerializer#canHandle(TypedValue)}
+ * gives the same answer for all values which share these properties, see
+ * {@link TypedValueSerializer#isCanHandleCacheable()}. The cache is cleared whenever
+ * the list of serializers changes.</p>
+ *
  * @author Tom Baeyens
  * @author Daniel Meyer
  */
@@ -35,9 +50,22 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * Upper bound of cached lookups, the cache is cleared once it is exceeded
+   * so that classes of undeployed process applications are not retained forever.
+   */
+  public static final int MAX_CACHED_LOOKUPS = 1024;
+
   protected List<TypedValueSerializer<?>> serializerList = new ArrayList<TypedValueSerializer<?>>();
   protected Map<String, TypedValueSerializer<?>> serializerMap = new HashMap<String, TypedValueSerializer<?>>();
 
+  protected transient Map<SerializerLookupKey, TypedValueSerializer<?>> serializerLookupCache;
+
+  /**
+   * Value types of the serializers which do not allow to cache their lookup.
+   */
+  protected transient Set<ValueType> uncacheableValueTypes;
+
   public DefaultVariableSerializers() {
   }
 
@@ -52,15 +80,55 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
 
   public TypedValueSerializer<?> findSerializerForValue(TypedValue value, VariableSerializerFactory fallBackSerializerFactory) {
 
-    String defaultSerializationFormat = Context.getProcessEngineConfiguration().getDefaultSerializationFormat();
-
-    List<TypedValueSerializer<?>> matchedSerializers = new ArrayList<TypedValueSerializer<?>>();
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    String defaultSerializationFormat = processEngineConfiguration != null ? processEngineConfiguration.getDefaultSerializationFormat() : null;
 
     ValueType type = value.getType();
     if (type != null && type.isAbstract()) {
       throw new ProcessEngineException("Cannot serialize value of abstract type " + type.getName());
     }
 
+    Map<SerializerLookupKey, TypedValueSerializer<?>> lookupCache = null;
+    SerializerLookupKey lookupKey = null;
+    if (isLookupCacheable(type)) {
+      lookupCache = getSerializerLookupCache();
+      lookupKey = new SerializerLookupKey(value, defaultSerializationFormat);
+      TypedValueSerializer<?> cachedSerializer = lookupCache.get(lookupKey);
+      if (cachedSerializer != null) {
+        return cachedSerializer;
+      }
+    }
+
+    TypedValueSerializer<?> serializer = matchSerializer(value, defaultSerializationFormat);
+    if (serializer != null) {
+      if (lookupCache != null) {
+        if (lookupCache.size() >= MAX_CACHED_LOOKUPS) {
+          lookupCache.clear();
+        }
+        lookupCache.put(lookupKey, serializer);
+      }
+      return serializer;
+    }
+
+    if (fallBackSerializerFactory != null) {
+      serializer = fallBackSerializerFactory.getSerializer(value);
+      if (serializer != null) {
+        return serializer;
+      }
+    }
+
+    throw new ProcessEngineException("Cannot find serializer for value '"+value+"'.");
+  }
+
+  /**
+   * @return the registered serializer that handles the value or null if there is none
+   */
+  protected TypedValueSerializer<?> matchSerializer(TypedValue value, String defaultSerializationFormat) {
+
+    List<TypedValueSerializer<?>> matchedSerializers = new ArrayList<TypedValueSerializer<?>>();
+
+    ValueType type = value.getType();
+
     for (TypedValueSerializer<?> serializer : serializerList) {
       if(type == null || serializer.getType().equals(type)) {
 
@@ -78,14 +146,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
     }
 
     if(matchedSerializers.size() == 0) {
-      if (fallBackSerializerFactory != null) {
-        TypedValueSerializer<?> serializer = fallBackSerializerFactory.getSerializer(value);
-        if (serializer != null) {
-          return serializer;
-        }
-      }
-
-      throw new ProcessEngineException("Cannot find serializer for value '"+value+"'.");
+      return null;
     }
     else if(matchedSerializers.size() == 1) {
       return matchedSerializers.get(0);
@@ -116,6 +177,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
   public DefaultVariableSerializers addSerializer(TypedValueSerializer<?> serializer, int index) {
     serializerList.add(index, serializer);
     serializerMap.put(serializer.getName(), serializer);
+    clearSerializerLookupCache();
     return this;
   }
 
@@ -126,6 +188,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
     for (TypedValueSerializer<?> serializer : serializerList) {
       serializerMap.put(serializer.getName(), serializer);
     }
+    clearSerializerLookupCache();
   }
 
   public int getSerializerIndex(TypedValueSerializer<?> serializer) {
@@ -144,6 +207,7 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
   public VariableSerializers removeSerializer(TypedValueSerializer<?> serializer) {
     serializerList.remove(serializer);
     serializerMap.remove(serializer.getName());
+    clearSerializerLookupCache();
     return this;
   }
 
@@ -176,4 +240,107 @@ public class DefaultVariableSerializers implements Serializable, VariableSeriali
     return new ArrayList<TypedValueSerializer<?>>(serializerList);
   }
 
+  protected Map<SerializerLookupKey, TypedValueSerializer<?>> getSerializerLookupCache() {
+    // the cache is not serialized and lazily recreated
+    Map<SerializerLookupKey, TypedValueSerializer<?>> lookupCache = serializerLookupCache;
+    if (lookupCache == null) {
+      lookupCache = new ConcurrentHashMap<SerializerLookupKey, TypedValueSerializer<?>>();
+      serializerLookupCache = lookupCache;
+    }
+    return lookupCache;
+  }
+
+  /**
+   * @return true if all serializers which {@link #matchSerializer(TypedValue, String)} asks
+   * for a value of the given type allow to cache the lookup
+   */
+  protected boolean isLookupCacheable(ValueType type) {
+    Set<ValueType> uncacheableTypes = uncacheableValueTypes;
+    if (uncacheableTypes == null) {
+      Set<ValueType> types = new HashSet<ValueType>();
+      for (TypedValueSerializer<?> serializer : serializerList) {
+        if (!serializer.isCanHandleCacheable()) {
+          types.add(serializer.getType());
+        }
+      }
+      uncacheableTypes = Collections.unmodifiableSet(types);
+      uncacheableValueTypes = uncacheableTypes;
+    }
+
+    if (type == null) {
+      // untyped values are offered to all serializers
+      return uncacheableTypes.isEmpty();
+    }
+    else {
+      return !uncacheableTypes.contains(type);
+    }
+  }
+
+  protected void clearSerializerLookupCache() {
+    uncacheableValueTypes = null;
+    if (serializerLookupCache != null) {
+      serializerLookupCache.clear();
+    }
+  }
+
+  /**
+   * Properties of a value that decide which serializer is responsible for it.
+   */
+  protected static class SerializerLookupKey {
+
+    protected final Class<?> typedValueClass;
+    protected final ValueType type;
+    protected final Class<?> valueClass;
+    protected final boolean deserialized;
+    protected final String serializationDataFormat;
+    protected final String defaultSerializationFormat;
+
+    public SerializerLookupKey(TypedValue value, String defaultSerializationFormat) {
+      this.typedValueClass = value.getClass();
+      this.type = value.getType();
+      this.defaultSerializationFormat = defaultSerializationFormat;
+
+      if (value instanceof SerializableValue) {
+        SerializableValue serializableValue = (SerializableValue) value;
+        this.deserialized = serializableValue.isDeserialized();
+        this.serializationDataFormat = serializableValue.getSerializationDataFormat();
+      }
+      else {
+        this.deserialized = true;
+        this.serializationDataFormat = null;
+      }
+
+      if (!deserialized || value instanceof FileValue) {
+        // the value is not accessible or not relevant for the lookup
+        this.valueClass = null;
+      }
+      else {
+        Object rawValue = value.getValue();
+        this.valueClass = rawValue != null ? rawValue.getClass() : null;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(typedValueClass, type, valueClass, deserialized, serializationDataFormat, defaultSerializationFormat);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof SerializerLookupKey)) {
+        return false;
+      }
+      SerializerLookupKey other = (SerializerLookupKey) obj;
+      return typedValueClass == other.typedValueClass
+          && valueClass == other.valueClass
+          && deserialized == other.deserialized
+          && Objects.equals(type, other.type)
+          && Objects.equals(serializationDataFormat, other.serializationDataFormat)
+          && Objects.equals(defaultSerializationFormat, other.defaultSerializationFormat);
+    }
+  }
+
 }
@@ -43,4 +43,9 @@ public class DoubleValueSerializer extends PrimitiveValueSerializer<DoubleValue>
     return Variables.doubleValue(valueFields.getDoubleValue(), asTransientValue);
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
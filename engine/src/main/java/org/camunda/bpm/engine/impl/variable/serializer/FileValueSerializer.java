@@ -115,4 +115,9 @@ public class FileValueSerializer extends AbstractTypedValueSerializer<FileValue>
     return value.getType().getName().equals(getName());
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
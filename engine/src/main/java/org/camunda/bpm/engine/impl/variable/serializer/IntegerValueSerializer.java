@@ -58,4 +58,9 @@ public class IntegerValueSerializer extends PrimitiveValueSerializer<IntegerValu
     return Variables.integerValue(intValue, asTransientValue);
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
@@ -86,6 +86,11 @@ public class JavaObjectSerializer extends AbstractObjectValueSerializer {
     return value instanceof Serializable;
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
   protected static class ClassloaderAwareObjectInputStream extends ObjectInputStream {
 
     public ClassloaderAwareObjectInputStream(InputStream in) throws IOException {
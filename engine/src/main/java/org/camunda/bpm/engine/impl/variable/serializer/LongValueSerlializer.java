@@ -53,4 +53,9 @@ public class LongValueSerlializer extends PrimitiveValueSerializer<LongValue> {
     }
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
@@ -53,4 +53,9 @@ public class NullValueSerializer extends AbstractTypedValueSerializer<NullValueI
     return value.getValue() == null;
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
@@ -59,4 +59,9 @@ public class ShortValueSerializer extends PrimitiveValueSerializer<ShortValue> {
     }
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
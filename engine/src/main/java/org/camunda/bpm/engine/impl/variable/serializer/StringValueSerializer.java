@@ -54,4 +54,9 @@ public class StringValueSerializer extends PrimitiveValueSerializer<StringValue>
     }
   }
 
+  @Override
+  public boolean isCanHandleCacheable() {
+    return true;
+  }
+
 }
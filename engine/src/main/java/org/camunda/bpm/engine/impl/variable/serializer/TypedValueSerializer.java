@@ -73,6 +73,18 @@ public interface TypedValueSerializer<T extends TypedValue> {
    */
   boolean canHandle(TypedValue value);
 
+  /**
+   * Indicates whether {@link #canHandle(TypedValue)} gives the same answer for all values which
+   * share the value type, the Java class and the serialization data format. Only then the
+   * serializer lookup of {@link DefaultVariableSerializers} may cache its result. Serializers
+   * which decide per value must return false.
+   *
+   * @return true if the result of {@link #canHandle(TypedValue)} may be cached, false by default
+   */
+  default boolean isCanHandleCacheable() {
+    return false;
+  }
+
   /**
    * Returns a typed value for the provided untyped value. This is used on cases where the user sets an untyped
    * value which is then detected to be handled by this {@link TypedValueSerializer} (by invocation of {@link #canHandle(TypedValue)}).
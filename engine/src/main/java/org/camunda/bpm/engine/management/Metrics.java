@@ -78,6 +78,50 @@ public class Metrics {
   public static final String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
   public static final String HISTORY_CLEANUP_REMOVED_TASK_METRICS = "history-cleanup-removed-task-metrics";
 
+  /**
+   * Number of authorization lookups answered by the authorization cache and
+   * number of lookups that had to query the database.
+   */
+  public static final String AUTHORIZATION_CACHE_HIT = "authorization-cache-hit";
+  public static final String AUTHORIZATION_CACHE_MISS = "authorization-cache-miss";
+
+  /**
+   * Number of lookups of parsed expressions which were answered by the concurrent
+   * expression cache (<code>jakarta.el.cacheType=concurrent</code>), number of lookups
+   * which had to parse the expression and number of parsed expressions which were
+   * evicted to keep the cache within its size.
+   */
+  public static final String EXPRESSION_CACHE_HIT = "expression-cache-hit";
+  public static final String EXPRESSION_CACHE_MISS = "expression-cache-miss";
+  public static final String EXPRESSION_CACHE_EVICTION = "expression-cache-eviction";
+
+  /**
+   * Number of deployment resources and form definitions served by the shared entity
+   * cache and number of them that had to be selected from the database.
+   */
+  public static final String SHARED_ENTITY_CACHE_HIT = "shared-entity-cache-hit";
+  public static final String SHARED_ENTITY_CACHE_MISS = "shared-entity-cache-miss";
+
+  /**
+   * Number of resources parsed by the deployment cache warm up on engine start
+   * and the time in milliseconds it took.
+   */
+  public static final String DEPLOYMENT_CACHE_WARMUP_RESOURCES = "deployment-cache-warmup-resources";
+  public static final String DEPLOYMENT_CACHE_WARMUP_TIME = "deployment-cache-warmup-time";
+
+  /**
+   * Number of executed scripts and the time in milliseconds their evaluation took.
+   */
+  public static final String SCRIPT_EXECUTIONS = "script-executions";
+  public static final String SCRIPT_EXECUTION_TIME = "script-execution-time";
+
+  /**
+   * Number of script compilations served by the shared compiled script cache
+   * and number of scripts that had to be compiled.
+   */
+  public static final String SCRIPT_COMPILATION_CACHE_HIT = "script-compilation-cache-hit";
+  public static final String SCRIPT_COMPILATION_CACHE_MISS = "script-compilation-cache-miss";
+
   /**
    * Number of unique task workers
    */
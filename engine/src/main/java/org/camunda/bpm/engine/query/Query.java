@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -83,4 +84,33 @@ public interface Query<T extends Query< ? , ? >, U extends Object> {
    */
   List<U> listPage(int firstResult, int maxResults);
 
+  /**
+   * Executes the query and returns the results as a stream which fetches them lazily in
+   * batches of a default size. See {@link #stream(int)}.
+   *
+   * @return a sequential stream of results
+   */
+  Stream<U> stream();
+
+  /**
+   * <p>Executes the query and returns the results as a stream which fetches them lazily in
+   * batches of the given size. Every batch is selected separately and released once it has
+   * been consumed, so the results of large queries are never held in memory at once.</p>
+   *
+   * <p>Queries which support it select subsequent batches by the id of the last result
+   * (keyset pagination) as long as they are not ordered or only ordered ascending by id.
+   * All other queries select subsequent batches like {@link #listPage(int, int)}.</p>
+   *
+   * <p>Since the batches are selected independently, results which are created or deleted
+   * while the stream is consumed may or may not be contained in it.</p>
+   *
+   * @param batchSize the number of results to select at once
+   * @return a sequential stream of results
+   * @throws BadUserRequestException
+   *   When {@param batchSize} exceeds the maximum results limit. A maximum results limit can
+   *   be specified with the process engine configuration property <code>queryMaxResultsLimit</code>
+   *   (default {@link Integer#MAX_VALUE}).
+   */
+  Stream<U> stream(int batchSize);
+
 }
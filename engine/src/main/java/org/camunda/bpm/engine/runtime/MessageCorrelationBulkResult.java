@@ -0,0 +1,47 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+
+/**
+ * <p>The outcome of a single message of a bulk correlation
+ * (see {@link RuntimeService#correlateMessages(List)}). Either the message
+ * was correlated and {@link #getCorrelationResult()} is available or it failed
+ * and {@link #getException()} provides the cause.</p>
+ */
+public interface MessageCorrelationBulkResult {
+
+  /**
+   * @return true if the message was correlated successfully
+   */
+  boolean isCorrelated();
+
+  /**
+   * @return the result of the correlation or <code>null</code> if the message
+   * could not be correlated
+   */
+  MessageCorrelationResult getCorrelationResult();
+
+  /**
+   * @return the exception that prevented the correlation of the message or
+   * <code>null</code> if the message was correlated
+   */
+  RuntimeException getException();
+}
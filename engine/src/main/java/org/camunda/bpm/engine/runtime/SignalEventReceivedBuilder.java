@@ -19,9 +19,12 @@ package org.camunda.bpm.engine.runtime;
 import java.util.Map;
 
 import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.authorization.BatchPermissions;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.batch.Batch;
 
 /**
  * Fluent builder to notify the process engine that a signal event has been
@@ -96,4 +99,36 @@ public interface SignalEventReceivedBuilder {
    */
   void send();
 
+  /**
+   * <p>
+   * Delivers the signal asynchronously in a batch. The seed job of the batch reads
+   * the subscriptions to the signal page by page and creates batch jobs which
+   * each notify a chunk of the waiting executions and start the process definitions
+   * with a matching signal start event. Only subscriptions that exist when the batch
+   * is created receive the signal. Use this instead of {@link #send()} if the signal
+   * may reach a large number of executions.
+   * </p>
+   *
+   * <p>
+   * Note that the signal delivers to all tenants if no tenant is specified
+   * using {@link #tenantId(String)} or {@link #withoutTenantId()}, unless the
+   * tenant check restricts the current user to its tenants.
+   * </p>
+   *
+   * <p>
+   * The seed job checks the permissions of {@link #send()} for each page of
+   * subscriptions on behalf of the user who created the batch and fails if one
+   * of them is missing.
+   * </p>
+   *
+   * @return the batch which delivers the signal
+   *
+   * @throws BadUserRequestException
+   *           if a single execution is specified using {@link #executionId(String)}
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE} or
+   *           {@link BatchPermissions#CREATE_BATCH_SEND_SIGNAL} permission on {@link Resources#BATCH}.
+   */
+  Batch sendAsync();
+
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GenerationalCacheTest {
+
+  protected GenerationalCache<String, String> cache;
+
+  @Before
+  public void setUp() {
+    // the partition of a key is the part before the colon
+    cache = new GenerationalCache<>(10, 0, key -> key.substring(0, key.indexOf(':')));
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldInvalidatePartition() {
+    // given
+    cache.put("a:1", "value", cache.getGeneration());
+    cache.put("b:1", "value", cache.getGeneration());
+
+    // when
+    cache.invalidate("a");
+
+    // then
+    assertThat(cache.get("a:1")).isNull();
+    assertThat(cache.get("b:1")).isEqualTo("value");
+  }
+
+  @Test
+  public void shouldDiscardValueOfPartitionInvalidatedWhileLoading() {
+    // given
+    long generation = cache.getGeneration();
+
+    // when
+    cache.invalidate("a");
+    cache.put("a:1", "value", generation);
+    cache.put("b:1", "value", generation);
+
+    // then
+    assertThat(cache.get("a:1")).isNull();
+    assertThat(cache.get("b:1")).isEqualTo("value");
+  }
+
+  @Test
+  public void shouldDiscardAllValuesLoadedBeforeInvalidation() {
+    // given
+    long generation = cache.getGeneration();
+    cache.put("a:1", "value", generation);
+
+    // when
+    cache.invalidateAll();
+    cache.put("b:1", "value", generation);
+
+    // then
+    assertThat(cache.get("a:1")).isNull();
+    assertThat(cache.get("b:1")).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void shouldDiscardValuesLoadedBeforeForgottenInvalidations() {
+    // given
+    long generation = cache.getGeneration();
+
+    // when
+    for (int i = 0; i <= GenerationalCache.MAX_INVALIDATED_PARTITIONS; i++) {
+      cache.invalidate("partition" + i);
+    }
+    cache.put("partition0:1", "value", generation);
+
+    // then
+    assertThat(cache.get("partition0:1")).isNull();
+    assertThat(cache.partitionsValidSinceGeneration).hasSizeLessThanOrEqualTo(GenerationalCache.MAX_INVALIDATED_PARTITIONS);
+  }
+
+  @Test
+  public void shouldExpireEntries() {
+    // given
+    GenerationalCache<String, String> expiringCache = new GenerationalCache<>(10, 1000L, null);
+    ClockUtil.setCurrentTime(new Date(0L));
+    expiringCache.put("key", "value", expiringCache.getGeneration());
+
+    // when
+    ClockUtil.setCurrentTime(new Date(1001L));
+
+    // then
+    assertThat(expiringCache.get("key")).isNull();
+  }
+
+}
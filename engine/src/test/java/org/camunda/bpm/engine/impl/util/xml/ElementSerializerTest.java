@@ -0,0 +1,130 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ElementSerializerTest {
+
+  protected static final String BPMN_SCHEMA = ReflectUtil.getResourceUrlAsString(BpmnParser.BPMN_20_SCHEMA_LOCATION);
+
+  protected static final String PROCESS =
+      "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"\n"
+    + "    xmlns:camunda=\"http://camunda.org/schema/1.0/bpmn\" targetNamespace=\"test\">\n"
+    + "  <process id=\"process\" isExecutable=\"true\">\n"
+    + "    <startEvent id=\"start\" camunda:initiator=\"initiator\" />\n"
+    + "    <sequenceFlow id=\"flow\" sourceRef=\"start\" targetRef=\"end\">\n"
+    + "      <conditionExpression>${amount &gt; 100 &amp;&amp; approved}</conditionExpression>\n"
+    + "    </sequenceFlow>\n"
+    + "    <endEvent id=\"end\" name=\"Ende überall\" />\n"
+    + "  </process>\n"
+    + "</definitions>";
+
+  protected Parser parser = new Parser() {
+    public Parse createParse() {
+      return new Parse(this) {
+      };
+    }
+  };
+
+  protected Element rootElement;
+
+  @Before
+  public void parseProcess() {
+    Parse parse = parser.createParse().sourceString(PROCESS);
+    parse.setSchemaResource(BPMN_SCHEMA);
+    rootElement = parse.execute().getRootElement();
+  }
+
+  @Test
+  public void shouldRestoreElementTree() throws IOException {
+    // given
+    byte[] bytes = ElementSerializer.serialize(rootElement, "fingerprint");
+
+    // when
+    Element restoredElement = ElementSerializer.deserialize(bytes, "fingerprint");
+
+    // then
+    assertSameTree(restoredElement, rootElement);
+
+    Element process = restoredElement.element("process");
+    assertThat(process.element("startEvent").attributeNS(new Namespace(BpmnParser.CAMUNDA_BPMN_EXTENSIONS_NS), "initiator"))
+      .isEqualTo("initiator");
+    assertThat(process.element("sequenceFlow").element("conditionExpression").getText())
+      .isEqualTo("${amount > 100 && approved}");
+    assertThat(process.element("endEvent").attribute("name")).isEqualTo("Ende überall");
+    // defaults of the schema are kept
+    assertThat(process.element("startEvent").attribute("isInterrupting")).isEqualTo("true");
+  }
+
+  @Test
+  public void shouldNotRestoreElementTreeWithOtherFingerprint() throws IOException {
+    // given
+    byte[] bytes = ElementSerializer.serialize(rootElement, "fingerprint");
+
+    // when
+    Element restoredElement = ElementSerializer.deserialize(bytes, "other fingerprint");
+
+    // then
+    assertThat(restoredElement).isNull();
+  }
+
+  @Test
+  public void shouldNotRestoreOtherFormat() throws IOException {
+    assertThat(ElementSerializer.deserialize(PROCESS.getBytes(), "fingerprint")).isNull();
+    assertThat(ElementSerializer.deserialize(new byte[0], "fingerprint")).isNull();
+  }
+
+  @Test
+  public void shouldFailOnTruncatedSnapshot() {
+    // given
+    byte[] bytes = ElementSerializer.serialize(rootElement, "fingerprint");
+    byte[] truncatedBytes = Arrays.copyOf(bytes, bytes.length / 2);
+
+    // then
+    assertThatThrownBy(() -> ElementSerializer.deserialize(truncatedBytes, "fingerprint"))
+      .isInstanceOf(IOException.class);
+  }
+
+  protected void assertSameTree(Element actual, Element expected) {
+    assertThat(actual.getUri()).isEqualTo(expected.getUri());
+    assertThat(actual.getTagName()).isEqualTo(expected.getTagName());
+    assertThat(actual.getLine()).isEqualTo(expected.getLine());
+    assertThat(actual.getColumn()).isEqualTo(expected.getColumn());
+    assertThat(actual.getText()).isEqualTo(expected.getText());
+
+    assertThat(actual.attributes()).containsExactlyInAnyOrderElementsOf(expected.attributes());
+    for (String attribute : expected.attributes()) {
+      assertThat(actual.attribute(attribute)).isEqualTo(expected.attribute(attribute));
+    }
+
+    assertThat(actual.elements()).hasSameSizeAs(expected.elements());
+    for (int i = 0; i < expected.elements().size(); i++) {
+      assertSameTree(actual.elements().get(i), expected.elements().get(i));
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.xml.validation.Schema;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.junit.Test;
+
+public class ParserTest {
+
+  protected static final String BPMN_SCHEMA = ReflectUtil.getResourceUrlAsString(BpmnParser.BPMN_20_SCHEMA_LOCATION);
+
+  protected static final String PROCESS =
+      "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"test\">"
+    + "  <process id=\"process\" isExecutable=\"true\">"
+    + "    <startEvent id=\"start\" %s />"
+    + "    <subProcess id=\"eventSubProcess\" triggeredByEvent=\"true\">"
+    + "      <startEvent id=\"eventSubProcessStart\">"
+    + "        <messageEventDefinition />"
+    + "      </startEvent>"
+    + "    </subProcess>"
+    + "  </process>"
+    + "</definitions>";
+
+  protected Parser parser = new Parser() {
+    public Parse createParse() {
+      return new Parse(this) {
+      };
+    }
+  };
+
+  @Test
+  public void shouldCompileSchemaOnce() {
+    // when
+    Schema schema = parser.getSchema(BPMN_SCHEMA, "all");
+
+    // then
+    assertThat(schema).isNotNull();
+    assertThat(parser.getSchema(BPMN_SCHEMA, "all")).isSameAs(schema);
+  }
+
+  @Test
+  public void shouldNotCompileMissingSchema() {
+    assertThat(parser.getSchema("file:/not/existing.xsd", "all")).isNull();
+  }
+
+  @Test
+  public void shouldApplySchemaDefaults() {
+    // given
+    Parse parse = parser.createParse().sourceString(String.format(PROCESS, ""));
+    parse.setSchemaResource(BPMN_SCHEMA);
+
+    // when
+    parse.execute();
+
+    // then
+    assertThat(parse.hasErrors()).isFalse();
+    Element startEvent = parse.getRootElement().element("process").element("subProcess").element("startEvent");
+    assertThat(startEvent.attribute("isInterrupting")).isEqualTo("true");
+  }
+
+  @Test
+  public void shouldReportSchemaViolations() {
+    // given
+    Parse parse = parser.createParse().sourceString(String.format(PROCESS, "unknownAttribute=\"true\""));
+    parse.setSchemaResource(BPMN_SCHEMA);
+
+    // when
+    parse.execute();
+
+    // then
+    assertThat(parse.hasErrors()).isTrue();
+    assertThat(parse.getProblems().get(0).getMessage()).contains("unknownAttribute");
+    assertThat(parse.getProblems().get(0).getLine()).isEqualTo(1);
+  }
+
+}
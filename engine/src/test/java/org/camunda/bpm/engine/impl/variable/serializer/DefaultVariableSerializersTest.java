@@ -0,0 +1,229 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
+import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.engine.variable.value.StringValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultVariableSerializersTest {
+
+  protected DefaultVariableSerializers serializers;
+  protected StringValueSerializer stringSerializer;
+  protected LongValueSerlializer longSerializer;
+
+  @Before
+  public void setUp() {
+    stringSerializer = new StringValueSerializer();
+    longSerializer = new LongValueSerlializer();
+
+    serializers = new DefaultVariableSerializers();
+    serializers.addSerializer(new NullValueSerializer());
+    serializers.addSerializer(stringSerializer);
+    serializers.addSerializer(longSerializer);
+  }
+
+  @Test
+  public void shouldFindSerializerByValueClass() {
+    // when
+    TypedValueSerializer<?> firstSerializer = serializers.findSerializerForValue(Variables.untypedValue("foo"));
+    TypedValueSerializer<?> secondSerializer = serializers.findSerializerForValue(Variables.untypedValue(42L));
+    TypedValueSerializer<?> thirdSerializer = serializers.findSerializerForValue(Variables.untypedValue("bar"));
+
+    // then
+    assertThat(firstSerializer).isSameAs(stringSerializer);
+    assertThat(secondSerializer).isSameAs(longSerializer);
+    assertThat(thirdSerializer).isSameAs(stringSerializer);
+  }
+
+  @Test
+  public void shouldDistinguishTypedAndUntypedNullValues() {
+    // when
+    TypedValueSerializer<?> untypedNullSerializer = serializers.findSerializerForValue(Variables.untypedNullValue());
+    TypedValueSerializer<?> typedNullSerializer = serializers.findSerializerForValue(Variables.stringValue(null));
+
+    // then
+    assertThat(untypedNullSerializer).isInstanceOf(NullValueSerializer.class);
+    assertThat(typedNullSerializer).isSameAs(stringSerializer);
+  }
+
+  @Test
+  public void shouldFindAddedSerializerAfterLookup() {
+    // given
+    serializers.findSerializerForValue(Variables.untypedValue("foo"));
+    CustomStringValueSerializer customSerializer = new CustomStringValueSerializer();
+
+    // when
+    serializers.addSerializer(customSerializer, 0);
+
+    // then
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue("foo"))).isSameAs(customSerializer);
+  }
+
+  @Test
+  public void shouldNotFindRemovedSerializerAfterLookup() {
+    // given
+    serializers.findSerializerForValue(Variables.untypedValue(42L));
+
+    // when
+    serializers.removeSerializer(longSerializer);
+
+    // then
+    assertThatThrownBy(() -> serializers.findSerializerForValue(Variables.untypedValue(42L)))
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("Cannot find serializer for value");
+  }
+
+  @Test
+  public void shouldFindSerializerFromReplacedSerializerList() {
+    // given
+    serializers.findSerializerForValue(Variables.untypedValue("foo"));
+    CustomStringValueSerializer customSerializer = new CustomStringValueSerializer();
+
+    // when
+    serializers.setSerializerList(Arrays.<TypedValueSerializer<?>>asList(customSerializer, stringSerializer));
+
+    // then
+    assertThat(serializers.findSerializerForValue(Variables.untypedValue("foo"))).isSameAs(customSerializer);
+  }
+
+  @Test
+  public void shouldCacheLookupOfCacheableSerializers() {
+    // given
+    CountingStringValueSerializer countingSerializer = new CountingStringValueSerializer();
+    serializers.setSerializerList(Arrays.<TypedValueSerializer<?>>asList(countingSerializer));
+
+    // when
+    serializers.findSerializerForValue(Variables.untypedValue("foo"));
+    serializers.findSerializerForValue(Variables.untypedValue("bar"));
+
+    // then
+    assertThat(countingSerializer.canHandleInvocations).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCacheLookupOfSerializerDecidingPerValue() {
+    // given
+    PrefixStringValueSerializer prefixSerializer = new PrefixStringValueSerializer();
+    serializers.addSerializer(prefixSerializer, 0);
+
+    // when
+    TypedValueSerializer<?> firstSerializer = serializers.findSerializerForValue(Variables.untypedValue("prefix:foo"));
+    TypedValueSerializer<?> secondSerializer = serializers.findSerializerForValue(Variables.untypedValue("bar"));
+    TypedValueSerializer<?> thirdSerializer = serializers.findSerializerForValue(Variables.stringValue("baz"));
+
+    // then
+    assertThat(firstSerializer).isSameAs(prefixSerializer);
+    assertThat(secondSerializer).isSameAs(stringSerializer);
+    assertThat(thirdSerializer).isSameAs(stringSerializer);
+  }
+
+  @Test
+  public void shouldCacheLookupOfOtherTypesThanSerializerDecidingPerValue() {
+    // given
+    CountingLongValueSerializer countingSerializer = new CountingLongValueSerializer();
+    serializers.setSerializerList(Arrays.<TypedValueSerializer<?>>asList(new PrefixStringValueSerializer(), countingSerializer));
+
+    // when
+    serializers.findSerializerForValue(Variables.longValue(1L));
+    serializers.findSerializerForValue(Variables.longValue(2L));
+
+    // then
+    assertThat(countingSerializer.canHandleInvocations).isEqualTo(1);
+  }
+
+  public static class CustomStringValueSerializer extends StringValueSerializer {
+
+    @Override
+    public String getName() {
+      return "customString";
+    }
+
+  }
+
+  public static class CountingStringValueSerializer extends StringValueSerializer {
+
+    protected int canHandleInvocations;
+
+    @Override
+    public boolean canHandle(TypedValue value) {
+      canHandleInvocations++;
+      return super.canHandle(value);
+    }
+
+  }
+
+  public static class CountingLongValueSerializer extends LongValueSerlializer {
+
+    protected int canHandleInvocations;
+
+    @Override
+    public boolean canHandle(TypedValue value) {
+      canHandleInvocations++;
+      return super.canHandle(value);
+    }
+
+  }
+
+  /**
+   * Handles strings with a prefix only, so its answer differs between values of the same class.
+   */
+  public static class PrefixStringValueSerializer extends AbstractTypedValueSerializer<StringValue> {
+
+    public PrefixStringValueSerializer() {
+      super(ValueType.STRING);
+    }
+
+    @Override
+    public String getName() {
+      return "prefixString";
+    }
+
+    @Override
+    protected boolean canWriteValue(TypedValue value) {
+      Object rawValue = value.getValue();
+      return rawValue instanceof String && ((String) rawValue).startsWith("prefix:");
+    }
+
+    @Override
+    public void writeValue(StringValue value, ValueFields valueFields) {
+      valueFields.setTextValue(value.getValue());
+    }
+
+    @Override
+    public StringValue readValue(ValueFields valueFields, boolean deserializeValue, boolean asTransientValue) {
+      return Variables.stringValue(valueFields.getTextValue(), asTransientValue);
+    }
+
+    @Override
+    public StringValue convertToTypedValue(UntypedValueImpl untypedValue) {
+      return Variables.stringValue((String) untypedValue.getValue(), untypedValue.isTransient());
+    }
+
+  }
+
+}
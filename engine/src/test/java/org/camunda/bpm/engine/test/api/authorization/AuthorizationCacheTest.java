@@ -0,0 +1,198 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.authorization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.TASK;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permission;
+import org.camunda.bpm.engine.authorization.Resource;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class AuthorizationCacheTest {
+
+  protected static final long TIME_TO_LIVE = 5000L;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration
+        .setAuthorizationCacheEnabled(true)
+        .setAuthorizationCacheTimeToLive(TIME_TO_LIVE));
+
+  @Rule
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected AuthorizationService authorizationService;
+  protected IdentityService identityService;
+  protected TaskService taskService;
+
+  protected String userId = "test";
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    authorizationService = engineRule.getAuthorizationService();
+    identityService = engineRule.getIdentityService();
+    taskService = engineRule.getTaskService();
+
+    processEngineConfiguration.setAuthorizationEnabled(true);
+  }
+
+  @After
+  public void tearDown() {
+    identityService.clearAuthentication();
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    ClockUtil.reset();
+
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+  }
+
+  @Test
+  public void shouldCacheAuthorizationDecision() {
+    // given
+    createGrantAuthorization(TASK, "aTaskId", READ);
+    assertThat(isAuthorized(READ, TASK, "aTaskId")).isTrue();
+
+    long hits = getMeterValue(Metrics.AUTHORIZATION_CACHE_HIT);
+    long misses = getMeterValue(Metrics.AUTHORIZATION_CACHE_MISS);
+
+    // when
+    boolean isAuthorized = isAuthorized(READ, TASK, "aTaskId");
+
+    // then
+    assertThat(isAuthorized).isTrue();
+    assertThat(getMeterValue(Metrics.AUTHORIZATION_CACHE_HIT)).isGreaterThan(hits);
+    assertThat(getMeterValue(Metrics.AUTHORIZATION_CACHE_MISS)).isEqualTo(misses);
+  }
+
+  @Test
+  public void shouldInvalidateOnNewAuthorization() {
+    // given
+    assertThat(isAuthorized(READ, TASK, "aTaskId")).isFalse();
+
+    // when
+    createGrantAuthorization(TASK, "aTaskId", READ);
+
+    // then
+    assertThat(isAuthorized(READ, TASK, "aTaskId")).isTrue();
+  }
+
+  @Test
+  public void shouldInvalidateOnUpdatedAuthorization() {
+    // given
+    Authorization authorization = createGrantAuthorization(TASK, "aTaskId", READ);
+    assertThat(isAuthorized(UPDATE, TASK, "aTaskId")).isFalse();
+
+    // when
+    authorization.addPermission(UPDATE);
+    authorizationService.saveAuthorization(authorization);
+
+    // then
+    assertThat(isAuthorized(UPDATE, TASK, "aTaskId")).isTrue();
+  }
+
+  @Test
+  public void shouldInvalidateOnDeletedAuthorization() {
+    // given
+    Authorization authorization = createGrantAuthorization(TASK, "aTaskId", READ);
+    assertThat(isAuthorized(READ, TASK, "aTaskId")).isTrue();
+
+    // when
+    authorizationService.deleteAuthorization(authorization.getId());
+
+    // then
+    assertThat(isAuthorized(READ, TASK, "aTaskId")).isFalse();
+  }
+
+  @Test
+  public void shouldExpireCachedDecision() {
+    // given
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+
+    createGrantAuthorization(TASK, "aTaskId", READ);
+    assertThat(isAuthorized(READ, TASK, "aTaskId")).isTrue();
+
+    long misses = getMeterValue(Metrics.AUTHORIZATION_CACHE_MISS);
+
+    // when
+    ClockUtil.setCurrentTime(new Date(now.getTime() + TIME_TO_LIVE + 1));
+    boolean isAuthorized = isAuthorized(READ, TASK, "aTaskId");
+
+    // then
+    assertThat(isAuthorized).isTrue();
+    assertThat(getMeterValue(Metrics.AUTHORIZATION_CACHE_MISS)).isGreaterThan(misses);
+  }
+
+  @Test
+  public void shouldCacheLookupsOfAuthorizedQueries() {
+    // given
+    createGrantAuthorization(TASK, "*", READ);
+    identityService.setAuthentication(userId, Arrays.asList("accounting", "sales"));
+    taskService.createTaskQuery().list();
+
+    long hits = getMeterValue(Metrics.AUTHORIZATION_CACHE_HIT);
+    long misses = getMeterValue(Metrics.AUTHORIZATION_CACHE_MISS);
+
+    // when
+    taskService.createTaskQuery().list();
+
+    // then the authorized group ids and the revoke check are taken from the cache
+    assertThat(getMeterValue(Metrics.AUTHORIZATION_CACHE_HIT)).isGreaterThan(hits);
+    assertThat(getMeterValue(Metrics.AUTHORIZATION_CACHE_MISS)).isEqualTo(misses);
+  }
+
+  protected boolean isAuthorized(Permission permission, Resource resource, String resourceId) {
+    return authorizationService.isUserAuthorized(userId, null, permission, resource, resourceId);
+  }
+
+  protected Authorization createGrantAuthorization(Resource resource, String resourceId, Permission permission) {
+    Authorization authorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+    authorization.setUserId(userId);
+    authorization.setResource(resource);
+    authorization.setResourceId(resourceId);
+    authorization.addPermission(permission);
+    return authorizationService.saveAuthorization(authorization);
+  }
+
+  protected long getMeterValue(String name) {
+    return processEngineConfiguration.getMetricsRegistry().getDbMeterByName(name).get();
+  }
+
+}
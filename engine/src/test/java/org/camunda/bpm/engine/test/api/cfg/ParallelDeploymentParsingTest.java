@@ -0,0 +1,188 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ParseException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.repository.CamundaFormDefinition;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.form.deployment.FindCamundaFormDefinitionsCmd;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParallelDeploymentParsingTest {
+
+  protected static final int RESOURCES = 20;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    configuration.setDeploymentParsingDegreeOfParallelism(4);
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected ManagementService managementService;
+
+  @Before
+  public void initialize() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @Test
+  public void shouldCreatePool() {
+    assertThat(processEngineConfiguration.getDeploymentParsingPool()).isNotNull();
+    assertThat(processEngineConfiguration.getDeploymentParsingPool().getParallelism()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldDeployAllResources() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < RESOURCES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createTimerStartProcess("process" + i));
+    }
+
+    // when
+    testRule.deploy(deploymentBuilder);
+
+    // then
+    List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery().list();
+    assertThat(processDefinitions).hasSize(RESOURCES);
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      assertThat(processDefinition.getResourceName()).isEqualTo(processDefinition.getKey() + ".bpmn");
+    }
+
+    // the job declarations of all resources are collected
+    assertThat(managementService.createJobQuery().count()).isEqualTo(RESOURCES);
+  }
+
+  @Test
+  public void shouldFailOnInvalidResource() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < RESOURCES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createTimerStartProcess("process" + i));
+    }
+    deploymentBuilder.addString("invalid.bpmn", "<definitions/>");
+
+    // when/then
+    assertThatThrownBy(deploymentBuilder::deploy)
+      .isInstanceOf(ParseException.class);
+    assertThat(repositoryService.createProcessDefinitionQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldFailOnInvalidFormWithStrictParsing() {
+    // given
+    DeploymentBuilder deploymentBuilder = createFormDeployment();
+
+    // when/then
+    assertThatThrownBy(deploymentBuilder::deploy)
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("ENGINE-09033 Could not parse Camunda Form resource invalid.form");
+    assertThat(repositoryService.createDeploymentQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldSkipInvalidFormWithLenientParsing() {
+    // given
+    processEngineConfiguration.setDisableStrictCamundaFormParsing(true);
+    DeploymentBuilder deploymentBuilder = createFormDeployment();
+
+    try {
+      // when
+      testRule.deploy(deploymentBuilder);
+
+      // then
+      List<CamundaFormDefinition> formDefinitions = processEngineConfiguration.getCommandExecutorTxRequired()
+          .execute(new FindCamundaFormDefinitionsCmd());
+      assertThat(formDefinitions).hasSize(RESOURCES);
+
+    } finally {
+      processEngineConfiguration.setDisableStrictCamundaFormParsing(false);
+    }
+  }
+
+  @Test
+  public void shouldWarmUpDeploymentCache() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < RESOURCES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createProcess("process" + i));
+    }
+    testRule.deploy(deploymentBuilder);
+    testRule.deploy(createProcess("process0"));
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+
+    // then
+    List<ProcessDefinition> latestDefinitions = repositoryService.createProcessDefinitionQuery().latestVersion().list();
+    assertThat(latestDefinitions).hasSize(RESOURCES);
+    for (ProcessDefinition processDefinition : latestDefinitions) {
+      assertThat(deploymentCache.getProcessDefinitionCache().get(processDefinition.getId())).isNotNull();
+    }
+    assertThat(deploymentCache.getProcessDefinitionCache().size()).isEqualTo(RESOURCES);
+  }
+
+  protected DeploymentBuilder createFormDeployment() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < RESOURCES; i++) {
+      deploymentBuilder.addString("form" + i + ".form", "{\"id\": \"form" + i + "\", \"components\": []}");
+    }
+    return deploymentBuilder.addString("invalid.form", "no json");
+  }
+
+  protected BpmnModelInstance createProcess(String key) {
+    return Bpmn.createExecutableProcess(key).startEvent().userTask().endEvent().done();
+  }
+
+  protected BpmnModelInstance createTimerStartProcess(String key) {
+    return Bpmn.createExecutableProcess(key).startEvent().timerWithDuration("PT1H").userTask().endEvent().done();
+  }
+
+}
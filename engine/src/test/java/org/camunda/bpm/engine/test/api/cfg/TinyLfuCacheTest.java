@@ -0,0 +1,135 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.TinyLfuCache;
+import org.junit.Test;
+
+public class TinyLfuCacheTest {
+
+  @Test
+  public void shouldNotExceedCapacity() {
+    // given
+    TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(100);
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      cache.put("key" + i, i);
+    }
+
+    // then
+    assertThat(cache.size()).isEqualTo(100);
+    assertThat(cache.keySet()).hasSize(100);
+    assertThat(cache.getEvictionCount()).isEqualTo(900);
+  }
+
+  @Test
+  public void shouldKeepFrequentlyUsedEntriesDuringScan() {
+    // given
+    TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(100);
+    for (int i = 0; i < 50; i++) {
+      cache.put("hot" + i, i);
+    }
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < 50; i++) {
+        cache.get("hot" + i);
+      }
+    }
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      cache.put("cold" + i, i);
+    }
+
+    // then
+    for (int i = 0; i < 50; i++) {
+      assertThat(cache.get("hot" + i)).isEqualTo(i);
+    }
+    assertThat(cache.size()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldReplaceValue() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+    cache.put("a", "1");
+
+    // when
+    cache.put("a", "2");
+
+    // then
+    assertThat(cache.get("a")).isEqualTo("2");
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveAndClear() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.put("c", "3");
+
+    // when
+    cache.remove("a");
+
+    // then
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.keySet()).containsOnly("b", "c");
+
+    // when
+    cache.clear();
+
+    // then
+    assertThat(cache.isEmpty()).isTrue();
+    cache.put("d", "4");
+    assertThat(cache.get("d")).isEqualTo("4");
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+    cache.put("a", "1");
+
+    // when
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    // then
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRejectNullValues() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+
+    assertThatThrownBy(() -> cache.put("a", null)).isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> cache.put(null, "a")).isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  public void shouldRejectInvalidCapacity() {
+    assertThatThrownBy(() -> new TinyLfuCache<String, String>(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
@@ -39,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -61,6 +62,7 @@ import org.camunda.bpm.engine.history.HistoricExternalTaskLog;
 import org.camunda.bpm.engine.history.HistoricIncident;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
@@ -194,6 +196,38 @@ public class ExternalTaskServiceTest extends PluggableProcessEngineTest {
     assertEquals(WORKER_ID, task.getWorkerId());
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  @Test
+  public void testFetchForWorkers() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    }
+
+    Map<String, Integer> maxTasksByWorkerId = new LinkedHashMap<>();
+    maxTasksByWorkerId.put("worker1", 2);
+    maxTasksByWorkerId.put("worker2", 2);
+
+    // when
+    ExternalTaskQueryTopicBuilderImpl fetchBuilder = (ExternalTaskQueryTopicBuilderImpl) externalTaskService.fetchAndLock(0, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME);
+    Map<String, List<LockedExternalTask>> externalTasks = fetchBuilder.executeForWorkers(maxTasksByWorkerId);
+
+    // then the tasks are handed out in turns
+    assertThat(externalTasks.get("worker1")).hasSize(2);
+    assertThat(externalTasks.get("worker2")).hasSize(1);
+
+    externalTasks.forEach((workerId, tasks) -> tasks.forEach(task -> {
+      assertEquals(workerId, task.getWorkerId());
+      AssertUtil.assertEqualsSecondPrecision(nowPlus(LOCK_TIME), task.getLockExpirationTime());
+
+      ExternalTask externalTask = externalTaskService.createExternalTaskQuery().externalTaskId(task.getId()).singleResult();
+      assertEquals(workerId, externalTask.getWorkerId());
+    }));
+
+    assertEquals(0, externalTaskService.createExternalTaskQuery().notLocked().count());
+  }
+
   @Deployment(resources = {
       "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml",
       "org/camunda/bpm/engine/test/api/externaltask/twoExternalTaskWithPriorityProcess.bpmn20.xml"
@@ -0,0 +1,116 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExpressionCacheMetricsTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_CACHE_TYPE, ExpressionFactoryImpl.CACHE_TYPE_CONCURRENT);
+    properties.setProperty(ExpressionFactoryImpl.PROP_CACHE_SIZE, "1");
+
+    JuelExpressionManager expressionManager = new JuelExpressionManager();
+    expressionManager.setExpressionFactory(new ExpressionFactoryImpl(properties));
+    configuration.setExpressionManager(expressionManager);
+  });
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+
+    clearMetrics();
+  }
+
+  @After
+  public void tearDown() {
+    clearMetrics();
+  }
+
+  @Test
+  public void shouldReportExpressionCacheCounters() {
+    // given
+    ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+
+    // when
+    expressionManager.createExpression("${'expressionCacheMetrics' == 'first'}");
+    expressionManager.createExpression("${'expressionCacheMetrics' == 'first'}");
+    expressionManager.createExpression("${'expressionCacheMetrics' == 'second'}");
+    managementService.reportDbMetricsNow();
+
+    // then
+    assertThat(managementService.createMetricsQuery().name(Metrics.EXPRESSION_CACHE_HIT).sum()).isEqualTo(1);
+    assertThat(managementService.createMetricsQuery().name(Metrics.EXPRESSION_CACHE_MISS).sum()).isEqualTo(2);
+    assertThat(managementService.createMetricsQuery().name(Metrics.EXPRESSION_CACHE_EVICTION).sum()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReportOnlyIncreaseSinceLastReport() {
+    // given
+    ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+    expressionManager.createExpression("${'expressionCacheMetrics' == 'third'}");
+    managementService.reportDbMetricsNow();
+
+    // when
+    expressionManager.createExpression("${'expressionCacheMetrics' == 'third'}");
+    managementService.reportDbMetricsNow();
+
+    // then
+    assertThat(managementService.createMetricsQuery().name(Metrics.EXPRESSION_CACHE_HIT).sum()).isEqualTo(1);
+    assertThat(managementService.createMetricsQuery().name(Metrics.EXPRESSION_CACHE_MISS).sum()).isEqualTo(1);
+  }
+
+  protected void clearMetrics() {
+    for (Meter meter : processEngineConfiguration.getMetricsRegistry().getDbMeters().values()) {
+      meter.getAndClear();
+    }
+    managementService.deleteMetrics(null);
+  }
+
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.BatchPermissions;
+import org.camunda.bpm.engine.authorization.Permission;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resource;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.BatchRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SignalEventReceivedBatchTest {
+
+  protected static final String SIGNAL_NAME = "signal";
+  protected static final String CATCH_PROCESS_KEY = "signalCatch";
+  protected static final String START_PROCESS_KEY = "signalStart";
+  protected static final Date TEST_DATE = new Date(1457326800000L);
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule engineTestRule = new ProcessEngineTestRule(engineRule);
+  protected BatchRule rule = new BatchRule(engineRule, engineTestRule);
+  protected BatchHelper helper = new BatchHelper(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(engineTestRule).around(rule);
+
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+
+  protected int defaultBatchJobsPerSeed;
+
+  @Before
+  public void assignServices() {
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+
+    defaultBatchJobsPerSeed = engineConfiguration.getBatchJobsPerSeed();
+  }
+
+  @After
+  public void resetConfiguration() {
+    ClockUtil.reset();
+    engineConfiguration.setBatchJobsPerSeed(defaultBatchJobsPerSeed);
+    engineConfiguration.setInvocationsPerBatchJob(ProcessEngineConfigurationImpl.DEFAULT_INVOCATIONS_PER_BATCH_JOB);
+    engineConfiguration.setAuthorizationEnabled(false);
+    engineRule.getIdentityService().clearAuthentication();
+
+    AuthorizationService authorizationService = engineRule.getAuthorizationService();
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+  }
+
+  @Test
+  public void shouldNotifyAllWaitingExecutions() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY);
+    }
+
+    engineConfiguration.setInvocationsPerBatchJob(2);
+    engineConfiguration.setBatchJobsPerSeed(1);
+
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+
+    // assume
+    assertThat(taskService.createTaskQuery().count()).isZero();
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(5L);
+    assertThat(runtimeService.createEventSubscriptionQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldCreateBatchJobsPageByPage() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY);
+    }
+
+    engineConfiguration.setInvocationsPerBatchJob(2);
+    engineConfiguration.setBatchJobsPerSeed(1);
+
+    // when
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+
+    // then
+    assertThat(batch.getType()).isEqualTo(Batch.TYPE_SEND_SIGNAL);
+    assertThat(batch.getTotalJobs()).isEqualTo(3);
+    assertThat(batch.getInvocationsPerBatchJob()).isEqualTo(2);
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).hasSize(1);
+    assertThat(helper.getSeedJob(batch)).isNotNull();
+
+    // when
+    rule.executeSeedJobs(batch, true);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).hasSize(3);
+    assertThat(helper.getSeedJob(batch)).isNull();
+  }
+
+  @Test
+  public void shouldNotNotifySubscriptionsCreatedAfterBatch() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+
+    ClockUtil.setCurrentTime(TEST_DATE);
+    String processInstanceIdOne = runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY).getId();
+
+    ClockUtil.setCurrentTime(helper.addSeconds(TEST_DATE, 1));
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+
+    ClockUtil.setCurrentTime(helper.addSeconds(TEST_DATE, 2));
+    String processInstanceIdTwo = runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY).getId();
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstanceIdOne).count()).isEqualTo(1L);
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstanceIdTwo).count()).isZero();
+  }
+
+  @Test
+  public void shouldStartProcessInstanceWithSignalStartEvent() {
+    // given
+    engineTestRule.deploy(signalStartProcess(START_PROCESS_KEY), signalCatchProcess(CATCH_PROCESS_KEY));
+    runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY);
+
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey(START_PROCESS_KEY).count()).isEqualTo(1L);
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(2L);
+  }
+
+  @Test
+  public void shouldNotNotifySuspendedExecutions() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+    String processInstanceId = runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY).getId();
+
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+    runtimeService.suspendProcessInstanceById(processInstanceId);
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isZero();
+    assertThat(runtimeService.createEventSubscriptionQuery().count()).isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldSetVariables() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+    String processInstanceIdOne = runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY).getId();
+    String processInstanceIdTwo = runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY).getId();
+
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME)
+        .setVariables(Collections.singletonMap("foo", "bar"))
+        .sendAsync();
+
+    VariableInstanceQuery query = runtimeService.createVariableInstanceQuery();
+
+    // assume
+    assertThat(query.list()).extracting("processInstanceId", "name", "value", "batchId")
+      .containsExactly(tuple(null, "foo", "bar", batch.getId()));
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(query.list()).extracting("processInstanceId", "name", "value")
+      .containsExactlyInAnyOrder(tuple(processInstanceIdOne, "foo", "bar"), tuple(processInstanceIdTwo, "foo", "bar"));
+  }
+
+  @Test
+  public void shouldNotifyExecutionsOfTenant() {
+    // given
+    engineTestRule.deployForTenant("tenant1", signalCatchProcess(CATCH_PROCESS_KEY));
+    engineTestRule.deployForTenant("tenant2", signalCatchProcess(CATCH_PROCESS_KEY));
+    runtimeService.createProcessInstanceByKey(CATCH_PROCESS_KEY).processDefinitionTenantId("tenant1").execute();
+    runtimeService.createProcessInstanceByKey(CATCH_PROCESS_KEY).processDefinitionTenantId("tenant2").execute();
+
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME).tenantId("tenant1").sendAsync();
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().tenantIdIn("tenant1").count()).isEqualTo(1L);
+    assertThat(taskService.createTaskQuery().tenantIdIn("tenant2").count()).isZero();
+  }
+
+  @Test
+  public void shouldThrowExceptionForSingleExecution() {
+    // when/then
+    assertThatThrownBy(() -> runtimeService.createSignalEvent(SIGNAL_NAME).executionId("foo").sendAsync())
+      .isInstanceOf(BadUserRequestException.class)
+      .hasMessageContaining("Cannot deliver a signal asynchronously to a single execution.");
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldLogOperation() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+    runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY);
+
+    engineRule.getIdentityService().setAuthenticatedUserId("demo");
+
+    // when
+    Batch batch = runtimeService.createSignalEvent(SIGNAL_NAME)
+        .setVariables(Collections.singletonMap("foo", "bar"))
+        .sendAsync();
+
+    // then
+    List<UserOperationLogEntry> logs = historyService.createUserOperationLogQuery().list();
+
+    assertThat(logs)
+      .extracting("property", "orgValue", "newValue", "operationType", "entityType", "category", "userId")
+      .containsExactlyInAnyOrder(
+          tuple("signalName", null, SIGNAL_NAME, "SendSignal", "ProcessInstance", "Operator", "demo"),
+          tuple("nrOfVariables", null, "1", "SendSignal", "ProcessInstance", "Operator", "demo"),
+          tuple("async", null, "true", "SendSignal", "ProcessInstance", "Operator", "demo"));
+
+    // clear
+    managementService.deleteBatch(batch.getId(), true);
+  }
+
+  @Test
+  public void shouldFailSeedJobWithoutUpdatePermissionOnProcessInstance() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+    runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY);
+
+    grantAuthorization("demo", Resources.BATCH, ANY, BatchPermissions.CREATE_BATCH_SEND_SIGNAL);
+
+    Batch batch = sendAsyncAsUser("demo");
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertThat(helper.getSeedJob(batch).getExceptionMessage())
+      .contains("demo")
+      .contains("UPDATE");
+    assertThat(helper.getExecutionJobs(batch)).isEmpty();
+    assertThat(taskService.createTaskQuery().count()).isZero();
+
+    // clear
+    managementService.deleteBatch(batch.getId(), true);
+  }
+
+  @Test
+  public void shouldNotifyExecutionsWithUpdatePermissionOnProcessInstance() {
+    // given
+    engineTestRule.deploy(signalCatchProcess(CATCH_PROCESS_KEY));
+    runtimeService.startProcessInstanceByKey(CATCH_PROCESS_KEY);
+
+    grantAuthorization("demo", Resources.BATCH, ANY, BatchPermissions.CREATE_BATCH_SEND_SIGNAL);
+    grantAuthorization("demo", Resources.PROCESS_INSTANCE, ANY, Permissions.UPDATE);
+
+    Batch batch = sendAsyncAsUser("demo");
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldFailSeedJobWithoutCreateInstancePermissionOnProcessDefinition() {
+    // given
+    engineTestRule.deploy(signalStartProcess(START_PROCESS_KEY));
+
+    grantAuthorization("demo", Resources.BATCH, ANY, BatchPermissions.CREATE_BATCH_SEND_SIGNAL);
+    grantAuthorization("demo", Resources.PROCESS_INSTANCE, ANY, Permissions.CREATE);
+
+    Batch batch = sendAsyncAsUser("demo");
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertThat(helper.getSeedJob(batch).getExceptionMessage())
+      .contains("demo")
+      .contains("CREATE_INSTANCE");
+    assertThat(helper.getExecutionJobs(batch)).isEmpty();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+
+    // clear
+    managementService.deleteBatch(batch.getId(), true);
+  }
+
+  @Test
+  public void shouldStartProcessInstanceWithCreatePermissions() {
+    // given
+    engineTestRule.deploy(signalStartProcess(START_PROCESS_KEY));
+
+    grantAuthorization("demo", Resources.BATCH, ANY, BatchPermissions.CREATE_BATCH_SEND_SIGNAL);
+    grantAuthorization("demo", Resources.PROCESS_INSTANCE, ANY, Permissions.CREATE);
+    grantAuthorization("demo", Resources.PROCESS_DEFINITION, START_PROCESS_KEY, Permissions.CREATE_INSTANCE);
+
+    Batch batch = sendAsyncAsUser("demo");
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey(START_PROCESS_KEY).count()).isEqualTo(1L);
+  }
+
+  protected Batch sendAsyncAsUser(String userId) {
+    engineConfiguration.setAuthorizationEnabled(true);
+    IdentityService identityService = engineRule.getIdentityService();
+    identityService.setAuthenticatedUserId(userId);
+    try {
+      return runtimeService.createSignalEvent(SIGNAL_NAME).sendAsync();
+    } finally {
+      identityService.clearAuthentication();
+    }
+  }
+
+  protected void grantAuthorization(String userId, Resource resource, String resourceId, Permission permission) {
+    AuthorizationService authorizationService = engineRule.getAuthorizationService();
+    Authorization authorization = authorizationService.createNewAuthorization(Authorization.AUTH_TYPE_GRANT);
+    authorization.setUserId(userId);
+    authorization.setResource(resource);
+    authorization.setResourceId(resourceId);
+    authorization.addPermission(permission);
+    authorizationService.saveAuthorization(authorization);
+  }
+
+  protected BpmnModelInstance signalStartProcess(String processId) {
+    return Bpmn.createExecutableProcess(processId)
+      .startEvent()
+        .signal(SIGNAL_NAME)
+      .userTask()
+      .endEvent()
+      .done();
+  }
+
+  protected BpmnModelInstance signalCatchProcess(String processId) {
+    return Bpmn.createExecutableProcess(processId)
+      .startEvent()
+      .intermediateCatchEvent()
+        .signal(SIGNAL_NAME)
+      .userTask()
+      .endEvent()
+      .done();
+  }
+
+}
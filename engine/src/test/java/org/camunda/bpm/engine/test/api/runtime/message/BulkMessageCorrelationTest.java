@@ -0,0 +1,255 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BulkMessageCorrelationTest {
+
+  protected static final BpmnModelInstance CATCH_PROCESS = Bpmn.createExecutableProcess("catch")
+      .startEvent()
+      .intermediateCatchEvent().message("message")
+      .userTask("afterMessage")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance TWO_CATCH_PROCESS = Bpmn.createExecutableProcess("twoCatch")
+      .startEvent()
+      .intermediateCatchEvent().message("message")
+      .intermediateCatchEvent().message("message")
+      .userTask("afterSecondMessage")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance START_PROCESS = Bpmn.createExecutableProcess("start")
+      .startEvent().message("startMessage")
+      .userTask("afterStart")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance FAILING_PROCESS = Bpmn.createExecutableProcess("failing")
+      .startEvent()
+      .intermediateCatchEvent().message("message")
+      .serviceTask().camundaClass(FailingDelegate.class.getName())
+      .userTask("afterMessage")
+      .endEvent()
+      .done();
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected int defaultBulkSize;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    defaultBulkSize = processEngineConfiguration.getMessageCorrelationBulkSize();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setMessageCorrelationBulkSize(defaultBulkSize);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesByBusinessKey() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    ProcessInstance first = runtimeService.startProcessInstanceByKey("catch", "first");
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("catch", "second");
+    ProcessInstance third = runtimeService.startProcessInstanceByKey("catch", "third");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        message("first"), message("second"), message("third")));
+
+    // then
+    assertThat(results).hasSize(3).allMatch(MessageCorrelationBulkResult::isCorrelated);
+    assertThat(results.get(0).getCorrelationResult().getResultType()).isEqualTo(MessageCorrelationResultType.Execution);
+    assertThat(results.get(0).getCorrelationResult().getExecution().getProcessInstanceId()).isEqualTo(first.getId());
+    assertThat(results.get(1).getCorrelationResult().getExecution().getProcessInstanceId()).isEqualTo(second.getId());
+    assertThat(results.get(2).getCorrelationResult().getExecution().getProcessInstanceId()).isEqualTo(third.getId());
+    assertThat(runtimeService.createExecutionQuery().activityId("afterMessage").count()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldReportMismatchPerMessage() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    runtimeService.startProcessInstanceByKey("catch", "first");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        message("unknown"), message("first")));
+
+    // then
+    assertThat(results.get(0).isCorrelated()).isFalse();
+    assertThat(results.get(0).getCorrelationResult()).isNull();
+    assertThat(results.get(0).getException()).isInstanceOf(MismatchingMessageCorrelationException.class);
+    assertThat(results.get(1).isCorrelated()).isTrue();
+    assertThat(runtimeService.createExecutionQuery().activityId("afterMessage").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesWithSameBusinessKeyInOrder() {
+    // given
+    testRule.deploy(TWO_CATCH_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("twoCatch", "aBusinessKey");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        message("aBusinessKey").setVariable("order", 1),
+        message("aBusinessKey").setVariable("order", 2)));
+
+    // then
+    assertThat(results).allMatch(MessageCorrelationBulkResult::isCorrelated);
+    assertThat(runtimeService.createExecutionQuery().activityId("afterSecondMessage").count()).isEqualTo(1);
+    assertThat(runtimeService.getVariable(processInstance.getId(), "order")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldStartProcessInstanceIfNoExecutionWaits() {
+    // given
+    testRule.deploy(START_PROCESS);
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        runtimeService.createMessageCorrelation("startMessage").processInstanceBusinessKey("first"),
+        runtimeService.createMessageCorrelation("startMessage").processInstanceBusinessKey("second")));
+
+    // then
+    assertThat(results).allMatch(MessageCorrelationBulkResult::isCorrelated);
+    assertThat(results.get(0).getCorrelationResult().getResultType()).isEqualTo(MessageCorrelationResultType.ProcessDefinition);
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceBusinessKey("first").count()).isEqualTo(1);
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceBusinessKey("second").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesWithoutBusinessKey() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("catch");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        runtimeService.createMessageCorrelation("message").processInstanceId(processInstance.getId())));
+
+    // then
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(runtimeService.createExecutionQuery().activityId("afterMessage").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldIsolateFailingMessage() {
+    // given
+    testRule.deploy(FAILING_PROCESS);
+    runtimeService.startProcessInstanceByKey("failing", "first");
+    runtimeService.startProcessInstanceByKey("failing", FailingDelegate.FAILING_BUSINESS_KEY);
+    runtimeService.startProcessInstanceByKey("failing", "third");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        message("first"), message(FailingDelegate.FAILING_BUSINESS_KEY), message("third")));
+
+    // then
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(1).isCorrelated()).isFalse();
+    assertThat(results.get(1).getException()).hasMessageContaining("expected failure");
+    assertThat(results.get(2).isCorrelated()).isTrue();
+    assertThat(runtimeService.createExecutionQuery().activityId("afterMessage").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldSplitMessagesIntoBulksOfConfiguredSize() {
+    // given
+    processEngineConfiguration.setMessageCorrelationBulkSize(2);
+    testRule.deploy(CATCH_PROCESS);
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("catch", "key" + i);
+    }
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        message("key0"), message("key1"), message("key2"), message("key3"), message("key4")));
+
+    // then
+    assertThat(results).hasSize(5).allMatch(MessageCorrelationBulkResult::isCorrelated);
+    assertThat(runtimeService.createExecutionQuery().activityId("afterMessage").count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldReportInvalidCorrelation() {
+    // given
+    testRule.deploy(CATCH_PROCESS);
+    runtimeService.startProcessInstanceByKey("catch", "first");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.correlateMessages(Arrays.asList(
+        message("first").processDefinitionId("aProcessDefinitionId"), message("first")));
+
+    // then
+    assertThat(results.get(0).isCorrelated()).isFalse();
+    assertThat(results.get(0).getException()).isInstanceOf(ProcessEngineException.class);
+    assertThat(results.get(1).isCorrelated()).isTrue();
+  }
+
+  protected MessageCorrelationBuilder message(String businessKey) {
+    return runtimeService.createMessageCorrelation("message").processInstanceBusinessKey(businessKey);
+  }
+
+  public static class FailingDelegate implements JavaDelegate {
+
+    public static final String FAILING_BUSINESS_KEY = "failing";
+
+    @Override
+    public void execute(DelegateExecution execution) {
+      if (FAILING_BUSINESS_KEY.equals(execution.getProcessBusinessKey())) {
+        throw new RuntimeException("expected failure");
+      }
+    }
+  }
+
+}
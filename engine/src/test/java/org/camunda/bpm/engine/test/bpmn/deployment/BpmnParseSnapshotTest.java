@@ -0,0 +1,162 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.StoreBpmnParseSnapshotCmd;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.repository.Resource;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BpmnParseSnapshotTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setBpmnParseSnapshotsEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldStoreSnapshotOnDeployment() {
+    // when
+    Deployment deployment = testRule.deploy(createProcess("task"));
+
+    // then
+    ByteArrayEntity snapshot = findSnapshot(getResourceId(deployment));
+    assertThat(snapshot).isNotNull();
+    assertThat(snapshot.getName()).isEqualTo(deployment.getId());
+    assertThat(snapshot.getDeploymentId()).isNull();
+
+    // the snapshot is not a resource of the deployment
+    assertThat(repositoryService.getDeploymentResources(deployment.getId())).hasSize(1);
+  }
+
+  @Test
+  public void shouldRestoreProcessDefinitionFromSnapshot() {
+    // given
+    Deployment deployment = testRule.deploy(createProcess("original"));
+    Deployment otherDeployment = testRule.deploy(createProcess("changed"));
+
+    // the snapshot of the first deployment is replaced to see that it is used
+    byte[] otherSnapshot = findSnapshot(getResourceId(otherDeployment)).getBytes();
+    storeSnapshot(deployment.getId(), getResourceId(deployment), otherSnapshot);
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    // when
+    runtimeService.startProcessInstanceById(getProcessDefinition(deployment).getId());
+
+    // then
+    assertThat(taskService.createTaskQuery().singleResult().getName()).isEqualTo("changed");
+  }
+
+  @Test
+  public void shouldParseResourceIfSnapshotIsCorrupt() {
+    // given
+    Deployment deployment = testRule.deploy(createProcess("original"));
+    String resourceId = getResourceId(deployment);
+
+    byte[] corruptSnapshot = new byte[] { 1, 2, 3 };
+    storeSnapshot(deployment.getId(), resourceId, corruptSnapshot);
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    // when
+    runtimeService.startProcessInstanceById(getProcessDefinition(deployment).getId());
+
+    // then
+    assertThat(taskService.createTaskQuery().singleResult().getName()).isEqualTo("original");
+
+    // the snapshot has been refreshed
+    assertThat(findSnapshot(resourceId).getBytes()).isNotEqualTo(corruptSnapshot);
+  }
+
+  @Test
+  public void shouldDeleteSnapshotWithDeployment() {
+    // given
+    Deployment deployment = repositoryService.createDeployment()
+        .addModelInstance("process.bpmn", createProcess("task"))
+        .deploy();
+    String resourceId = getResourceId(deployment);
+
+    // when
+    repositoryService.deleteDeployment(deployment.getId(), true);
+
+    // then
+    assertThat(findSnapshot(resourceId)).isNull();
+  }
+
+  protected BpmnModelInstance createProcess(String taskName) {
+    return Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .userTask().name(taskName)
+        .endEvent()
+        .done();
+  }
+
+  protected String getResourceId(Deployment deployment) {
+    Resource resource = repositoryService.getDeploymentResources(deployment.getId()).get(0);
+    return resource.getId();
+  }
+
+  protected ProcessDefinition getProcessDefinition(Deployment deployment) {
+    return repositoryService.createProcessDefinitionQuery()
+        .deploymentId(deployment.getId())
+        .singleResult();
+  }
+
+  protected ByteArrayEntity findSnapshot(String resourceId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(commandContext -> commandContext.getByteArrayManager().findBpmnParseSnapshot(resourceId));
+  }
+
+  protected void storeSnapshot(String deploymentId, String resourceId, byte[] bytes) {
+    processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new StoreBpmnParseSnapshotCmd(deploymentId, resourceId, bytes));
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+@Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+public class HistoricProcessInstanceQueryStreamTest {
+
+  protected static final String PROCESS_KEY = "oneTaskProcess";
+
+  @Rule
+  public ProcessEngineRule processEngineRule = new ProvidedProcessEngineRule();
+
+  protected HistoryService historyService;
+  protected RuntimeService runtimeService;
+
+  protected List<String> processInstanceIds = new ArrayList<>();
+
+  @Before
+  public void init() {
+    historyService = processEngineRule.getHistoryService();
+    runtimeService = processEngineRule.getRuntimeService();
+
+    for (int i = 0; i < 7; i++) {
+      processInstanceIds.add(runtimeService.startProcessInstanceByKey(PROCESS_KEY, "businessKey" + (i % 2)).getId());
+    }
+    Collections.sort(processInstanceIds);
+  }
+
+  @Test
+  public void shouldStreamAllResultsInBatches() {
+    // when
+    List<String> streamedIds = historyService.createHistoricProcessInstanceQuery()
+        .stream(3)
+        .map(HistoricProcessInstance::getId)
+        .collect(Collectors.toList());
+
+    // then
+    assertThat(streamedIds).containsExactlyElementsOf(processInstanceIds);
+  }
+
+  @Test
+  public void shouldStreamResultsOrderedAscendingById() {
+    // when
+    List<String> streamedIds = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId().asc()
+        .stream(2)
+        .map(HistoricProcessInstance::getId)
+        .collect(Collectors.toList());
+
+    // then
+    assertThat(streamedIds).containsExactlyElementsOf(processInstanceIds);
+  }
+
+  @Test
+  public void shouldStreamResultsWithCustomOrdering() {
+    // given
+    List<String> expectedIds = new ArrayList<>(processInstanceIds);
+    Collections.reverse(expectedIds);
+
+    // when
+    List<String> streamedIds = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId().desc()
+        .stream(3)
+        .map(HistoricProcessInstance::getId)
+        .collect(Collectors.toList());
+
+    // then
+    assertThat(streamedIds).containsExactlyElementsOf(expectedIds);
+  }
+
+  @Test
+  public void shouldStreamFilteredResults() {
+    // given
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceBusinessKey("businessKey0");
+
+    // when
+    List<HistoricProcessInstance> streamedInstances = query.stream(2).collect(Collectors.toList());
+
+    // then
+    assertThat(streamedInstances).hasSize(4);
+    assertThat(streamedInstances).extracting(HistoricProcessInstance::getBusinessKey).containsOnly("businessKey0");
+  }
+
+  @Test
+  public void shouldStreamNoResults() {
+    // when
+    long count = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceBusinessKey("unknown")
+        .stream(3)
+        .count();
+
+    // then
+    assertThat(count).isZero();
+  }
+
+  @Test
+  public void shouldSelectAllResultsAfterPartiallyConsumedStream() {
+    // given
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery();
+    query.stream(2).limit(3).collect(Collectors.toList());
+
+    // when
+    List<HistoricProcessInstance> instances = query.list();
+
+    // then
+    assertThat(instances).hasSize(7);
+  }
+
+  @Test
+  public void shouldRejectInvalidBatchSize() {
+    // given
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery();
+
+    // when/then
+    assertThatThrownBy(() -> query.stream(0))
+      .isInstanceOf(NotValidException.class)
+      .hasMessageContaining("batchSize");
+  }
+
+}
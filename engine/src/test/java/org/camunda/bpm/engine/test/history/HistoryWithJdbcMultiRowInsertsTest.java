@@ -0,0 +1,279 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.sql.BatchDbSqlSession;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryWithJdbcMultiRowInsertsTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask().camundaExpression("${true}")
+      .serviceTask().camundaExpression("${true}")
+      .serviceTask().camundaExpression("${true}")
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected static final int MULTI_ROW_INSERT_SIZE = 3;
+
+  /** the results of the flushed JDBC batches; each result covers the executions of one statement */
+  protected static final List<BatchResult> BATCH_RESULTS = Collections.synchronizedList(new ArrayList<>());
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration
+      .setJdbcBatchMultiRowInserts(true)
+      .setJdbcBatchMultiRowInsertSize(MULTI_ROW_INSERT_SIZE)
+      .setCustomSessionFactories(Collections.singletonList(new RecordingDbSqlSessionFactory(configuration)))
+      .setJdbcBatchProcessing(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @After
+  public void resetMultiRowInsertSize() {
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchMultiRowInsertSize(MULTI_ROW_INSERT_SIZE);
+  }
+
+  @Test
+  public void shouldInsertHistoricActivityInstances() {
+    // given
+    testRule.deploy(PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    assertThat(historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldInsertHistoricVariableInstancesAndByteArrays() {
+    // given
+    testRule.deploy(PROCESS);
+
+    VariableMap variables = Variables.createVariables();
+    for (int i = 0; i < 10; i++) {
+      variables.putValue("string" + i, "value" + i);
+      variables.putValue("bytes" + i, ("bytes" + i).getBytes());
+    }
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // then
+    assertThat(historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count()).isEqualTo(20);
+
+    for (int i = 0; i < 10; i++) {
+      HistoricVariableInstance stringVariable = historyService.createHistoricVariableInstanceQuery()
+          .processInstanceId(processInstance.getId())
+          .variableName("string" + i)
+          .singleResult();
+      assertThat(stringVariable.getValue()).isEqualTo("value" + i);
+
+      HistoricVariableInstance bytesVariable = historyService.createHistoricVariableInstanceQuery()
+          .processInstanceId(processInstance.getId())
+          .variableName("bytes" + i)
+          .singleResult();
+      assertThat((byte[]) bytesVariable.getValue()).isEqualTo(("bytes" + i).getBytes());
+    }
+  }
+
+  @Test
+  public void shouldCombineHistoricActivityInstanceInserts() {
+    // given
+    assumeMultiRowInsertsSupported();
+    testRule.deploy(PROCESS);
+    BATCH_RESULTS.clear();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then the five activity instances are inserted with two statements of three and two rows
+    assertThat(countExecutions("insertHistoricActivityInstanceEvents")).isEqualTo(2);
+    assertThat(countExecutions("insertHistoricActivityInstanceEvent")).isZero();
+  }
+
+  @Test
+  public void shouldCombineHistoricVariableInstanceInserts() {
+    // given
+    assumeMultiRowInsertsSupported();
+    testRule.deploy(PROCESS);
+
+    VariableMap variables = Variables.createVariables();
+    for (int i = 0; i < 10; i++) {
+      variables.putValue("string" + i, "value" + i);
+    }
+    BATCH_RESULTS.clear();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process", variables);
+
+    // then the ten variables are inserted with three statements of three rows and a single-row statement
+    assertThat(countExecutions("insertHistoricVariableInstances")).isEqualTo(3);
+    assertThat(countExecutions("insertHistoricVariableInstance")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldLimitRowsToMaximumNumberOfParameters() {
+    // given
+    assumeMultiRowInsertsSupported();
+    testRule.deploy(PROCESS);
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchMultiRowInsertSize(1000);
+
+    // a historic variable instance binds 24 parameters per row
+    int maxRows = DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS / 24;
+    VariableMap variables = Variables.createVariables();
+    for (int i = 0; i < maxRows + 10; i++) {
+      variables.putValue("string" + i, "value" + i);
+    }
+    BATCH_RESULTS.clear();
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // then
+    assertThat(countExecutions("insertHistoricVariableInstances")).isEqualTo(2);
+    assertThat(countRows("insertHistoricVariableInstances")).isEqualTo(maxRows + 10);
+    assertThat(historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count()).isEqualTo(maxRows + 10);
+  }
+
+  protected void assumeMultiRowInsertsSupported() {
+    String databaseType = processEngineConfiguration.getDatabaseType();
+    assumeTrue(DbSqlSessionFactory.MULTI_ROW_INSERT_DATABASES.contains(databaseType));
+  }
+
+  /**
+   * @return how often the statement with the given id was executed by the flushed JDBC batches
+   */
+  protected int countExecutions(String statement) {
+    int executions = 0;
+    for (BatchResult batchResult : getBatchResults(statement)) {
+      executions += batchResult.getUpdateCounts().length;
+    }
+    return executions;
+  }
+
+  /**
+   * @return the number of rows the statement with the given id inserted
+   */
+  protected int countRows(String statement) {
+    int rows = 0;
+    for (BatchResult batchResult : getBatchResults(statement)) {
+      for (int updateCount : batchResult.getUpdateCounts()) {
+        rows += updateCount;
+      }
+    }
+    return rows;
+  }
+
+  protected List<BatchResult> getBatchResults(String statement) {
+    List<BatchResult> batchResults = new ArrayList<>();
+    synchronized (BATCH_RESULTS) {
+      for (BatchResult batchResult : BATCH_RESULTS) {
+        String id = batchResult.getMappedStatement().getId();
+        if (id.equals(statement) || id.endsWith("." + statement)) {
+          batchResults.add(batchResult);
+        }
+      }
+    }
+    return batchResults;
+  }
+
+  /**
+   * Opens batch sessions which record the results of the flushed JDBC batches.
+   */
+  protected static class RecordingDbSqlSessionFactory implements SessionFactory {
+
+    protected ProcessEngineConfigurationImpl configuration;
+
+    public RecordingDbSqlSessionFactory(ProcessEngineConfigurationImpl configuration) {
+      this.configuration = configuration;
+    }
+
+    @Override
+    public Class<?> getSessionType() {
+      return DbSqlSession.class;
+    }
+
+    @Override
+    public Session openSession() {
+      return new BatchDbSqlSession(configuration.getDbSqlSessionFactory()) {
+        @Override
+        public List<BatchResult> flushBatchOperations() {
+          List<BatchResult> batchResults = super.flushBatchOperations();
+          BATCH_RESULTS.addAll(batchResults);
+          return batchResults;
+        }
+      };
+    }
+  }
+
+}
@@ -18,11 +18,14 @@ package org.camunda.bpm.engine.test.jobexecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyCollection;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
@@ -42,14 +45,16 @@ public class AcquireJobCmdUnitTest {
 
   protected static final String JOB_ID_1 = "job_1";
   protected static final String JOB_ID_2 = "job_2";
+  protected static final String JOB_ID_3 = "job_3";
 
   protected AcquireJobsCmd acquireJobsCmd;
+  protected JobExecutor jobExecutor;
   protected JobManager jobManager;
   protected CommandContext commandContext;
 
   @Before
   public void initCommand() {
-    JobExecutor jobExecutor = mock(JobExecutor.class);
+    jobExecutor = mock(JobExecutor.class);
     when(jobExecutor.getMaxJobsPerAcquisition()).thenReturn(3);
     when(jobExecutor.getLockOwner()).thenReturn("test");
     when(jobExecutor.getLockTimeInMillis()).thenReturn(5 * 60 * 1000);
@@ -122,6 +127,54 @@ public class AcquireJobCmdUnitTest {
     checkThatAcquiredJobsInDifferentBatches();
   }
 
+  @Test
+  public void exclusiveJobsSameRootInstanceWithAffinity() {
+    // given: two exclusive jobs of process instances with the same root process instance
+    AcquirableJobEntity job1 = createExclusiveJob(JOB_ID_1, PROCESS_INSTANCE_ID_1);
+    AcquirableJobEntity job2 = createExclusiveJob(JOB_ID_2, PROCESS_INSTANCE_ID_2);
+    when(jobManager.findNextJobsToExecute(any(Page.class))).thenReturn(Arrays.asList(job1, job2));
+
+    Map<String, String> rootProcessInstanceIds = new HashMap<>();
+    rootProcessInstanceIds.put(PROCESS_INSTANCE_ID_1, PROCESS_INSTANCE_ID_1);
+    rootProcessInstanceIds.put(PROCESS_INSTANCE_ID_2, PROCESS_INSTANCE_ID_1);
+    when(jobManager.findRootProcessInstanceIds(anyCollection())).thenReturn(rootProcessInstanceIds);
+
+    // when the job executor with process instance affinity acquires new jobs
+    when(jobExecutor.isProcessInstanceAffinity()).thenReturn(true);
+    AcquiredJobs acquiredJobs = acquireJobsCmd.execute(commandContext);
+
+    // then job1 and job2 are acquired in one batch of the root process instance
+    List<List<String>> jobIdBatches = acquiredJobs.getJobIdBatches();
+    assertThat(jobIdBatches.size()).isEqualTo(1);
+    assertThat(jobIdBatches.get(0)).containsExactlyInAnyOrder(JOB_ID_1, JOB_ID_2);
+    assertThat(acquiredJobs.getAffinityKey(jobIdBatches.get(0))).isEqualTo(PROCESS_INSTANCE_ID_1);
+  }
+
+  @Test
+  public void exclusiveJobsDifferentRootInstanceWithAffinity() {
+    // given: two exclusive jobs of different root process instances
+    AcquirableJobEntity job1 = createExclusiveJob(JOB_ID_1, PROCESS_INSTANCE_ID_1);
+    AcquirableJobEntity job2 = createExclusiveJob(JOB_ID_2, PROCESS_INSTANCE_ID_2);
+    AcquirableJobEntity job3 = createNonExclusiveJob(JOB_ID_3, PROCESS_INSTANCE_ID_1);
+    when(jobManager.findNextJobsToExecute(any(Page.class))).thenReturn(Arrays.asList(job1, job2, job3));
+
+    Map<String, String> rootProcessInstanceIds = new HashMap<>();
+    rootProcessInstanceIds.put(PROCESS_INSTANCE_ID_1, PROCESS_INSTANCE_ID_1);
+    rootProcessInstanceIds.put(PROCESS_INSTANCE_ID_2, PROCESS_INSTANCE_ID_2);
+    when(jobManager.findRootProcessInstanceIds(anyCollection())).thenReturn(rootProcessInstanceIds);
+
+    // when the job executor with process instance affinity acquires new jobs
+    when(jobExecutor.isProcessInstanceAffinity()).thenReturn(true);
+    AcquiredJobs acquiredJobs = acquireJobsCmd.execute(commandContext);
+
+    // then each job is acquired in its own batch and only the exclusive ones have an affinity key
+    List<List<String>> jobIdBatches = acquiredJobs.getJobIdBatches();
+    assertThat(jobIdBatches.size()).isEqualTo(3);
+    assertThat(acquiredJobs.getAffinityKey(Arrays.asList(JOB_ID_1))).isEqualTo(PROCESS_INSTANCE_ID_1);
+    assertThat(acquiredJobs.getAffinityKey(Arrays.asList(JOB_ID_2))).isEqualTo(PROCESS_INSTANCE_ID_2);
+    assertThat(acquiredJobs.getAffinityKey(Arrays.asList(JOB_ID_3))).isNull();
+  }
+
   protected AcquirableJobEntity createExclusiveJob(String id, String processInstanceId) {
     AcquirableJobEntity job = createNonExclusiveJob(id, processInstanceId);
     when(job.isExclusive()).thenReturn(true);
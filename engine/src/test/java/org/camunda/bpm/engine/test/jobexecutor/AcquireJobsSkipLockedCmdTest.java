@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsSkipLockedCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Test;
+
+public class AcquireJobsSkipLockedCmdTest extends PluggableProcessEngineTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask().camundaExpression("${true}").camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  @Test
+  public void shouldLockAcquiredJobs() {
+    // given
+    testRule.deploy(PROCESS);
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+
+    // when
+    AcquiredJobs acquiredJobs = executeAcquireJobsCommand(jobExecutor);
+
+    // then
+    assertThat(acquiredJobs.size()).isEqualTo(3);
+
+    List<Job> jobs = managementService.createJobQuery().list();
+    assertThat(jobs).hasSize(3);
+    for (Job job : jobs) {
+      JobEntity jobEntity = (JobEntity) job;
+      assertThat(jobEntity.getLockOwner()).isEqualTo(jobExecutor.getLockOwner());
+      assertThat(jobEntity.getLockExpirationTime()).isNotNull();
+      assertThat(jobEntity.getRevision()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  public void shouldNotAcquireLockedJobs() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    executeAcquireJobsCommand(jobExecutor);
+
+    // when
+    AcquiredJobs acquiredJobs = executeAcquireJobsCommand(jobExecutor);
+
+    // then
+    assertThat(acquiredJobs.size()).isZero();
+  }
+
+  protected AcquiredJobs executeAcquireJobsCommand(JobExecutor jobExecutor) {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new AcquireJobsSkipLockedCmd(jobExecutor));
+  }
+
+}
@@ -161,6 +161,41 @@ public class BackoffJobAcquisitionStrategyTest {
     Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
   }
 
+  @Test
+  public void testAcquireNoMoreJobsThanExecutionCapacity() {
+    // given a job acquisition strategy and a job acquisition context
+    // with acquired jobs
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+
+    // when the job executor can only execute four more job batches
+    context.setAvailableExecutionCapacity(4);
+    strategy.reconfigure(context);
+
+    // then the strategy only attempts to acquire as many jobs as can be executed
+    Assert.assertEquals(4, strategy.getNumJobsToAcquire(ENGINE_NAME));
+
+    // without a timeout
+    Assert.assertEquals(0, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testWaitTimeOnExhaustedExecutionCapacity() {
+    // given a job acquisition strategy and a job acquisition context
+    // with acquired jobs
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+
+    // when the job executor cannot execute any further job batches
+    context.setAvailableExecutionCapacity(0);
+    strategy.reconfigure(context);
+
+    // then no jobs are acquired and there is a slight wait time
+    // until execution resources become available again
+    Assert.assertEquals(0, strategy.getNumJobsToAcquire(ENGINE_NAME));
+    Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
+  }
+
   /**
    * numJobsToAcquire >= numJobsAcquired >= numJobsFailedToLock must hold
    */
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobLanes;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExclusiveJobLanesTest {
+
+  protected ExclusiveJobLanes lanes;
+
+  @Before
+  public void createLanes() {
+    lanes = new ExclusiveJobLanes();
+  }
+
+  @Test
+  public void shouldOpenLanePerAffinityKey() {
+    // when
+    boolean firstEntered = lanes.enter("pi_1", Arrays.asList("job_1"));
+    boolean secondEntered = lanes.enter("pi_2", Arrays.asList("job_2"));
+
+    // then
+    assertThat(firstEntered).isTrue();
+    assertThat(secondEntered).isTrue();
+    assertThat(lanes.getNumberOfOpenLanes()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldQueueBatchesOfOpenLane() {
+    // given
+    List<String> leadingBatch = Arrays.asList("job_1");
+    List<String> secondBatch = Arrays.asList("job_2");
+    List<String> thirdBatch = Arrays.asList("job_3");
+    lanes.enter("pi_1", leadingBatch);
+
+    // when
+    boolean secondEntered = lanes.enter("pi_1", secondBatch);
+    boolean thirdEntered = lanes.enter("pi_1", thirdBatch);
+
+    // then the batches are queued and polled in order by the leading batch
+    assertThat(secondEntered).isFalse();
+    assertThat(thirdEntered).isFalse();
+    assertThat(lanes.poll(leadingBatch)).isSameAs(secondBatch);
+    assertThat(lanes.poll(leadingBatch)).isSameAs(thirdBatch);
+
+    // and the lane is closed once no batch is left
+    assertThat(lanes.poll(leadingBatch)).isNull();
+    assertThat(lanes.getNumberOfOpenLanes()).isZero();
+    assertThat(lanes.enter("pi_1", Arrays.asList("job_4"))).isTrue();
+  }
+
+  @Test
+  public void shouldNotPollForBatchWhichLeadsNoLane() {
+    // given
+    lanes.enter("pi_1", Arrays.asList("job_1"));
+    lanes.enter("pi_1", Arrays.asList("job_2"));
+
+    // when
+    List<String> polledBatch = lanes.poll(Arrays.asList("job_1"));
+
+    // then lanes are identified by the instance of their leading batch
+    assertThat(polledBatch).isNull();
+    assertThat(lanes.getNumberOfOpenLanes()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReturnQueuedBatchesOnRelease() {
+    // given
+    List<String> leadingBatch = Arrays.asList("job_1");
+    List<String> queuedBatch = Arrays.asList("job_2");
+    lanes.enter("pi_1", leadingBatch);
+    lanes.enter("pi_1", queuedBatch);
+
+    // when
+    List<List<String>> releasedBatches = lanes.release(leadingBatch);
+
+    // then
+    assertThat(releasedBatches).containsExactly(queuedBatch);
+    assertThat(lanes.getNumberOfOpenLanes()).isZero();
+    assertThat(lanes.release(leadingBatch)).isEmpty();
+  }
+
+}
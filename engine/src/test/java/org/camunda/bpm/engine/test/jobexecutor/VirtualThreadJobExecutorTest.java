@@ -0,0 +1,246 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Executes the job batches on platform threads given by {@link VirtualThreadJobExecutor#setThreadFactory},
+ * so the permit handling can be tested on Java versions without virtual threads.
+ */
+public class VirtualThreadJobExecutorTest {
+
+  protected ControllableVirtualThreadJobExecutor jobExecutor;
+  protected RecordingRejectedJobsHandler rejectedJobsHandler;
+
+  @Before
+  public void setUp() {
+    rejectedJobsHandler = new RecordingRejectedJobsHandler();
+
+    jobExecutor = new ControllableVirtualThreadJobExecutor();
+    jobExecutor.setMaxConcurrentJobs(2);
+    jobExecutor.setRejectedJobsHandler(rejectedJobsHandler);
+    jobExecutor.setThreadFactory(runnable -> {
+      Thread thread = new Thread(runnable);
+      thread.setUncaughtExceptionHandler((t, e) -> { });
+      jobExecutor.threads.add(thread);
+      return thread;
+    });
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.releaseJobs();
+    jobExecutor.shutdown();
+  }
+
+  @Test
+  public void shouldReportUnknownCapacityBeforeStart() {
+    // when
+    int capacity = jobExecutor.getAvailableExecutionCapacity();
+
+    // then
+    assertThat(capacity).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldReportCapacityOfMaxConcurrentJobs() {
+    // when
+    jobExecutor.start();
+
+    // then
+    assertThat(jobExecutor.getAvailableExecutionCapacity()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReduceCapacityWhileJobsAreExecuted() throws Exception {
+    // given
+    jobExecutor.start();
+
+    // when
+    jobExecutor.executeJobs(Collections.singletonList("job1"), null);
+    jobExecutor.awaitStartedJobs(1);
+
+    // then
+    assertThat(jobExecutor.getAvailableExecutionCapacity()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReleasePermitWhenJobsAreExecuted() throws Exception {
+    // given
+    jobExecutor.start();
+    jobExecutor.executeJobs(Arrays.asList("job1", "job2"), null);
+    jobExecutor.awaitStartedJobs(1);
+
+    // when
+    jobExecutor.releaseJobs();
+    jobExecutor.joinThreads();
+
+    // then
+    assertThat(jobExecutor.getAvailableExecutionCapacity()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReleasePermitWhenJobsFail() throws Exception {
+    // given
+    jobExecutor.start();
+    jobExecutor.jobFailure = new RuntimeException("expected exception");
+
+    // when
+    jobExecutor.executeJobs(Collections.singletonList("job1"), null);
+    jobExecutor.releaseJobs();
+    jobExecutor.joinThreads();
+
+    // then
+    assertThat(jobExecutor.getAvailableExecutionCapacity()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReleasePermitWhenThreadCannotBeStarted() {
+    // given
+    jobExecutor.setThreadFactory(runnable -> {
+      throw new IllegalStateException("expected exception");
+    });
+    jobExecutor.start();
+
+    // when
+    assertThatThrownBy(() -> jobExecutor.executeJobs(Collections.singletonList("job1"), null))
+      .isInstanceOf(IllegalStateException.class);
+
+    // then
+    assertThat(jobExecutor.getAvailableExecutionCapacity()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRejectJobsWhenCapacityIsExhausted() throws Exception {
+    // given
+    jobExecutor.start();
+    jobExecutor.executeJobs(Collections.singletonList("job1"), null);
+    jobExecutor.executeJobs(Collections.singletonList("job2"), null);
+    jobExecutor.awaitStartedJobs(2);
+
+    // when
+    jobExecutor.executeJobs(Arrays.asList("job3", "job4"), null);
+
+    // then
+    assertThat(rejectedJobsHandler.rejectedJobIds).containsExactly("job3", "job4");
+    assertThat(rejectedJobsHandler.jobExecutor).isSameAs(jobExecutor);
+    assertThat(jobExecutor.threads).hasSize(2);
+    assertThat(jobExecutor.getAvailableExecutionCapacity()).isZero();
+  }
+
+  @Test
+  public void shouldExecuteJobsAgainWhenCapacityIsReleased() throws Exception {
+    // given
+    jobExecutor.start();
+    jobExecutor.executeJobs(Collections.singletonList("job1"), null);
+    jobExecutor.executeJobs(Collections.singletonList("job2"), null);
+    jobExecutor.awaitStartedJobs(2);
+
+    jobExecutor.releaseJobs();
+    jobExecutor.joinThreads();
+
+    // when
+    jobExecutor.executeJobs(Collections.singletonList("job3"), null);
+    jobExecutor.joinThreads();
+
+    // then
+    assertThat(rejectedJobsHandler.rejectedJobIds).isEmpty();
+    assertThat(jobExecutor.executedJobIds).containsExactlyInAnyOrder("job1", "job2", "job3");
+  }
+
+  public static class ControllableVirtualThreadJobExecutor extends VirtualThreadJobExecutor {
+
+    protected List<Thread> threads = new CopyOnWriteArrayList<>();
+    protected List<String> executedJobIds = new CopyOnWriteArrayList<>();
+    protected Semaphore startedJobs = new Semaphore(0);
+    protected CountDownLatch jobsReleased = new CountDownLatch(1);
+    protected volatile RuntimeException jobFailure;
+
+    @Override
+    protected void startJobAcquisitionThread() {
+      // the jobs are handed to the job executor by the test
+    }
+
+    @Override
+    protected void stopJobAcquisitionThread() {
+      // no acquisition thread was started
+    }
+
+    @Override
+    public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+      return () -> {
+        startedJobs.release();
+        try {
+          jobsReleased.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+
+        if (jobFailure != null) {
+          throw jobFailure;
+        }
+        executedJobIds.addAll(jobIds);
+      };
+    }
+
+    public void awaitStartedJobs(int jobs) throws InterruptedException {
+      assertThat(startedJobs.tryAcquire(jobs, 10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    public void releaseJobs() {
+      jobsReleased.countDown();
+    }
+
+    public void joinThreads() throws InterruptedException {
+      for (Thread thread : threads) {
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(thread.isAlive()).isFalse();
+      }
+    }
+  }
+
+  public static class RecordingRejectedJobsHandler implements RejectedJobsHandler {
+
+    protected List<String> rejectedJobIds = new CopyOnWriteArrayList<>();
+    protected JobExecutor jobExecutor;
+
+    @Override
+    public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+      rejectedJobIds.addAll(jobIds);
+      this.jobExecutor = jobExecutor;
+    }
+  }
+
+}
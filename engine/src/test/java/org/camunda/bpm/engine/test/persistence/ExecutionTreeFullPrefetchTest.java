@@ -0,0 +1,131 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.EventSubscription;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExecutionTreeFullPrefetchTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+      .userTask("waitTask")
+      .boundaryEvent("message").message("message")
+      .endEvent()
+      .moveToNode("fork")
+      .serviceTask("asyncTask").camundaExpression("${true}").camundaAsyncBefore()
+      .userTask("afterAsyncTask")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setExecutionTreeFullPrefetchEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @Test
+  public void shouldPrefetchVariablesAndEventSubscriptions() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+
+    Execution waitExecution = runtimeService.createExecutionQuery()
+        .activityId("waitTask")
+        .singleResult();
+    VariableInstance variable = runtimeService.createVariableInstanceQuery().singleResult();
+    EventSubscription eventSubscription = runtimeService.createEventSubscriptionQuery().singleResult();
+
+    // when
+    boolean[] cached = engineRule.getProcessEngineConfiguration()
+      .getCommandExecutorTxRequired()
+      .execute(commandContext -> {
+        DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+        ExecutionEntity execution = dbEntityManager.selectById(ExecutionEntity.class, waitExecution.getId());
+        // initializes the execution tree
+        execution.getParent();
+
+        return new boolean[] {
+          dbEntityManager.getCachedEntity(VariableInstanceEntity.class, variable.getId()) != null,
+          dbEntityManager.getCachedEntity(EventSubscriptionEntity.class, eventSubscription.getId()) != null
+        };
+      });
+
+    // then
+    assertThat(cached).containsExactly(true, true);
+  }
+
+  @Test
+  public void shouldExecuteJobWithPrefetchedTree() {
+    // given
+    testRule.deploy(PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+
+    Job job = managementService.createJobQuery().singleResult();
+
+    // when
+    managementService.executeJob(job.getId());
+    runtimeService.correlateMessage("message");
+
+    // then
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterAsyncTask").count()).isEqualTo(1);
+    assertThat(runtimeService.getVariable(processInstance.getId(), "foo")).isEqualTo("bar");
+    assertThat(runtimeService.createEventSubscriptionQuery().count()).isZero();
+  }
+
+}
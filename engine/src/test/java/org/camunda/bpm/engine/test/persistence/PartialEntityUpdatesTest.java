@@ -0,0 +1,294 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class PartialEntityUpdatesTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("asyncTask").camundaExpression("${true}").camundaAsyncBefore()
+      .userTask("userTask").name("Review")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setDbEntityPartialUpdatesEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @Test
+  public void shouldUpdateChangedColumnsOfTask() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.setAssignee(task.getId(), "kermit");
+    taskService.setPriority(task.getId(), 80);
+
+    // then
+    Task updatedTask = taskService.createTaskQuery().singleResult();
+    assertThat(updatedTask.getAssignee()).isEqualTo("kermit");
+    assertThat(updatedTask.getPriority()).isEqualTo(80);
+    assertThat(updatedTask.getName()).isEqualTo("Review");
+    assertThat(updatedTask.getTaskDefinitionKey()).isEqualTo("userTask");
+    assertThat(updatedTask.getExecutionId()).isEqualTo(task.getExecutionId());
+  }
+
+  @Test
+  public void shouldUpdateChangedColumnsOfExecutionAndJob() {
+    // given
+    testRule.deploy(PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", "businessKey");
+    Job job = managementService.createJobQuery().singleResult();
+
+    // when
+    managementService.setJobRetries(job.getId(), 5);
+    managementService.setJobPriority(job.getId(), 42);
+
+    // then
+    Job updatedJob = managementService.createJobQuery().singleResult();
+    assertThat(updatedJob.getRetries()).isEqualTo(5);
+    assertThat(updatedJob.getPriority()).isEqualTo(42);
+    assertThat(updatedJob.getExecutionId()).isEqualTo(job.getExecutionId());
+
+    // when
+    managementService.executeJob(job.getId());
+
+    // then
+    Execution execution = runtimeService.createExecutionQuery().activityId("userTask").singleResult();
+    assertThat(execution.getId()).isEqualTo(processInstance.getId());
+    assertThat(managementService.createJobQuery().count()).isZero();
+
+    ProcessInstance updatedProcessInstance = runtimeService.createProcessInstanceQuery().singleResult();
+    assertThat(updatedProcessInstance.getBusinessKey()).isEqualTo("businessKey");
+    assertThat(updatedProcessInstance.isSuspended()).isFalse();
+  }
+
+  @Test
+  public void shouldOnlySetChangedColumnsOfTask() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+
+    // when
+    List<DbEntityOperation> updates = executeAndRecordUpdates(commandContext -> {
+      TaskEntity task = commandContext.getTaskManager().findTaskById(taskId);
+      task.setAssigneeWithoutCascade("kermit");
+      task.setPriorityWithoutCascade(80);
+      return null;
+    });
+
+    // then
+    DbEntityOperation update = getSingleUpdate(updates, TaskEntity.class);
+    assertThat(update.getChangedPersistentFields())
+      .contains("assignee", "priority")
+      .doesNotContain("name", "description", "executionId");
+    assertThat(getUpdateSql(update, "updateTaskColumns"))
+      .contains("ASSIGNEE_", "PRIORITY_")
+      .doesNotContain("NAME_", "DESCRIPTION_", "EXECUTION_ID_");
+  }
+
+  @Test
+  public void shouldOnlySetChangedColumnsOfJob() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+
+    // when
+    List<DbEntityOperation> updates = executeAndRecordUpdates(commandContext -> {
+      commandContext.getJobManager().findJobById(jobId).setRetries(5);
+      return null;
+    });
+
+    // then
+    DbEntityOperation update = getSingleUpdate(updates, MessageEntity.class);
+    assertThat(update.getChangedPersistentFields())
+      .contains("retries")
+      .doesNotContain("duedate", "lockOwner", "exceptionMessage");
+    assertThat(getUpdateSql(update, "updateJobColumns"))
+      .contains("RETRIES_")
+      .doesNotContain("DUEDATE_", "LOCK_OWNER_", "EXCEPTION_MSG_");
+  }
+
+  @Test
+  public void shouldOnlySetChangedColumnsOfExecution() {
+    // given
+    testRule.deploy(PROCESS);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process", "businessKey").getId();
+
+    // when
+    List<DbEntityOperation> updates = executeAndRecordUpdates(commandContext -> {
+      commandContext.getExecutionManager().findExecutionById(processInstanceId).setBusinessKey("otherBusinessKey");
+      return null;
+    });
+
+    // then
+    DbEntityOperation update = getSingleUpdate(updates, ExecutionEntity.class);
+    assertThat(update.getChangedPersistentFields())
+      .contains("businessKey")
+      .doesNotContain("activityId", "parentId", "suspensionState");
+    assertThat(getUpdateSql(update, "updateExecutionColumns"))
+      .contains("BUSINESS_KEY_")
+      .doesNotContain("ACT_ID_", "PARENT_ID_", "SUSPENSION_STATE_");
+
+    assertThat(runtimeService.createProcessInstanceQuery().singleResult().getBusinessKey()).isEqualTo("otherBusinessKey");
+  }
+
+  @Test
+  public void shouldDetectConcurrentModification() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+
+    // when
+    assertThatThrownBy(() -> configuration.getCommandExecutorTxRequired().execute(commandContext -> {
+      TaskEntity task = commandContext.getTaskManager().findTaskById(taskId);
+
+      // a concurrent transaction updates another column of the task
+      configuration.getCommandExecutorTxRequiresNew().execute(concurrentCommandContext -> {
+        concurrentCommandContext.getTaskManager().findTaskById(taskId).setDescriptionWithoutCascade("concurrent");
+        return null;
+      });
+
+      task.setAssigneeWithoutCascade("kermit");
+      return null;
+    }))
+    // then
+    .isInstanceOf(OptimisticLockingException.class);
+
+    Task task = taskService.createTaskQuery().singleResult();
+    assertThat(task.getDescription()).isEqualTo("concurrent");
+    assertThat(task.getAssignee()).isNull();
+  }
+
+  /**
+   * Executes the command and returns the UPDATE operations of entities which are flushed
+   * when the command context closes.
+   */
+  protected List<DbEntityOperation> executeAndRecordUpdates(Command<Void> command) {
+    RecordingDbOperationManager operationManager = configuration.getCommandExecutorTxRequired().execute(commandContext -> {
+      RecordingDbOperationManager recordingOperationManager = new RecordingDbOperationManager();
+      commandContext.getDbEntityManager().setDbOperationManager(recordingOperationManager);
+      command.execute(commandContext);
+      return recordingOperationManager;
+    });
+    return operationManager.flushedUpdates;
+  }
+
+  protected DbEntityOperation getSingleUpdate(List<DbEntityOperation> updates, Class<?> entityType) {
+    List<DbEntityOperation> updatesOfType = new ArrayList<>();
+    for (DbEntityOperation update : updates) {
+      if (update.getEntity().getClass() == entityType) {
+        updatesOfType.add(update);
+      }
+    }
+    assertThat(updatesOfType).hasSize(1);
+    return updatesOfType.get(0);
+  }
+
+  /**
+   * @return the SQL of the statement which executes the update operation
+   */
+  protected String getUpdateSql(DbEntityOperation update, String expectedStatement) {
+    DbSqlSessionFactory dbSqlSessionFactory = configuration.getDbSqlSessionFactory();
+    String statement = dbSqlSessionFactory.getPartialUpdateStatement(update.getEntity().getClass());
+    assertThat(statement).isEqualTo(dbSqlSessionFactory.mapStatement(expectedStatement));
+
+    return configuration.getSqlSessionFactory()
+        .getConfiguration()
+        .getMappedStatement(statement)
+        .getBoundSql(update)
+        .getSql();
+  }
+
+  public static class RecordingDbOperationManager extends DbOperationManager {
+
+    protected List<DbEntityOperation> flushedUpdates = new ArrayList<>();
+
+    @Override
+    public List<DbOperation> calculateFlush() {
+      List<DbOperation> operations = super.calculateFlush();
+      for (DbOperation operation : operations) {
+        if (operation instanceof DbEntityOperation && operation.getOperationType() == DbOperationType.UPDATE) {
+          flushedUpdates.add((DbEntityOperation) operation);
+        }
+      }
+      return operations;
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.InputStream;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.exception.DeploymentResourceNotFoundException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SharedDbEntityCacheTest {
+
+  protected static final String RESOURCE_NAME = "form.html";
+  protected static final String RESOURCE_CONTENT = "<form></form>";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setSharedDbEntityCacheEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected RepositoryService repositoryService;
+  protected SharedDbEntityCache sharedDbEntityCache;
+
+  @Before
+  public void init() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    sharedDbEntityCache = configuration.getSharedDbEntityCache();
+    sharedDbEntityCache.clear();
+  }
+
+  @Test
+  public void shouldServeDeploymentResourceFromSharedCache() {
+    // given
+    Deployment deployment = testRule.deploy(repositoryService.createDeployment()
+        .addString(RESOURCE_NAME, RESOURCE_CONTENT));
+    assertThat(getResource(deployment.getId())).isEqualTo(RESOURCE_CONTENT);
+
+    long hits = getMeterValue(Metrics.SHARED_ENTITY_CACHE_HIT);
+    long misses = getMeterValue(Metrics.SHARED_ENTITY_CACHE_MISS);
+
+    // when
+    String content = getResource(deployment.getId());
+
+    // then
+    assertThat(content).isEqualTo(RESOURCE_CONTENT);
+    assertThat(sharedDbEntityCache.size()).isEqualTo(1);
+    assertThat(getMeterValue(Metrics.SHARED_ENTITY_CACHE_HIT)).isEqualTo(hits + 1);
+    assertThat(getMeterValue(Metrics.SHARED_ENTITY_CACHE_MISS)).isEqualTo(misses);
+  }
+
+  @Test
+  public void shouldInvalidateOnDeploymentDeletion() {
+    // given
+    String deploymentId = repositoryService.createDeployment()
+        .addString(RESOURCE_NAME, RESOURCE_CONTENT)
+        .deploy()
+        .getId();
+    getResource(deploymentId);
+    assertThat(sharedDbEntityCache.size()).isEqualTo(1);
+
+    // when
+    repositoryService.deleteDeployment(deploymentId);
+
+    // then
+    assertThat(sharedDbEntityCache.size()).isZero();
+    assertThatThrownBy(() -> getResource(deploymentId))
+      .isInstanceOf(DeploymentResourceNotFoundException.class);
+  }
+
+  @Test
+  public void shouldKeepEntriesOfOtherDeploymentsOnDeploymentDeletion() {
+    // given
+    Deployment deployment = testRule.deploy(repositoryService.createDeployment()
+        .addString(RESOURCE_NAME, RESOURCE_CONTENT));
+    String otherDeploymentId = repositoryService.createDeployment()
+        .addString(RESOURCE_NAME, RESOURCE_CONTENT)
+        .deploy()
+        .getId();
+    getResource(deployment.getId());
+    getResource(otherDeploymentId);
+    assertThat(sharedDbEntityCache.size()).isEqualTo(2);
+
+    long hits = getMeterValue(Metrics.SHARED_ENTITY_CACHE_HIT);
+
+    // when
+    repositoryService.deleteDeployment(otherDeploymentId);
+
+    // then
+    assertThat(sharedDbEntityCache.size()).isEqualTo(1);
+    assertThat(getResource(deployment.getId())).isEqualTo(RESOURCE_CONTENT);
+    assertThat(getMeterValue(Metrics.SHARED_ENTITY_CACHE_HIT)).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void shouldNotCacheMissingResource() {
+    // given
+    Deployment deployment = testRule.deploy(repositoryService.createDeployment()
+        .addString(RESOURCE_NAME, RESOURCE_CONTENT));
+
+    // when
+    assertThatThrownBy(() -> repositoryService.getResourceAsStream(deployment.getId(), "unknown.html"))
+      .isInstanceOf(DeploymentResourceNotFoundException.class);
+
+    // then
+    assertThat(sharedDbEntityCache.size()).isZero();
+  }
+
+  protected String getResource(String deploymentId) {
+    InputStream resource = repositoryService.getResourceAsStream(deploymentId, RESOURCE_NAME);
+    return new String(IoUtil.readInputStream(resource, RESOURCE_NAME));
+  }
+
+  protected long getMeterValue(String name) {
+    return configuration.getMetricsRegistry().getDbMeterByName(name).get();
+  }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+import org.camunda.bpm.engine.impl.db.IdBlock;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingDbIdGeneratorTest {
+
+  protected IdBlockCommandExecutor commandExecutor;
+  protected TestPrefetchingDbIdGenerator idGenerator;
+
+  @Before
+  public void setUp() {
+    commandExecutor = new IdBlockCommandExecutor();
+
+    idGenerator = new TestPrefetchingDbIdGenerator();
+    idGenerator.setIdBlockSize(10);
+    idGenerator.setCommandExecutor(commandExecutor);
+  }
+
+  @After
+  public void tearDown() {
+    idGenerator.close();
+  }
+
+  @Test
+  public void shouldGenerateConsecutiveIds() {
+    // given
+    idGenerator.setMaxIdBlockSize(10);
+
+    // when
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+
+    // then
+    for (int i = 0; i < 25; i++) {
+      assertThat(ids.get(i)).isEqualTo(Long.toString(i));
+    }
+    assertThat(commandExecutor.getFetchedBlocks()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws Exception {
+    // given
+    int threads = 16;
+    int idsPerThread = 5000;
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      tasks.add(() -> {
+        for (int j = 0; j < idsPerThread; j++) {
+          ids.add(idGenerator.getNextId());
+        }
+        return null;
+      });
+    }
+
+    // when
+    try {
+      for (Future<Void> future : executorService.invokeAll(tasks)) {
+        future.get();
+      }
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+
+    // then
+    assertThat(ids).hasSize(threads * idsPerThread);
+  }
+
+  @Test
+  public void shouldNotLoseFetchedBlocksConcurrently() throws Exception {
+    // given
+    idGenerator.setMaxIdBlockSize(10);
+    int threads = 16;
+    int idsPerThread = 5000;
+
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      tasks.add(() -> {
+        for (int j = 0; j < idsPerThread; j++) {
+          idGenerator.getNextId();
+        }
+        return null;
+      });
+    }
+
+    // when
+    try {
+      for (Future<Void> future : executorService.invokeAll(tasks)) {
+        future.get();
+      }
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+
+    // then only the rest of the current block and a single prefetched block are unused
+    long fetchedIds = (long) commandExecutor.getFetchedBlocks() * 10;
+    assertThat(fetchedIds - threads * idsPerThread).isLessThanOrEqualTo(20);
+  }
+
+  @Test
+  public void shouldReusePendingPrefetchedBlock() {
+    // given a block which is prefetched once 80 percent of the first block are used up
+    for (int i = 0; i < 9; i++) {
+      idGenerator.getNextId();
+    }
+
+    // when the next block is prefetched again before it has been taken
+    idGenerator.prefetchNextBlock();
+
+    // then the pending block is not replaced
+    assertThat(idGenerator.getNextId()).isEqualTo("9");
+    assertThat(idGenerator.getNextId()).isEqualTo("10");
+    assertThat(commandExecutor.getFetchedBlocks()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldGrowBlockSizeOnFastConsumption() {
+    // given
+    idGenerator.setTargetBlockDuration(60000L);
+    idGenerator.setMaxIdBlockSize(40);
+
+    // when
+    for (int i = 0; i < 200; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then
+    assertThat(idGenerator.getCurrentBlockSize()).isEqualTo(40);
+    assertThat(commandExecutor.getRequestedBlockSizes()).contains(20, 40);
+  }
+
+  @Test
+  public void shouldNotGrowBlockSizeBeyondMinimumOnSlowConsumption() {
+    // given
+    idGenerator.setTargetBlockDuration(0L);
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then
+    assertThat(idGenerator.getCurrentBlockSize()).isEqualTo(10);
+    assertThat(commandExecutor.getRequestedBlockSizes()).containsOnly(10);
+  }
+
+  @Test
+  public void shouldFetchNewBlockAfterReset() {
+    // given
+    idGenerator.getNextId();
+
+    // when
+    idGenerator.reset();
+    String id = idGenerator.getNextId();
+
+    // then
+    assertThat(Long.parseLong(id)).isGreaterThanOrEqualTo(10L);
+  }
+
+  protected static class TestPrefetchingDbIdGenerator extends PrefetchingDbIdGenerator {
+
+    public void prefetchNextBlock() {
+      prefetchNextBlock(currentRange);
+    }
+  }
+
+  protected static class IdBlockCommandExecutor implements CommandExecutor {
+
+    protected AtomicLong nextId = new AtomicLong();
+    protected AtomicInteger fetchedBlocks = new AtomicInteger();
+    protected List<Integer> requestedBlockSizes = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T execute(Command<T> command) {
+      int blockSize = ((GetNextIdBlockCmd) command).getIdBlockSize();
+      long first = nextId.getAndAdd(blockSize);
+
+      fetchedBlocks.incrementAndGet();
+      requestedBlockSizes.add(blockSize);
+
+      return (T) new IdBlock(first, first + blockSize - 1);
+    }
+
+    public int getFetchedBlocks() {
+      return fetchedBlocks.get();
+    }
+
+    public synchronized List<Integer> getRequestedBlockSizes() {
+      return new ArrayList<>(requestedBlockSizes);
+    }
+  }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.Test;
+
+public class CachedDbEntityTest {
+
+  @Test
+  public void shouldNotBeDirtyWithoutChanges() {
+    ExecutionEntity execution = new ExecutionEntity();
+    execution.setActivityId("task");
+    TaskEntity task = new TaskEntity();
+    task.setNameWithoutCascade("task");
+    TimerEntity timer = new TimerEntity();
+    timer.setRepeat("R/PT1H");
+    VariableInstanceEntity variable = new VariableInstanceEntity();
+    variable.setTextValue("value");
+    ExternalTaskEntity externalTask = new ExternalTaskEntity();
+    externalTask.setTopicName("topic");
+
+    assertThat(cachedCopyOf(execution).isDirty()).isFalse();
+    assertThat(cachedCopyOf(task).isDirty()).isFalse();
+    assertThat(cachedCopyOf(timer).isDirty()).isFalse();
+    assertThat(cachedCopyOf(variable).isDirty()).isFalse();
+    assertThat(cachedCopyOf(externalTask).isDirty()).isFalse();
+  }
+
+  @Test
+  public void shouldBeDirtyAfterFieldChange() {
+    // given
+    ExecutionEntity execution = new ExecutionEntity();
+    CachedDbEntity cachedExecution = cachedCopyOf(execution);
+    MessageEntity job = new MessageEntity();
+    CachedDbEntity cachedJob = cachedCopyOf(job);
+    TimerEntity timer = new TimerEntity();
+    CachedDbEntity cachedTimer = cachedCopyOf(timer);
+    ExternalTaskEntity externalTask = new ExternalTaskEntity();
+    externalTask.setRetries(3);
+    CachedDbEntity cachedExternalTask = cachedCopyOf(externalTask);
+
+    // when
+    execution.setActive(false);
+    job.setRetriesFromPersistence(1);
+    timer.setRepeat("R/PT1H");
+    externalTask.setRetries(2);
+
+    // then
+    assertThat(cachedExecution.isDirty()).isTrue();
+    assertThat(cachedJob.isDirty()).isTrue();
+    assertThat(cachedTimer.isDirty()).isTrue();
+    assertThat(cachedExternalTask.isDirty()).isTrue();
+  }
+
+  @Test
+  public void shouldBeDirtyAfterSettingOptionalField() {
+    // given
+    TaskEntity task = new TaskEntity();
+    CachedDbEntity cachedTask = cachedCopyOf(task);
+    VariableInstanceEntity variable = new VariableInstanceEntity();
+    variable.setTextValue("value");
+    CachedDbEntity cachedVariable = cachedCopyOf(variable);
+
+    // when
+    task.setDueDateWithoutCascade(new Date());
+    variable.setTextValue(null);
+    variable.setLongValue(42L);
+
+    // then
+    assertThat(cachedTask.isDirty()).isTrue();
+    assertThat(cachedVariable.isDirty()).isTrue();
+  }
+
+  @Test
+  public void shouldNotBeDirtyAfterRevertingChange() {
+    // given
+    TaskEntity task = new TaskEntity();
+    task.setPriorityWithoutCascade(50);
+    CachedDbEntity cachedTask = cachedCopyOf(task);
+
+    // when
+    task.setPriorityWithoutCascade(1000);
+    task.setPriorityWithoutCascade(50);
+
+    // then
+    assertThat(cachedTask.isDirty()).isFalse();
+  }
+
+  @Test
+  public void shouldNotBeDirtyAfterCopyingChangedState() {
+    // given
+    MessageEntity job = new MessageEntity();
+    CachedDbEntity cachedJob = cachedCopyOf(job);
+    job.setLockOwner("owner");
+
+    // when
+    cachedJob.makeCopy();
+
+    // then
+    assertThat(cachedJob.isDirty()).isFalse();
+
+    job.setLockOwner(null);
+    assertThat(cachedJob.isDirty()).isTrue();
+  }
+
+  @Test
+  public void shouldBeDirtyWhenForced() {
+    // given
+    CachedDbEntity cachedExecution = cachedCopyOf(new ExecutionEntity());
+
+    // when
+    cachedExecution.forceSetDirty();
+
+    // then
+    assertThat(cachedExecution.isDirty()).isTrue();
+
+    cachedExecution.makeCopy();
+    assertThat(cachedExecution.isDirty()).isFalse();
+  }
+
+  @Test
+  public void shouldCompareStateMapsOfOtherEntities() {
+    // given
+    PropertyEntity property = new PropertyEntity("name", "value");
+    CachedDbEntity cachedProperty = cachedCopyOf(property);
+
+    // assume
+    assertThat(cachedProperty.isDirty()).isFalse();
+
+    // when
+    property.setValue("other value");
+
+    // then
+    assertThat(cachedProperty.isDirty()).isTrue();
+  }
+
+  protected CachedDbEntity cachedCopyOf(DbEntity entity) {
+    CachedDbEntity cachedEntity = new CachedDbEntity();
+    cachedEntity.setEntity(entity);
+    cachedEntity.makeCopy();
+    return cachedEntity;
+  }
+
+}
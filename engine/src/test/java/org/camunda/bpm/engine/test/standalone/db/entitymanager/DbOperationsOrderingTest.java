@@ -217,6 +217,62 @@ public class DbOperationsOrderingTest {
     assertHappensBefore(execution1, execution2, deleteOperations);
   }
 
+  @Test
+  public void testDeleteReferenceOrderingMultipleChildren() {
+    // given
+    execution1.setParentExecution(execution4);
+    execution5.setParentExecution(execution4);
+    execution4.setParentExecution(execution2);
+    execution3.setParentExecution(execution2);
+    entityManager.getDbEntityCache().putPersistent(execution1);
+    entityManager.getDbEntityCache().putPersistent(execution2);
+    entityManager.getDbEntityCache().putPersistent(execution3);
+    entityManager.getDbEntityCache().putPersistent(execution4);
+    entityManager.getDbEntityCache().putPersistent(execution5);
+
+    // when
+    entityManager.delete(execution2);
+    entityManager.delete(execution5);
+    entityManager.delete(execution3);
+    entityManager.delete(execution1);
+    entityManager.delete(execution4);
+
+    entityManager.flushEntityCache();
+
+    // then the children are deleted before their parents
+    List<DbOperation> deleteOperations = entityManager.getDbOperationManager().calculateFlush();
+    assertEquals(5, deleteOperations.size());
+    assertHappensBefore(execution1, execution4, deleteOperations);
+    assertHappensBefore(execution5, execution4, deleteOperations);
+    assertHappensBefore(execution4, execution2, deleteOperations);
+    assertHappensBefore(execution3, execution2, deleteOperations);
+  }
+
+  @Test
+  public void testInsertReferenceOrderingDeepTree() {
+    // given a chain of executions whose ids are in reverse order of the hierarchy
+    int depth = 10000;
+    ExecutionEntity[] executions = new ExecutionEntity[depth];
+    for (int i = 0; i < depth; i++) {
+      executions[i] = new ExecutionEntity();
+      executions[i].setId(String.format("%05d", depth - i));
+      if (i > 0) {
+        executions[i].setParentExecution(executions[i - 1]);
+      }
+      entityManager.insert(executions[i]);
+    }
+
+    // when
+    entityManager.flushEntityCache();
+    List<DbOperation> insertOperations = entityManager.getDbOperationManager().calculateFlush();
+
+    // then each parent is inserted before its child
+    assertEquals(depth, insertOperations.size());
+    for (int i = 0; i < depth; i++) {
+      assertEquals(executions[i], ((DbEntityOperation) insertOperations.get(i)).getEntity());
+    }
+  }
+
   protected void assertHappensAfter(DbEntity entity1, DbEntity entity2, List<DbOperation> operations) {
     int idx1 = indexOfEntity(entity1, operations);
     int idx2 = indexOfEntity(entity2, operations);
@@ -0,0 +1,263 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
+import org.camunda.bpm.engine.impl.el.ProcessEngineElResolver;
+import org.camunda.bpm.engine.impl.el.ReadOnlyMapELResolver;
+import org.camunda.bpm.engine.test.mock.MockElResolver;
+import org.camunda.bpm.engine.test.mock.Mocks;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.SimpleContext;
+import org.camunda.bpm.impl.juel.jakarta.el.BeanELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ELContext;
+import org.camunda.bpm.impl.juel.jakarta.el.ELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.MapELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ResourceBundleELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ValueExpression;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class CompiledExpressionAccessorTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setExpressionCompilationEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected Map<Object, Object> beans = new HashMap<>();
+
+  @After
+  public void resetMocks() {
+    Mocks.reset();
+  }
+
+  @Test
+  public void shouldCallCachedGetterWithoutResolver() {
+    // given
+    CountingElResolver resolver = createResolver();
+    ValueExpression expression = createExpression(true, "${bean.name}");
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      assertThat(expression.getValue(createContext(resolver, new Bean("aBean")))).isEqualTo("aBean");
+    }
+
+    // then
+    assertThat(resolver.propertyLookups).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCallCachedMethodWithoutResolver() {
+    // given
+    CountingElResolver resolver = createResolver();
+    ValueExpression expression = createExpression(true, "${bean.greet('you')}");
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      assertThat(expression.getValue(createContext(resolver, new Bean("aBean")))).isEqualTo("aBean greets you");
+    }
+
+    // then
+    assertThat(resolver.methodLookups).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldResolveEveryTimeWhenInterpreted() {
+    // given
+    CountingElResolver resolver = createResolver();
+    ValueExpression expression = createExpression(false, "${bean.name}");
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      expression.getValue(createContext(resolver, new Bean("aBean")));
+    }
+
+    // then
+    assertThat(resolver.propertyLookups).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldResolveOtherBaseClasses() {
+    // given
+    CountingElResolver resolver = createResolver();
+    ValueExpression expression = createExpression(true, "${bean.name}");
+    expression.getValue(createContext(resolver, new Bean("aBean")));
+
+    // when
+    Object value = expression.getValue(createContext(resolver, new OtherBean()));
+
+    // then
+    assertThat(value).isEqualTo("otherBean");
+    assertThat(resolver.propertyLookups).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldResolveMockedProperty() {
+    // given
+    CountingElResolver resolver = createResolver();
+    ValueExpression expression = createExpression(true, "${bean.name}");
+    expression.getValue(createContext(resolver, new Bean("aBean")));
+
+    // when
+    Mocks.register("name", "aMock");
+
+    // then the mock resolver answers for any base object
+    assertThat(expression.getValue(createContext(resolver, new Bean("aBean")))).isEqualTo("aMock");
+  }
+
+  @Test
+  public void shouldNotCacheWithUnknownResolver() {
+    // given
+    CountingElResolver resolver = new CountingElResolver();
+    resolver.add(new ReadOnlyMapELResolver(beans));
+    resolver.add(new ResourceBundleELResolver());
+    resolver.add(new BeanELResolver());
+    ValueExpression expression = createExpression(true, "${bean.name}");
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      expression.getValue(createContext(resolver, new Bean("aBean")));
+    }
+
+    // then
+    assertThat(resolver.propertyLookups).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldEnableCompilationFromConfiguration() {
+    // given
+    JuelExpressionManager expressionManager = (JuelExpressionManager) engineRule.getProcessEngineConfiguration()
+        .getExpressionManager();
+    RuntimeService runtimeService = engineRule.getRuntimeService();
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .camundaHistoryTimeToLive(180)
+        .startEvent()
+        .serviceTask("task").camundaExpression("${execution.setVariable('activity', execution.currentActivityId)}")
+        .userTask()
+        .endEvent()
+        .done());
+
+    // when
+    String firstInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    String secondInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    // then
+    assertThat(expressionManager.isExpressionCompilationEnabled()).isTrue();
+    assertThat(runtimeService.getVariable(firstInstanceId, "activity")).isEqualTo("task");
+    assertThat(runtimeService.getVariable(secondInstanceId, "activity")).isEqualTo("task");
+  }
+
+  @Test
+  public void shouldKeepTreeStoreWhenEnablingCompilation() {
+    // given
+    JuelExpressionManager expressionManager = new JuelExpressionManager();
+    ExpressionFactoryImpl factory = (ExpressionFactoryImpl) expressionManager.getExpressionFactory();
+
+    // when
+    expressionManager.setExpressionCompilationEnabled(true);
+
+    // then
+    ExpressionFactoryImpl compiledFactory = (ExpressionFactoryImpl) expressionManager.getExpressionFactory();
+    assertThat(compiledFactory.isCompiled()).isTrue();
+    assertThat(compiledFactory.getStore()).isSameAs(factory.getStore());
+  }
+
+  protected CountingElResolver createResolver() {
+    CountingElResolver resolver = new CountingElResolver();
+    resolver.add(new ReadOnlyMapELResolver(beans));
+    resolver.add(new MockElResolver());
+    resolver.add(new MapELResolver());
+    resolver.add(new BeanELResolver());
+    return resolver;
+  }
+
+  protected ValueExpression createExpression(boolean compiled, String expression) {
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_COMPILED, String.valueOf(compiled));
+    ExpressionFactoryImpl factory = new ExpressionFactoryImpl(properties);
+    return factory.createValueExpression(new SimpleContext(), expression, Object.class);
+  }
+
+  protected ELContext createContext(ELResolver resolver, Object bean) {
+    beans.put("bean", bean);
+    return new SimpleContext(resolver);
+  }
+
+  protected static class CountingElResolver extends ProcessEngineElResolver {
+
+    protected int propertyLookups;
+    protected int methodLookups;
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+      if (base != null) {
+        propertyLookups++;
+      }
+      return super.getValue(context, base, property);
+    }
+
+    @Override
+    public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+      methodLookups++;
+      return super.invoke(context, base, method, paramTypes, params);
+    }
+  }
+
+  public static class Bean {
+
+    protected String name;
+
+    public Bean(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String greet(String other) {
+      return name + " greets " + other;
+    }
+  }
+
+  public static class OtherBean {
+
+    public String getName() {
+      return "otherBean";
+    }
+  }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.camunda.bpm.engine.impl.el.ProcessEngineElResolver;
+import org.camunda.bpm.engine.test.mock.MockElResolver;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.SimpleContext;
+import org.camunda.bpm.impl.juel.jakarta.el.ArrayELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.BeanELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.CompositeELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ListELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.MapELResolver;
+import org.camunda.bpm.impl.juel.jakarta.el.ValueExpression;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Compiled evaluation of value expressions (<code>jakarta.el.compiled</code>) must
+ * return the same values and throw the same exceptions as the interpreter, also when
+ * the bean accessors are cached for the engine's resolver chain.
+ */
+@RunWith(Parameterized.class)
+public class CompiledExpressionTest {
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> expressions() {
+    return Arrays.asList(new Object[][] {
+      // literals and folded constants
+      { "plain text" },
+      { "${1 + 2 * 3}" },
+      { "${(1 + 2) * 3}" },
+      { "${10 / 4}" },
+      { "${10 mod 4}" },
+      { "${true and false or not false}" },
+      { "${empty ''}" },
+      { "${1 < 2 ? 'yes' : 'no'}" },
+      { "text ${1 + 1} text" },
+      { "${null}" },
+      // identifiers and properties
+      { "${number}" },
+      { "${bean.name}" },
+      { "${bean['count']}" },
+      { "${map.a}" },
+      { "${map['missing']}" },
+      { "${list[1]}" },
+      { "${list['1']}" },
+      { "${array[0]}" },
+      { "${nullValue.name}" },
+      { "${bean.name} has ${bean.count} items" },
+      // method calls
+      { "${bean.greet('you')}" },
+      { "${bean.greet(number)}" },
+      { "${bean.name.length()}" },
+      { "${bean['greet']('you')}" },
+      { "${bean.twice(bean.count)}" },
+      { "${bean.twice(number)}" },
+      { "${bean.twice(text)}" },
+      { "${bean.describe('a')}" },
+      { "${bean.describe(number)}" },
+      { "${bean.describe(nullValue)}" },
+      { "${bean.staticName()}" },
+      { "${bean.nested.name}" },
+      { "${list.size()}" },
+      { "${map.size()}" },
+      // null and coercion
+      { "${text + 1}" },
+      { "${number == '42'}" },
+      { "${number > 41.5}" },
+      { "${-text}" },
+      { "${bean.count + 0.5}" },
+      { "${nullValue + 1}" },
+      { "${empty nullValue}" },
+      { "${empty list}" },
+      { "${nullValue ? 'yes' : 'no'}" },
+      { "${number eq 42 && bean.name ne null}" },
+      { "${bean.nothing == null}" },
+      // exceptions
+      { "${unknown}" },
+      { "${bean.unknown}" },
+      { "${bean.unknownMethod()}" },
+      { "${bean.fail()}" },
+      { "${'a' + 1}" },
+      { "${1 mod 0}" },
+      { "${list[5]}" },
+      { "${bean.greet('a', 'b')}" },
+      { "${bean.twice(nullValue)}" },
+      { "${bean.twice('a')}" },
+      { "${bean.unreadable}" }
+    });
+  }
+
+  @Parameter
+  public String expression;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void shouldEvaluateAsInterpreter() {
+    for (Class<?> expectedType : Arrays.<Class<?>>asList(Object.class, String.class)) {
+      Object interpreted = evaluate(createFactory(false), null, expectedType);
+      ExpressionFactoryImpl compiledFactory = createFactory(true);
+
+      // the second evaluation uses the cached values of folded constants
+      assertThat(evaluate(compiledFactory, null, expectedType)).isEqualTo(interpreted);
+      assertThat(evaluate(compiledFactory, null, expectedType)).isEqualTo(interpreted);
+    }
+  }
+
+  @Test
+  public void shouldEvaluateAsInterpreterWithEngineResolver() {
+    for (Class<?> expectedType : Arrays.<Class<?>>asList(Object.class, String.class)) {
+      Object interpreted = evaluate(createFactory(false), createEngineResolver(), expectedType);
+      ExpressionFactoryImpl compiledFactory = createFactory(true);
+      ELResolver resolver = createEngineResolver();
+
+      // the first evaluation caches the bean accessors, the following ones call them
+      assertThat(evaluate(compiledFactory, resolver, expectedType)).isEqualTo(interpreted);
+      assertThat(evaluate(compiledFactory, resolver, expectedType)).isEqualTo(interpreted);
+      assertThat(evaluate(compiledFactory, resolver, expectedType)).isEqualTo(interpreted);
+    }
+  }
+
+  @Test
+  public void shouldReadCompiledPropertyFromClasspath() throws Exception {
+    // the engine creates its expression factory with the default constructor
+    assertThat(new ExpressionFactoryImpl().isCompiled()).isFalse();
+
+    File folder = temporaryFolder.newFolder();
+    Files.write(new File(folder, "el.properties").toPath(),
+        (ExpressionFactoryImpl.PROP_COMPILED + "=true").getBytes(StandardCharsets.UTF_8));
+
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] { folder.toURI().toURL() }, contextClassLoader)) {
+      Thread.currentThread().setContextClassLoader(classLoader);
+
+      assertThat(new ExpressionFactoryImpl().isCompiled()).isTrue();
+    }
+    finally {
+      Thread.currentThread().setContextClassLoader(contextClassLoader);
+    }
+  }
+
+  protected ExpressionFactoryImpl createFactory(boolean compiled) {
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_COMPILED, String.valueOf(compiled));
+
+    ExpressionFactoryImpl factory = new ExpressionFactoryImpl(properties);
+    assertThat(factory.isCompiled()).isEqualTo(compiled);
+    return factory;
+  }
+
+  /**
+   * @return the value of the expression, or the type and message of the exception it throws
+   */
+  protected Object evaluate(ExpressionFactoryImpl factory, ELResolver resolver, Class<?> expectedType) {
+    SimpleContext context = createContext(factory, resolver);
+    try {
+      ValueExpression valueExpression = factory.createValueExpression(context, expression, expectedType);
+      return valueExpression.getValue(context);
+    }
+    catch (RuntimeException e) {
+      return Arrays.asList(e.getClass(), e.getMessage());
+    }
+  }
+
+  /**
+   * @return the resolver chain of the engine without process application and bean resolvers
+   */
+  protected ELResolver createEngineResolver() {
+    CompositeELResolver resolver = new ProcessEngineElResolver();
+    resolver.add(new MockElResolver());
+    resolver.add(new ArrayELResolver());
+    resolver.add(new ListELResolver());
+    resolver.add(new MapELResolver());
+    resolver.add(new BeanELResolver());
+    return resolver;
+  }
+
+  protected SimpleContext createContext(ExpressionFactoryImpl factory, ELResolver resolver) {
+    Map<String, Object> map = new HashMap<>();
+    map.put("a", 1);
+
+    SimpleContext context = resolver != null ? new SimpleContext(resolver) : new SimpleContext();
+    context.setVariable("bean", factory.createValueExpression(new TestBean(), TestBean.class));
+    context.setVariable("map", factory.createValueExpression(map, Map.class));
+    context.setVariable("list", factory.createValueExpression(Arrays.asList("a", "b"), Collection.class));
+    context.setVariable("array", factory.createValueExpression(new int[] { 7, 8 }, int[].class));
+    context.setVariable("number", factory.createValueExpression(42L, Long.class));
+    context.setVariable("text", factory.createValueExpression("42", String.class));
+    context.setVariable("nullValue", factory.createValueExpression(null, Object.class));
+    return context;
+  }
+
+  public static class TestBean {
+
+    public String getName() {
+      return "aBean";
+    }
+
+    public int getCount() {
+      return 3;
+    }
+
+    public Object getNothing() {
+      return null;
+    }
+
+    public NestedBean getNested() {
+      return new NestedBean();
+    }
+
+    public String getUnreadable() {
+      throw new IllegalStateException("expected getter failure");
+    }
+
+    public String greet(String name) {
+      return "Hello " + name;
+    }
+
+    public int twice(int value) {
+      return 2 * value;
+    }
+
+    public String describe(String value) {
+      return "text " + value;
+    }
+
+    public String describe(Object value) {
+      return "object " + value;
+    }
+
+    public static String staticName() {
+      return "static";
+    }
+
+    public String fail() {
+      throw new IllegalStateException("expected failure");
+    }
+
+    @Override
+    public String toString() {
+      // exception messages contain the base object, they must not differ by its identity
+      return "aTestBean";
+    }
+  }
+
+  // not public, the bean resolver calls its getter through the public interface
+  static class NestedBean implements Named {
+
+    @Override
+    public String getName() {
+      return "nested";
+    }
+  }
+
+  public interface Named {
+    String getName();
+  }
+
+}
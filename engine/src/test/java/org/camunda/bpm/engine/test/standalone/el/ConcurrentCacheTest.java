@@ -0,0 +1,223 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.impl.juel.Builder;
+import org.camunda.bpm.impl.juel.Cache;
+import org.camunda.bpm.impl.juel.ConcurrentCache;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.Tree;
+import org.camunda.bpm.impl.juel.jakarta.el.ELException;
+import org.junit.Test;
+
+/**
+ * Eviction and thread safety of the {@link ConcurrentCache} and its selection
+ * by <code>jakarta.el.cacheType</code>.
+ */
+public class ConcurrentCacheTest {
+
+  protected Builder builder = new Builder();
+
+  @Test
+  public void shouldFindCachedTree() {
+    // given
+    ConcurrentCache cache = new ConcurrentCache(10);
+    Tree tree = tree(1);
+    cache.put("${1}", tree);
+
+    // when
+    Tree cachedTree = cache.get("${1}");
+    Tree missingTree = cache.get("${2}");
+
+    // then
+    assertThat(cachedTree).isSameAs(tree);
+    assertThat(missingTree).isNull();
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getEvictionCount()).isZero();
+  }
+
+  @Test
+  public void shouldKeepReferencedTreeOnEviction() {
+    // given a full single-segment cache in which one tree has been looked up
+    ConcurrentCache cache = new ConcurrentCache(4, 1);
+    for (int i = 0; i < 4; i++) {
+      cache.put(expression(i), tree(i));
+    }
+    Tree referencedTree = cache.get(expression(0));
+
+    // when
+    cache.put(expression(4), tree(4));
+
+    // then the referenced tree gets a second chance
+    assertThat(cache.size()).isEqualTo(4);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+    assertThat(cache.get(expression(0))).isSameAs(referencedTree);
+  }
+
+  @Test
+  public void shouldEvictReferencedTreesWhenAllAreReferenced() {
+    // given a full single-segment cache in which every tree has been looked up
+    ConcurrentCache cache = new ConcurrentCache(4, 1);
+    for (int i = 0; i < 4; i++) {
+      cache.put(expression(i), tree(i));
+      cache.get(expression(i));
+    }
+
+    // when
+    cache.put(expression(4), tree(4));
+
+    // then a second sweep evicts a tree which lost its mark in the first one
+    assertThat(cache.size()).isEqualTo(4);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldLimitSizeOverAllSegments() {
+    // given
+    ConcurrentCache cache = new ConcurrentCache(100, 16);
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      cache.put(expression(i), tree(i));
+    }
+
+    // then the capacities of the segments sum up to the maximum size
+    assertThat(cache.size()).isLessThanOrEqualTo(100);
+    assertThat(cache.getEvictionCount()).isEqualTo(1000 - cache.size());
+  }
+
+  @Test
+  public void shouldLimitNumberOfSegmentsToSize() {
+    // given
+    ConcurrentCache cache = new ConcurrentCache(3, 16);
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      cache.put(expression(i), tree(i));
+    }
+
+    // then
+    assertThat(cache.size()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  public void shouldRejectInvalidSize() {
+    assertThatThrownBy(() -> new ConcurrentCache(0))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Cache size must be positive: 0");
+  }
+
+  @Test
+  public void shouldStayBoundedUnderConcurrentAccess() throws Exception {
+    // given
+    final int size = 64;
+    final int threads = 8;
+    final int iterations = 20000;
+    final ConcurrentCache cache = new ConcurrentCache(size, 4);
+    final List<Tree> trees = new ArrayList<>();
+    for (int i = 0; i < 4 * size; i++) {
+      trees.add(tree(i));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    // when
+    try {
+      for (int t = 0; t < threads; t++) {
+        final int offset = t;
+        results.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < iterations; i++) {
+            int index = (i * 31 + offset) % trees.size();
+            Tree tree = cache.get(expression(index));
+            if (tree == null) {
+              cache.put(expression(index), trees.get(index));
+            } else {
+              // a lookup must never return the tree of another expression
+              assertThat(tree).isSameAs(trees.get(index));
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // then the cache is within its maximum size once the writers have finished
+    assertThat(cache.size()).isLessThanOrEqualTo(size);
+    assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo((long) threads * iterations);
+  }
+
+  @Test
+  public void shouldUseLruCacheByDefault() {
+    assertThat(createFactory(null).getStore().getCache()).isInstanceOf(Cache.class);
+  }
+
+  @Test
+  public void shouldUseLruCache() {
+    assertThat(createFactory("lru").getStore().getCache()).isInstanceOf(Cache.class);
+  }
+
+  @Test
+  public void shouldUseConcurrentCache() {
+    assertThat(createFactory("concurrent").getStore().getCache()).isInstanceOf(ConcurrentCache.class);
+  }
+
+  @Test
+  public void shouldRejectInvalidCacheType() {
+    assertThatThrownBy(() -> createFactory("fifo"))
+      .isInstanceOf(ELException.class)
+      .hasMessage("Invalid EL property " + ExpressionFactoryImpl.PROP_CACHE_TYPE + ": fifo");
+  }
+
+  protected ExpressionFactoryImpl createFactory(String cacheType) {
+    Properties properties = new Properties();
+    if (cacheType != null) {
+      properties.setProperty(ExpressionFactoryImpl.PROP_CACHE_TYPE, cacheType);
+    }
+    return new ExpressionFactoryImpl(properties);
+  }
+
+  protected String expression(int i) {
+    return "${" + i + "}";
+  }
+
+  protected Tree tree(int i) {
+    return builder.build(expression(i));
+  }
+
+}
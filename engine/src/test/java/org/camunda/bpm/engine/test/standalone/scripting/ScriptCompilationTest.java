@@ -16,13 +16,17 @@
  */
 package org.camunda.bpm.engine.test.standalone.scripting;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
@@ -138,6 +142,32 @@ public class ScriptCompilationTest extends PluggableProcessEngineTest {
     assertNotNull(script.getCompiledScript());
   }
 
+  @Test
+  public void testShareCompiledScriptOfIdenticalSource() {
+    // given compiled script sharing is enabled
+    processEngineConfiguration.setCompiledScriptCache(new CompiledScriptCache());
+
+    try {
+      SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+      SourceExecutableScript otherScript = createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+      SourceExecutableScript differentScript = createScript(SCRIPT_LANGUAGE, "println 'hello'");
+
+      // when the scripts are executed
+      executeScript(script);
+      executeScript(otherScript);
+      executeScript(differentScript);
+
+      // then scripts with identical source share the compiled script
+      assertNotNull(script.getCompiledScript());
+      assertSame(script.getCompiledScript(), otherScript.getCompiledScript());
+      assertNotSame(script.getCompiledScript(), differentScript.getCompiledScript());
+      assertEquals(2, processEngineConfiguration.getCompiledScriptCache().size());
+
+    } finally {
+      processEngineConfiguration.setCompiledScriptCache(null);
+    }
+  }
+
   protected Object executeScript(final ExecutableScript script) {
     final ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
     return processEngineConfiguration.getCommandExecutorTxRequired()
@@ -0,0 +1,159 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.scripting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+
+import org.camunda.bpm.engine.impl.scripting.engine.DefaultScriptEngineResolver;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScriptEnginePoolTest {
+
+  protected static final String LANGUAGE = "python";
+
+  protected ScriptEnginePool pool;
+
+  @Before
+  public void setUp() {
+    pool = new ScriptEnginePool(2);
+  }
+
+  @Test
+  public void shouldReturnNoEngineFromEmptyPool() {
+    assertThat(pool.borrow(LANGUAGE)).isNull();
+  }
+
+  @Test
+  public void shouldReuseReleasedEngine() {
+    // given
+    ScriptEngine engine = mock(ScriptEngine.class);
+    pool.register(LANGUAGE, engine);
+
+    // when
+    pool.release(LANGUAGE, engine);
+
+    // then
+    assertThat(pool.borrow(LANGUAGE)).isSameAs(engine);
+    assertThat(pool.borrow(LANGUAGE)).isNull();
+  }
+
+  @Test
+  public void shouldIgnoreUnregisteredEngine() {
+    // when
+    pool.release(LANGUAGE, mock(ScriptEngine.class));
+
+    // then
+    assertThat(pool.getNumberOfIdleEngines(LANGUAGE)).isZero();
+  }
+
+  @Test
+  public void shouldIgnoreEngineOfOtherLanguage() {
+    // given
+    ScriptEngine engine = mock(ScriptEngine.class);
+    pool.register(LANGUAGE, engine);
+
+    // when
+    pool.release("ruby", engine);
+
+    // then
+    assertThat(pool.getNumberOfIdleEngines("ruby")).isZero();
+    assertThat(pool.getNumberOfIdleEngines(LANGUAGE)).isZero();
+  }
+
+  @Test
+  public void shouldDiscardEnginesExceedingPoolSize() {
+    // given
+    ScriptEngine[] engines = new ScriptEngine[3];
+    for (int i = 0; i < engines.length; i++) {
+      engines[i] = mock(ScriptEngine.class);
+      pool.register(LANGUAGE, engines[i]);
+    }
+
+    // when
+    for (ScriptEngine engine : engines) {
+      pool.release(LANGUAGE, engine);
+    }
+
+    // then
+    assertThat(pool.getNumberOfIdleEngines(LANGUAGE)).isEqualTo(2);
+
+    // and the discarded engine is not accepted anymore
+    pool.borrow(LANGUAGE);
+    pool.release(LANGUAGE, engines[2]);
+    assertThat(pool.getNumberOfIdleEngines(LANGUAGE)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldPoolEnginesWhichAreNotThreadSafe() {
+    // given
+    ScriptEngineManager scriptEngineManager = mock(ScriptEngineManager.class);
+    when(scriptEngineManager.getEngineByName(LANGUAGE))
+      .thenReturn(createScriptEngine(null), createScriptEngine(null));
+
+    DefaultScriptEngineResolver resolver = new DefaultScriptEngineResolver(scriptEngineManager);
+    resolver.setScriptEnginePool(pool);
+
+    ScriptEngine engine = resolver.getScriptEngine(LANGUAGE, true);
+
+    // when
+    resolver.releaseScriptEngine(LANGUAGE, engine);
+
+    // then
+    assertThat(resolver.getScriptEngine(LANGUAGE, true)).isSameAs(engine);
+
+    // and an engine that is borrowed is not handed out twice
+    assertThat(resolver.getScriptEngine(LANGUAGE, true)).isNotSameAs(engine);
+  }
+
+  @Test
+  public void shouldNotPoolThreadSafeEngines() {
+    // given
+    ScriptEngineManager scriptEngineManager = mock(ScriptEngineManager.class);
+    ScriptEngine threadSafeEngine = createScriptEngine("MULTITHREADED");
+    when(scriptEngineManager.getEngineByName(LANGUAGE)).thenReturn(threadSafeEngine);
+
+    DefaultScriptEngineResolver resolver = new DefaultScriptEngineResolver(scriptEngineManager);
+    resolver.setScriptEnginePool(pool);
+
+    // when
+    ScriptEngine engine = resolver.getScriptEngine(LANGUAGE, true);
+    resolver.releaseScriptEngine(LANGUAGE, engine);
+
+    // then the engine is cached instead
+    assertThat(pool.getNumberOfIdleEngines(LANGUAGE)).isZero();
+    assertThat(resolver.getScriptEngine(LANGUAGE, true)).isSameAs(threadSafeEngine);
+  }
+
+  protected ScriptEngine createScriptEngine(String threading) {
+    ScriptEngineFactory factory = mock(ScriptEngineFactory.class);
+    when(factory.getParameter("THREADING")).thenReturn(threading);
+    when(factory.getEngineName()).thenReturn(LANGUAGE);
+
+    ScriptEngine engine = mock(ScriptEngine.class);
+    when(engine.getFactory()).thenReturn(factory);
+    return engine;
+  }
+
+}
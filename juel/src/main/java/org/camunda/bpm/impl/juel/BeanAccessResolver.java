@@ -0,0 +1,42 @@
+/*
+ * Based on JUEL 2.2.1 code, 2006-2009 Odysseus Software GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.impl.juel;
+
+import jakarta.el.ELContext;
+
+/**
+ * Implemented by {@link jakarta.el.ELResolver}s which know when they resolve the properties and
+ * methods of a base object exactly like a {@link jakarta.el.BeanELResolver}, i.e. by calling the
+ * public getters and methods of its class.
+ *
+ * Compiled expressions (see {@link TreeCompiler}) use this to cache the getter or method they
+ * resolved at a call site. As long as the context's resolver answers <code>true</code> for the
+ * same base class, the cached accessor is called directly and the resolver chain is skipped.
+ * Other resolvers are asked on every evaluation.
+ */
+public interface BeanAccessResolver {
+	/**
+	 * @return <code>true</code> if the given property of the base object is currently resolved by
+	 *         calling its bean getter, as a {@link jakarta.el.BeanELResolver} does
+	 */
+	public boolean isBeanProperty(ELContext context, Object base, Object property);
+
+	/**
+	 * @return <code>true</code> if the given method of the base object is currently invoked
+	 *         as a {@link jakarta.el.BeanELResolver} does
+	 */
+	public boolean isBeanMethod(ELContext context, Object base, Object method);
+}
@@ -0,0 +1,283 @@
+/*
+ * Based on JUEL 2.2.1 code, 2006-2009 Odysseus Software GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.impl.juel;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.ELResolver;
+import jakarta.el.LambdaExpression;
+
+/**
+ * Bean getter or method cached at a call site of a compiled expression. The accessor is bound
+ * to the resolver which resolved it and to the class of the base object, and for methods to the
+ * classes of the arguments, because these determine which getter or method a
+ * {@link jakarta.el.BeanELResolver} picks.
+ *
+ * The getter or method is looked up the way the bean resolver does and called through a
+ * {@link MethodHandle}. Exceptions thrown by it are wrapped into an {@link ELException}, and the
+ * context is notified of the resolved property or method, as by the bean resolver. If the lookup
+ * is not unambiguous without coercing arguments, or the member is not accessible, no handle is
+ * kept and the call site keeps asking the resolver.
+ */
+final class BeanAccessor {
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	private final ELResolver resolver;
+	private final Class<?> type;
+	private final String name;
+	private final Class<?>[] argumentTypes;
+	private final Class<?>[] parameterTypes;
+	private final MethodHandle handle;
+
+	private BeanAccessor(ELResolver resolver, Class<?> type, String name, Class<?>[] argumentTypes, Class<?>[] parameterTypes, MethodHandle handle) {
+		this.resolver = resolver;
+		this.type = type;
+		this.name = name;
+		this.argumentTypes = argumentTypes;
+		this.parameterTypes = parameterTypes;
+		this.handle = handle;
+	}
+
+	/**
+	 * Look up the getter of a bean property.
+	 */
+	static BeanAccessor forProperty(ELResolver resolver, Class<?> type, String name) {
+		MethodHandle handle = null;
+		try {
+			for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+				if (descriptor.getName().equals(name)) {
+					Method getter = getPublicMethod(type, descriptor.getReadMethod());
+					if (getter != null) {
+						handle = MethodHandles.publicLookup().unreflect(getter).asType(GETTER_TYPE);
+					}
+					break;
+				}
+			}
+		} catch (IntrospectionException e) {
+			// not cached, the resolver reports the failure
+		} catch (IllegalAccessException e) {
+			// not cached, the resolver reports the failure
+		}
+		return new BeanAccessor(resolver, type, name, null, null, handle);
+	}
+
+	/**
+	 * Look up a bean method for the given arguments. The method is only cached if it is the
+	 * single method whose parameters match the argument classes exactly, or the single method
+	 * the arguments are assignable to. Otherwise, the bean resolver's choice may depend on
+	 * coercing the argument values.
+	 */
+	static BeanAccessor forMethod(ELResolver resolver, Class<?> type, String name, Object[] args) {
+		Class<?>[] argumentTypes = getTypes(args);
+		Method method = null;
+		List<Method> assignable = new ArrayList<Method>();
+		for (Method candidate : type.getMethods()) {
+			if (!candidate.getName().equals(name) || candidate.isVarArgs() || candidate.getParameterTypes().length != args.length) {
+				continue;
+			}
+			Class<?>[] types = candidate.getParameterTypes();
+			boolean exact = true;
+			boolean matches = true;
+			for (int i = 0; i < types.length && matches; i++) {
+				if (!types[i].equals(argumentTypes[i])) {
+					exact = false;
+					matches = argumentTypes[i] == null || box(types[i]).isAssignableFrom(argumentTypes[i]);
+				}
+			}
+			if (exact) {
+				method = candidate;
+				break;
+			}
+			if (matches) {
+				assignable.add(candidate);
+			}
+		}
+		if (method == null && assignable.size() == 1) {
+			method = assignable.get(0);
+		}
+
+		MethodHandle handle = null;
+		Class<?>[] parameterTypes = null;
+		method = getPublicMethod(type, method);
+		if (method != null) {
+			try {
+				handle = MethodHandles.publicLookup().unreflect(method);
+				if (Modifier.isStatic(method.getModifiers())) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				handle = handle.asType(MethodType.genericMethodType(args.length + 1))
+						.asSpreader(Object[].class, args.length)
+						.asType(METHOD_TYPE);
+				parameterTypes = method.getParameterTypes();
+			} catch (IllegalAccessException e) {
+				handle = null;
+			}
+		}
+		return new BeanAccessor(resolver, type, name, argumentTypes, parameterTypes, handle);
+	}
+
+	/**
+	 * @return <code>true</code> if this accessor has been looked up for the property of the base
+	 *         object and the resolver
+	 */
+	boolean isPropertyOf(ELResolver resolver, Object base, Object property) {
+		return this.resolver == resolver && type == base.getClass() && name.equals(property);
+	}
+
+	/**
+	 * @return <code>true</code> if this accessor has been looked up for the method of the base
+	 *         object, the resolver and the classes of the arguments
+	 */
+	boolean isMethodOf(ELResolver resolver, Object base, String method, Object[] args) {
+		if (this.resolver != resolver || type != base.getClass() || !name.equals(method) || argumentTypes.length != args.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (argumentTypes[i] != (args[i] == null ? null : args[i].getClass())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return <code>false</code> if the call site has to ask the resolver
+	 */
+	boolean isCached() {
+		return handle != null;
+	}
+
+	Object getValue(ELContext context, Object base, Object property) {
+		Object value;
+		try {
+			value = (Object)handle.invokeExact(base);
+		} catch (Throwable e) {
+			throw new ELException(e);
+		}
+		context.setPropertyResolved(base, property);
+		return value;
+	}
+
+	/**
+	 * Coerce the arguments to the parameter types, as the bean resolver does.
+	 * @return the coerced arguments or <code>null</code> if a coerced value does not fit its
+	 *         parameter, so that the resolver has to report the failure
+	 */
+	Object[] getArguments(ELContext context, Object[] args) {
+		for (Object arg : args) {
+			if (arg instanceof LambdaExpression) {
+				((LambdaExpression)arg).setELContext(context);
+			}
+		}
+		Object[] arguments = new Object[args.length];
+		for (int i = 0; i < args.length; i++) {
+			Object argument = context.convertToType(args[i], parameterTypes[i]);
+			if (argument == null ? parameterTypes[i].isPrimitive() : !box(parameterTypes[i]).isInstance(argument)) {
+				return null;
+			}
+			arguments[i] = argument;
+		}
+		return arguments;
+	}
+
+	Object invoke(ELContext context, Object base, Object method, Object[] arguments) {
+		Object result;
+		try {
+			result = (Object)handle.invokeExact(base, arguments);
+		} catch (Throwable e) {
+			throw new ELException(e);
+		}
+		context.setPropertyResolved(base, method);
+		return result;
+	}
+
+	private static Class<?>[] getTypes(Object[] args) {
+		Class<?>[] types = new Class<?>[args.length];
+		for (int i = 0; i < args.length; i++) {
+			types[i] = args[i] == null ? null : args[i].getClass();
+		}
+		return types;
+	}
+
+	/**
+	 * Find a method which can be called from outside for a method of the given class, as the
+	 * bean resolver does: if the class is not public, look in its interfaces and superclasses.
+	 */
+	private static Method getPublicMethod(Class<?> type, Method method) {
+		if (method == null || Modifier.isPublic(type.getModifiers())) {
+			return method;
+		}
+		for (Class<?> candidate : type.getInterfaces()) {
+			Method result = findPublicMethod(candidate, method);
+			if (result != null) {
+				return result;
+			}
+		}
+		return type.getSuperclass() == null ? null : findPublicMethod(type.getSuperclass(), method);
+	}
+
+	private static Method findPublicMethod(Class<?> type, Method method) {
+		try {
+			Method candidate = type.getMethod(method.getName(), method.getParameterTypes());
+			return getPublicMethod(candidate.getDeclaringClass(), candidate);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static Class<?> box(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		}
+		if (type == Boolean.TYPE) {
+			return Boolean.class;
+		}
+		if (type == Character.TYPE) {
+			return Character.class;
+		}
+		if (type == Byte.TYPE) {
+			return Byte.class;
+		}
+		if (type == Short.TYPE) {
+			return Short.class;
+		}
+		if (type == Integer.TYPE) {
+			return Integer.class;
+		}
+		if (type == Long.TYPE) {
+			return Long.class;
+		}
+		if (type == Float.TYPE) {
+			return Float.class;
+		}
+		if (type == Double.TYPE) {
+			return Double.class;
+		}
+		return Void.class;
+	}
+}
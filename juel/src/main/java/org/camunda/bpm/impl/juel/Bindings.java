@@ -126,6 +126,13 @@ public class Bindings implements TypeConverter {
 		return index >= 0 && index < variables.length && variables[index] != null;
 	}
 	
+	/**
+	 * Get the type converter used by {@link #convert(Object, Class)}.
+	 */
+	public TypeConverter getConverter() {
+		return converter;
+	}
+
 	/**
 	 * Apply type conversion.
 	 * @param value value to convert
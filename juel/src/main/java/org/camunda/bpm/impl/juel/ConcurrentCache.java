@@ -0,0 +1,172 @@
+/*
+ * Based on JUEL 2.2.1 code, 2006-2009 Odysseus Software GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.impl.juel;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent, striped tree cache.
+ *
+ * Expressions are distributed over a number of segments by their hash code. Each segment is a
+ * {@link ConcurrentHashMap}, so lookups do not lock. Eviction approximates LRU by the
+ * <em>second chance</em> policy: a lookup marks the entry as referenced and, when a segment
+ * exceeds its share of the maximum size, unreferenced entries are removed while referenced
+ * ones only lose their mark. Only one thread evicts from a segment at a time; other threads
+ * adding to the same segment do not wait for it. Hence, the cache size may temporarily exceed
+ * the maximum size while entries are added concurrently.
+ *
+ * In contrast to {@link Cache}, evicted trees are not kept in a secondary map.
+ */
+public final class ConcurrentCache implements TreeCache {
+	private static final int DEFAULT_SEGMENTS = 16;
+
+	private static final class Node {
+		final Tree tree;
+		volatile boolean referenced;
+
+		Node(Tree tree) {
+			this.tree = tree;
+		}
+	}
+
+	private static final class Segment {
+		final ConcurrentHashMap<String,Node> map = new ConcurrentHashMap<String,Node>();
+		final ReentrantLock evictionLock = new ReentrantLock();
+		final int capacity;
+
+		Segment(int capacity) {
+			this.capacity = capacity;
+		}
+	}
+
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param size maximum cache size
+	 */
+	public ConcurrentCache(int size) {
+		this(size, DEFAULT_SEGMENTS);
+	}
+
+	/**
+	 * Constructor.
+	 * @param size maximum cache size
+	 * @param segments number of segments (rounded up to a power of two and limited to the size)
+	 */
+	public ConcurrentCache(int size, int segments) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive: " + size);
+		}
+		int count = 1;
+		while (count < segments && count < size) {
+			count <<= 1;
+		}
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			// distribute the remainder, so that the capacities sum up to the maximum size
+			this.segments[i] = new Segment(size / count + (i < size % count ? 1 : 0));
+		}
+	}
+
+	public Tree get(String expression) {
+		Node node = segmentFor(expression).map.get(expression);
+		if (node == null) {
+			misses.increment();
+			return null;
+		}
+		if (!node.referenced) {
+			node.referenced = true;
+		}
+		hits.increment();
+		return node.tree;
+	}
+
+	public void put(String expression, Tree tree) {
+		Segment segment = segmentFor(expression);
+		segment.map.put(expression, new Node(tree));
+		// re-check after evicting, the segment may have grown while the lock was held
+		while (segment.map.size() > segment.capacity && segment.evictionLock.tryLock()) {
+			try {
+				evict(segment);
+			} finally {
+				segment.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void evict(Segment segment) {
+		// sweep until the segment fits; a further sweep evicts entries which lost their mark in the previous one
+		while (segment.map.size() > segment.capacity) {
+			Iterator<Entry<String,Node>> entries = segment.map.entrySet().iterator();
+			while (entries.hasNext() && segment.map.size() > segment.capacity) {
+				Entry<String,Node> entry = entries.next();
+				Node node = entry.getValue();
+				if (node.referenced) {
+					node.referenced = false;
+				} else if (segment.map.remove(entry.getKey(), node)) {
+					evictions.increment();
+				}
+			}
+		}
+	}
+
+	private Segment segmentFor(String expression) {
+		int hash = expression.hashCode();
+		hash ^= hash >>> 16;
+		return segments[hash & (segments.length - 1)];
+	}
+
+	/**
+	 * @return the current number of cached trees
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.map.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the number of lookups which found a tree
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups which did not find a tree
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of trees removed to keep the cache within its maximum size
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+}
@@ -55,6 +55,13 @@ import java.util.Properties;
  * <li>
  * <code>jakarta.el.cacheSize</code> - cache size (int, default is 1000)</li>
  * <li>
+ * <code>jakarta.el.cacheType</code> - cache implementation, <code>lru</code> for a synchronized
+ * LRU cache ({@link Cache}) or <code>concurrent</code> for a striped cache which does not lock on
+ * lookups ({@link ConcurrentCache}) (string, default is <code>lru</code>).</li>
+ * <li>
+ * <code>jakarta.el.compiled</code> - evaluate value expressions using compiled parse trees (see
+ * {@link TreeCompiler}) instead of interpreting them (boolean, default is <code>false</code>).</li>
+ * <li>
  * <code>jakarta.el.methodInvocations</code> - allow method invocations as in
  * <code>${foo.bar(baz)}</code> (boolean, default is <code>false</code>).</li>
  * <li>
@@ -121,8 +128,29 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 	 */
 	public static final String PROP_CACHE_SIZE = "jakarta.el.cacheSize";
 
+	/**
+	 * <code>jakarta.el.cacheType</code>
+	 */
+	public static final String PROP_CACHE_TYPE = "jakarta.el.cacheType";
+
+	/**
+	 * Value of <code>jakarta.el.cacheType</code> selecting {@link Cache}
+	 */
+	public static final String CACHE_TYPE_LRU = "lru";
+
+	/**
+	 * Value of <code>jakarta.el.cacheType</code> selecting {@link ConcurrentCache}
+	 */
+	public static final String CACHE_TYPE_CONCURRENT = "concurrent";
+
+	/**
+	 * <code>jakarta.el.compiled</code>
+	 */
+	public static final String PROP_COMPILED = "jakarta.el.compiled";
+
 	private final TreeStore store;
 	private final TypeConverter converter;
+	private final boolean compiled;
 
 	/**
 	 * Create a new expression factory using the default builder and cache implementations. The
@@ -149,6 +177,7 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 		Properties properties = loadProperties("el.properties");
 		this.store = createTreeStore(1000, profile, properties);
 		this.converter = createTypeConverter(properties);
+		this.compiled = isCompiled(properties);
 	}
 
 	/**
@@ -179,6 +208,7 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 	public ExpressionFactoryImpl(Profile profile, Properties properties) {
 		this.store = createTreeStore(1000, profile, properties);
 		this.converter = createTypeConverter(properties);
+		this.compiled = isCompiled(properties);
 	}
 
 	/**
@@ -213,6 +243,7 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 	public ExpressionFactoryImpl(Profile profile, Properties properties, TypeConverter converter) {
 		this.store = createTreeStore(1000, profile, properties);
 		this.converter = converter;
+		this.compiled = isCompiled(properties);
 	}
 
 	/**
@@ -236,6 +267,22 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 	public ExpressionFactoryImpl(TreeStore store, TypeConverter converter) {
 		this.store = store;
 		this.converter = converter;
+		this.compiled = false;
+	}
+
+	/**
+	 * Create a new expression factory which shares the tree store and type converter of the given
+	 * factory, but evaluates value expressions in the given mode.
+	 *
+	 * @param factory
+	 *            the factory to take the tree store and type converter from
+	 * @param compiled
+	 *            if <code>true</code>, value expressions are evaluated using compiled parse trees
+	 */
+	public ExpressionFactoryImpl(ExpressionFactoryImpl factory, boolean compiled) {
+		this.store = factory.store;
+		this.converter = factory.converter;
+		this.compiled = compiled;
 	}
 
 	private Properties loadDefaultProperties() {
@@ -297,11 +344,31 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 		return Boolean.parseBoolean(properties.getProperty(property, String.valueOf(profile.contains(feature))));
 	}
 
+	private boolean isCompiled(Properties properties) {
+		return properties != null && Boolean.parseBoolean(properties.getProperty(PROP_COMPILED));
+	}
+
+	/**
+	 * Answer <code>true</code> if value expressions created by this factory are evaluated using
+	 * compiled parse trees (property <code>jakarta.el.compiled</code>).
+	 */
+	public boolean isCompiled() {
+		return compiled;
+	}
+
+	/**
+	 * Get the tree store which serves the parse trees of this factory's expressions.
+	 */
+	public TreeStore getStore() {
+		return store;
+	}
+
 	/**
 	 * Create the factory's tree store. This implementation creates a new tree store using the
 	 * default builder and cache implementations. The builder and cache are configured using the
 	 * specified properties. The maximum cache size will be as specified unless overridden by
-	 * property <code>jakarta.el.cacheSize</code>.
+	 * property <code>jakarta.el.cacheSize</code>. The cache implementation is selected by property
+	 * <code>jakarta.el.cacheType</code>.
 	 */
 	protected TreeStore createTreeStore(int defaultCacheSize, Profile profile, Properties properties) {
 		// create builder
@@ -331,11 +398,27 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 				throw new ELException("Cannot parse EL property " + PROP_CACHE_SIZE, e);
 			}
 		}
-		Cache cache = cacheSize > 0 ? new Cache(cacheSize) : null;
+		TreeCache cache = cacheSize > 0 ? createTreeCache(cacheSize, properties) : null;
 
 		return new TreeStore(builder, cache);
 	}
 
+	/**
+	 * Create the factory's tree cache. This implementation creates a {@link ConcurrentCache} if
+	 * property <code>jakarta.el.cacheType</code> is <code>concurrent</code> and a {@link Cache}
+	 * otherwise.
+	 */
+	protected TreeCache createTreeCache(int cacheSize, Properties properties) {
+		String cacheType = properties == null ? null : properties.getProperty(PROP_CACHE_TYPE);
+		if (cacheType == null || CACHE_TYPE_LRU.equals(cacheType)) {
+			return new Cache(cacheSize);
+		}
+		if (CACHE_TYPE_CONCURRENT.equals(cacheType)) {
+			return new ConcurrentCache(cacheSize);
+		}
+		throw new ELException("Invalid EL property " + PROP_CACHE_TYPE + ": " + cacheType);
+	}
+
 	/**
 	 * Create the factory's type converter. This implementation takes the
 	 * <code>de.odysseus.el.misc.TypeConverter</code> property as the name of a class implementing
@@ -423,7 +506,7 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 	@Override
 	public final TreeValueExpression createValueExpression(ELContext context, String expression, Class<?> expectedType) {
 		return new TreeValueExpression(store, context.getFunctionMapper(), context.getVariableMapper(), converter,
-				expression, expectedType);
+				expression, expectedType, compiled);
 	}
 
 	@Override
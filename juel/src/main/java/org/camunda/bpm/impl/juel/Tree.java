@@ -40,6 +40,8 @@ public class Tree {
 	private final Collection<IdentifierNode> identifiers;
 	private final boolean deferred;
 
+	private volatile TreeCompiler.Evaluator compiledRoot;
+
 	/**
 	 * 
 	 * Constructor.
@@ -79,6 +81,19 @@ public class Tree {
 	public boolean isDeferred() {
 		return deferred;
 	}
+
+	/**
+	 * Get the compiled root node. The root is compiled on first access and shared
+	 * afterwards, so trees held by a {@link TreeCache} are compiled only once.
+	 * @return compiled root or <code>null</code> if the root cannot be compiled
+	 */
+	public TreeCompiler.Evaluator getCompiledRoot() {
+		TreeCompiler.Evaluator result = compiledRoot;
+		if (result == null) {
+			compiledRoot = result = TreeCompiler.compile(root);
+		}
+		return result;
+	}
 	
 	@Override
 	public String toString() {
@@ -0,0 +1,468 @@
+/*
+ * Based on JUEL 2.2.1 code, 2006-2009 Odysseus Software GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.impl.juel;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.MethodNotFoundException;
+import jakarta.el.PropertyNotFoundException;
+import jakarta.el.ValueExpression;
+
+/**
+ * Compiles parse trees into evaluators for rvalue evaluation.
+ *
+ * The compiled form is a tree of specialized evaluators which is built once per parse tree
+ * and shared by all expressions created from it. Compared to walking the {@link AstNode} tree,
+ * it
+ * <ul>
+ * <li>folds constant sub-expressions such as <code>${1 + 2}</code> or literal text. The value
+ * is computed on first evaluation and reused as long as the bindings' type converter is the same.</li>
+ * <li>binds the built-in operators at compile time and evaluates <code>&amp;&amp;</code>,
+ * <code>||</code>, <code>?:</code> and composite text without operator indirection.</li>
+ * <li>skips wrapper nodes like <code>${...}</code> and <code>(...)</code>.</li>
+ * </ul>
+ * Identifiers are resolved by the context's {@link jakarta.el.ELResolver} on every evaluation.
+ * Properties and method calls keep a cached accessor per call site (see {@link BeanAccessor}): if
+ * the resolver is a {@link BeanAccessResolver} which reports that it resolves the property or
+ * method of the base object like a {@link jakarta.el.BeanELResolver}, the getter or method found
+ * on the first evaluation is called through a {@link java.lang.invoke.MethodHandle} as long as
+ * the base class (and for methods the argument classes) stay the same. The resolver is asked
+ * again whenever it answers <code>false</code>, e.g. for maps and lists or when another
+ * resolver takes precedence. A call site caches the accessor of the first base class it sees
+ * and asks the resolver for other classes. Nodes of unknown (e.g. subclassed) types and
+ * functions are delegated to the interpreter. Hence, compiled evaluation yields the same results
+ * and throws the same exceptions as {@link AstNode#eval(Bindings, ELContext)}.
+ */
+public class TreeCompiler {
+	/**
+	 * Compiled (sub-)expression.
+	 */
+	public interface Evaluator {
+		/**
+		 * Evaluate as an rvalue, as {@link AstNode#eval(Bindings, ELContext)} does.
+		 */
+		public Object eval(Bindings bindings, ELContext context);
+	}
+
+	/**
+	 * Compile the given tree root.
+	 * @param root the parse tree root
+	 * @return the compiled root or <code>null</code> if the root is not an {@link AstNode}
+	 */
+	public static Evaluator compile(ExpressionNode root) {
+		return root instanceof AstNode ? compile((AstNode)root) : null;
+	}
+
+	private static Evaluator compile(AstNode node) {
+		Class<?> type = node.getClass();
+		if (type == AstNumber.class || type == AstString.class || type == AstBoolean.class || type == AstNull.class || type == AstText.class) {
+			return new Literal(node.eval(null, null));
+		}
+		if (type == AstEval.class) {
+			return compile(((AstEval)node).getChild(0));
+		}
+		if (type == AstNested.class) {
+			return compile(((AstNested)node).getChild(0));
+		}
+		if (type == AstBinary.class) {
+			return compileBinary((AstBinary)node);
+		}
+		if (type == AstUnary.class) {
+			return compileUnary((AstUnary)node);
+		}
+		if (type == AstChoice.class) {
+			AstChoice choice = (AstChoice)node;
+			Evaluator question = compile(choice.getChild(0));
+			Evaluator yes = compile(choice.getChild(1));
+			Evaluator no = compile(choice.getChild(2));
+			if (isConstant(question) && isConstant(yes) && isConstant(no)) {
+				return new Constant(node);
+			}
+			return new Choice(question, yes, no);
+		}
+		if (type == AstComposite.class) {
+			AstComposite composite = (AstComposite)node;
+			Evaluator[] nodes = new Evaluator[composite.getCardinality()];
+			boolean constant = true;
+			for (int i = 0; i < nodes.length; i++) {
+				nodes[i] = compile(composite.getChild(i));
+				constant &= isConstant(nodes[i]);
+			}
+			return constant ? new Constant(node) : new Composite(nodes);
+		}
+		if (type == AstIdentifier.class) {
+			AstIdentifier identifier = (AstIdentifier)node;
+			return new Identifier(identifier.getIndex(), identifier.getName());
+		}
+		if (type == AstDot.class) {
+			AstDot dot = (AstDot)node;
+			return new Dot(compile(dot.getPrefix()), dot.property);
+		}
+		if (type == AstBracket.class) {
+			AstBracket bracket = (AstBracket)node;
+			return new Bracket(compile(bracket.getPrefix()), compile(bracket.property), bracket.strict);
+		}
+		if (type == AstMethod.class) {
+			return compileMethod((AstMethod)node);
+		}
+		return new Interpreted(node);
+	}
+
+	private static Evaluator compileBinary(AstBinary node) {
+		AstBinary.Operator operator = node.getOperator();
+		Evaluator left = compile(node.getChild(0));
+		Evaluator right = compile(node.getChild(1));
+		if (operator == AstBinary.AND) {
+			return isConstant(left) && isConstant(right) ? new Constant(node) : new And(left, right);
+		}
+		if (operator == AstBinary.OR) {
+			return isConstant(left) && isConstant(right) ? new Constant(node) : new Or(left, right);
+		}
+		if (operator == AstBinary.ADD || operator == AstBinary.SUB || operator == AstBinary.MUL
+				|| operator == AstBinary.DIV || operator == AstBinary.MOD
+				|| operator == AstBinary.EQ || operator == AstBinary.NE
+				|| operator == AstBinary.LT || operator == AstBinary.LE
+				|| operator == AstBinary.GT || operator == AstBinary.GE) {
+			if (isConstant(left) && isConstant(right)) {
+				return new Constant(node);
+			}
+			return new Binary((AstBinary.SimpleOperator)operator, left, right);
+		}
+		// custom operators may evaluate their operands in any way
+		return new Interpreted(node);
+	}
+
+	private static Evaluator compileUnary(AstUnary node) {
+		AstUnary.Operator operator = node.getOperator();
+		Evaluator child = compile(node.getChild(0));
+		if (operator == AstUnary.EMPTY || operator == AstUnary.NEG || operator == AstUnary.NOT) {
+			if (isConstant(child)) {
+				return new Constant(node);
+			}
+			return new Unary((AstUnary.SimpleOperator)operator, child);
+		}
+		return new Interpreted(node);
+	}
+
+	private static Evaluator compileMethod(AstMethod node) {
+		AstProperty property = (AstProperty)node.getChild(0);
+		AstParameters params = (AstParameters)node.getChild(1);
+		Evaluator name;
+		if (property.getClass() == AstDot.class) {
+			name = new Literal(((AstDot)property).property);
+		} else if (property.getClass() == AstBracket.class) {
+			name = compile(((AstBracket)property).property);
+		} else {
+			return new Interpreted(node);
+		}
+		Evaluator[] paramNodes = new Evaluator[params.getCardinality()];
+		for (int i = 0; i < paramNodes.length; i++) {
+			paramNodes[i] = compile(params.getChild(i));
+		}
+		return new Invocation(property.getPrefix(), compile(property.getPrefix()), name, paramNodes);
+	}
+
+	private static boolean isConstant(Evaluator evaluator) {
+		return evaluator instanceof Literal || evaluator instanceof Constant;
+	}
+
+	static final class Interpreted implements Evaluator {
+		private final AstNode node;
+
+		Interpreted(AstNode node) {
+			this.node = node;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			return node.eval(bindings, context);
+		}
+	}
+
+	static final class Literal implements Evaluator {
+		private final Object value;
+
+		Literal(Object value) {
+			this.value = value;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			return value;
+		}
+	}
+
+	/**
+	 * Constant sub-expression. Its value only depends on the type converter, so the last
+	 * value is kept together with the converter it was computed with. Failed evaluations are
+	 * not cached and fail again on the next evaluation, as in the interpreter.
+	 */
+	static final class Constant implements Evaluator {
+		private static final class Value {
+			final TypeConverter converter;
+			final Object value;
+
+			Value(TypeConverter converter, Object value) {
+				this.converter = converter;
+				this.value = value;
+			}
+		}
+
+		private final AstNode node;
+		private volatile Value value;
+
+		Constant(AstNode node) {
+			this.node = node;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			Value cached = value;
+			TypeConverter converter = bindings.getConverter();
+			if (cached != null && cached.converter == converter) {
+				return cached.value;
+			}
+			Object result = node.eval(bindings, context);
+			value = new Value(converter, result);
+			return result;
+		}
+	}
+
+	static final class Binary implements Evaluator {
+		private final AstBinary.SimpleOperator operator;
+		private final Evaluator left, right;
+
+		Binary(AstBinary.SimpleOperator operator, Evaluator left, Evaluator right) {
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			return operator.apply(bindings, left.eval(bindings, context), right.eval(bindings, context));
+		}
+	}
+
+	static final class And implements Evaluator {
+		private final Evaluator left, right;
+
+		And(Evaluator left, Evaluator right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			Boolean l = bindings.convert(left.eval(bindings, context), Boolean.class);
+			return Boolean.TRUE.equals(l) ? bindings.convert(right.eval(bindings, context), Boolean.class) : Boolean.FALSE;
+		}
+	}
+
+	static final class Or implements Evaluator {
+		private final Evaluator left, right;
+
+		Or(Evaluator left, Evaluator right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			Boolean l = bindings.convert(left.eval(bindings, context), Boolean.class);
+			return Boolean.TRUE.equals(l) ? Boolean.TRUE : bindings.convert(right.eval(bindings, context), Boolean.class);
+		}
+	}
+
+	static final class Unary implements Evaluator {
+		private final AstUnary.SimpleOperator operator;
+		private final Evaluator child;
+
+		Unary(AstUnary.SimpleOperator operator, Evaluator child) {
+			this.operator = operator;
+			this.child = child;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			return operator.apply(bindings, child.eval(bindings, context));
+		}
+	}
+
+	static final class Choice implements Evaluator {
+		private final Evaluator question, yes, no;
+
+		Choice(Evaluator question, Evaluator yes, Evaluator no) {
+			this.question = question;
+			this.yes = yes;
+			this.no = no;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			Boolean value = bindings.convert(question.eval(bindings, context), Boolean.class);
+			return value ? yes.eval(bindings, context) : no.eval(bindings, context);
+		}
+	}
+
+	static final class Composite implements Evaluator {
+		private final Evaluator[] nodes;
+
+		Composite(Evaluator[] nodes) {
+			this.nodes = nodes;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			StringBuilder b = new StringBuilder(16);
+			for (Evaluator node : nodes) {
+				b.append(bindings.convert(node.eval(bindings, context), String.class));
+			}
+			return b.toString();
+		}
+	}
+
+	static final class Identifier implements Evaluator {
+		private final int index;
+		private final String name;
+
+		Identifier(int index, String name) {
+			this.index = index;
+			this.name = name;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			ValueExpression expression = bindings.getVariable(index);
+			if (expression != null) {
+				return expression.getValue(context);
+			}
+			context.setPropertyResolved(false);
+			Object result = context.getELResolver().getValue(context, null, name);
+			if (!context.isPropertyResolved()) {
+				throw new PropertyNotFoundException(LocalMessages.get("error.identifier.property.notfound", name));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Property access with a cached bean getter.
+	 */
+	abstract static class Property implements Evaluator {
+		private volatile BeanAccessor accessor;
+
+		Object getValue(ELContext context, Object base, Object property) {
+			ELResolver resolver = context.getELResolver();
+			BeanAccessor cached = accessor;
+			if (cached != null && cached.isCached() && cached.isPropertyOf(resolver, base, property)
+					&& ((BeanAccessResolver)resolver).isBeanProperty(context, base, property)) {
+				return cached.getValue(context, base, property);
+			}
+			context.setPropertyResolved(false);
+			Object result = resolver.getValue(context, base, property);
+			if (!context.isPropertyResolved()) {
+				throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", property, base));
+			}
+			if (cached == null && property instanceof String && resolver instanceof BeanAccessResolver
+					&& ((BeanAccessResolver)resolver).isBeanProperty(context, base, property)) {
+				accessor = BeanAccessor.forProperty(resolver, base.getClass(), (String)property);
+			}
+			return result;
+		}
+	}
+
+	static final class Dot extends Property {
+		private final Evaluator prefix;
+		private final String property;
+
+		Dot(Evaluator prefix, String property) {
+			this.prefix = prefix;
+			this.property = property;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			Object base = prefix.eval(bindings, context);
+			if (base == null) {
+				return null;
+			}
+			return getValue(context, base, property);
+		}
+	}
+
+	static final class Bracket extends Property {
+		private final Evaluator prefix, property;
+		private final boolean strict;
+
+		Bracket(Evaluator prefix, Evaluator property, boolean strict) {
+			this.prefix = prefix;
+			this.property = property;
+			this.strict = strict;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			Object base = prefix.eval(bindings, context);
+			if (base == null) {
+				return null;
+			}
+			Object value = property.eval(bindings, context);
+			if (value == null && strict) {
+				return null;
+			}
+			return getValue(context, base, value);
+		}
+	}
+
+	static final class Invocation implements Evaluator {
+		private final AstNode prefixNode;
+		private final Evaluator prefix, name;
+		private final Evaluator[] params;
+		private volatile BeanAccessor accessor;
+
+		Invocation(AstNode prefixNode, Evaluator prefix, Evaluator name, Evaluator[] params) {
+			this.prefixNode = prefixNode;
+			this.prefix = prefix;
+			this.name = name;
+			this.params = params;
+		}
+
+		public Object eval(Bindings bindings, ELContext context) {
+			Object base = prefix.eval(bindings, context);
+			if (base == null) {
+				throw new PropertyNotFoundException(LocalMessages.get("error.property.base.null", prefixNode));
+			}
+			Object method = name.eval(bindings, context);
+			if (method == null) {
+				throw new PropertyNotFoundException(LocalMessages.get("error.property.method.notfound", "null", base));
+			}
+			String methodName = bindings.convert(method, String.class);
+			Object[] paramValues = new Object[params.length];
+			for (int i = 0; i < params.length; i++) {
+				paramValues[i] = params[i].eval(bindings, context);
+			}
+
+			ELResolver resolver = context.getELResolver();
+			BeanAccessor cached = accessor;
+			if (cached != null && cached.isCached() && cached.isMethodOf(resolver, base, methodName, paramValues)
+					&& ((BeanAccessResolver)resolver).isBeanMethod(context, base, methodName)) {
+				Object[] arguments = cached.getArguments(context, paramValues);
+				if (arguments != null) {
+					return cached.invoke(context, base, methodName, arguments);
+				}
+			}
+			context.setPropertyResolved(false);
+			Object result = resolver.invoke(context, base, methodName, null, paramValues);
+			if (!context.isPropertyResolved()) {
+				throw new MethodNotFoundException(LocalMessages.get("error.property.method.notfound", methodName, base.getClass()));
+			}
+			if (cached == null && resolver instanceof BeanAccessResolver
+					&& ((BeanAccessResolver)resolver).isBeanMethod(context, base, methodName)) {
+				accessor = BeanAccessor.forMethod(resolver, base.getClass(), methodName, paramValues);
+			}
+			return result;
+		}
+	}
+}
@@ -41,8 +41,10 @@ public final class TreeValueExpression extends jakarta.el.ValueExpression {
 	private final String expr;
 	private final Class<?> type;
 	private final boolean deferred;
+	private final boolean compiled;
 
 	private transient ExpressionNode node;
+	private transient TreeCompiler.Evaluator evaluator;
 
 	private String structure;
 
@@ -55,6 +57,20 @@ public final class TreeValueExpression extends jakarta.el.ValueExpression {
 	 * @param type the expected type (may be <code>null</code>)
 	 */
 	public TreeValueExpression(TreeStore store, FunctionMapper functions, VariableMapper variables, TypeConverter converter, String expr, Class<?> type) {
+		this(store, functions, variables, converter, expr, type, false);
+	}
+
+	/**
+	 * Create a new value expression.
+	 * @param store used to get the parse tree from.
+	 * @param functions the function mapper used to bind functions
+	 * @param variables the variable mapper used to bind variables
+	 * @param expr the expression string
+	 * @param type the expected type (may be <code>null</code>)
+	 * @param compiled if <code>true</code>, {@link #getValue(ELContext)} uses the compiled tree
+	 * (see {@link TreeCompiler})
+	 */
+	public TreeValueExpression(TreeStore store, FunctionMapper functions, VariableMapper variables, TypeConverter converter, String expr, Class<?> type, boolean compiled) {
 		super();
 
 		Tree tree = store.get(expr);
@@ -65,6 +81,10 @@ public final class TreeValueExpression extends jakarta.el.ValueExpression {
 		this.type = type;
 		this.node = tree.getRoot();
 		this.deferred = tree.isDeferred();
+		this.compiled = compiled;
+		if (compiled) {
+			this.evaluator = tree.getCompiledRoot();
+		}
 		
 		if (type == null) {
 			throw new NullPointerException(LocalMessages.get("error.value.notype"));
@@ -109,6 +129,9 @@ public final class TreeValueExpression extends jakarta.el.ValueExpression {
    */
 	@Override
 	public Object getValue(ELContext context) throws ELException {
+		if (evaluator != null) {
+			return bindings.convert(evaluator.eval(bindings, context), type);
+		}
 		return node.getValue(bindings, context, type);
 	}
 
@@ -213,7 +236,11 @@ public final class TreeValueExpression extends jakarta.el.ValueExpression {
 	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
 		in.defaultReadObject();
 		try {
-			node = builder.build(expr).getRoot();
+			Tree tree = builder.build(expr);
+			node = tree.getRoot();
+			if (compiled) {
+				evaluator = tree.getCompiledRoot();
+			}
 		} catch (ELException e) {
 			throw new IOException(e.getMessage());
 		}
@@ -0,0 +1,108 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing a large BPMN model into process definitions, including
+ * the schema validation and the default parse listeners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BpmnParseBenchmark {
+
+  @Param({"100", "1000"})
+  public int activities;
+
+  protected byte[] model;
+  protected BpmnParser bpmnParser;
+  protected CommandExecutor commandExecutor;
+
+  @Setup
+  public void createModel(ProcessEngineState processEngineState) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process")
+        .startEvent();
+
+    for (int i = 0; i < activities; i++) {
+      if (i % 2 == 0) {
+        builder = builder.serviceTask("serviceTask" + i)
+            .camundaExpression("${execution.getVariable('counter') + 1}")
+            .camundaResultVariable("counter");
+      }
+      else {
+        builder = builder.userTask("userTask" + i)
+            .camundaAssignee("${assignee}")
+            .boundaryEvent("timer" + i).timerWithDuration("PT1H")
+            .endEvent()
+            .moveToActivity("userTask" + i);
+      }
+    }
+
+    model = Bpmn.convertToString(builder.endEvent().done()).getBytes(StandardCharsets.UTF_8);
+
+    for (Deployer deployer : processEngineState.getConfiguration().getDeployers()) {
+      if (deployer instanceof BpmnDeployer) {
+        bpmnParser = ((BpmnDeployer) deployer).getBpmnParser();
+      }
+    }
+    commandExecutor = processEngineState.getConfiguration().getCommandExecutorTxRequired();
+  }
+
+  @Benchmark
+  public List<ProcessDefinitionEntity> parse() {
+    return commandExecutor.execute(commandContext -> {
+      DeploymentEntity deployment = new DeploymentEntity();
+      deployment.setId("deployment");
+
+      return bpmnParser.createParse()
+        .sourceInputStream(new ByteArrayInputStream(model))
+        .deployment(deployment)
+        .name("process.bpmn")
+        .execute()
+        .getProcessDefinitions();
+    });
+  }
+
+}
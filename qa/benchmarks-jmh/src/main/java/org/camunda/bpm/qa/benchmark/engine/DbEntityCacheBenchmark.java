@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures putting freshly loaded entities into the first level cache,
+ * which includes copying their persistent state, and looking them up again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbEntityCacheBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int entities;
+
+  protected List<ExecutionEntity> executions;
+  protected List<VariableInstanceEntity> variables;
+  protected DbEntityCache populatedCache;
+
+  @Setup
+  public void createEntities() {
+    executions = new ArrayList<>();
+    variables = new ArrayList<>();
+
+    for (int i = 0; i < entities; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId("execution" + i);
+      execution.setProcessInstanceId("execution0");
+      if (i > 0) {
+        execution.setParentId("execution0");
+      }
+      executions.add(execution);
+
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId("variable" + i);
+      variable.setName("variable" + i);
+      variable.setExecutionId(execution.getId());
+      variable.setTextValue("value" + i);
+      variables.add(variable);
+    }
+
+    populatedCache = new DbEntityCache();
+    populateCache(populatedCache);
+  }
+
+  protected void populateCache(DbEntityCache cache) {
+    for (int i = 0; i < entities; i++) {
+      cache.putPersistent(executions.get(i));
+      cache.putPersistent(variables.get(i));
+    }
+  }
+
+  @Benchmark
+  public DbEntityCache putPersistent() {
+    DbEntityCache cache = new DbEntityCache();
+    populateCache(cache);
+    return cache;
+  }
+
+  @Benchmark
+  public void get(Blackhole blackhole) {
+    for (int i = 0; i < entities; i++) {
+      blackhole.consume(populatedCache.get(ExecutionEntity.class, "execution" + i));
+      blackhole.consume(populatedCache.get(VariableInstanceEntity.class, "variable" + i));
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures flushing a first level cache of unchanged entities, which checks every
+ * entity for changes. <code>comparePersistentStateMaps</code> performs the same checks
+ * by comparing persistent state maps, as done for entities without typed persistent state.
+ * Run with <code>-prof gc</code> to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbEntityFlushBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int entities;
+
+  protected FlushingDbEntityManager dbEntityManager;
+
+  protected List<DbEntity> loadedEntities;
+  protected List<Object> persistentStates;
+
+  @Setup
+  public void loadEntities() {
+    dbEntityManager = new FlushingDbEntityManager();
+    loadedEntities = new ArrayList<>();
+
+    for (int i = 0; i < entities; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId("execution" + i);
+      execution.setProcessInstanceId("execution0");
+      execution.setActivityId("task" + i);
+      loadedEntities.add(execution);
+
+      TaskEntity task = new TaskEntity();
+      task.setId("task" + i);
+      task.setNameWithoutCascade("task" + i);
+      task.setExecutionId(execution.getId());
+      task.setCreateTime(new Date());
+      loadedEntities.add(task);
+
+      MessageEntity job = new MessageEntity();
+      job.setId("job" + i);
+      job.setExecutionId(execution.getId());
+      job.setJobHandlerConfigurationRaw("configuration" + i);
+      loadedEntities.add(job);
+
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId("variable" + i);
+      variable.setExecutionId(execution.getId());
+      variable.setTextValue("value" + i);
+      loadedEntities.add(variable);
+
+      ExternalTaskEntity externalTask = new ExternalTaskEntity();
+      externalTask.setId("externalTask" + i);
+      externalTask.setTopicName("topic");
+      externalTask.setExecutionId(execution.getId());
+      loadedEntities.add(externalTask);
+    }
+
+    DbEntityCache cache = dbEntityManager.getDbEntityCache();
+    persistentStates = new ArrayList<>();
+    for (DbEntity entity : loadedEntities) {
+      cache.putPersistent(entity);
+      persistentStates.add(entity.getPersistentState());
+    }
+  }
+
+  @Benchmark
+  public DbEntityManager flushEntityCache() {
+    dbEntityManager.flushEntityCache();
+    return dbEntityManager;
+  }
+
+  @Benchmark
+  public int comparePersistentStateMaps() {
+    int dirty = 0;
+    for (int i = 0; i < loadedEntities.size(); i++) {
+      if (!loadedEntities.get(i).getPersistentState().equals(persistentStates.get(i))) {
+        dirty++;
+      }
+    }
+    return dirty;
+  }
+
+  protected static class FlushingDbEntityManager extends DbEntityManager {
+
+    public FlushingDbEntityManager() {
+      super(null, null);
+    }
+
+    @Override
+    public void flushEntityCache() {
+      super.flushEntityCache();
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbReferences;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the ordering of the operations of a flush, including the
+ * resolution of the parent/child references between executions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbOperationManagerBenchmark {
+
+  /** number of executions of the flushed execution tree; each one has a task and a variable */
+  @Param({"10", "100", "1000"})
+  public int executions;
+
+  protected List<DbEntityOperation> operations;
+
+  @Setup
+  public void createOperations() {
+    operations = new ArrayList<>();
+
+    for (int i = 0; i < executions; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId("execution" + i);
+      execution.setProcessInstanceId("execution0");
+      if (i > 0) {
+        execution.setParentId("execution" + (i - 1) / 2);
+      }
+      operations.add(createOperation(execution, DbOperationType.INSERT));
+
+      TaskEntity task = new TaskEntity();
+      task.setId("task" + i);
+      task.setExecutionId(execution.getId());
+      operations.add(createOperation(task, i % 2 == 0 ? DbOperationType.INSERT : DbOperationType.UPDATE));
+
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId("variable" + i);
+      variable.setExecutionId(execution.getId());
+      operations.add(createOperation(variable, i % 3 == 0 ? DbOperationType.DELETE : DbOperationType.INSERT));
+    }
+  }
+
+  protected DbEntityOperation createOperation(DbEntity entity, DbOperationType type) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setEntity(entity);
+    if (entity instanceof HasDbReferences) {
+      operation.setFlushRelevantEntityReferences(((HasDbReferences) entity).getReferencedEntityIds());
+    }
+    operation.setOperationType(type);
+    return operation;
+  }
+
+  @Benchmark
+  public List<DbOperation> calculateFlush() {
+    DbOperationManager operationManager = new DbOperationManager();
+    for (DbEntityOperation operation : operations) {
+      operationManager.addOperation(operation);
+    }
+    return operationManager.calculateFlush();
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.variable.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of a decision table with many rules. Each rule has
+ * a numeric range and a string equality condition; exactly one rule matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionTableBenchmark {
+
+  protected static final int CATEGORIES = 5;
+
+  @Param({"10", "100", "1000"})
+  public int rules;
+
+  protected DmnEngine dmnEngine;
+  protected DmnDecision decision;
+  protected Map<String, Object> variables;
+
+  @Setup
+  public void parseDecision() {
+    dmnEngine = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+    decision = dmnEngine.parseDecision("decision",
+        new ByteArrayInputStream(createDecisionTable(rules).getBytes(StandardCharsets.UTF_8)));
+
+    // matches the last rule, so that all rules are evaluated
+    int lastRule = rules - 1;
+    variables = Variables.createVariables()
+        .putValue("amount", lastRule * 10 + 5)
+        .putValue("category", "category" + lastRule % CATEGORIES);
+  }
+
+  @Benchmark
+  public DmnDecisionTableResult evaluate() {
+    return dmnEngine.evaluateDecisionTable(decision, variables);
+  }
+
+  protected static String createDecisionTable(int rules) {
+    StringBuilder dmn = new StringBuilder()
+      .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+      .append("<definitions xmlns=\"https://www.omg.org/spec/DMN/20191111/MODEL/\" id=\"definitions\"")
+      .append(" name=\"camunda\" namespace=\"http://camunda.org/schema/1.0/dmn\">\n")
+      .append("  <decision id=\"decision\" name=\"decision\">\n")
+      .append("    <decisionTable id=\"decisionTable\">\n")
+      .append("      <input id=\"amountInput\"><inputExpression id=\"amountExpression\" typeRef=\"integer\">")
+      .append("<text>amount</text></inputExpression></input>\n")
+      .append("      <input id=\"categoryInput\"><inputExpression id=\"categoryExpression\" typeRef=\"string\">")
+      .append("<text>category</text></inputExpression></input>\n")
+      .append("      <output id=\"output\" name=\"result\" typeRef=\"string\" />\n");
+
+    for (int i = 0; i < rules; i++) {
+      dmn.append("      <rule id=\"rule").append(i).append("\">")
+        .append("<inputEntry id=\"amountEntry").append(i).append("\"><text>[")
+        .append(i * 10).append("..").append(i * 10 + 10).append("[</text></inputEntry>")
+        .append("<inputEntry id=\"categoryEntry").append(i).append("\"><text>\"category")
+        .append(i % CATEGORIES).append("\"</text></inputEntry>")
+        .append("<outputEntry id=\"outputEntry").append(i).append("\"><text>\"result")
+        .append(i).append("\"</text></outputEntry>")
+        .append("</rule>\n");
+    }
+
+    return dmn
+      .append("    </decisionTable>\n")
+      .append("  </decision>\n")
+      .append("</definitions>\n")
+      .toString();
+  }
+
+}
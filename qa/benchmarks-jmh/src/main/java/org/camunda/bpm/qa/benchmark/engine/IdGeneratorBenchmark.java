@@ -0,0 +1,90 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the synchronized {@link DbIdGenerator} with the
+ * {@link PrefetchingDbIdGenerator} under contention. Id blocks are fetched from
+ * an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+  @Param({"default", "prefetching"})
+  public String generator;
+
+  @Param({"100"})
+  public int idBlockSize;
+
+  protected DbIdGenerator idGenerator;
+
+  @Setup
+  public void createIdGenerator(ProcessEngineState processEngineState) {
+    idGenerator = "prefetching".equals(generator) ? new PrefetchingDbIdGenerator() : new DbIdGenerator();
+    idGenerator.setIdBlockSize(idBlockSize);
+    idGenerator.setCommandExecutor(processEngineState.getConfiguration().getCommandExecutorTxRequiresNew());
+  }
+
+  @TearDown
+  public void closeIdGenerator() {
+    if (idGenerator instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) idGenerator).close();
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String nextIdSingleThread() {
+    return idGenerator.getNextId();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String nextId8Threads() {
+    return idGenerator.getNextId();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public String nextId64Threads() {
+    return idGenerator.getNextId();
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultAcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.SkipLockedAcquireJobsCommandFactory;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the default job acquisition with the acquisition by <code>SELECT ... FOR UPDATE
+ * SKIP LOCKED</code>. Each thread simulates a cluster node with its own job executor; all
+ * nodes acquire from the same jobs. The <code>acquiredJobs</code> counter reports the jobs
+ * acquired per second, i.e. without the jobs lost to optimistic locking conflicts.
+ *
+ * The acquired jobs are not executed; their locks expire immediately, so that they can
+ * be acquired again. The database is an in-memory H2 database by default, which does not
+ * support <code>SKIP LOCKED</code>. Pass the <code>jdbc*</code> parameters to run against
+ * PostgreSQL, MySQL 8 or Oracle, with the JDBC driver on the class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class JobAcquisitionBenchmark {
+
+  protected static final int JOBS = 1000;
+  protected static final int MAX_JOBS_PER_ACQUISITION = 10;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask().camundaExpression("${true}").camundaAsyncBefore().camundaExclusive(false)
+      .endEvent()
+      .done();
+
+  @Param({"default", "skipLocked"})
+  public String acquisition;
+
+  @Param({"jdbc:h2:mem:job-acquisition"})
+  public String jdbcUrl;
+
+  @Param({"org.h2.Driver"})
+  public String jdbcDriver;
+
+  @Param({"sa"})
+  public String jdbcUsername;
+
+  @Param({"sa"})
+  public String jdbcPassword;
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected ProcessEngine processEngine;
+  protected AtomicInteger nodes = new AtomicInteger();
+
+  @Setup
+  public void createJobs() {
+    configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneProcessEngineConfiguration()
+        .setJdbcUrl(jdbcUrl)
+        .setJdbcDriver(jdbcDriver)
+        .setJdbcUsername(jdbcUsername)
+        .setJdbcPassword(jdbcPassword)
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+        .setHistory(ProcessEngineConfiguration.HISTORY_NONE)
+        .setJobExecutorActivate(false);
+    configuration.setMetricsEnabled(false);
+    configuration.setDbMetricsReporterActivate(false);
+
+    processEngine = configuration.buildProcessEngine();
+
+    processEngine.getRepositoryService()
+      .createDeployment()
+      .addModelInstance("process.bpmn", PROCESS)
+      .deploy();
+
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+    for (int i = 0; i < JOBS; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  @TearDown
+  public void closeProcessEngine() {
+    processEngine.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Node {
+
+    protected CommandExecutor commandExecutor;
+    protected AcquireJobsCommandFactory acquireJobsCommandFactory;
+
+    @Setup
+    public void createJobExecutor(JobAcquisitionBenchmark benchmark) {
+      JobExecutor jobExecutor = new DefaultJobExecutor();
+      jobExecutor.setLockOwner("node-" + benchmark.nodes.incrementAndGet());
+      jobExecutor.setMaxJobsPerAcquisition(MAX_JOBS_PER_ACQUISITION);
+      // expired locks are acquirable again, also with a timestamp precision of seconds
+      jobExecutor.setLockTimeInMillis(-1000);
+
+      acquireJobsCommandFactory = "skipLocked".equals(benchmark.acquisition)
+          ? new SkipLockedAcquireJobsCommandFactory(jobExecutor)
+          : new DefaultAcquireJobsCommandFactory(jobExecutor);
+      commandExecutor = benchmark.configuration.getCommandExecutorTxRequired();
+    }
+
+    public AcquiredJobs acquireJobs() {
+      return commandExecutor.execute(acquireJobsCommandFactory.getCommand(MAX_JOBS_PER_ACQUISITION));
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+
+    public long acquiredJobs;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      acquiredJobs = 0;
+    }
+  }
+
+  @Benchmark
+  public AcquiredJobs acquireJobs(Node node, Counters counters) {
+    AcquiredJobs acquiredJobs = node.acquireJobs();
+    counters.acquiredJobs += acquiredJobs.size();
+    return acquiredJobs;
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
+import org.camunda.bpm.engine.impl.pvm.runtime.ExecutionImpl;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.jakarta.el.ELContext;
+import org.camunda.bpm.impl.juel.jakarta.el.ValueExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares interpreted and compiled evaluation of the same value expressions
+ * (see {@link ExpressionFactoryImpl#PROP_COMPILED}) with the engine's resolvers.
+ * Compiled method calls on the list variable use cached bean accessors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JuelCompiledExpressionBenchmark {
+
+  @Param({
+    "${approved}",
+    "${amount > 1000 && customer == 'camunda'}",
+    "${amount * 2 + 10 * 60 * 1000}",
+    "${items.size() > 0 ? items.get(0) : 'none'}",
+    "Dear ${customer}, your order of ${amount} items"
+  })
+  public String expressionText;
+
+  @Param({"false", "true"})
+  public boolean compiled;
+
+  protected ValueExpression valueExpression;
+  protected ELContext elContext;
+
+  @Setup
+  public void createExpression(ProcessEngineState processEngineState) {
+    Context.setProcessEngineConfiguration(processEngineState.getConfiguration());
+
+    JuelExpressionManager expressionManager = new JuelExpressionManager();
+    expressionManager.setExpressionCompilationEnabled(compiled);
+    valueExpression = expressionManager.createValueExpression(expressionText);
+
+    ExecutionImpl execution = new ExecutionImpl();
+    execution.setVariable("approved", true);
+    execution.setVariable("amount", 1500);
+    execution.setVariable("customer", "camunda");
+    execution.setVariable("items", Arrays.asList("first", "second"));
+    elContext = expressionManager.getElContext(execution);
+  }
+
+  @TearDown
+  public void removeContext() {
+    Context.removeProcessEngineConfiguration();
+  }
+
+  @Benchmark
+  public Object getValue() {
+    return valueExpression.getValue(elContext);
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.impl.juel.Builder;
+import org.camunda.bpm.impl.juel.Cache;
+import org.camunda.bpm.impl.juel.ConcurrentCache;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.Tree;
+import org.camunda.bpm.impl.juel.TreeCache;
+import org.camunda.bpm.impl.juel.TreeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of parse trees by 64 threads sharing one tree store,
+ * for a working set which fits into the cache and for one which does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class JuelTreeCacheBenchmark {
+
+  protected static final int CACHE_SIZE = 1000;
+
+  @Param({
+    ExpressionFactoryImpl.CACHE_TYPE_LRU,
+    ExpressionFactoryImpl.CACHE_TYPE_CONCURRENT
+  })
+  public String cacheType;
+
+  @Param({"500", "2000"})
+  public int expressionCount;
+
+  protected TreeStore treeStore;
+  protected String[] expressions;
+
+  @Setup
+  public void createTreeStore() {
+    TreeCache cache = ExpressionFactoryImpl.CACHE_TYPE_CONCURRENT.equals(cacheType)
+        ? new ConcurrentCache(CACHE_SIZE)
+        : new Cache(CACHE_SIZE);
+    treeStore = new TreeStore(new Builder(), cache);
+
+    expressions = new String[expressionCount];
+    for (int i = 0; i < expressionCount; i++) {
+      expressions[i] = "${amount" + i + " > 1000 && customer == 'camunda'}";
+      treeStore.get(expressions[i]);
+    }
+  }
+
+  @Benchmark
+  public Tree get() {
+    int index = ThreadLocalRandom.current().nextInt(expressions.length);
+    return treeStore.get(expressions[index]);
+  }
+
+}
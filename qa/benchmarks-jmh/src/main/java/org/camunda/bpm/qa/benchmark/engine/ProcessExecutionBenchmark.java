@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dispatch of the atomic operations of a process instance which
+ * runs from start to end in one transaction on an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessExecutionBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int serviceTasks;
+
+  protected RuntimeService runtimeService;
+
+  @Setup
+  public void deployProcess(ProcessEngineState processEngineState) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process")
+        .startEvent();
+
+    for (int i = 0; i < serviceTasks; i++) {
+      builder = builder.serviceTask("serviceTask" + i).camundaExpression("${true}");
+    }
+
+    processEngineState.getProcessEngine().getRepositoryService()
+      .createDeployment()
+      .addModelInstance("process.bpmn", builder.endEvent().done())
+      .deploy();
+
+    runtimeService = processEngineState.getProcessEngine().getRuntimeService();
+  }
+
+  @Benchmark
+  public ProcessInstance startProcessInstance() {
+    return runtimeService.startProcessInstanceByKey("process");
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the start of a process instance that waits in a user task and
+ * gets a number of variables of mixed primitive types, each of which has to
+ * be matched to a serializer. Divide the result by the number of variables
+ * for the cost per variable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessStartVariablesBenchmark {
+
+  @Param({"0", "50"})
+  public int variables;
+
+  protected RuntimeService runtimeService;
+  protected VariableMap variableMap;
+
+  @Setup
+  public void deployProcess(ProcessEngineState processEngineState) {
+    processEngineState.getProcessEngine().getRepositoryService()
+      .createDeployment()
+      .addModelInstance("process.bpmn", Bpmn.createExecutableProcess("process")
+          .startEvent()
+          .userTask()
+          .endEvent()
+          .done())
+      .deploy();
+
+    runtimeService = processEngineState.getProcessEngine().getRuntimeService();
+
+    variableMap = Variables.createVariables();
+    for (int i = 0; i < variables; i++) {
+      switch (i % 5) {
+      case 0:
+        variableMap.putValue("var" + i, "value" + i);
+        break;
+      case 1:
+        variableMap.putValue("var" + i, (long) i);
+        break;
+      case 2:
+        variableMap.putValue("var" + i, i % 2 == 0);
+        break;
+      case 3:
+        variableMap.putValue("var" + i, new Date());
+        break;
+      default:
+        variableMap.putValue("var" + i, null);
+      }
+    }
+  }
+
+  @Benchmark
+  public ProcessInstance startProcessInstance() {
+    return runtimeService.startProcessInstanceByKey("process", variableMap);
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.benchmark.engine;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of the serializer for untyped and typed variable
+ * values, which happens for every variable that is set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableSerializersBenchmark {
+
+  @Param({"null", "string", "long", "date", "bytes", "object", "typedString"})
+  public String valueType;
+
+  protected VariableSerializers variableSerializers;
+  protected TypedValue value;
+
+  @Setup
+  public void createValue(ProcessEngineState processEngineState) {
+    variableSerializers = processEngineState.getConfiguration().getVariableSerializers();
+
+    switch (valueType) {
+    case "null":
+      value = Variables.untypedNullValue();
+      break;
+    case "string":
+      value = Variables.untypedValue("value");
+      break;
+    case "long":
+      value = Variables.untypedValue(42L);
+      break;
+    case "date":
+      value = Variables.untypedValue(new Date());
+      break;
+    case "bytes":
+      value = Variables.untypedValue(new byte[] {1, 2, 3});
+      break;
+    case "object":
+      value = Variables.untypedValue(new ArrayList<String>());
+      break;
+    case "typedString":
+      value = Variables.stringValue("value");
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown value type " + valueType);
+    }
+  }
+
+  @Benchmark
+  public TypedValueSerializer<?> findSerializerForValue() {
+    return variableSerializers.findSerializerForValue(value);
+  }
+
+}
@@ -64,6 +64,8 @@ public class PerfTestProcessEngine {
 
     processEngineConfiguration.setJdbcBatchProcessing(Boolean.valueOf(properties.getProperty("jdbcBatchProcessing")));
 
+    processEngineConfiguration.setAuthorizationCacheEnabled(Boolean.valueOf(properties.getProperty("authorizationCacheEnabled")));
+
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
     for (String pluginName : processEnginePlugins.split(",")) {
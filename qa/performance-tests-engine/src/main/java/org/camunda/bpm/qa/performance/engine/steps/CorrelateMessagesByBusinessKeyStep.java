@@ -0,0 +1,64 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Correlates a message to each of the process instances started by
+ * {@link StartProcessInstancesByBusinessKeyStep}, either one by one or
+ * in bulk using {@link org.camunda.bpm.engine.RuntimeService#correlateMessages(List)}.
+ */
+public class CorrelateMessagesByBusinessKeyStep extends ProcessEngineAwareStep {
+
+  protected String message;
+  protected int numberOfInstances;
+  protected boolean bulk;
+
+  public CorrelateMessagesByBusinessKeyStep(ProcessEngine processEngine, String message, int numberOfInstances, boolean bulk) {
+    super(processEngine);
+    this.message = message;
+    this.numberOfInstances = numberOfInstances;
+    this.bulk = bulk;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    String runId = context.getVariable(RUN_ID);
+
+    List<MessageCorrelationBuilder> correlations = new ArrayList<MessageCorrelationBuilder>();
+    for (int i = 0; i < numberOfInstances; i++) {
+      correlations.add(runtimeService.createMessageCorrelation(message).processInstanceBusinessKey(runId + "-" + i));
+    }
+
+    if (bulk) {
+      runtimeService.correlateMessages(correlations);
+    } else {
+      for (MessageCorrelationBuilder correlation : correlations) {
+        correlation.correlateWithResult();
+      }
+    }
+  }
+
+}
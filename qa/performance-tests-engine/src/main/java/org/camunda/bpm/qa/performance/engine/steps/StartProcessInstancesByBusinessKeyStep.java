@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.*;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Starts a number of process instances with the business keys
+ * <code>runId-0</code> to <code>runId-(n-1)</code>.
+ */
+public class StartProcessInstancesByBusinessKeyStep extends ProcessEngineAwareStep {
+
+  protected String processDefinitionKey;
+  protected int numberOfInstances;
+
+  public StartProcessInstancesByBusinessKeyStep(ProcessEngine processEngine, String processDefinitionKey, int numberOfInstances) {
+    super(processEngine);
+    this.processDefinitionKey = processDefinitionKey;
+    this.numberOfInstances = numberOfInstances;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    String runId = context.getVariable(RUN_ID);
+    for (int i = 0; i < numberOfInstances; i++) {
+      runtimeService.startProcessInstanceByKey(processDefinitionKey, runId + "-" + i,
+          Variables.createVariables().putValue(RUN_ID, runId));
+    }
+  }
+
+}
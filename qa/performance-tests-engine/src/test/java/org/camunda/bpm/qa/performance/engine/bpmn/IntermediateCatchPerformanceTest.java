@@ -21,7 +21,9 @@ import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.*;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
 import org.camunda.bpm.qa.performance.engine.steps.CorrelateMessageStep;
+import org.camunda.bpm.qa.performance.engine.steps.CorrelateMessagesByBusinessKeyStep;
 import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstancesByBusinessKeyStep;
 import org.junit.Test;
 
 /**
@@ -30,6 +32,9 @@ import org.junit.Test;
  */
 public class IntermediateCatchPerformanceTest extends ProcessEnginePerformanceTestCase {
 
+  protected static final String SINGLE_MESSAGE_PROCESS = "org/camunda/bpm/qa/performance/engine/bpmn/IntermediateCatchPerformanceTest.singleMessage.bpmn";
+  protected static final int NUMBER_OF_MESSAGES = 50;
+
   @Test
   @Deployment
   public void singleMessage() {
@@ -38,4 +43,22 @@ public class IntermediateCatchPerformanceTest extends ProcessEnginePerformanceTe
       .step(new CorrelateMessageStep(engine, "message", PROCESS_INSTANCE_ID))
     .run();
   }
+
+  @Test
+  @Deployment(resources = SINGLE_MESSAGE_PROCESS)
+  public void messagesOneByOne() {
+    performanceTest()
+      .step(new StartProcessInstancesByBusinessKeyStep(engine, "process", NUMBER_OF_MESSAGES))
+      .step(new CorrelateMessagesByBusinessKeyStep(engine, "message", NUMBER_OF_MESSAGES, false))
+    .run();
+  }
+
+  @Test
+  @Deployment(resources = SINGLE_MESSAGE_PROCESS)
+  public void messagesInBulk() {
+    performanceTest()
+      .step(new StartProcessInstancesByBusinessKeyStep(engine, "process", NUMBER_OF_MESSAGES))
+      .step(new CorrelateMessagesByBusinessKeyStep(engine, "message", NUMBER_OF_MESSAGES, true))
+    .run();
+  }
 }
@@ -48,6 +48,15 @@ public class CamundaEngineJobExecutorConfigTest {
     assertThat(config.jobExecutor.threadPool.queueSize).isEqualTo(5);
   }
 
+  @Test
+  public void shouldLoadJobExecutorVirtualThreadsProperties() {
+    // given a custom application.properties file
+
+    // then
+    assertThat(config.jobExecutor.virtualThreads.enabled).isFalse();
+    assertThat(config.jobExecutor.virtualThreads.maxConcurrentJobs).contains(15);
+  }
+
   @Test
   public void shouldLoadJobAcquisitionProperties() {
     // given a custom application.properties file
@@ -17,6 +17,7 @@
 package org.camunda.bpm.quarkus.engine.extension;
 
 import java.util.Map;
+import java.util.Optional;
 
 import io.quarkus.runtime.annotations.ConfigGroup;
 import io.quarkus.runtime.annotations.ConfigItem;
@@ -38,6 +39,13 @@ public class CamundaJobExecutorConfig {
   @ConfigItem
   public ThreadPoolConfig threadPool;
 
+  /**
+   * The Camunda JobExecutor virtual thread config. If enabled, Camunda jobs run on
+   * virtual threads instead of the thread pool.
+   */
+  @ConfigItem
+  public VirtualThreadsConfig virtualThreads;
+
   @ConfigGroup
   public static class ThreadPoolConfig {
     /**
@@ -54,4 +62,23 @@ public class CamundaJobExecutorConfig {
     public int queueSize;
 
   }
-}
\ No newline at end of file
+
+  @ConfigGroup
+  public static class VirtualThreadsConfig {
+    /**
+     * Executes the Camunda jobs on virtual threads instead of the Quarkus-managed
+     * thread pool. Requires Java 21 or later. The default value is false.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+    /**
+     * Sets the maximum number of job batches that are executed at the same time on
+     * virtual threads. Defaults to the maximum size of the connection pool of the
+     * Camunda datasource.
+     */
+    @ConfigItem
+    public Optional<Integer> maxConcurrentJobs;
+
+  }
+}
@@ -19,6 +19,7 @@ package org.camunda.bpm.quarkus.engine.extension.impl;
 import static com.arjuna.ats.jta.TransactionManager.transactionManager;
 import static io.quarkus.datasource.common.runtime.DataSourceUtil.DEFAULT_DATASOURCE_NAME;
 
+import io.agroal.api.AgroalDataSource;
 import io.quarkus.agroal.runtime.DataSources;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.runtime.BeanContainer;
@@ -29,6 +30,7 @@ import io.smallrye.context.SmallRyeManagedExecutor;
 import jakarta.enterprise.inject.spi.BeanManager;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.camunda.bpm.container.RuntimeContainerDelegate;
 import org.camunda.bpm.container.impl.metadata.PropertyHelper;
 import org.camunda.bpm.engine.ProcessEngine;
@@ -37,6 +39,7 @@ import org.camunda.bpm.engine.cdi.impl.util.BeanManagerLookup;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
 import org.camunda.bpm.quarkus.engine.extension.CamundaEngineConfig;
 import org.camunda.bpm.quarkus.engine.extension.QuarkusProcessEngineConfiguration;
 import org.camunda.bpm.quarkus.engine.extension.event.CamundaEngineStartupEvent;
@@ -138,6 +141,11 @@ public class CamundaEngineRecorder {
   protected void configureJobExecutor(ProcessEngineConfigurationImpl configuration,
                                       CamundaEngineConfig config) {
 
+    if (config.jobExecutor.virtualThreads.enabled) {
+      configureVirtualThreadJobExecutor(configuration, config);
+      return;
+    }
+
     int maxPoolSize = config.jobExecutor.threadPool.maxPoolSize;
     int queueSize = config.jobExecutor.threadPool.queueSize;
 
@@ -157,6 +165,31 @@ public class CamundaEngineRecorder {
     configuration.setJobExecutor(quarkusJobExecutor);
   }
 
+  protected void configureVirtualThreadJobExecutor(ProcessEngineConfigurationImpl configuration,
+                                                   CamundaEngineConfig config) {
+
+    VirtualThreadJobExecutor virtualThreadJobExecutor = new VirtualThreadJobExecutor();
+
+    // a job batch uses at most one connection at a time, so by default
+    // as many job batches are executed as the connection pool allows
+    Optional<Integer> maxConcurrentJobs = config.jobExecutor.virtualThreads.maxConcurrentJobs;
+    if (maxConcurrentJobs.isPresent()) {
+      virtualThreadJobExecutor.setMaxConcurrentJobs(maxConcurrentJobs.get());
+
+    } else if (configuration.getDataSource() instanceof AgroalDataSource) {
+      AgroalDataSource dataSource = (AgroalDataSource) configuration.getDataSource();
+      int maxPoolSize = dataSource.getConfiguration().connectionPoolConfiguration().maxSize();
+      virtualThreadJobExecutor.setMaxConcurrentJobs(maxPoolSize);
+
+    }
+
+    // apply job executor configuration properties
+    PropertyHelper
+        .applyProperties(virtualThreadJobExecutor, config.jobExecutor.genericConfig, PropertyHelper.KEBAB_CASE);
+
+    configuration.setJobExecutor(virtualThreadJobExecutor);
+  }
+
   /**
    * Retrieves a bean of the given class from the bean container.
    *
@@ -20,21 +20,29 @@ import static org.camunda.bpm.spring.boot.starter.util.CamundaSpringBootUtil.joi
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
 
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
 import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
 import org.camunda.bpm.engine.spring.components.jobexecutor.SpringJobExecutor;
 import org.camunda.bpm.spring.boot.starter.configuration.CamundaJobConfiguration;
 import org.camunda.bpm.spring.boot.starter.event.JobExecutorStartingEventListener;
 import org.camunda.bpm.spring.boot.starter.property.CamundaBpmProperties;
 import org.camunda.bpm.spring.boot.starter.property.JobExecutionProperty;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.metadata.CompositeDataSourcePoolMetadataProvider;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -100,22 +108,66 @@ public class DefaultJobConfiguration extends AbstractCamundaConfiguration implem
     @Bean
     @ConditionalOnMissingBean(JobExecutor.class)
     @ConditionalOnProperty(prefix = "camunda.bpm.job-execution", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public static JobExecutor jobExecutor(@Qualifier(CAMUNDA_TASK_EXECUTOR_QUALIFIER) final TaskExecutor taskExecutor, CamundaBpmProperties properties) {
-      final SpringJobExecutor springJobExecutor = new SpringJobExecutor();
-      springJobExecutor.setTaskExecutor(taskExecutor);
-      springJobExecutor.setRejectedJobsHandler(new NotifyAcquisitionRejectedJobsHandler());
-
+    public static JobExecutor jobExecutor(@Qualifier(CAMUNDA_TASK_EXECUTOR_QUALIFIER) final TaskExecutor taskExecutor,
+                                          CamundaBpmProperties properties,
+                                          @Qualifier("camundaBpmDataSource") ObjectProvider<DataSource> camundaDataSource,
+                                          ObjectProvider<DataSource> dataSource,
+                                          ObjectProvider<DataSourcePoolMetadataProvider> dataSourcePoolMetadataProviders) {
       JobExecutionProperty jobExecution = properties.getJobExecution();
-      Optional.ofNullable(jobExecution.getLockTimeInMillis()).ifPresent(springJobExecutor::setLockTimeInMillis);
-      Optional.ofNullable(jobExecution.getMaxJobsPerAcquisition()).ifPresent(springJobExecutor::setMaxJobsPerAcquisition);
-      Optional.ofNullable(jobExecution.getWaitTimeInMillis()).ifPresent(springJobExecutor::setWaitTimeInMillis);
-      Optional.ofNullable(jobExecution.getMaxWait()).ifPresent(springJobExecutor::setMaxWait);
-      Optional.ofNullable(jobExecution.getBackoffTimeInMillis()).ifPresent(springJobExecutor::setBackoffTimeInMillis);
-      Optional.ofNullable(jobExecution.getMaxBackoff()).ifPresent(springJobExecutor::setMaxBackoff);
-      Optional.ofNullable(jobExecution.getBackoffDecreaseThreshold()).ifPresent(springJobExecutor::setBackoffDecreaseThreshold);
-      Optional.ofNullable(jobExecution.getWaitIncreaseFactor()).ifPresent(springJobExecutor::setWaitIncreaseFactor);
-
-      return springJobExecutor;
+
+      final JobExecutor jobExecutor;
+      if (jobExecution.isVirtualThreads()) {
+        final VirtualThreadJobExecutor virtualThreadJobExecutor = new VirtualThreadJobExecutor();
+
+        // by default, execute as many job batches at the same time as the engine's data source has connections
+        Integer maxConcurrentJobs = Optional.ofNullable(jobExecution.getMaxConcurrentJobs())
+          .orElseGet(() -> getMaxConnections(
+              Optional.ofNullable(camundaDataSource.getIfAvailable()).orElseGet(dataSource::getIfUnique),
+              dataSourcePoolMetadataProviders));
+        Optional.ofNullable(maxConcurrentJobs).ifPresent(virtualThreadJobExecutor::setMaxConcurrentJobs);
+
+        LOG.configureVirtualThreadJobExecutor(virtualThreadJobExecutor.getMaxConcurrentJobs());
+        jobExecutor = virtualThreadJobExecutor;
+
+      } else {
+        final SpringJobExecutor springJobExecutor = new SpringJobExecutor();
+        springJobExecutor.setTaskExecutor(taskExecutor);
+        jobExecutor = springJobExecutor;
+
+      }
+      jobExecutor.setRejectedJobsHandler(new NotifyAcquisitionRejectedJobsHandler());
+      jobExecutor.setProcessInstanceAffinity(jobExecution.isProcessInstanceAffinity());
+
+      Optional.ofNullable(jobExecution.getLockTimeInMillis()).ifPresent(jobExecutor::setLockTimeInMillis);
+      Optional.ofNullable(jobExecution.getMaxJobsPerAcquisition()).ifPresent(jobExecutor::setMaxJobsPerAcquisition);
+      Optional.ofNullable(jobExecution.getWaitTimeInMillis()).ifPresent(jobExecutor::setWaitTimeInMillis);
+      Optional.ofNullable(jobExecution.getMaxWait()).ifPresent(jobExecutor::setMaxWait);
+      Optional.ofNullable(jobExecution.getBackoffTimeInMillis()).ifPresent(jobExecutor::setBackoffTimeInMillis);
+      Optional.ofNullable(jobExecution.getMaxBackoff()).ifPresent(jobExecutor::setMaxBackoff);
+      Optional.ofNullable(jobExecution.getBackoffDecreaseThreshold()).ifPresent(jobExecutor::setBackoffDecreaseThreshold);
+      Optional.ofNullable(jobExecution.getWaitIncreaseFactor()).ifPresent(jobExecutor::setWaitIncreaseFactor);
+
+      return jobExecutor;
+    }
+
+    /**
+     * @return the maximum number of connections of the data source's pool,
+     *   or <code>null</code> if it is unknown or unlimited
+     */
+    protected static Integer getMaxConnections(DataSource dataSource,
+                                               ObjectProvider<DataSourcePoolMetadataProvider> dataSourcePoolMetadataProviders) {
+      if (dataSource == null) {
+        return null;
+      }
+
+      DataSourcePoolMetadataProvider metadataProvider = new CompositeDataSourcePoolMetadataProvider(
+          dataSourcePoolMetadataProviders.orderedStream().collect(Collectors.toList()));
+      DataSourcePoolMetadata metadata = metadataProvider.getDataSourcePoolMetadata(dataSource);
+      if (metadata == null || metadata.getMax() == null || metadata.getMax() <= 0) {
+        return null;
+      }
+
+      return metadata.getMax();
     }
 
     @Bean
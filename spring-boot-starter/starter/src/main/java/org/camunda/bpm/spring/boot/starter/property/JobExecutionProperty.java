@@ -30,6 +30,25 @@ public class JobExecutionProperty {
    */
   private boolean deploymentAware;
 
+  /**
+   * if jobs are executed on virtual threads instead of the job executor thread pool,
+   * requires Java 21 or later
+   */
+  private boolean virtualThreads;
+
+  /**
+   * maximum number of job batches executed at the same time on virtual threads,
+   * should not exceed the connection pool size of the data source; defaults to the
+   * maximum pool size of the process engine's data source if it can be determined
+   */
+  private Integer maxConcurrentJobs;
+
+  /**
+   * if the exclusive jobs of a process instance hierarchy are executed one after
+   * another, also when they are acquired in different acquisition cycles
+   */
+  private boolean processInstanceAffinity;
+
   private int corePoolSize = 3;
   private int maxPoolSize = 10;
   private int queueCapacity = 3;
@@ -63,6 +82,30 @@ public class JobExecutionProperty {
     this.deploymentAware = deploymentAware;
   }
 
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public boolean isProcessInstanceAffinity() {
+    return processInstanceAffinity;
+  }
+
+  public void setProcessInstanceAffinity(boolean processInstanceAffinity) {
+    this.processInstanceAffinity = processInstanceAffinity;
+  }
+
+  public Integer getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(Integer maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
   public int getCorePoolSize() {
     return corePoolSize;
   }
@@ -164,6 +207,9 @@ public class JobExecutionProperty {
     return joinOn(this.getClass())
       .add("enabled=" + enabled)
       .add("deploymentAware=" + deploymentAware)
+      .add("virtualThreads=" + virtualThreads)
+      .add("maxConcurrentJobs=" + maxConcurrentJobs)
+      .add("processInstanceAffinity=" + processInstanceAffinity)
       .add("corePoolSize=" + corePoolSize)
       .add("maxPoolSize=" + maxPoolSize)
       .add("keepAliveSeconds=" + keepAliveSeconds)
@@ -23,11 +23,15 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 import java.util.Arrays;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
 
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
 import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
 import org.camunda.bpm.spring.boot.starter.property.CamundaBpmProperties;
 import org.camunda.bpm.spring.boot.starter.test.nonpa.TestApplication;
@@ -35,9 +39,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.test.context.junit4.SpringRunner;
 
 @RunWith(SpringRunner.class)
@@ -90,4 +98,91 @@ public class DefaultJobConfigurationTest {
     assertThat(rejectedJobsHandler).isInstanceOf(NotifyAcquisitionRejectedJobsHandler.class);
   }
 
+  @Test
+  public void shouldCreateVirtualThreadJobExecutor() {
+    // given
+    properties.getJobExecution().setVirtualThreads(true);
+    properties.getJobExecution().setMaxConcurrentJobs(20);
+
+    // when
+    JobExecutor virtualThreadJobExecutor = createJobExecutor(null, null);
+
+    // then
+    assertThat(virtualThreadJobExecutor).isInstanceOf(VirtualThreadJobExecutor.class);
+    assertThat(((VirtualThreadJobExecutor) virtualThreadJobExecutor).getMaxConcurrentJobs()).isEqualTo(20);
+    assertThat(virtualThreadJobExecutor.getRejectedJobsHandler()).isInstanceOf(NotifyAcquisitionRejectedJobsHandler.class);
+  }
+
+  @Test
+  public void shouldDefaultMaxConcurrentJobsToMaxPoolSizeOfDataSource() {
+    // given
+    properties.getJobExecution().setVirtualThreads(true);
+
+    DataSource dataSource = mock(DataSource.class);
+    DataSourcePoolMetadata metadata = mock(DataSourcePoolMetadata.class);
+    when(metadata.getMax()).thenReturn(25);
+
+    // when
+    JobExecutor virtualThreadJobExecutor = createJobExecutor(dataSource, ds -> ds == dataSource ? metadata : null);
+
+    // then
+    assertThat(((VirtualThreadJobExecutor) virtualThreadJobExecutor).getMaxConcurrentJobs()).isEqualTo(25);
+  }
+
+  @Test
+  public void shouldPreferConfiguredMaxConcurrentJobsOverMaxPoolSizeOfDataSource() {
+    // given
+    properties.getJobExecution().setVirtualThreads(true);
+    properties.getJobExecution().setMaxConcurrentJobs(20);
+
+    DataSourcePoolMetadata metadata = mock(DataSourcePoolMetadata.class);
+    when(metadata.getMax()).thenReturn(25);
+
+    // when
+    JobExecutor virtualThreadJobExecutor = createJobExecutor(mock(DataSource.class), ds -> metadata);
+
+    // then
+    assertThat(((VirtualThreadJobExecutor) virtualThreadJobExecutor).getMaxConcurrentJobs()).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldUseDefaultMaxConcurrentJobsIfPoolSizeIsUnknown() {
+    // given
+    properties.getJobExecution().setVirtualThreads(true);
+
+    // when
+    JobExecutor virtualThreadJobExecutor = createJobExecutor(mock(DataSource.class), ds -> null);
+
+    // then
+    assertThat(((VirtualThreadJobExecutor) virtualThreadJobExecutor).getMaxConcurrentJobs())
+      .isEqualTo(VirtualThreadJobExecutor.DEFAULT_MAX_CONCURRENT_JOBS);
+  }
+
+  @Test
+  public void shouldEnableProcessInstanceAffinity() {
+    // given
+    properties.getJobExecution().setProcessInstanceAffinity(true);
+
+    // when
+    JobExecutor jobExecutor = createJobExecutor(null, null);
+
+    // then
+    assertThat(jobExecutor.isProcessInstanceAffinity()).isTrue();
+  }
+
+  @SuppressWarnings("unchecked")
+  protected JobExecutor createJobExecutor(DataSource dataSource, DataSourcePoolMetadataProvider metadataProvider) {
+    ObjectProvider<DataSource> camundaDataSourceProvider = mock(ObjectProvider.class);
+
+    ObjectProvider<DataSource> dataSourceProvider = mock(ObjectProvider.class);
+    when(dataSourceProvider.getIfUnique()).thenReturn(dataSource);
+
+    ObjectProvider<DataSourcePoolMetadataProvider> metadataProviders = mock(ObjectProvider.class);
+    when(metadataProviders.orderedStream()).thenAnswer(invocation ->
+      metadataProvider == null ? Stream.empty() : Stream.of(metadataProvider));
+
+    return DefaultJobConfiguration.JobConfiguration.jobExecutor(mock(TaskExecutor.class), properties,
+        camundaDataSourceProvider, dataSourceProvider, metadataProviders);
+  }
+
 }